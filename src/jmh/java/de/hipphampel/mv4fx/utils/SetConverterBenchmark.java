@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.utils;
+
+import de.hipphampel.mv4fx.utils.EnumSetCssMetaData.EnumSetConverter;
+import de.hipphampel.mv4fx.utils.StringSetCssMetaData.StringSetConverter;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javafx.css.ParsedValue;
+import javafx.css.StyleConverter;
+import javafx.geometry.Side;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the converters of the set-valued CSS properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetConverterBenchmark {
+
+  private final StringSetConverter stringSetConverter = new StringSetConverter();
+  private final EnumSetConverter<Side> enumSetConverter = new EnumSetConverter<>(Side.class);
+  private final ParsedValue<String, Set<String>> stringSetValue = new Value<>(
+      "editor, console, explorer, outline", stringSetConverter);
+  private final ParsedValue<String, Set<Side>> enumSetValue = new Value<>(
+      "top, right, bottom, left", enumSetConverter);
+
+  @Benchmark
+  public Set<String> convertStringSet() {
+    return stringSetConverter.convert(stringSetValue, null);
+  }
+
+  @Benchmark
+  public Set<Side> convertEnumSet() {
+    return enumSetConverter.convert(enumSetValue, null);
+  }
+
+  private static class Value<T> extends ParsedValue<String, T> {
+
+    Value(String value, StyleConverter<String, T> converter) {
+      super(value, converter);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import java.util.concurrent.TimeUnit;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.stage.Stage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DefaultDragAndDropContext#update(double, double)} while dragging a {@link View}
+ * over layouts with a different number of {@link ViewGroup ViewGroups}.
+ * <p>
+ * Each invocation moves the mouse to the next point of a grid covering the whole window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DragAndDropBenchmark {
+
+  private static final int GRID_SIZE = 16;
+
+  @Param({"1", "10", "50", "200"})
+  public int groups;
+
+  private Stage stage;
+  private DefaultDragAndDropContext context;
+  private Point2D[] points;
+  private int pointIndex;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    FxBenchmarkSupport.startup();
+    FxBenchmarkSupport.runInFxThread(() -> {
+      ViewGroupContainer root = FxBenchmarkSupport.newLayout(groups, 2, 20);
+      stage = FxBenchmarkSupport.show(root, 1600, 1200);
+
+      Bounds bounds = root.localToScreen(root.getBoundsInLocal());
+      points = new Point2D[GRID_SIZE * GRID_SIZE];
+      for (int y = 0; y < GRID_SIZE; y++) {
+        for (int x = 0; x < GRID_SIZE; x++) {
+          points[y * GRID_SIZE + x] = new Point2D(
+              bounds.getMinX() + (x + 0.5) * bounds.getWidth() / GRID_SIZE,
+              bounds.getMinY() + (y + 0.5) * bounds.getHeight() / GRID_SIZE);
+        }
+      }
+
+      View source = ViewManager.getAllViews().findFirst().orElseThrow();
+      context = new DefaultDragAndDropContext();
+      context.start(source, points[0].getX(), points[0].getY());
+    });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    FxBenchmarkSupport.runInFxThread(() -> {
+      context.cancel();
+      stage.close();
+    });
+  }
+
+  @Benchmark
+  public DropTarget update() {
+    return FxBenchmarkSupport.callInFxThread(() -> {
+      Point2D point = points[pointIndex];
+      pointIndex = (pointIndex + 1) % points.length;
+      context.update(point.getX(), point.getY());
+      return context.getDropTarget();
+    });
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+/**
+ * Helpers for the benchmarks.
+ * <p>
+ * Starts the JavaFX platform - by default on headless Monocle - and provides some factory methods
+ * for the layouts the benchmarks are running on.
+ */
+public final class FxBenchmarkSupport {
+
+  private static boolean started;
+
+  private FxBenchmarkSupport() {
+  }
+
+  /**
+   * Starts the JavaFX platform, if not already done.
+   * <p>
+   * Unless specified otherwise via system properties, the headless Monocle platform with software
+   * rendering is used.
+   */
+  public static synchronized void startup() {
+    if (started) {
+      return;
+    }
+    setDefaultProperty("glass.platform", "Monocle");
+    setDefaultProperty("monocle.platform", "Headless");
+    setDefaultProperty("prism.order", "sw");
+    setDefaultProperty("prism.text", "t2k");
+    setDefaultProperty("headless.geometry", "2000x1600-32");
+    Platform.startup(() -> {
+    });
+    Platform.setImplicitExit(false);
+    started = true;
+  }
+
+  /**
+   * Calls {@code callable} in the JavaFX application thread and waits for the result.
+   *
+   * @param callable The {@link Callable}
+   * @param <T>      Type of the result
+   * @return The result
+   */
+  public static <T> T callInFxThread(Callable<T> callable) {
+    if (Platform.isFxApplicationThread()) {
+      try {
+        return callable.call();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    FutureTask<T> task = new FutureTask<>(callable);
+    Platform.runLater(task);
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Runs {@code runnable} in the JavaFX application thread and waits for its completion.
+   *
+   * @param runnable The {@link Runnable}
+   */
+  public static void runInFxThread(Runnable runnable) {
+    callInFxThread(() -> {
+      runnable.run();
+      return null;
+    });
+  }
+
+  /**
+   * Shows {@code root} in a new {@link Stage} at the top left corner of the screen.
+   * <p>
+   * Must be called in the JavaFX application thread.
+   *
+   * @param root   The root node
+   * @param width  The width
+   * @param height The height
+   * @return The {@code Stage}
+   */
+  public static Stage show(Parent root, double width, double height) {
+    Stage stage = new Stage();
+    stage.setX(0);
+    stage.setY(0);
+    stage.setScene(new Scene(root, width, height));
+    stage.show();
+    root.applyCss();
+    root.layout();
+    return stage;
+  }
+
+  /**
+   * Creates a balanced tree of {@link ViewGroupContainer ViewGroupContainers} having
+   * {@code groups} {@link ViewGroup ViewGroups} as leaves.
+   * <p>
+   * Each {@code ViewGroup} has {@code viewsPerGroup} {@link View Views}, each having a content with
+   * about {@code contentNodes} nodes.
+   *
+   * @param groups        Number of {@code ViewGroups}, at least one
+   * @param viewsPerGroup Number of {@code Views} per group
+   * @param contentNodes  Number of content nodes per {@code View}
+   * @return The root {@code ViewGroupContainer}
+   */
+  public static ViewGroupContainer newLayout(int groups, int viewsPerGroup, int contentNodes) {
+    return LayoutFixtures.newLayout(groups, () -> newGroup(viewsPerGroup, contentNodes));
+  }
+
+  /**
+   * Creates a {@link ViewGroup} with {@code views} {@link View Views}.
+   *
+   * @param views        Number of {@code Views}
+   * @param contentNodes Number of content nodes per {@code View}
+   * @return The {@code ViewGroup}
+   */
+  public static ViewGroup newGroup(int views, int contentNodes) {
+    return LayoutFixtures.newGroup(views, contentNodes);
+  }
+
+  /**
+   * Creates a content node consisting of about {@code nodes} nodes.
+   *
+   * @param nodes The number of nodes
+   * @return The content
+   */
+  public static Node newContent(int nodes) {
+    return LayoutFixtures.newContent(nodes);
+  }
+
+  private static void setDefaultProperty(String key, String value) {
+    if (System.getProperty(key) == null) {
+      System.setProperty(key, value);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import java.util.concurrent.TimeUnit;
+import javafx.geometry.Orientation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ViewGroupContainer#normalize()} on deep trees.
+ * <p>
+ * The tree is a chain of {@code depth} nested {@link ViewGroupContainer ViewGroupContainers}.
+ * Every second level has an empty auto-closing {@link ViewGroup} as sibling, so normalizing
+ * collapses half of the levels. Since {@code normalize} modifies the tree, it is rebuilt before
+ * each invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NormalizeBenchmark {
+
+  @Param({"8", "32", "128"})
+  public int depth;
+
+  private ViewGroupContainer root;
+
+  @Setup(Level.Trial)
+  public void setupTrial() {
+    FxBenchmarkSupport.startup();
+  }
+
+  @Setup(Level.Invocation)
+  public void setupInvocation() {
+    root = FxBenchmarkSupport.callInFxThread(() -> newTree(depth));
+  }
+
+  @Benchmark
+  public ViewGroupContainer normalize() {
+    return FxBenchmarkSupport.callInFxThread(() -> {
+      root.normalize();
+      return root;
+    });
+  }
+
+  private static ViewGroupContainer newTree(int depth) {
+    ViewGroupContainer root = new ViewGroupContainer();
+    ViewGroupContainer container = root;
+    for (int level = 0; level < depth; level++) {
+      container.setOrientation(level % 2 == 0 ? Orientation.HORIZONTAL : Orientation.VERTICAL);
+      container.setLeftTop(level % 2 == 0 ? FxBenchmarkSupport.newGroup(1, 1)
+          : FxBenchmarkSupport.newGroup(0, 0));
+      ViewGroupContainer child = new ViewGroupContainer();
+      container.setRightBottom(child);
+      container = child;
+    }
+    container.setLeftTop(FxBenchmarkSupport.newGroup(1, 1));
+    return root;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import java.util.concurrent.TimeUnit;
+import javafx.stage.Stage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the time of a full CSS pass for the different {@link StylesheetMode StylesheetModes}.
+ * <p>
+ * The scene consists of 100 {@link ViewGroup ViewGroups} in nested
+ * {@link ViewGroupContainer ViewGroupContainers}, each showing a {@link View} with about 120
+ * nodes of content.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StylesheetModeBenchmark {
+
+  @Param({"NODE", "SCENE", "USER_AGENT"})
+  public StylesheetMode mode;
+
+  private Stage stage;
+  private ViewGroupContainer root;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    FxBenchmarkSupport.startup();
+    // The mode is evaluated when the controls are constructed
+    StylesheetMode.setDefault(mode);
+    FxBenchmarkSupport.runInFxThread(() -> {
+      root = FxBenchmarkSupport.newLayout(100, 1, 120);
+      stage = FxBenchmarkSupport.show(root, 1600, 1200);
+    });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    FxBenchmarkSupport.runInFxThread(() -> stage.close());
+    StylesheetMode.setDefault(StylesheetMode.NODE);
+  }
+
+  @Benchmark
+  public ViewGroupContainer applyCss() {
+    return FxBenchmarkSupport.callInFxThread(() -> {
+      // Changing the style class forces the CSS of the entire scene graph to be reapplied
+      root.getStyleClass().add("benchmark");
+      root.getStyleClass().remove("benchmark");
+      root.applyCss();
+      return root;
+    });
+  }
+}
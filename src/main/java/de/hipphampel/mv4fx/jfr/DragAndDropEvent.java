@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for an operation of the {@code DragAndDropContext}.
+ * <p>
+ * The event is disabled by default, enable it via a JFR configuration, e.g.
+ * {@code -XX:StartFlightRecording:settings=profile,+de.hipphampel.mv4fx.DragAndDrop#enabled=true}.
+ */
+@Name(DragAndDropEvent.NAME)
+@Label("Drag and Drop")
+@Category({"mv4fx", "Drag and Drop"})
+@Description("An operation of the drag and drop context")
+@Enabled(false)
+@StackTrace(false)
+public final class DragAndDropEvent extends Event {
+
+  public static final String NAME = "de.hipphampel.mv4fx.DragAndDrop";
+
+  public static final String START = "start";
+  public static final String UPDATE = "update";
+  public static final String CONFIRM = "confirm";
+  public static final String CANCEL = "cancel";
+
+  @Label("Operation")
+  @Description("One of start, update, confirm, or cancel")
+  private String operation;
+
+  @Label("Drag Source")
+  @Description("Type of the dragged object")
+  private String dragSource;
+
+  @Label("Drop Target")
+  @Description("Type of the resolved drop target")
+  private String dropTarget;
+
+  /**
+   * Constructor.
+   *
+   * @param operation The operation
+   */
+  public DragAndDropEvent(String operation) {
+    this.operation = operation;
+  }
+
+  /**
+   * Sets the type of the drag source.
+   *
+   * @param dragSource The value
+   */
+  public void setDragSource(String dragSource) {
+    this.dragSource = dragSource;
+  }
+
+  /**
+   * Sets the type of the resolved drop target.
+   *
+   * @param dropTarget The value
+   */
+  public void setDropTarget(String dropTarget) {
+    this.dropTarget = dropTarget;
+  }
+}
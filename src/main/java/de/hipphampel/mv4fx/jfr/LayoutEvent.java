@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a layout pass of the skin of a {@code ViewGroup} or {@code ViewGroupContainer}.
+ * <p>
+ * The event is disabled by default, enable it via a JFR configuration, e.g.
+ * {@code -XX:StartFlightRecording:settings=profile,+de.hipphampel.mv4fx.Layout#enabled=true}.
+ */
+@Name(LayoutEvent.NAME)
+@Label("Layout")
+@Category({"mv4fx", "Layout"})
+@Description("A layout pass of a ViewGroup or ViewGroupContainer")
+@Enabled(false)
+@StackTrace(false)
+public final class LayoutEvent extends Event {
+
+  public static final String NAME = "de.hipphampel.mv4fx.Layout";
+
+  @Label("Component")
+  @Description("Type of the laid out control")
+  private String component;
+
+  @Label("Tab Count")
+  @Description("Number of tabs of a ViewGroup")
+  private int tabCount;
+
+  @Label("Tree Depth")
+  @Description("Depth of the tree below a ViewGroupContainer")
+  private int treeDepth;
+
+  @Label("Width")
+  private double width;
+
+  @Label("Height")
+  private double height;
+
+  /**
+   * Constructor.
+   *
+   * @param component The type of the laid out control
+   */
+  public LayoutEvent(String component) {
+    this.component = component;
+  }
+
+  /**
+   * Sets the number of tabs.
+   *
+   * @param tabCount The value
+   */
+  public void setTabCount(int tabCount) {
+    this.tabCount = tabCount;
+  }
+
+  /**
+   * Sets the depth of the tree.
+   *
+   * @param treeDepth The value
+   */
+  public void setTreeDepth(int treeDepth) {
+    this.treeDepth = treeDepth;
+  }
+
+  /**
+   * Sets the width.
+   *
+   * @param width The value
+   */
+  public void setWidth(double width) {
+    this.width = width;
+  }
+
+  /**
+   * Sets the height.
+   *
+   * @param height The value
+   */
+  public void setHeight(double height) {
+    this.height = height;
+  }
+}
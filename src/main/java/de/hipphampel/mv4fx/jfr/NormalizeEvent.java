@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the normalization of a {@code ViewGroupContainer}.
+ * <p>
+ * The event is disabled by default, enable it via a JFR configuration, e.g.
+ * {@code -XX:StartFlightRecording:settings=profile,+de.hipphampel.mv4fx.Normalize#enabled=true}.
+ */
+@Name(NormalizeEvent.NAME)
+@Label("Normalize")
+@Category({"mv4fx", "Structure"})
+@Description("Normalization of a ViewGroupContainer")
+@Enabled(false)
+@StackTrace(false)
+public final class NormalizeEvent extends Event {
+
+  public static final String NAME = "de.hipphampel.mv4fx.Normalize";
+
+  @Label("Tree Depth Before")
+  @Description("Depth of the tree before the normalization")
+  private int treeDepthBefore;
+
+  @Label("Tree Depth After")
+  @Description("Depth of the tree after the normalization")
+  private int treeDepthAfter;
+
+  /**
+   * Sets the depth of the tree before the normalization.
+   *
+   * @param treeDepthBefore The value
+   */
+  public void setTreeDepthBefore(int treeDepthBefore) {
+    this.treeDepthBefore = treeDepthBefore;
+  }
+
+  /**
+   * Sets the depth of the tree after the normalization.
+   *
+   * @param treeDepthAfter The value
+   */
+  public void setTreeDepthAfter(int treeDepthAfter) {
+    this.treeDepthAfter = treeDepthAfter;
+  }
+}
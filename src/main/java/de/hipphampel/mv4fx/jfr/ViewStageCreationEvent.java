@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the creation of a new window when dropping a {@code View} or {@code ViewGroup}
+ * outside any existing window.
+ * <p>
+ * The event is disabled by default, enable it via a JFR configuration, e.g.
+ * {@code -XX:StartFlightRecording:settings=profile,+de.hipphampel.mv4fx.ViewStageCreation#enabled=true}.
+ */
+@Name(ViewStageCreationEvent.NAME)
+@Label("ViewStage Creation")
+@Category({"mv4fx", "Structure"})
+@Description("Creation and showing of a new window for dropped views")
+@Enabled(false)
+@StackTrace(false)
+public final class ViewStageCreationEvent extends Event {
+
+  public static final String NAME = "de.hipphampel.mv4fx.ViewStageCreation";
+
+  @Label("Stage Type")
+  private String stageType;
+
+  @Label("View Count")
+  @Description("Number of views in the new window")
+  private int viewCount;
+
+  @Label("Width")
+  private double width;
+
+  @Label("Height")
+  private double height;
+
+  /**
+   * Sets the type of the created stage.
+   *
+   * @param stageType The value
+   */
+  public void setStageType(String stageType) {
+    this.stageType = stageType;
+  }
+
+  /**
+   * Sets the number of views in the new stage.
+   *
+   * @param viewCount The value
+   */
+  public void setViewCount(int viewCount) {
+    this.viewCount = viewCount;
+  }
+
+  /**
+   * Sets the width of the stage.
+   *
+   * @param width The value
+   */
+  public void setWidth(double width) {
+    this.width = width;
+  }
+
+  /**
+   * Sets the height of the stage.
+   *
+   * @param height The value
+   */
+  public void setHeight(double height) {
+    this.height = height;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.metrics;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Snapshot of a {@link MetricsSink.Histogram Histogram} recorded by the {@link JmxMetricsSink}.
+ * <p>
+ * All durations are in nanoseconds. The percentiles are upper bounds, since the histogram stores
+ * the values in buckets of powers of two.
+ */
+public class HistogramSnapshot {
+
+  private final long count;
+  private final long mean;
+  private final long max;
+  private final long p50;
+  private final long p99;
+
+  /**
+   * Constructor.
+   *
+   * @param count Number of recorded values
+   * @param mean  Mean value
+   * @param max   Maximum value
+   * @param p50   50th percentile
+   * @param p99   99th percentile
+   */
+  @ConstructorParameters({"count", "mean", "max", "p50", "p99"})
+  public HistogramSnapshot(long count, long mean, long max, long p50, long p99) {
+    this.count = count;
+    this.mean = mean;
+    this.max = max;
+    this.p50 = p50;
+    this.p99 = p99;
+  }
+
+  /**
+   * Gets the number of recorded values.
+   *
+   * @return The count
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the mean of the recorded values.
+   *
+   * @return The mean
+   */
+  public long getMean() {
+    return mean;
+  }
+
+  /**
+   * Gets the maximum of the recorded values.
+   *
+   * @return The maximum
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * Gets the 50th percentile of the recorded values.
+   *
+   * @return The percentile
+   */
+  public long getP50() {
+    return p50;
+  }
+
+  /**
+   * Gets the 99th percentile of the recorded values.
+   *
+   * @return The percentile
+   */
+  public long getP99() {
+    return p99;
+  }
+}
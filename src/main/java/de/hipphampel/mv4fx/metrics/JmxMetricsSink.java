@@ -0,0 +1,192 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * {@link MetricsSink} that collects the metrics in memory and exposes them as MXBean.
+ * <p>
+ * Typical usage:
+ * <pre>{@code
+ * JmxMetricsSink sink = new JmxMetricsSink();
+ * sink.register();
+ * MetricsSink.setInstance(sink);
+ * }</pre>
+ */
+public class JmxMetricsSink implements MetricsSink, JmxMetricsSinkMXBean {
+
+  /**
+   * Default name the instance is registered with.
+   */
+  public static final String OBJECT_NAME = "de.hipphampel.mv4fx:type=Metrics";
+
+  private final Map<Counter, LongAdder> counters;
+  private final Map<Gauge, AtomicLong> gauges;
+  private final Map<Histogram, LatencyHistogram> histograms;
+
+  /**
+   * Constructor.
+   */
+  public JmxMetricsSink() {
+    this.counters = new EnumMap<>(Counter.class);
+    this.gauges = new EnumMap<>(Gauge.class);
+    this.histograms = new EnumMap<>(Histogram.class);
+    for (Counter counter : Counter.values()) {
+      counters.put(counter, new LongAdder());
+    }
+    for (Gauge gauge : Gauge.values()) {
+      gauges.put(gauge, new AtomicLong());
+    }
+    for (Histogram histogram : Histogram.values()) {
+      histograms.put(histogram, new LatencyHistogram());
+    }
+  }
+
+  /**
+   * Registers this instance at the platform {@link MBeanServer} using the {@link #OBJECT_NAME}.
+   */
+  public void register() {
+    try {
+      ManagementFactory.getPlatformMBeanServer()
+          .registerMBean(this, new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      throw new IllegalStateException("Failed to register " + OBJECT_NAME, e);
+    }
+  }
+
+  /**
+   * Unregisters this instance from the platform {@link MBeanServer}.
+   */
+  public void unregister() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      throw new IllegalStateException("Failed to unregister " + OBJECT_NAME, e);
+    }
+  }
+
+  @Override
+  public void increment(Counter counter) {
+    counters.get(counter).increment();
+  }
+
+  @Override
+  public void record(Histogram histogram, long nanos) {
+    histograms.get(histogram).record(nanos);
+  }
+
+  @Override
+  public void adjust(Gauge gauge, long delta) {
+    gauges.get(gauge).addAndGet(delta);
+  }
+
+  @Override
+  public Map<String, Long> getCounters() {
+    Map<String, Long> result = new LinkedHashMap<>();
+    counters.forEach((counter, value) -> result.put(counter.name(), value.sum()));
+    return result;
+  }
+
+  @Override
+  public Map<String, Long> getGauges() {
+    Map<String, Long> result = new LinkedHashMap<>();
+    gauges.forEach((gauge, value) -> result.put(gauge.name(), value.get()));
+    return result;
+  }
+
+  @Override
+  public Map<String, HistogramSnapshot> getHistograms() {
+    Map<String, HistogramSnapshot> result = new LinkedHashMap<>();
+    histograms.forEach((histogram, value) -> result.put(histogram.name(), value.snapshot()));
+    return result;
+  }
+
+  @Override
+  public void reset() {
+    counters.values().forEach(LongAdder::reset);
+    histograms.values().forEach(LatencyHistogram::reset);
+  }
+
+  /**
+   * Histogram with buckets of powers of two.
+   * <p>
+   * Bucket {@code i} counts the values {@code v} with {@code 2^(i-1) <= v < 2^i}, bucket 0 the
+   * values less than one.
+   */
+  static class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long value) {
+      long v = Math.max(0, value);
+      buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(v)));
+      count.increment();
+      sum.add(v);
+      max.accumulateAndGet(v, Math::max);
+    }
+
+    void reset() {
+      for (int i = 0; i < BUCKETS; i++) {
+        buckets.set(i, 0);
+      }
+      count.reset();
+      sum.reset();
+      max.set(0);
+    }
+
+    HistogramSnapshot snapshot() {
+      long n = count.sum();
+      long mean = n == 0 ? 0 : sum.sum() / n;
+      long maximum = max.get();
+      return new HistogramSnapshot(n, mean, maximum, percentile(n, 0.5, maximum),
+          percentile(n, 0.99, maximum));
+    }
+
+    private long percentile(long n, double fraction, long maximum) {
+      long threshold = (long) Math.ceil(n * fraction);
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += buckets.get(i);
+        if (seen >= threshold && seen > 0) {
+          return Math.min(maximum, i == 0 ? 0 : (1L << i) - 1);
+        }
+      }
+      return maximum;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link JmxMetricsSink}.
+ */
+public interface JmxMetricsSinkMXBean {
+
+  /**
+   * Gets the current values of the {@link MetricsSink.Counter Counters}.
+   *
+   * @return Map of counter names to values
+   */
+  Map<String, Long> getCounters();
+
+  /**
+   * Gets the current values of the {@link MetricsSink.Gauge Gauges}.
+   *
+   * @return Map of gauge names to values
+   */
+  Map<String, Long> getGauges();
+
+  /**
+   * Gets snapshots of the {@link MetricsSink.Histogram Histograms}.
+   *
+   * @return Map of histogram names to snapshots
+   */
+  Map<String, HistogramSnapshot> getHistograms();
+
+  /**
+   * Resets the counters and histograms.
+   * <p>
+   * The gauges are kept, since they describe the current state.
+   */
+  void reset();
+}
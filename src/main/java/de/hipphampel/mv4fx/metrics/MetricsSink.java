@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.metrics;
+
+import java.util.Objects;
+
+/**
+ * Receiver of the metrics of this library.
+ * <p>
+ * There is exactly one instance, which can be accessed via the {@link #getInstance() getInstance()}
+ * method. By default, this is a no-op implementation, so collecting metrics has to be enabled
+ * explicitly by {@link #setInstance(MetricsSink) setting} a different implementation, e.g. the
+ * {@link JmxMetricsSink}.
+ * <p>
+ * The methods are called in the JavaFX application thread and must return quickly, since they are
+ * called in the hot paths of the library, e.g. during layout or drag and drop. All methods have an
+ * empty default implementation.
+ */
+public interface MetricsSink {
+
+  /**
+   * Counted events.
+   */
+  enum Counter {
+    /**
+     * {@code requestLayout} called for a {@code ViewGroup} or {@code ViewGroupContainer}.
+     */
+    REQUEST_LAYOUT,
+
+    /**
+     * Layout pass of a {@code ViewGroupSkin} or {@code ViewGroupContainerSkin}.
+     */
+    LAYOUT_PASS,
+
+    /**
+     * {@code TabControl} created.
+     */
+    TAB_CONTROL_CREATED,
+
+    /**
+     * {@code TabControl} disposed.
+     */
+    TAB_CONTROL_DISPOSED,
+
+    /**
+     * Change of the {@code View} list of a {@code ViewGroup} received by its skin.
+     */
+    LIST_CHANGE
+  }
+
+  /**
+   * Recorded latencies.
+   */
+  enum Histogram {
+    /**
+     * Duration of a {@code DragAndDropContext.update} call.
+     */
+    DRAG_UPDATE_LATENCY,
+
+    /**
+     * Duration for switching the selected {@code View} of a {@code ViewGroup}.
+     */
+    TAB_SWITCH_LATENCY
+  }
+
+  /**
+   * Current amounts.
+   * <p>
+   * Gauges are maintained incrementally, so they reflect the changes since the
+   * {@code MetricsSink} has been installed.
+   */
+  enum Gauge {
+    /**
+     * {@code Views} in a {@code ViewGroup} having a skin.
+     */
+    VIEWS,
+
+    /**
+     * {@code ViewGroups} having a skin.
+     */
+    VIEW_GROUPS,
+
+    /**
+     * Showing {@code ViewStages}.
+     */
+    WINDOWS,
+
+    /**
+     * Content nodes of {@code Views} that are attached to the scene graph.
+     */
+    CONTENT_NODES
+  }
+
+  /**
+   * Sets the one and only instance.
+   *
+   * @param sink The new {@code MetricsSink}
+   */
+  static void setInstance(MetricsSink sink) {
+    MetricsSinkHolder.instance = Objects.requireNonNull(sink);
+  }
+
+  /**
+   * Gets the one and only instance.
+   *
+   * @return The {@code MetricsSink}
+   */
+  static MetricsSink getInstance() {
+    return MetricsSinkHolder.instance;
+  }
+
+  /**
+   * Gets a {@code MetricsSink} ignoring all metrics.
+   *
+   * @return The {@code MetricsSink}
+   */
+  static MetricsSink noOp() {
+    return MetricsSinkHolder.NO_OP;
+  }
+
+  /**
+   * Increments the given {@code counter} by one.
+   *
+   * @param counter The {@link Counter}
+   */
+  default void increment(Counter counter) {
+  }
+
+  /**
+   * Records a value for the given {@code histogram}.
+   *
+   * @param histogram The {@link Histogram}
+   * @param nanos     The latency in nanoseconds
+   */
+  default void record(Histogram histogram, long nanos) {
+  }
+
+  /**
+   * Adjusts the given {@code gauge} by {@code delta}.
+   *
+   * @param gauge The {@link Gauge}
+   * @param delta The amount to add, might be negative
+   */
+  default void adjust(Gauge gauge, long delta) {
+  }
+}
+
+class MetricsSinkHolder {
+
+  static final MetricsSink NO_OP = new MetricsSink() {
+  };
+
+  static MetricsSink instance = NO_OP;
+}
@@ -23,8 +23,12 @@
 package de.hipphampel.mv4fx.utils;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javafx.beans.property.Property;
@@ -71,10 +75,20 @@ public class EnumSetCssMetaData<S extends Styleable, T extends Enum<T>> extends
     return propertyFunction.apply(styleable);
   }
 
+  /**
+   * Converter for enum sets.
+   * <p>
+   * The converted sets are interned by their CSS representation, so applying the same value again
+   * returns the identical instance and the styleable property does not get invalidated.
+   *
+   * @param <T> Type of the enum
+   */
   static class EnumSetConverter<T extends Enum<T>> extends
       StyleConverter<String, Set<T>> {
 
+    static final int MAX_CACHE_SIZE = 256;
     private final Class<T> enumClass;
+    private final Map<String, Set<T>> cache = new ConcurrentHashMap<>();
 
     public EnumSetConverter(Class<T> enumClass) {
       this.enumClass = enumClass;
@@ -91,11 +105,22 @@ public class EnumSetCssMetaData<S extends Styleable, T extends Enum<T>> extends
         return Set.of();
       }
 
-      return Arrays.stream(string.split(","))
+      Set<T> result = cache.get(string);
+      if (result == null) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+          cache.clear();
+        }
+        result = cache.computeIfAbsent(string, this::parse);
+      }
+      return result;
+    }
+
+    private Set<T> parse(String string) {
+      return Collections.unmodifiableSet(Arrays.stream(string.split(","))
           .map(String::trim)
           .filter(s -> !s.isBlank())
           .map(this::toEnumValue)
-          .collect(Collectors.toUnmodifiableSet());
+          .collect(Collectors.toCollection(() -> EnumSet.noneOf(enumClass))));
     }
 
     private T toEnumValue(String string) {
@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Distributes space among components that are placed side by side, respecting their min and max
+ * sizes.
+ */
+public class LayoutSolver {
+
+  private static final double EPSILON = 1e-6;
+
+  private LayoutSolver() {
+  }
+
+  /**
+   * Distributes {@code available} space among components.
+   * <p>
+   * The result is as close as possible to the {@code desired} sizes, but respects the {@code mins}
+   * and {@code maxs} of the components. If the space is not sufficient for the minimum sizes, it is
+   * distributed in the ratio of the minimum sizes. If it exceeds the sum of the maximum sizes, the
+   * components get their maximum size and the rest of the space is left over.
+   * <p>
+   * The space missing or exceeding after clamping the {@code desired} sizes is distributed among
+   * the components that can still shrink or grow in the ratio of their desired sizes. The
+   * components are visited once, in the order in which they would reach their limit, so a component
+   * reaching its limit passes the remaining space on to the following ones. Apart from this
+   * sorting, the effort is linear in the number of components.
+   *
+   * @param available The available space
+   * @param desired   The desired sizes
+   * @param mins      The minimum sizes
+   * @param maxs      The maximum sizes
+   * @return The sizes
+   */
+  public static double[] distribute(double available, double[] desired, double[] mins,
+      double[] maxs) {
+    int count = desired.length;
+    double[] sizes = new double[count];
+    double minSum = 0;
+    for (int i = 0; i < count; i++) {
+      minSum += mins[i];
+    }
+    if (available <= minSum) {
+      for (int i = 0; i < count; i++) {
+        sizes[i] = minSum > 0 ? available * mins[i] / minSum : available / count;
+      }
+      return sizes;
+    }
+
+    double used = 0;
+    for (int i = 0; i < count; i++) {
+      sizes[i] = Utils.ensureValueIsBetween(desired[i], mins[i], Math.max(mins[i], maxs[i]));
+      used += sizes[i];
+    }
+
+    double rest = available - used;
+    if (Math.abs(rest) <= EPSILON) {
+      return sizes;
+    }
+    double sign = Math.signum(rest);
+    double[] slacks = new double[count];
+    double[] weights = new double[count];
+    for (int i = 0; i < count; i++) {
+      slacks[i] = rest > 0 ? Math.max(mins[i], maxs[i]) - sizes[i] : sizes[i] - mins[i];
+      weights[i] = Math.max(0, desired[i]);
+    }
+    rest = fill(sizes, slacks, weights, Math.abs(rest), sign);
+    if (rest > EPSILON) {
+      // Only components without a desired size are left, they share the rest evenly
+      Arrays.fill(weights, 1);
+      fill(sizes, slacks, weights, rest, sign);
+    }
+    return sizes;
+  }
+
+  /**
+   * Distributes {@code amount} among the components having a positive weight and slack, in the
+   * ratio of their weights.
+   *
+   * @return The amount that could not be distributed
+   */
+  private static double fill(double[] sizes, double[] slacks, double[] weights, double amount,
+      double sign) {
+    int[] order = IntStream.range(0, sizes.length)
+        .filter(i -> weights[i] > 0 && slacks[i] > EPSILON)
+        .boxed()
+        .sorted(Comparator.comparingDouble(i -> slacks[i] / weights[i]))
+        .mapToInt(Integer::intValue)
+        .toArray();
+    double weightSum = 0;
+    for (int i : order) {
+      weightSum += weights[i];
+    }
+    for (int k = 0; k < order.length && amount > EPSILON && weightSum > 0; k++) {
+      int i = order[k];
+      double share = Math.min(slacks[i], amount * weights[i] / weightSum);
+      sizes[i] += sign * share;
+      slacks[i] -= share;
+      amount -= share;
+      weightSum -= weights[i];
+    }
+    return amount;
+  }
+}
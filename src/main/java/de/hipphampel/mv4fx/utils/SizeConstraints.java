@@ -0,0 +1,144 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.utils;
+
+import java.util.List;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+
+/**
+ * The size constraints of a component, that is its min, preferred and max width and height.
+ *
+ * @param minWidth   The minimum width
+ * @param minHeight  The minimum height
+ * @param prefWidth  The preferred width
+ * @param prefHeight The preferred height
+ * @param maxWidth   The maximum width
+ * @param maxHeight  The maximum height
+ */
+public record SizeConstraints(double minWidth, double minHeight, double prefWidth,
+                              double prefHeight, double maxWidth, double maxHeight) {
+
+  /**
+   * Constraints of an empty component.
+   */
+  public static final SizeConstraints EMPTY = new SizeConstraints(0, 0, 0, 0, Double.MAX_VALUE,
+      Double.MAX_VALUE);
+
+  /**
+   * Gets the constraints of {@code node}
+   *
+   * @param node The {@link Node}
+   * @return The constraints
+   */
+  public static SizeConstraints of(Node node) {
+    return new SizeConstraints(
+        SizeType.MIN.getWidth(node, -1),
+        SizeType.MIN.getHeight(node, -1),
+        SizeType.PREF.getWidth(node, -1),
+        SizeType.PREF.getHeight(node, -1),
+        SizeType.MAX.getWidth(node, -1),
+        SizeType.MAX.getHeight(node, -1));
+  }
+
+  /**
+   * Combines the constraints of components that are placed side by side.
+   * <p>
+   * Along the {@code orientation}, the sizes of the {@code items} and the dividers between them are
+   * summed up, whereas across it the most restrictive one is taken. The {@code insets} are added in
+   * both directions.
+   *
+   * @param orientation The {@link Orientation}
+   * @param items       The constraints of the components
+   * @param dividerSize The size of a divider between two components
+   * @param insets      The {@link Insets}
+   * @return The combined constraints
+   */
+  public static SizeConstraints combine(Orientation orientation, List<SizeConstraints> items,
+      double dividerSize, Insets insets) {
+    double dividers = dividerSize * Math.max(0, items.size() - 1);
+    double alongMin = dividers;
+    double alongPref = dividers;
+    double alongMax = items.isEmpty() ? Double.MAX_VALUE : dividers;
+    double acrossMin = 0;
+    double acrossPref = 0;
+    double acrossMax = Double.MAX_VALUE;
+    for (SizeConstraints item : items) {
+      alongMin += item.getSize(SizeType.MIN, orientation);
+      alongPref += item.getSize(SizeType.PREF, orientation);
+      alongMax = add(alongMax, item.getSize(SizeType.MAX, orientation));
+      acrossMin = Math.max(acrossMin, item.getCrossSize(SizeType.MIN, orientation));
+      acrossPref = Math.max(acrossPref, item.getCrossSize(SizeType.PREF, orientation));
+      acrossMax = Math.min(acrossMax, item.getCrossSize(SizeType.MAX, orientation));
+    }
+    acrossMax = Math.max(acrossMax, acrossMin);
+    acrossPref = Utils.ensureValueIsBetween(acrossPref, acrossMin, acrossMax);
+
+    double horizontalInsets = insets == null ? 0 : insets.getLeft() + insets.getRight();
+    double verticalInsets = insets == null ? 0 : insets.getTop() + insets.getBottom();
+    if (orientation == Orientation.VERTICAL) {
+      return new SizeConstraints(
+          acrossMin + horizontalInsets, alongMin + verticalInsets,
+          acrossPref + horizontalInsets, alongPref + verticalInsets,
+          add(acrossMax, horizontalInsets), add(alongMax, verticalInsets));
+    } else {
+      return new SizeConstraints(
+          alongMin + horizontalInsets, acrossMin + verticalInsets,
+          alongPref + horizontalInsets, acrossPref + verticalInsets,
+          add(alongMax, horizontalInsets), add(acrossMax, verticalInsets));
+    }
+  }
+
+  /**
+   * Gets the size along the given {@code orientation}.
+   *
+   * @param type        The {@link SizeType}
+   * @param orientation The {@link Orientation}
+   * @return The width, if {@code orientation} is horizontal, otherwise the height.
+   */
+  public double getSize(SizeType type, Orientation orientation) {
+    boolean horizontal = orientation != Orientation.VERTICAL;
+    return switch (type) {
+      case MIN -> horizontal ? minWidth : minHeight;
+      case PREF -> horizontal ? prefWidth : prefHeight;
+      case MAX -> horizontal ? maxWidth : maxHeight;
+    };
+  }
+
+  /**
+   * Gets the size across the given {@code orientation}.
+   *
+   * @param type        The {@link SizeType}
+   * @param orientation The {@link Orientation}
+   * @return The height, if {@code orientation} is horizontal, otherwise the width.
+   */
+  public double getCrossSize(SizeType type, Orientation orientation) {
+    return getSize(type,
+        orientation == Orientation.VERTICAL ? Orientation.HORIZONTAL : Orientation.VERTICAL);
+  }
+
+  private static double add(double a, double b) {
+    return a >= Double.MAX_VALUE - b ? Double.MAX_VALUE : a + b;
+  }
+}
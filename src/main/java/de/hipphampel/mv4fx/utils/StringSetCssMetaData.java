@@ -23,7 +23,9 @@
 package de.hipphampel.mv4fx.utils;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javafx.beans.property.Property;
@@ -70,12 +72,35 @@ public class StringSetCssMetaData<S extends Styleable> extends
     return propertyFunction.apply(styleable);
   }
 
+  /**
+   * Converter for string sets.
+   * <p>
+   * The converted sets are interned by their CSS representation, so applying the same value again
+   * returns the identical instance and the styleable property does not get invalidated.
+   */
   static class StringSetConverter extends StyleConverter<String, Set<String>> {
 
+    static final int MAX_CACHE_SIZE = 256;
+    private static final Map<String, Set<String>> CACHE = new ConcurrentHashMap<>();
+
     @Override
     public Set<String> convert(ParsedValue<String, Set<String>> value, Font font) {
       String string = value.getValue();
+      if (string == null) {
+        return Set.of();
+      }
+
+      Set<String> result = CACHE.get(string);
+      if (result == null) {
+        if (CACHE.size() >= MAX_CACHE_SIZE) {
+          CACHE.clear();
+        }
+        result = CACHE.computeIfAbsent(string, StringSetConverter::parse);
+      }
+      return result;
+    }
 
+    private static Set<String> parse(String string) {
       return Arrays.stream(string.split(","))
           .map(String::trim)
           .filter(s -> !s.isBlank()).collect(Collectors.toUnmodifiableSet());
@@ -27,9 +27,11 @@ import static javafx.geometry.Side.LEFT;
 import static javafx.geometry.Side.RIGHT;
 import static javafx.geometry.Side.TOP;
 
+import de.hipphampel.mv4fx.view.GroupOrContainer;
 import de.hipphampel.mv4fx.view.View;
 import de.hipphampel.mv4fx.view.ViewGroup;
 import de.hipphampel.mv4fx.view.ViewGroupContainer;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.MaximizeMode;
 import de.hipphampel.mv4fx.view.ViewStage;
 import java.util.Optional;
 import java.util.Set;
@@ -162,6 +164,38 @@ public class Utils {
     return Optional.empty();
   }
 
+  /**
+   * Gets the {@link View} that is maximized in {@link MaximizeMode#OVERLAY} mode by the root
+   * {@link ViewGroupContainer} of the given {@code node}.
+   *
+   * @param node The reference {@link Node}
+   * @return Maybe a {@code View}
+   */
+  public static Optional<View> getOverlayMaximizedView(Node node) {
+    return getRootViewGroupContainer(node)
+        .filter(root -> root.getMaximizeMode() == MaximizeMode.OVERLAY)
+        .map(ViewGroupContainer::getMaximizedView);
+  }
+
+  /**
+   * Gets the depth of the tree starting at {@code goc}.
+   * <p>
+   * A {@link ViewGroup} has a depth of 1, a {@link ViewGroupContainer} a depth of one plus the
+   * maximum depth of its children, and {@code null} a depth of 0.
+   *
+   * @param goc The {@link GroupOrContainer}
+   * @return The depth
+   */
+  public static int getTreeDepth(GroupOrContainer goc) {
+    if (goc instanceof ViewGroupContainer container) {
+      return 1 + container.getItems().stream()
+          .mapToInt(Utils::getTreeDepth)
+          .max()
+          .orElse(0);
+    }
+    return goc == null ? 0 : 1;
+  }
+
   /**
    * Normalizes or closes the given {@link ViewGroupContainer}.
    * <p>
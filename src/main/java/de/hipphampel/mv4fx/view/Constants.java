@@ -42,6 +42,11 @@ public class Constants {
    */
   public static final String CLASS_VIEW_GROUP_CONTAINER_DIVIDER = "divider";
 
+  /**
+   * Style class for the ghost line shown while dragging a view group container divider
+   */
+  public static final String CLASS_VIEW_GROUP_CONTAINER_DIVIDER_GHOST = "divider-ghost";
+
   /**
    * Style class for view groups
    */
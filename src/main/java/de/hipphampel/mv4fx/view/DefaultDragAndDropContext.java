@@ -22,6 +22,9 @@
  */
 package de.hipphampel.mv4fx.view;
 
+import de.hipphampel.mv4fx.jfr.DragAndDropEvent;
+import de.hipphampel.mv4fx.metrics.MetricsSink;
+import de.hipphampel.mv4fx.metrics.MetricsSink.Histogram;
 import de.hipphampel.mv4fx.utils.Utils;
 import de.hipphampel.mv4fx.view.DropTarget.MoveToGroup;
 import de.hipphampel.mv4fx.view.DropTarget.None;
@@ -93,6 +96,8 @@ public class DefaultDragAndDropContext implements DragAndDropContext {
     if (this.dragSource != null) {
       return;
     }
+    DragAndDropEvent event = new DragAndDropEvent(DragAndDropEvent.START);
+    event.begin();
     this.dragSource = dragSource;
     if (this.dragSource != null && this.dragSource.asControl() != null) {
       Control control = this.dragSource.asControl();
@@ -102,15 +107,22 @@ public class DefaultDragAndDropContext implements DragAndDropContext {
       this.dragSource.setDragging(true);
     }
     update(screenX, screenY);
+    commitEvent(event, dragSource, dropTarget);
   }
 
   @Override
   public void cancel() {
+    DragAndDropEvent event = new DragAndDropEvent(DragAndDropEvent.CANCEL);
+    event.begin();
+    ViewOrGroup source = dragSource;
     end();
+    commitEvent(event, source, null);
   }
 
   @Override
   public void confirm(double screenX, double screenY) {
+    DragAndDropEvent event = new DragAndDropEvent(DragAndDropEvent.CONFIRM);
+    event.begin();
     update(screenX, screenY);
     DropTarget target = dropTarget;
     ViewOrGroup source = dragSource;
@@ -122,6 +134,7 @@ public class DefaultDragAndDropContext implements DragAndDropContext {
         Utils.normalizeOrCloseViewGroupContainer(root);
       }
     }
+    commitEvent(event, source, target);
   }
 
   private void end() {
@@ -137,8 +150,22 @@ public class DefaultDragAndDropContext implements DragAndDropContext {
 
   @Override
   public void update(double screenX, double screenY) {
+    long start = System.nanoTime();
+    DragAndDropEvent event = new DragAndDropEvent(DragAndDropEvent.UPDATE);
+    event.begin();
     Optional<DropTarget> target = findDropTargetInWindows(new Point2D(screenX, screenY));
     update(target.orElse(null));
+    commitEvent(event, dragSource, dropTarget);
+    MetricsSink.getInstance().record(Histogram.DRAG_UPDATE_LATENCY, System.nanoTime() - start);
+  }
+
+  private static void commitEvent(DragAndDropEvent event, ViewOrGroup source, DropTarget target) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.setDragSource(source == null ? null : source.getClass().getSimpleName());
+      event.setDropTarget(target == null ? null : target.getClass().getSimpleName());
+      event.commit();
+    }
   }
 
   private void update(DropTarget dropTarget) {
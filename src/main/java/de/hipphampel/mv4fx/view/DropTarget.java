@@ -22,6 +22,7 @@
  */
 package de.hipphampel.mv4fx.view;
 
+import de.hipphampel.mv4fx.jfr.ViewStageCreationEvent;
 import de.hipphampel.mv4fx.utils.Utils;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
@@ -163,13 +164,26 @@ public interface DropTarget {
         container.setLeftTop(viewGroup);
       }
 
+      ViewStageCreationEvent event = new ViewStageCreationEvent();
+      event.begin();
       Stage stage = context.newStage();
       stage.setScene(new Scene(container));
-      stage.setX(screenPos.getX() - bounds.getWidth() / 2);
-      stage.setY(screenPos.getY() - bounds.getHeight() / 2);
-      stage.setWidth(bounds.getWidth());
-      stage.setHeight(bounds.getHeight());
+      container.applyCss();
+      double width = Math.max(bounds.getWidth(), container.minWidth(-1));
+      double height = Math.max(bounds.getHeight(), container.minHeight(width));
+      stage.setX(screenPos.getX() - width / 2);
+      stage.setY(screenPos.getY() - height / 2);
+      stage.setWidth(width);
+      stage.setHeight(height);
       stage.show();
+      event.end();
+      if (event.shouldCommit()) {
+        event.setStageType(stage.getClass().getSimpleName());
+        event.setViewCount((int) Utils.getAllViewsIn(container).count());
+        event.setWidth(stage.getWidth());
+        event.setHeight(stage.getHeight());
+        event.commit();
+      }
     }
   }
 
@@ -184,6 +198,10 @@ public interface DropTarget {
 
   /**
    * A {@link DropTarget} that splits an existing {@link ViewGroup} into two.
+   * <p>
+   * If the parent {@link ViewGroupContainer} of the {@code ViewGroup} has already two or more children and is oriented
+   * along the {@code dropSide}, the dropped object is inserted as a further child of this container; otherwise a new
+   * {@code ViewGroupContainer} is nested.
    */
   record SplitViewGroup(ViewGroup viewGroup, Side dropSide) implements DropTarget {
 
@@ -214,13 +232,19 @@ public interface DropTarget {
         targetGroup.addView(dragSource.asView());
       }
 
-      // Add the source to its new place
+      // Add the source to its new place; if possible, without nesting a further container
+      if (dropTargetParent.insertItem(viewGroup, targetGroup, dropSide)) {
+        return;
+      }
       if (dropTargetParent.getLeftTop() == viewGroup) {
         dropTargetParent = dropTargetParent.splitLeftTop(Utils.getOppositeSide(dropSide),
             () -> context.newViewGroupContainer(dragSourceParent, viewGroup.getParentGroupOrContainer().asViewGroupContainer()));
       } else if (dropTargetParent.getRightBottom() == viewGroup) {
         dropTargetParent = dropTargetParent.splitRightBottom(Utils.getOppositeSide(dropSide),
             () -> context.newViewGroupContainer(dragSourceParent, viewGroup.getParentGroupOrContainer().asViewGroupContainer()));
+      } else if (dropTargetParent.getMiddleItems().contains(viewGroup)) {
+        dropTargetParent = dropTargetParent.splitMiddleItem(viewGroup, Utils.getOppositeSide(dropSide),
+            () -> context.newViewGroupContainer(dragSourceParent, viewGroup.getParentGroupOrContainer().asViewGroupContainer()));
       }
       if (dropTargetParent.getLeftTop() == null) {
         dropTargetParent.setLeftTop(targetGroup);
@@ -0,0 +1,935 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ContainerSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.GroupSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ItemSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.WindowSnapshot;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.DividerDragMode;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.DividerUpdateMode;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.MaximizeMode;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.ResizePolicy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Orientation;
+import javafx.scene.Scene;
+import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+/**
+ * Crash-safe persistence of the window layouts in an append-only journal file.
+ * <p>
+ * Once {@link #start() started}, the journal observes all windows whose scene root is a
+ * {@link ViewGroupContainer}: the bounds of the windows, the children, positions and settings of
+ * the containers and the {@link ViewGroup#getViews() views}, selection and settings of the groups.
+ * Each container and group gets an id, and changes are coalesced per pulse into small records
+ * that describe just the changed nodes: a group with its views, a container with the ids of its
+ * children, the divider position of a container, or the bounds and root of a window. A subtree is
+ * written completely only when it enters a window. The {@code absolutePosition} of the containers
+ * is not recorded, since it is derived from the {@code position} and the size.
+ * <p>
+ * Writing happens on a background thread, which also forces the file to disk at the configured
+ * interval and, when the file exceeds the configured size, compacts it by replacing it with the
+ * latest records of the nodes still reachable from a window. Failures of the background thread are
+ * reported via the {@link #failureProperty() failure} property; since the latest records are kept
+ * in memory, the next compaction writes a complete file again.
+ * <p>
+ * Each record is protected by a checksum, so {@link #replay(Path) replaying} the journal after a
+ * crash restores the last state that was completely written.
+ */
+public class LayoutJournal implements AutoCloseable {
+
+  public static final String PROPERTY_FAILURE = "failure";
+
+  private static final int MAGIC = 0x4D56344A; // "MV4J"
+  private static final int VERSION = 1;
+  private static final int RECORD_WINDOW = 1;
+  private static final int RECORD_CLOSED = 2;
+  private static final int RECORD_GROUP = 3;
+  private static final int RECORD_CONTAINER = 4;
+  private static final int RECORD_POSITION = 5;
+  private static final int MAX_DEPTH = 256;
+
+  private final Path file;
+  private final Function<View, String> viewIds;
+  private final long syncIntervalMillis;
+  private final long compactionSize;
+  private final Map<Window, WindowTracker> trackers;
+  private final Map<GroupOrContainer, NodeTracker> nodes;
+  private final ListChangeListener<Window> windowsChanged;
+  private final AnimationTimer timer;
+  private final Set<WindowTracker> changedWindows;
+  private final Set<NodeTracker> changedNodes;
+  private final Set<NodeTracker> movedNodes;
+  private final Set<Integer> closed;
+  private final ObjectProperty<IOException> failure;
+  private ScheduledExecutorService writer;
+  private int nextWindowId;
+  private int nextNodeId;
+  private boolean timerRunning;
+
+  // Accessed by the writer thread only
+  private final Map<Integer, Record> latestWindows;
+  private final Map<Integer, Record> latestNodes;
+  private final Map<Integer, Record> latestPositions;
+  private FileChannel channel;
+  private long nextCompactionSize;
+  private boolean unsynced;
+
+  /**
+   * Constructor.
+   * <p>
+   * Creates an instance that forces the file to disk once per second and compacts it when it
+   * exceeds 1 MB.
+   *
+   * @param file    The journal file
+   * @param viewIds Function providing the id of a {@link View}
+   */
+  public LayoutJournal(Path file, Function<View, String> viewIds) {
+    this(file, viewIds, Duration.seconds(1), 1024 * 1024);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param file           The journal file
+   * @param viewIds        Function providing the id of a {@link View}
+   * @param syncInterval   The interval in which the file is forced to disk
+   * @param compactionSize The file size in bytes that triggers a compaction
+   */
+  public LayoutJournal(Path file, Function<View, String> viewIds, Duration syncInterval,
+      long compactionSize) {
+    this.file = Objects.requireNonNull(file);
+    this.viewIds = Objects.requireNonNull(viewIds);
+    this.syncIntervalMillis = Math.max(1, (long) syncInterval.toMillis());
+    this.compactionSize = compactionSize;
+    this.trackers = new LinkedHashMap<>();
+    this.nodes = new IdentityHashMap<>();
+    this.windowsChanged = this::onWindowsChanged;
+    this.changedWindows = new LinkedHashSet<>();
+    this.changedNodes = new LinkedHashSet<>();
+    this.movedNodes = new LinkedHashSet<>();
+    this.closed = new LinkedHashSet<>();
+    this.failure = new SimpleObjectProperty<>(this, PROPERTY_FAILURE);
+    this.latestWindows = new TreeMap<>();
+    this.latestNodes = new HashMap<>();
+    this.latestPositions = new HashMap<>();
+    this.timer = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        flush();
+      }
+    };
+  }
+
+  /**
+   * Convenience getter for the {@code failure} property.
+   * <p>
+   * See documentation of {@link #failureProperty() failure} property for details.
+   *
+   * @return The property value
+   */
+  public IOException getFailure() {
+    return failure.get();
+  }
+
+  /**
+   * The {@code failure} property.
+   * <p>
+   * The last {@link IOException} that occurred while writing, forcing or compacting the file in the
+   * background, {@code null} if there was none. The property is updated on the JavaFX application
+   * thread.
+   *
+   * @return The property
+   */
+  public ReadOnlyObjectProperty<IOException> failureProperty() {
+    return failure;
+  }
+
+  /**
+   * Starts journaling.
+   * <p>
+   * The journal file is truncated and the current state of all windows is recorded. Must be called
+   * on the JavaFX application thread.
+   *
+   * @throws IOException If the file cannot be opened
+   */
+  public void start() throws IOException {
+    if (writer != null) {
+      return;
+    }
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    writeHeader(channel);
+    nextCompactionSize = compactionSize;
+    writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "mv4fx-layout-journal");
+      thread.setDaemon(true);
+      return thread;
+    });
+    writer.scheduleWithFixedDelay(this::sync, syncIntervalMillis, syncIntervalMillis,
+        TimeUnit.MILLISECONDS);
+    Window.getWindows().addListener(windowsChanged);
+    List.copyOf(Window.getWindows()).forEach(this::track);
+  }
+
+  /**
+   * Stops journaling.
+   * <p>
+   * Pending changes are written and the file is forced to disk. Must be called on the JavaFX
+   * application thread.
+   */
+  @Override
+  public void close() {
+    if (writer == null) {
+      return;
+    }
+    flush();
+    Window.getWindows().removeListener(windowsChanged);
+    trackers.values().forEach(WindowTracker::dispose);
+    trackers.clear();
+    nodes.values().forEach(NodeTracker::dispose);
+    nodes.clear();
+    writer.execute(() -> {
+      sync();
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException e) {
+          fail(e);
+        }
+      }
+    });
+    writer.shutdown();
+    try {
+      writer.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    writer = null;
+  }
+
+  /**
+   * Replays the given journal file.
+   * <p>
+   * Reading stops at the first incomplete or corrupted record, which is typically the last one
+   * after a crash.
+   *
+   * @param file The journal file
+   * @return The last recorded state, might contain no windows
+   * @throws IOException If the file cannot be read or is no journal
+   */
+  public static LayoutSnapshot replay(Path file) throws IOException {
+    // Journals are small, so reading them at once allows to detect records claiming a size beyond
+    // the end of the file
+    try (InputStream in = new ByteArrayInputStream(Files.readAllBytes(file))) {
+      DataInputStream data = new DataInputStream(in);
+      if (data.readInt() != MAGIC) {
+        throw new IOException("Not a layout journal");
+      }
+      int version = LayoutSnapshot.readCount(data);
+      if (version != VERSION) {
+        throw new IOException("Unsupported layout journal version " + version);
+      }
+
+      Replay replay = new Replay();
+      try {
+        while (true) {
+          int type = data.read();
+          if (type < 0) {
+            break;
+          }
+          int id = LayoutSnapshot.readCount(data);
+          int length = LayoutSnapshot.readCount(data);
+          if (length > data.available()) {
+            // Either truncated or corrupted
+            break;
+          }
+          byte[] payload = new byte[length];
+          data.readFully(payload);
+          if (data.readInt() != checksum(type, id, payload)) {
+            break;
+          }
+          replay.apply(type, id, payload);
+        }
+      } catch (EOFException e) {
+        // Incomplete last record
+      }
+      return replay.build();
+    }
+  }
+
+  private void onWindowsChanged(ListChangeListener.Change<? extends Window> change) {
+    while (change.next()) {
+      change.getRemoved().forEach(this::untrack);
+      change.getAddedSubList().forEach(this::track);
+    }
+  }
+
+  private void track(Window window) {
+    if (trackers.containsKey(window)) {
+      return;
+    }
+    WindowTracker tracker = new WindowTracker(window, nextWindowId++);
+    trackers.put(window, tracker);
+    windowChanged(tracker);
+  }
+
+  private void untrack(Window window) {
+    WindowTracker tracker = trackers.remove(window);
+    if (tracker == null) {
+      return;
+    }
+    tracker.dispose();
+    changedWindows.remove(tracker);
+    if (tracker.recorded) {
+      closed.add(tracker.id);
+      scheduleFlush();
+    }
+  }
+
+  private void windowChanged(WindowTracker tracker) {
+    changedWindows.add(tracker);
+    scheduleFlush();
+  }
+
+  private void nodeChanged(NodeTracker node) {
+    changedNodes.add(node);
+    scheduleFlush();
+  }
+
+  private void nodeMoved(NodeTracker node) {
+    movedNodes.add(node);
+    scheduleFlush();
+  }
+
+  private void scheduleFlush() {
+    if (!timerRunning && writer != null) {
+      timerRunning = true;
+      timer.start();
+    }
+  }
+
+  /**
+   * Encodes the changes since the last call and hands them over to the writer thread.
+   */
+  private void flush() {
+    timer.stop();
+    timerRunning = false;
+    List<Record> records = new ArrayList<>();
+    boolean structureChanged = !changedWindows.isEmpty() || !closed.isEmpty();
+    for (NodeTracker node : changedNodes) {
+      if (!node.disposed) {
+        records.add(node.encode(records));
+        structureChanged |= node.item instanceof ViewGroupContainer;
+      }
+    }
+    for (NodeTracker node : movedNodes) {
+      if (!node.disposed && !changedNodes.contains(node)) {
+        records.add(node.encodePosition());
+      }
+    }
+    for (WindowTracker tracker : changedWindows) {
+      ViewGroupContainer root = tracker.observeRoot();
+      if (root != null) {
+        int rootId = track(root, records).id;
+        tracker.recorded = true;
+        records.add(tracker.encode(rootId));
+      } else if (tracker.recorded) {
+        tracker.recorded = false;
+        records.add(new Record(RECORD_CLOSED, tracker.id, new byte[0], new int[0]));
+      }
+    }
+    for (int id : closed) {
+      records.add(new Record(RECORD_CLOSED, id, new byte[0], new int[0]));
+    }
+    changedWindows.clear();
+    changedNodes.clear();
+    movedNodes.clear();
+    closed.clear();
+    if (structureChanged) {
+      untrackUnreachableNodes();
+    }
+    if (!records.isEmpty() && writer != null) {
+      writer.execute(() -> append(records));
+    }
+  }
+
+  /**
+   * Gets the tracker for {@code item}; if it is not tracked yet, the complete subtree is tracked
+   * and recorded.
+   */
+  private NodeTracker track(GroupOrContainer item, List<Record> records) {
+    NodeTracker node = nodes.get(item);
+    if (node == null) {
+      node = new NodeTracker(item, ++nextNodeId);
+      nodes.put(item, node);
+      records.add(node.encode(records));
+    }
+    return node;
+  }
+
+  private void untrackUnreachableNodes() {
+    Set<NodeTracker> reachable = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (WindowTracker tracker : trackers.values()) {
+      if (tracker.root != null) {
+        collectReachable(tracker.root, reachable);
+      }
+    }
+    nodes.values().removeIf(node -> {
+      if (reachable.contains(node)) {
+        return false;
+      }
+      node.dispose();
+      return true;
+    });
+  }
+
+  private void collectReachable(GroupOrContainer item, Set<NodeTracker> reachable) {
+    NodeTracker node = nodes.get(item);
+    if (node == null || !reachable.add(node)) {
+      return;
+    }
+    if (item instanceof ViewGroupContainer container) {
+      container.getItems().forEach(child -> collectReachable(child, reachable));
+    }
+  }
+
+  private void append(List<Record> records) {
+    for (Record record : records) {
+      switch (record.type) {
+        case RECORD_WINDOW -> latestWindows.put(record.id, record);
+        case RECORD_CLOSED -> latestWindows.remove(record.id);
+        case RECORD_POSITION -> latestPositions.put(record.id, record);
+        default -> {
+          latestNodes.put(record.id, record);
+          latestPositions.remove(record.id);
+        }
+      }
+    }
+    try {
+      if (channel == null) {
+        // A previous compaction failed to reopen the file, so all records are in memory only
+        compact();
+        return;
+      }
+      for (Record record : records) {
+        channel.write(ByteBuffer.wrap(record.encode()));
+      }
+      unsynced = true;
+      if (channel.size() > nextCompactionSize) {
+        compact();
+      }
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  /**
+   * Replaces the file by one containing only the latest records of the windows and the nodes
+   * reachable from them.
+   * <p>
+   * If the new file cannot be written or moved, the current file stays in place and further
+   * records are appended to it; the next attempt is made after the file has grown by the
+   * compaction size once more.
+   */
+  private void compact() throws IOException {
+    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        writeHeader(out);
+        Set<Integer> reachable = new HashSet<>();
+        for (Record window : latestWindows.values()) {
+          for (int root : window.references) {
+            writeReachable(out, root, reachable, 0);
+          }
+          out.write(ByteBuffer.wrap(window.encode()));
+        }
+        latestNodes.keySet().retainAll(reachable);
+        latestPositions.keySet().retainAll(reachable);
+        out.force(true);
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      deleteQuietly(temp);
+      if (channel != null) {
+        nextCompactionSize = channel.size() + compactionSize;
+      }
+      throw e;
+    }
+    syncDirectory();
+    FileChannel previous = channel;
+    channel = null;
+    closeQuietly(previous);
+    channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    nextCompactionSize = compactionSize;
+    unsynced = false;
+  }
+
+  private void writeReachable(FileChannel out, int id, Set<Integer> reachable, int depth)
+      throws IOException {
+    Record node = latestNodes.get(id);
+    if (node == null || depth > MAX_DEPTH || !reachable.add(id)) {
+      return;
+    }
+    for (int child : node.references) {
+      writeReachable(out, child, reachable, depth + 1);
+    }
+    out.write(ByteBuffer.wrap(node.encode()));
+    Record position = latestPositions.get(id);
+    if (position != null) {
+      out.write(ByteBuffer.wrap(position.encode()));
+    }
+  }
+
+  /**
+   * Forces the directory entry of the moved file to disk; not supported on all platforms.
+   */
+  private void syncDirectory() {
+    Path directory = file.toAbsolutePath().getParent();
+    if (directory == null) {
+      return;
+    }
+    try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+      dir.force(true);
+    } catch (IOException e) {
+      // Directories cannot be opened or forced on some platforms
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      // Not much we can do here, the next compaction overwrites it anyway
+    }
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // The file has been replaced already
+    }
+  }
+
+  private void sync() {
+    if (!unsynced || channel == null) {
+      return;
+    }
+    try {
+      channel.force(false);
+      unsynced = false;
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  private void fail(IOException e) {
+    Platform.runLater(() -> failure.set(e));
+  }
+
+  private static void writeHeader(FileChannel channel) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream data = new DataOutputStream(bytes);
+    data.writeInt(MAGIC);
+    LayoutSnapshot.writeCount(data, VERSION);
+    channel.write(ByteBuffer.wrap(bytes.toByteArray()));
+  }
+
+  private static int checksum(int type, int id, byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(ByteBuffer.allocate(2 * Integer.BYTES).putInt(type).putInt(id).flip());
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+
+  /**
+   * A single record of the journal.
+   *
+   * @param type       The type
+   * @param id         The id of the window or node
+   * @param payload    The payload
+   * @param references The ids of the nodes referenced by the record: the root of a window or the
+   *                   children of a container
+   */
+  private record Record(int type, int id, byte[] payload, int[] references) {
+
+    byte[] encode() {
+      try {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length + 16);
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeByte(type);
+        LayoutSnapshot.writeCount(data, id);
+        LayoutSnapshot.writeCount(data, payload.length);
+        data.write(payload);
+        data.writeInt(checksum(type, id, payload));
+        return bytes.toByteArray();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Observes a single window.
+   */
+  private class WindowTracker {
+
+    private final Window window;
+    private final int id;
+    private final InvalidationListener listener;
+    private Scene scene;
+    private ViewGroupContainer root;
+    private boolean recorded;
+
+    WindowTracker(Window window, int id) {
+      this.window = window;
+      this.id = id;
+      this.listener = observable -> windowChanged(this);
+      window.sceneProperty().addListener(listener);
+      window.xProperty().addListener(listener);
+      window.yProperty().addListener(listener);
+      window.widthProperty().addListener(listener);
+      window.heightProperty().addListener(listener);
+      if (window instanceof Stage stage) {
+        stage.maximizedProperty().addListener(listener);
+      }
+    }
+
+    void dispose() {
+      observeScene(null);
+      root = null;
+      window.sceneProperty().removeListener(listener);
+      window.xProperty().removeListener(listener);
+      window.yProperty().removeListener(listener);
+      window.widthProperty().removeListener(listener);
+      window.heightProperty().removeListener(listener);
+      if (window instanceof Stage stage) {
+        stage.maximizedProperty().removeListener(listener);
+      }
+    }
+
+    /**
+     * Observes the current scene and returns its root.
+     *
+     * @return The root, {@code null} if the scene root is no {@code ViewGroupContainer}
+     */
+    ViewGroupContainer observeRoot() {
+      observeScene(window.getScene());
+      root = scene != null && scene.getRoot() instanceof ViewGroupContainer container
+          ? container : null;
+      return root;
+    }
+
+    private void observeScene(Scene newScene) {
+      if (scene == newScene) {
+        return;
+      }
+      if (scene != null) {
+        scene.rootProperty().removeListener(listener);
+      }
+      scene = newScene;
+      if (scene != null) {
+        scene.rootProperty().addListener(listener);
+      }
+    }
+
+    Record encode(int rootId) {
+      try {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(40);
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeDouble(window.getX());
+        data.writeDouble(window.getY());
+        data.writeDouble(window.getWidth());
+        data.writeDouble(window.getHeight());
+        data.writeBoolean(window instanceof Stage stage && stage.isMaximized());
+        LayoutSnapshot.writeCount(data, rootId);
+        return new Record(RECORD_WINDOW, id, bytes.toByteArray(), new int[]{rootId});
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Observes a single {@link ViewGroupContainer} or {@link ViewGroup}.
+   * <p>
+   * For containers, changes of the {@code position} are observed separately, since they happen
+   * frequently and are recorded in a record of their own.
+   */
+  private class NodeTracker {
+
+    private final GroupOrContainer item;
+    private final int id;
+    private final InvalidationListener changedListener;
+    private final InvalidationListener movedListener;
+    private final List<Observable> observed;
+    private boolean disposed;
+
+    NodeTracker(GroupOrContainer item, int id) {
+      this.item = item;
+      this.id = id;
+      this.changedListener = observable -> nodeChanged(this);
+      this.movedListener = observable -> nodeMoved(this);
+      this.observed = new ArrayList<>();
+      if (item instanceof ViewGroupContainer container) {
+        observe(container.leftTopProperty());
+        observe(container.rightBottomProperty());
+        observe(container.getMiddleItems());
+        observe(container.getWeights());
+        observe(container.orientationProperty());
+        observe(container.dividerDragModeProperty());
+        observe(container.dividerUpdateModeProperty());
+        observe(container.resizePolicyProperty());
+        observe(container.maximizeModeProperty());
+        observe(container.dividerSizeProperty());
+        observe(container.maximizedViewProperty());
+        container.positionProperty().addListener(movedListener);
+      } else {
+        ViewGroup group = item.asViewGroup();
+        observe(group.getViews());
+        observe(group.getSelection().selectedItemProperty());
+        observe(group.sideProperty());
+        observe(group.tabMinWidthProperty());
+        observe(group.tabMaxWidthProperty());
+        observe(group.viewSelectorControlsProperty());
+        observe(group.autoCloseProperty());
+        observe(group.dragTagsProperty());
+        observe(group.dropTagsProperty());
+        observe(group.dropSplitSidesProperty());
+        observe(group.dropTargetTypesProperty());
+      }
+    }
+
+    private void observe(Observable observable) {
+      observable.addListener(changedListener);
+      observed.add(observable);
+    }
+
+    void dispose() {
+      disposed = true;
+      observed.forEach(observable -> observable.removeListener(changedListener));
+      observed.clear();
+      if (item instanceof ViewGroupContainer container) {
+        container.positionProperty().removeListener(movedListener);
+      }
+    }
+
+    /**
+     * Encodes the node; children not tracked yet are tracked and recorded into {@code records}.
+     */
+    Record encode(List<Record> records) {
+      try {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream data = new DataOutputStream(bytes);
+        if (!(item instanceof ViewGroupContainer container)) {
+          LayoutSnapshot.writeGroup(data,
+              LayoutSnapshot.captureGroup(item.asViewGroup(), viewIds));
+          return new Record(RECORD_GROUP, id, bytes.toByteArray(), new int[0]);
+        }
+
+        List<GroupOrContainer> children = container.getItems();
+        int[] childIds = new int[children.size()];
+        for (int i = 0; i < childIds.length; i++) {
+          childIds[i] = track(children.get(i), records).id;
+        }
+        View maximizedView = container.getMaximizedView();
+        LayoutSnapshot.writeEnum(data, LayoutSnapshot.userValue(container.orientationProperty()));
+        LayoutSnapshot.writeEnum(data,
+            LayoutSnapshot.userValue(container.dividerDragModeProperty()));
+        LayoutSnapshot.writeEnum(data,
+            LayoutSnapshot.userValue(container.dividerUpdateModeProperty()));
+        LayoutSnapshot.writeEnum(data, LayoutSnapshot.userValue(container.resizePolicyProperty()));
+        LayoutSnapshot.writeEnum(data, LayoutSnapshot.userValue(container.maximizeModeProperty()));
+        data.writeDouble(LayoutSnapshot.userSize(container.dividerSizeProperty()));
+        data.writeDouble(container.getPosition());
+        LayoutSnapshot.writeString(data,
+            maximizedView == null ? null : viewIds.apply(maximizedView));
+        LayoutSnapshot.writeCount(data, childIds.length);
+        for (int i = 0; i < childIds.length; i++) {
+          data.writeDouble(container.getWeight(children.get(i)));
+          LayoutSnapshot.writeCount(data, childIds[i]);
+        }
+        return new Record(RECORD_CONTAINER, id, bytes.toByteArray(), childIds);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    Record encodePosition() {
+      ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES);
+      buffer.putDouble(((ViewGroupContainer) item).getPosition());
+      return new Record(RECORD_POSITION, id, buffer.array(), new int[0]);
+    }
+  }
+
+  /**
+   * State of the windows and nodes while replaying.
+   */
+  private static class Replay {
+
+    private final Map<Integer, WindowNode> windows = new TreeMap<>();
+    private final Map<Integer, Object> nodes = new HashMap<>();
+
+    void apply(int type, int id, byte[] payload) throws IOException {
+      DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+      switch (type) {
+        case RECORD_WINDOW -> windows.put(id, new WindowNode(data.readDouble(), data.readDouble(),
+            data.readDouble(), data.readDouble(), data.readBoolean(),
+            LayoutSnapshot.readCount(data)));
+        case RECORD_CLOSED -> windows.remove(id);
+        case RECORD_GROUP -> nodes.put(id, LayoutSnapshot.readGroup(data));
+        case RECORD_CONTAINER -> nodes.put(id, readContainer(data));
+        case RECORD_POSITION -> {
+          if (nodes.get(id) instanceof ContainerNode container) {
+            nodes.put(id, container.withPosition(data.readDouble()));
+          }
+        }
+        default -> throw new IOException("Unknown record type " + type);
+      }
+    }
+
+    private static ContainerNode readContainer(DataInput in) throws IOException {
+      Orientation orientation = LayoutSnapshot.readEnum(in, Orientation.class);
+      DividerDragMode dividerDragMode = LayoutSnapshot.readEnum(in, DividerDragMode.class);
+      DividerUpdateMode dividerUpdateMode = LayoutSnapshot.readEnum(in, DividerUpdateMode.class);
+      ResizePolicy resizePolicy = LayoutSnapshot.readEnum(in, ResizePolicy.class);
+      MaximizeMode maximizeMode = LayoutSnapshot.readEnum(in, MaximizeMode.class);
+      double dividerSize = in.readDouble();
+      double position = in.readDouble();
+      String maximizedViewId = LayoutSnapshot.readString(in);
+      int count = LayoutSnapshot.readCount(in);
+      List<Double> weights = new ArrayList<>();
+      List<Integer> children = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        weights.add(in.readDouble());
+        children.add(LayoutSnapshot.readCount(in));
+      }
+      return new ContainerNode(orientation, dividerDragMode, dividerUpdateMode, resizePolicy,
+          maximizeMode, dividerSize, position, maximizedViewId, List.copyOf(weights),
+          List.copyOf(children));
+    }
+
+    LayoutSnapshot build() {
+      List<WindowSnapshot> result = new ArrayList<>();
+      for (WindowNode window : windows.values()) {
+        if (resolve(window.rootId(), 0) instanceof ContainerSnapshot root) {
+          result.add(new WindowSnapshot(window.x(), window.y(), window.width(), window.height(),
+              window.maximized(), root));
+        }
+      }
+      return new LayoutSnapshot(List.copyOf(result));
+    }
+
+    /**
+     * Builds the snapshot of the node with the given {@code id}; children that are missing, for
+     * example due to a corrupted record, are skipped.
+     */
+    private ItemSnapshot resolve(int id, int depth) {
+      Object node = nodes.get(id);
+      if (node instanceof GroupSnapshot group) {
+        return group;
+      }
+      if (!(node instanceof ContainerNode container) || depth > MAX_DEPTH) {
+        return null;
+      }
+      List<Double> weights = new ArrayList<>();
+      List<ItemSnapshot> items = new ArrayList<>();
+      for (int i = 0; i < container.children().size(); i++) {
+        ItemSnapshot item = resolve(container.children().get(i), depth + 1);
+        if (item != null) {
+          weights.add(container.weights().get(i));
+          items.add(item);
+        }
+      }
+      return new ContainerSnapshot(container.orientation(), container.dividerDragMode(),
+          container.dividerUpdateMode(), container.resizePolicy(), container.maximizeMode(),
+          container.dividerSize(), container.position(), Region.USE_COMPUTED_SIZE,
+          container.maximizedViewId(), List.copyOf(weights), List.copyOf(items));
+    }
+  }
+
+  private record WindowNode(double x, double y, double width, double height, boolean maximized,
+                            int rootId) {
+
+  }
+
+  private record ContainerNode(Orientation orientation, DividerDragMode dividerDragMode,
+                               DividerUpdateMode dividerUpdateMode, ResizePolicy resizePolicy,
+                               MaximizeMode maximizeMode, double dividerSize, double position,
+                               String maximizedViewId, List<Double> weights,
+                               List<Integer> children) {
+
+    ContainerNode withPosition(double newPosition) {
+      return new ContainerNode(orientation, dividerDragMode, dividerUpdateMode, resizePolicy,
+          maximizeMode, dividerSize, newPosition, maximizedViewId, weights, children);
+    }
+  }
+}
@@ -0,0 +1,486 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ContainerSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.GroupSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ItemSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
+
+/**
+ * Thread safe model of a layout, decoupled from the scene graph.
+ * <p>
+ * The model holds the layout as an immutable {@link ContainerSnapshot}, so reading it never blocks
+ * and always returns a consistent state. It can be modified from any thread, either via the
+ * convenience methods for opening, moving, selecting and closing views or via
+ * {@link #update(UnaryOperator)}; modifications are applied atomically by a compare-and-set loop,
+ * so concurrent modifications do not get lost.
+ * <p>
+ * When {@linkplain #bind(ViewGroupContainer, LayoutReconciler) bound} to a live
+ * {@link ViewGroupContainer}, the model keeps it in sync: after a modification, a synchronization
+ * is scheduled for the next pulse, unless one is already pending. The synchronization applies the
+ * then current layout via a {@link LayoutReconciler}, so all modifications done between two pulses
+ * result in a single batch of changes to the scene graph.
+ * <p>
+ * Changes done directly to the bound tree, e.g. by drag and drop, dragging a divider or selecting a
+ * tab, are folded back into the model on the next pulse, so they are not reverted by later
+ * synchronizations. If the model has been modified in the same pulse as well, the modification of
+ * the model wins. Divider positions and weights are only folded back when the user releases a
+ * divider, since they also change whenever the tree is resized. All views of the bound tree must
+ * have an id.
+ */
+public class LayoutModel {
+
+  private final AtomicReference<ContainerSnapshot> layout;
+  private final AtomicBoolean synchronizationPending;
+  private final AnimationTimer timer;
+  private final InvalidationListener treeListener;
+  private final ChangeListener<Object> treePropertyListener;
+  private final EventHandler<MouseEvent> dividerReleasedHandler;
+  private final List<Runnable> treeObservations;
+  private volatile ViewGroupContainer root;
+  private volatile LayoutReconciler reconciler;
+  private ContainerSnapshot appliedLayout;
+  private boolean treeChanged;
+  private boolean synchronizing;
+  private boolean timerRunning;
+
+  /**
+   * Constructor.
+   *
+   * @param layout The initial layout
+   */
+  public LayoutModel(ContainerSnapshot layout) {
+    this.layout = new AtomicReference<>(Objects.requireNonNull(layout));
+    this.synchronizationPending = new AtomicBoolean();
+    this.timer = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        onPulse();
+      }
+    };
+    this.treeListener = observable -> onTreeChanged();
+    this.treePropertyListener = (observable, oldValue, newValue) -> onTreeChanged();
+    this.dividerReleasedHandler = this::onDividerReleased;
+    this.treeObservations = new ArrayList<>();
+  }
+
+  /**
+   * Returns the current layout.
+   *
+   * @return The layout
+   */
+  public ContainerSnapshot getLayout() {
+    return layout.get();
+  }
+
+  /**
+   * Sets the layout.
+   *
+   * @param layout The new layout
+   */
+  public void setLayout(ContainerSnapshot layout) {
+    update(current -> Objects.requireNonNull(layout));
+  }
+
+  /**
+   * Updates the layout.
+   * <p>
+   * The {@code function} is applied to the current layout; if the layout has been changed
+   * concurrently in the meantime, it is applied again to the new one, so it should be free of side
+   * effects.
+   *
+   * @param function Function computing the new layout from the current one
+   * @return The new layout
+   */
+  public ContainerSnapshot update(UnaryOperator<ContainerSnapshot> function) {
+    ContainerSnapshot current;
+    ContainerSnapshot updated;
+    do {
+      current = layout.get();
+      updated = Objects.requireNonNull(function.apply(current));
+    } while (!layout.compareAndSet(current, updated));
+    if (updated != current) {
+      scheduleSynchronization();
+    }
+    return updated;
+  }
+
+  /**
+   * Opens the view with the given id.
+   * <p>
+   * The view is added to the group containing {@code anchorViewId} and selected. If there is no
+   * such group, the first group of the layout is used. If the view is already part of the layout,
+   * it is just selected.
+   *
+   * @param viewId       The id of the view
+   * @param anchorViewId The id of a view of the target group, might be {@code null}
+   * @throws IllegalStateException If the layout contains no group
+   */
+  public void openView(String viewId, String anchorViewId) {
+    Objects.requireNonNull(viewId);
+    update(current -> {
+      if (findGroup(current, viewId) != null) {
+        return select(current, viewId);
+      }
+      return add(current, viewId, anchorViewId);
+    });
+  }
+
+  /**
+   * Moves the view with the given id to the group containing {@code anchorViewId}.
+   * <p>
+   * The view is appended to the target group and selected. If the view is not part of the layout,
+   * it is opened.
+   *
+   * @param viewId       The id of the view
+   * @param anchorViewId The id of a view of the target group
+   * @throws IllegalStateException If the layout contains no group
+   */
+  public void moveView(String viewId, String anchorViewId) {
+    Objects.requireNonNull(viewId);
+    update(current -> add(remove(current, viewId), viewId, anchorViewId));
+  }
+
+  /**
+   * Selects the view with the given id within its group.
+   *
+   * @param viewId The id of the view
+   */
+  public void selectView(String viewId) {
+    update(current -> select(current, viewId));
+  }
+
+  /**
+   * Closes the view with the given id.
+   * <p>
+   * The view is removed from its group. Groups becoming empty are removed, if they have the
+   * {@code autoClose} flag, and so are containers having only one item left.
+   *
+   * @param viewId The id of the view
+   */
+  public void closeView(String viewId) {
+    update(current -> remove(current, viewId));
+  }
+
+  /**
+   * Binds the model to the given {@link ViewGroupContainer}.
+   * <p>
+   * The tree of {@code root} is synchronized immediately and after each modification of the model;
+   * changes done directly to the tree are folded back into the model. This method must be called
+   * on the FX application thread.
+   *
+   * @param root       The root of the tree
+   * @param reconciler The {@link LayoutReconciler} used to apply the layout
+   */
+  public void bind(ViewGroupContainer root, LayoutReconciler reconciler) {
+    unobserveTree();
+    if (this.root != null) {
+      this.root.removeEventFilter(MouseEvent.MOUSE_RELEASED, dividerReleasedHandler);
+    }
+    this.reconciler = Objects.requireNonNull(reconciler);
+    this.root = Objects.requireNonNull(root);
+    root.addEventFilter(MouseEvent.MOUSE_RELEASED, dividerReleasedHandler);
+    this.appliedLayout = null;
+    this.treeChanged = false;
+    synchronize();
+  }
+
+  /**
+   * Unbinds the model from the tree it is currently bound to.
+   * <p>
+   * This method must be called on the FX application thread.
+   */
+  public void unbind() {
+    unobserveTree();
+    if (root != null) {
+      root.removeEventFilter(MouseEvent.MOUSE_RELEASED, dividerReleasedHandler);
+    }
+    this.root = null;
+    this.reconciler = null;
+    if (timerRunning) {
+      timerRunning = false;
+      timer.stop();
+    }
+  }
+
+  private void scheduleSynchronization() {
+    if (root != null && synchronizationPending.compareAndSet(false, true)) {
+      if (Platform.isFxApplicationThread()) {
+        startTimer();
+      } else {
+        Platform.runLater(this::startTimer);
+      }
+    }
+  }
+
+  private void startTimer() {
+    if (root != null && !timerRunning) {
+      timerRunning = true;
+      timer.start();
+    }
+  }
+
+  private void onTreeChanged() {
+    if (!synchronizing && !treeChanged) {
+      treeChanged = true;
+      startTimer();
+    }
+  }
+
+  private void onDividerReleased(MouseEvent event) {
+    if (event.getTarget() instanceof Node node
+        && node.getStyleClass().contains(Constants.CLASS_VIEW_GROUP_CONTAINER_DIVIDER)) {
+      onTreeChanged();
+    }
+  }
+
+  // Visible for testing
+  void onPulse() {
+    synchronize();
+    if (timerRunning && !synchronizationPending.get()) {
+      timerRunning = false;
+      timer.stop();
+    }
+  }
+
+  // Visible for testing
+  void synchronize() {
+    synchronizationPending.set(false);
+    ViewGroupContainer currentRoot = root;
+    LayoutReconciler currentReconciler = reconciler;
+    if (currentRoot == null || currentReconciler == null) {
+      return;
+    }
+    if (treeChanged) {
+      treeChanged = false;
+      ContainerSnapshot live = LayoutSnapshot.captureContainer(currentRoot,
+          currentReconciler.getViewIds());
+      if (layout.compareAndSet(appliedLayout, live)) {
+        appliedLayout = live;
+      }
+      observeTree(currentRoot);
+    }
+    ContainerSnapshot current = layout.get();
+    if (current == appliedLayout) {
+      return;
+    }
+    synchronizing = true;
+    try {
+      currentReconciler.reconcile(currentRoot, current);
+    } finally {
+      synchronizing = false;
+    }
+    appliedLayout = current;
+    observeTree(currentRoot);
+  }
+
+  private void observeTree(ViewGroupContainer currentRoot) {
+    unobserveTree();
+    observe(currentRoot);
+  }
+
+  private void observe(GroupOrContainer item) {
+    if (item instanceof ViewGroupContainer container) {
+      observe(container.getMiddleItems());
+      observe(container.leftTopProperty());
+      observe(container.rightBottomProperty());
+      observe(container.maximizedViewProperty());
+      container.getItems().forEach(this::observe);
+    } else {
+      ViewGroup group = item.asViewGroup();
+      observe(group.getViews());
+      observe(group.getSelection().selectedIndexProperty());
+    }
+  }
+
+  private void observe(Observable list) {
+    list.addListener(treeListener);
+    treeObservations.add(() -> list.removeListener(treeListener));
+  }
+
+  private void observe(ObservableValue<?> property) {
+    property.addListener(treePropertyListener);
+    treeObservations.add(() -> property.removeListener(treePropertyListener));
+  }
+
+  private void unobserveTree() {
+    treeObservations.forEach(Runnable::run);
+    treeObservations.clear();
+  }
+
+  private static GroupSnapshot findGroup(ContainerSnapshot container, String viewId) {
+    for (ItemSnapshot item : container.items()) {
+      GroupSnapshot found = item instanceof ContainerSnapshot cs ? findGroup(cs, viewId)
+          : ((GroupSnapshot) item).viewIds().contains(viewId) ? (GroupSnapshot) item : null;
+      if (found != null) {
+        return found;
+      }
+    }
+    return null;
+  }
+
+  private static GroupSnapshot findFirstGroup(ContainerSnapshot container) {
+    for (ItemSnapshot item : container.items()) {
+      GroupSnapshot found = item instanceof ContainerSnapshot cs ? findFirstGroup(cs)
+          : (GroupSnapshot) item;
+      if (found != null) {
+        return found;
+      }
+    }
+    return null;
+  }
+
+  private static ContainerSnapshot add(ContainerSnapshot layout, String viewId,
+      String anchorViewId) {
+    GroupSnapshot target = anchorViewId == null ? null : findGroup(layout, anchorViewId);
+    if (target == null) {
+      target = findFirstGroup(layout);
+    }
+    if (target == null) {
+      throw new IllegalStateException("Layout contains no group");
+    }
+    GroupSnapshot group = target;
+    return replaceGroups(layout, candidate -> {
+      if (candidate != group) {
+        return candidate;
+      }
+      List<String> ids = new ArrayList<>(candidate.viewIds());
+      ids.add(viewId);
+      return withViews(candidate, ids, ids.size() - 1);
+    });
+  }
+
+  private static ContainerSnapshot remove(ContainerSnapshot layout, String viewId) {
+    ContainerSnapshot result = replaceGroups(layout, group -> {
+      int index = group.viewIds().indexOf(viewId);
+      if (index == -1) {
+        return group;
+      }
+      List<String> ids = new ArrayList<>(group.viewIds());
+      ids.remove(index);
+      int selected = group.selectedIndex();
+      if (selected > index || selected == ids.size()) {
+        selected--;
+      }
+      return withViews(group, ids, selected);
+    });
+    if (result == layout) {
+      return layout;
+    }
+    result = (ContainerSnapshot) prune(result, true);
+    if (!viewId.equals(result.maximizedViewId())) {
+      return result;
+    }
+    return new ContainerSnapshot(result.orientation(), result.dividerDragMode(),
+        result.dividerUpdateMode(), result.resizePolicy(), result.maximizeMode(),
+        result.dividerSize(), result.position(), result.absolutePosition(), null,
+        result.weights(), result.items());
+  }
+
+  /**
+   * Removes empty groups having the auto close flag and replaces containers having only one item
+   * by this item, like {@link ViewGroupContainer#normalize()} would do.
+   */
+  private static ItemSnapshot prune(ItemSnapshot item, boolean isRoot) {
+    if (item instanceof GroupSnapshot group) {
+      return group.autoClose() && group.viewIds().isEmpty() ? null : group;
+    }
+    ContainerSnapshot container = (ContainerSnapshot) item;
+    List<ItemSnapshot> items = new ArrayList<>(container.items().size());
+    List<Double> weights = new ArrayList<>(container.items().size());
+    boolean changed = false;
+    for (int i = 0; i < container.items().size(); i++) {
+      ItemSnapshot child = container.items().get(i);
+      ItemSnapshot pruned = prune(child, false);
+      changed |= pruned != child;
+      if (pruned != null) {
+        items.add(pruned);
+        weights.add(container.weights().get(i));
+      }
+    }
+    if (!isRoot && items.size() < 2) {
+      return items.isEmpty() ? null : items.get(0);
+    }
+    if (!changed) {
+      return container;
+    }
+    return new ContainerSnapshot(container.orientation(), container.dividerDragMode(),
+        container.dividerUpdateMode(), container.resizePolicy(), container.maximizeMode(),
+        container.dividerSize(), container.position(), container.absolutePosition(),
+        container.maximizedViewId(), List.copyOf(weights), List.copyOf(items));
+  }
+
+  private static ContainerSnapshot select(ContainerSnapshot layout, String viewId) {
+    return replaceGroups(layout, group -> {
+      int index = group.viewIds().indexOf(viewId);
+      return index == -1 || index == group.selectedIndex() ? group
+          : withViews(group, group.viewIds(), index);
+    });
+  }
+
+  private static GroupSnapshot withViews(GroupSnapshot group, List<String> viewIds,
+      int selectedIndex) {
+    return new GroupSnapshot(group.side(), group.tabMinWidth(), group.tabMaxWidth(),
+        group.viewSelectorControls(), group.autoClose(), group.dragTags(), group.dropTags(),
+        group.dropSplitSides(), group.dropTargetTypes(), List.copyOf(viewIds), selectedIndex);
+  }
+
+  /**
+   * Replaces the groups of {@code container} by the result of {@code function}; the containers
+   * are copied only if one of their descendants has been replaced.
+   */
+  private static ContainerSnapshot replaceGroups(ContainerSnapshot container,
+      UnaryOperator<GroupSnapshot> function) {
+    List<ItemSnapshot> items = new ArrayList<>(container.items().size());
+    boolean changed = false;
+    for (ItemSnapshot item : container.items()) {
+      ItemSnapshot replaced = item instanceof ContainerSnapshot cs
+          ? replaceGroups(cs, function)
+          : function.apply((GroupSnapshot) item);
+      changed |= replaced != item;
+      items.add(replaced);
+    }
+    if (!changed) {
+      return container;
+    }
+    return new ContainerSnapshot(container.orientation(), container.dividerDragMode(),
+        container.dividerUpdateMode(), container.resizePolicy(), container.maximizeMode(),
+        container.dividerSize(), container.position(), container.absolutePosition(),
+        container.maximizedViewId(), container.weights(), List.copyOf(items));
+  }
+}
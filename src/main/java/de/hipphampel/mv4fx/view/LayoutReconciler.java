@@ -0,0 +1,381 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ContainerSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.GroupSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ItemSnapshot;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import javafx.scene.layout.Region;
+
+/**
+ * Applies a target layout to a live {@link ViewGroupContainer} tree with a minimal set of
+ * mutations.
+ * <p>
+ * Instead of tearing down and rebuilding the tree (as {@link LayoutSnapshot#restore} does), the
+ * reconciler reuses the existing {@link ViewGroup ViewGroups} and {@code ViewGroupContainers} as
+ * far as possible, so that their skins and the content of the {@link View Views} stay intact. The
+ * target is described by a {@link ContainerSnapshot}, views are matched by their ids.
+ * <p>
+ * The reconciliation works in linear time:
+ * <ol>
+ *   <li>The live tree is indexed: for each view id the view and its group, for each item its
+ *   parent container.</li>
+ *   <li>The target tree is traversed bottom up: a target group is matched with the not yet matched
+ *   live group containing most of its views, a target container with the not yet matched live
+ *   container being the parent of most of its matched children. The target root is always matched
+ *   with the live root. Target items without a match take over the remaining live items; only if
+ *   there are none left, new instances are created.</li>
+ *   <li>Views and items that move to a different parent are detached from their old parent, then
+ *   the children of each changed group or container are set; unchanged ones are not touched.</li>
+ *   <li>Finally, the tree is {@linkplain ViewGroupContainer#normalize() normalized} once.</li>
+ * </ol>
+ * Views of the live tree not mentioned in the target are removed from it. Views mentioned in the
+ * target, but not present in the live tree are obtained via the {@code views} function passed to
+ * the constructor.
+ */
+public class LayoutReconciler {
+
+  private final Function<View, String> viewIds;
+  private final Function<String, View> views;
+
+  /**
+   * Constructor.
+   *
+   * @param viewIds Function providing the id of a {@link View}
+   * @param views   Function returning a {@code View} for an id that is not in the live tree;
+   *                ids for which it returns {@code null} are skipped
+   */
+  public LayoutReconciler(Function<View, String> viewIds, Function<String, View> views) {
+    this.viewIds = Objects.requireNonNull(viewIds);
+    this.views = Objects.requireNonNull(views);
+  }
+
+  Function<View, String> getViewIds() {
+    return viewIds;
+  }
+
+  /**
+   * Reconciles the tree of {@code root} with {@code target}.
+   *
+   * @param root   The live root
+   * @param target The target layout
+   * @return The number of groups and containers whose children have been changed
+   */
+  public int reconcile(ViewGroupContainer root, ContainerSnapshot target) {
+    return new Run(root).reconcile(target);
+  }
+
+  private class Run {
+
+    private final ViewGroupContainer root;
+    private final Map<String, View> liveViews = new HashMap<>();
+    private final Map<GroupOrContainer, ViewGroupContainer> liveParents = new IdentityHashMap<>();
+    private final List<ViewGroup> liveGroups = new ArrayList<>();
+    private final List<ViewGroupContainer> liveContainers = new ArrayList<>();
+    private final Map<ItemSnapshot, GroupOrContainer> matches = new IdentityHashMap<>();
+    private final Map<GroupOrContainer, Boolean> claimed = new IdentityHashMap<>();
+    private final Map<String, View> resolvedViews = new HashMap<>();
+    private final Map<View, ViewGroup> targetGroups = new IdentityHashMap<>();
+    private final Map<GroupOrContainer, ViewGroupContainer> targetParents =
+        new IdentityHashMap<>();
+    private final Map<GroupOrContainer, Boolean> changed = new IdentityHashMap<>();
+    private final List<GroupSnapshot> pendingGroups = new ArrayList<>();
+    private final List<ContainerSnapshot> pendingContainers = new ArrayList<>();
+
+    Run(ViewGroupContainer root) {
+      this.root = root;
+    }
+
+    int reconcile(ContainerSnapshot target) {
+      index(root);
+      View maximizedView = resolveView(target.maximizedViewId());
+      if (root.getMaximizedView() != maximizedView) {
+        root.maximizeView(null);
+      }
+
+      matches.put(target, root);
+      claimed.put(root, true);
+      match(target);
+      assignPending();
+      collectTargets(target, root);
+
+      detach();
+      apply(target);
+
+      if (needsNormalization(root, true)) {
+        root.normalize();
+      }
+      if (maximizedView != null && maximizedView.getViewGroup() != null
+          && root.getMaximizedView() != maximizedView) {
+        maximizedView.setMaximized(true);
+        root.maximizeView(maximizedView);
+      }
+      return changed.size();
+    }
+
+    private boolean needsNormalization(ViewGroupContainer container, boolean isRoot) {
+      List<GroupOrContainer> items = container.getItems();
+      if (isRoot ? items.size() == 1 && items.get(0) instanceof ViewGroupContainer
+          : items.size() < 2) {
+        return true;
+      }
+      for (GroupOrContainer item : items) {
+        if (item instanceof ViewGroup group && group.isAutoClose() && group.getViews().isEmpty()) {
+          return true;
+        }
+        if (item instanceof ViewGroupContainer vgc && (needsNormalization(vgc, false) || (
+            items.size() > 1 && vgc.getOrientation() == container.getOrientation()))) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void index(ViewGroupContainer container) {
+      liveContainers.add(container);
+      for (GroupOrContainer item : container.getItems()) {
+        liveParents.put(item, container);
+        if (item instanceof ViewGroupContainer vgc) {
+          index(vgc);
+        } else if (item instanceof ViewGroup group) {
+          liveGroups.add(group);
+          for (View view : group.getViews()) {
+            String id = viewIds.apply(view);
+            if (id != null) {
+              liveViews.put(id, view);
+            }
+          }
+        }
+      }
+    }
+
+    private View resolveView(String id) {
+      if (id == null) {
+        return null;
+      }
+      if (resolvedViews.containsKey(id)) {
+        return resolvedViews.get(id);
+      }
+      View view = liveViews.get(id);
+      if (view == null) {
+        view = views.apply(id);
+      }
+      resolvedViews.put(id, view);
+      return view;
+    }
+
+    private void match(ContainerSnapshot target) {
+      for (ItemSnapshot item : target.items()) {
+        if (item instanceof ContainerSnapshot cs) {
+          match(cs);
+          matchContainer(cs);
+        } else {
+          matchGroup((GroupSnapshot) item);
+        }
+      }
+    }
+
+    private void matchGroup(GroupSnapshot target) {
+      Map<GroupOrContainer, Integer> votes = new LinkedHashMap<>();
+      for (String id : target.viewIds()) {
+        View view = resolveView(id);
+        if (view != null && liveParents.containsKey(view.getViewGroup())) {
+          votes.merge(view.getViewGroup(), 1, Integer::sum);
+        }
+      }
+      GroupOrContainer match = elect(votes);
+      if (match == null) {
+        pendingGroups.add(target);
+      }
+      matches.put(target, match);
+    }
+
+    private void matchContainer(ContainerSnapshot target) {
+      Map<GroupOrContainer, Integer> votes = new LinkedHashMap<>();
+      for (ItemSnapshot item : target.items()) {
+        ViewGroupContainer parent = liveParents.get(matches.get(item));
+        if (parent != null) {
+          votes.merge(parent, 1, Integer::sum);
+        }
+      }
+      GroupOrContainer match = elect(votes);
+      if (match == null) {
+        pendingContainers.add(target);
+      }
+      matches.put(target, match);
+    }
+
+    private GroupOrContainer elect(Map<GroupOrContainer, Integer> votes) {
+      GroupOrContainer best = null;
+      int bestVotes = 0;
+      for (Map.Entry<GroupOrContainer, Integer> entry : votes.entrySet()) {
+        if (entry.getValue() > bestVotes && !claimed.containsKey(entry.getKey())) {
+          best = entry.getKey();
+          bestVotes = entry.getValue();
+        }
+      }
+      if (best != null) {
+        claimed.put(best, true);
+      }
+      return best;
+    }
+
+    private void assignPending() {
+      List<ViewGroup> unclaimedGroups = liveGroups.stream()
+          .filter(group -> !claimed.containsKey(group))
+          .toList();
+      for (int i = 0; i < pendingGroups.size(); i++) {
+        matches.put(pendingGroups.get(i),
+            i < unclaimedGroups.size() ? unclaimedGroups.get(i) : new ViewGroup());
+      }
+      List<ViewGroupContainer> unclaimedContainers = liveContainers.stream()
+          .filter(container -> !claimed.containsKey(container))
+          .toList();
+      for (int i = 0; i < pendingContainers.size(); i++) {
+        matches.put(pendingContainers.get(i),
+            i < unclaimedContainers.size() ? unclaimedContainers.get(i) : new ViewGroupContainer());
+      }
+    }
+
+    private void collectTargets(ContainerSnapshot target, ViewGroupContainer container) {
+      for (ItemSnapshot item : target.items()) {
+        GroupOrContainer goc = matches.get(item);
+        targetParents.put(goc, container);
+        if (item instanceof ContainerSnapshot cs) {
+          collectTargets(cs, (ViewGroupContainer) goc);
+        } else {
+          for (String id : ((GroupSnapshot) item).viewIds()) {
+            View view = resolveView(id);
+            if (view != null) {
+              targetGroups.putIfAbsent(view, (ViewGroup) goc);
+            }
+          }
+        }
+      }
+    }
+
+    private void detach() {
+      for (ViewGroup group : liveGroups) {
+        if (group.getViews().stream().anyMatch(view -> targetGroups.get(view) != group)) {
+          group.getViews().removeIf(view -> targetGroups.get(view) != group);
+          changed.put(group, true);
+        }
+      }
+      for (ViewGroupContainer container : liveContainers) {
+        List<GroupOrContainer> items = container.getItems();
+        List<GroupOrContainer> staying = items.stream()
+            .filter(item -> targetParents.get(item) == container)
+            .toList();
+        if (staying.size() != items.size()) {
+          container.setItems(staying);
+          changed.put(container, true);
+        }
+      }
+      // Views not part of the live tree might still be attached somewhere else
+      for (Map.Entry<View, ViewGroup> entry : targetGroups.entrySet()) {
+        ViewGroup current = entry.getKey().getViewGroup();
+        if (current != null && current != entry.getValue()) {
+          current.removeView(entry.getKey());
+          changed.put(current, true);
+        }
+      }
+    }
+
+    private void apply(ContainerSnapshot target) {
+      ViewGroupContainer container = (ViewGroupContainer) matches.get(target);
+      LayoutSnapshot.applySettings(container, target);
+
+      List<GroupOrContainer> items = new ArrayList<>(target.items().size());
+      for (int i = 0; i < target.items().size(); i++) {
+        ItemSnapshot item = target.items().get(i);
+        if (item instanceof ContainerSnapshot cs) {
+          apply(cs);
+        } else {
+          apply((GroupSnapshot) item);
+        }
+        items.add(matches.get(item));
+      }
+      if (!items.equals(container.getItems())) {
+        changed.put(container, true);
+      }
+      container.setItems(items, target.weights());
+      // The absolute position is derived from the position by the skin; a container without a skin
+      // computes it from the position once it gets one
+      if (container.getSkin() == null) {
+        container.setAbsolutePosition(Region.USE_COMPUTED_SIZE);
+      }
+      container.setPosition(target.position());
+    }
+
+    private void apply(GroupSnapshot target) {
+      ViewGroup group = (ViewGroup) matches.get(target);
+      LayoutSnapshot.applySettings(group, target);
+
+      List<View> groupViews = new ArrayList<>(target.viewIds().size());
+      View selected = null;
+      for (int i = 0; i < target.viewIds().size(); i++) {
+        View view = resolveView(target.viewIds().get(i));
+        if (view == null || targetGroups.get(view) != group) {
+          continue;
+        }
+        groupViews.add(view);
+        if (i == target.selectedIndex()) {
+          selected = view;
+        }
+      }
+      if (!groupViews.equals(group.getViews())) {
+        updateViews(group.getViews(), groupViews);
+        changed.put(group, true);
+      }
+      if (selected != null && group.getSelection().getSelectedItem() != selected) {
+        group.selectView(selected);
+      }
+    }
+
+    /**
+     * Turns {@code views} into {@code target} by single removals and insertions, since the skin of a
+     * {@link ViewGroup} does not expect replacements.
+     */
+    private void updateViews(List<View> views, List<View> target) {
+      for (int i = 0; i < target.size(); i++) {
+        View view = target.get(i);
+        if (i < views.size() && views.get(i) == view) {
+          continue;
+        }
+        views.remove(view);
+        views.add(i, view);
+      }
+      while (views.size() > target.size()) {
+        views.remove(views.size() - 1);
+      }
+    }
+  }
+}
@@ -0,0 +1,688 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import de.hipphampel.mv4fx.view.ViewGroup.ViewSelectorControls;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.DividerDragMode;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.DividerUpdateMode;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.MaximizeMode;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.ResizePolicy;
+import de.hipphampel.mv4fx.view.ViewOrGroup.DropTargetType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.Property;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.beans.value.ObservableValue;
+import javafx.css.StyleOrigin;
+import javafx.css.StyleableProperty;
+import javafx.geometry.Orientation;
+import javafx.geometry.Side;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+/**
+ * Snapshot of the layout of all windows showing a {@link ViewGroupContainer}.
+ * <p>
+ * A snapshot records the bounds of the windows and the complete tree of {@code ViewGroupContainers}
+ * and {@link ViewGroup ViewGroups}, including their settings, the order and selection of the
+ * {@link View Views} and the maximized {@code View}. Since {@code Views} cannot be persisted
+ * themselves, they are identified by ids, which are provided by the caller when capturing and
+ * mapped back to {@code Views} when restoring.
+ * <p>
+ * Settings that can be styled via CSS are only recorded if they have been set by the application:
+ * values coming from a stylesheet or the default value are captured as {@code null}, or
+ * {@link Double#NaN} for sizes, and are left untouched when restoring, so that they keep following
+ * the stylesheet.
+ * <p>
+ * The snapshot can be {@link #write(OutputStream) written} in a compact, versioned binary format.
+ * {@link #restore(Function, Supplier) Restoring} builds the trees detached from any scene, so that
+ * neither layout passes nor normalizations happen until the stages are shown.
+ *
+ * @param windows The {@link WindowSnapshot WindowSnapshots}
+ */
+public record LayoutSnapshot(List<WindowSnapshot> windows) {
+
+  /**
+   * Version of the binary format written by this class.
+   */
+  public static final int VERSION = 1;
+
+  private static final int MAGIC = 0x4D56344C; // "MV4L"
+  private static final int TYPE_GROUP = 0;
+  private static final int TYPE_CONTAINER = 1;
+  private static final int MAX_INITIAL_CAPACITY = 64;
+
+  /**
+   * Snapshot of a window.
+   *
+   * @param x         The x position
+   * @param y         The y position
+   * @param width     The width
+   * @param height    The height
+   * @param maximized Whether the window is maximized
+   * @param root      The root container
+   */
+  public record WindowSnapshot(double x, double y, double width, double height, boolean maximized,
+                               ContainerSnapshot root) {
+
+  }
+
+  /**
+   * Snapshot of a {@link ViewGroupContainer} or a {@link ViewGroup}.
+   */
+  public sealed interface ItemSnapshot permits ContainerSnapshot, GroupSnapshot {
+
+  }
+
+  /**
+   * Snapshot of a {@link ViewGroupContainer}.
+   *
+   * @param orientation       The orientation, {@code null} if not set by the application
+   * @param dividerDragMode   The divider drag mode, {@code null} if not set by the application
+   * @param dividerUpdateMode The divider update mode, {@code null} if not set by the application
+   * @param resizePolicy      The resize policy, {@code null} if not set by the application
+   * @param maximizeMode      The maximize mode, {@code null} if not set by the application
+   * @param dividerSize       The divider size, {@code NaN} if not set by the application
+   * @param position          The position
+   * @param absolutePosition  The absolute position
+   * @param maximizedViewId   Id of the maximized view, {@code null} if none
+   * @param weights           The weights of the children
+   * @param items             The children
+   */
+  public record ContainerSnapshot(Orientation orientation, DividerDragMode dividerDragMode,
+                                  DividerUpdateMode dividerUpdateMode, ResizePolicy resizePolicy,
+                                  MaximizeMode maximizeMode, double dividerSize, double position,
+                                  double absolutePosition, String maximizedViewId,
+                                  List<Double> weights, List<ItemSnapshot> items) implements
+      ItemSnapshot {
+
+  }
+
+  /**
+   * Snapshot of a {@link ViewGroup}.
+   *
+   * @param side                 The side, {@code null} if not set by the application
+   * @param tabMinWidth          The minimum tab width, {@code NaN} if not set by the application
+   * @param tabMaxWidth          The maximum tab width, {@code NaN} if not set by the application
+   * @param viewSelectorControls The view selector controls, {@code null} if not set by the
+   *                             application
+   * @param autoClose            The auto close flag
+   * @param dragTags             The drag tags, {@code null} if not set by the application
+   * @param dropTags             The drop tags, {@code null} if not set by the application
+   * @param dropSplitSides       The drop split sides, {@code null} if not set by the application
+   * @param dropTargetTypes      The drop target types, {@code null} if not set by the application
+   * @param viewIds              The ids of the views, in order
+   * @param selectedIndex        Index of the selected view, -1 if none
+   */
+  public record GroupSnapshot(Side side, double tabMinWidth, double tabMaxWidth,
+                              ViewSelectorControls viewSelectorControls, boolean autoClose,
+                              Set<String> dragTags, Set<String> dropTags, Set<Side> dropSplitSides,
+                              Set<DropTargetType> dropTargetTypes, List<String> viewIds,
+                              int selectedIndex) implements ItemSnapshot {
+
+  }
+
+  /**
+   * Captures the layout of all windows whose scene root is a {@link ViewGroupContainer}.
+   *
+   * @param viewIds Function providing the id of a {@link View}
+   * @return The snapshot
+   */
+  public static LayoutSnapshot capture(Function<View, String> viewIds) {
+    return capture(Window.getWindows(), viewIds);
+  }
+
+  /**
+   * Captures the layout of the given {@code windows}.
+   * <p>
+   * Windows whose scene root is not a {@link ViewGroupContainer} are ignored.
+   *
+   * @param windows The {@link Window Windows}
+   * @param viewIds Function providing the id of a {@link View}
+   * @return The snapshot
+   */
+  public static LayoutSnapshot capture(Collection<? extends Window> windows,
+      Function<View, String> viewIds) {
+    List<WindowSnapshot> result = new ArrayList<>();
+    for (Window window : List.copyOf(windows)) {
+      Scene scene = window.getScene();
+      if (scene == null || !(scene.getRoot() instanceof ViewGroupContainer root)) {
+        continue;
+      }
+      boolean maximized = window instanceof Stage stage && stage.isMaximized();
+      result.add(new WindowSnapshot(window.getX(), window.getY(), window.getWidth(),
+          window.getHeight(), maximized, captureContainer(root, viewIds)));
+    }
+    return new LayoutSnapshot(List.copyOf(result));
+  }
+
+  static ContainerSnapshot captureContainer(ViewGroupContainer container,
+      Function<View, String> viewIds) {
+    List<GroupOrContainer> children = container.getItems();
+    List<Double> weights = new ArrayList<>(children.size());
+    List<ItemSnapshot> items = new ArrayList<>(children.size());
+    for (GroupOrContainer child : children) {
+      weights.add(container.getWeight(child));
+      items.add(child instanceof ViewGroupContainer vgc
+          ? captureContainer(vgc, viewIds)
+          : captureGroup(child.asViewGroup(), viewIds));
+    }
+    View maximizedView = container.getMaximizedView();
+    return new ContainerSnapshot(
+        userValue(container.orientationProperty()),
+        userValue(container.dividerDragModeProperty()),
+        userValue(container.dividerUpdateModeProperty()),
+        userValue(container.resizePolicyProperty()),
+        userValue(container.maximizeModeProperty()),
+        userSize(container.dividerSizeProperty()),
+        container.getPosition(),
+        container.getAbsolutePosition(),
+        maximizedView == null ? null : viewIds.apply(maximizedView),
+        List.copyOf(weights),
+        List.copyOf(items));
+  }
+
+  static GroupSnapshot captureGroup(ViewGroup group, Function<View, String> viewIds) {
+    List<String> ids = group.getViews().stream()
+        .map(viewIds)
+        .map(Objects::requireNonNull)
+        .toList();
+    return new GroupSnapshot(
+        userValue(group.sideProperty()),
+        userSize(group.tabMinWidthProperty()),
+        userSize(group.tabMaxWidthProperty()),
+        userValue(group.viewSelectorControlsProperty()),
+        group.isAutoClose(),
+        copyOf(userValue(group.dragTagsProperty())),
+        copyOf(userValue(group.dropTagsProperty())),
+        copyOf(userValue(group.dropSplitSidesProperty())),
+        copyOf(userValue(group.dropTargetTypesProperty())),
+        ids,
+        group.getSelection().getSelectedIndex());
+  }
+
+  /**
+   * Returns the value of {@code property}, or {@code null}, if it is styleable and its value has
+   * not been set by the application.
+   */
+  static <T> T userValue(ObservableValue<T> property) {
+    return isUserValue(property) ? property.getValue() : null;
+  }
+
+  /**
+   * Returns the value of the size {@code property}, or {@code NaN}, if its value has not been set
+   * by the application.
+   */
+  static double userSize(ObservableDoubleValue property) {
+    return isUserValue(property) ? property.get() : Double.NaN;
+  }
+
+  private static boolean isUserValue(ObservableValue<?> property) {
+    return !(property instanceof StyleableProperty<?> styleable)
+        || styleable.getStyleOrigin() == StyleOrigin.USER;
+  }
+
+  private static <T> Set<T> copyOf(Set<T> set) {
+    return set == null ? null : Set.copyOf(set);
+  }
+
+  /**
+   * Restores the layout.
+   * <p>
+   * For each window, a new {@link Stage} is created via {@code stageFactory}, the tree is built
+   * while being detached and then set as scene root. Views are obtained via {@code views}; ids for
+   * which it returns {@code null} are skipped. The stages are shown afterwards.
+   *
+   * @param views        Function returning the {@link View} for an id
+   * @param stageFactory Factory for the {@code Stages}
+   * @return The {@code Stages}
+   */
+  public List<Stage> restore(Function<String, View> views, Supplier<? extends Stage> stageFactory) {
+    List<Stage> stages = new ArrayList<>(windows.size());
+    for (WindowSnapshot window : windows) {
+      ViewGroupContainer root = restoreContainer(window.root(), views);
+      Stage stage = stageFactory.get();
+      stage.setScene(new Scene(root));
+      stage.setX(window.x());
+      stage.setY(window.y());
+      stage.setWidth(window.width());
+      stage.setHeight(window.height());
+      stage.setMaximized(window.maximized());
+
+      String maximizedViewId = window.root().maximizedViewId();
+      View maximizedView = maximizedViewId == null ? null : views.apply(maximizedViewId);
+      if (maximizedView != null && maximizedView.getViewGroup() != null) {
+        maximizedView.setMaximized(true);
+        root.maximizeView(maximizedView);
+      }
+      stages.add(stage);
+    }
+    stages.forEach(Stage::show);
+    return stages;
+  }
+
+  /**
+   * Restores the layout lazily, using placeholder views.
+   * <p>
+   * Works like {@link #restore(Function, Supplier)}, but the views are created via
+   * {@link ViewRegistry#newView(String)}, so only their tab labels and graphics exist when the
+   * stages are shown. A view is materialized when it is shown the first time or its content is
+   * requested.
+   *
+   * @param registry     The {@link ViewRegistry}
+   * @param stageFactory Factory for the {@code Stages}
+   * @return The {@code Stages}
+   */
+  public List<Stage> restore(ViewRegistry registry, Supplier<? extends Stage> stageFactory) {
+    Map<String, View> views = new HashMap<>();
+    return restore(id -> views.computeIfAbsent(id, registry::newView), stageFactory);
+  }
+
+  static ViewGroupContainer restoreContainer(ContainerSnapshot snapshot,
+      Function<String, View> views) {
+    ViewGroupContainer container = new ViewGroupContainer();
+    applySettings(container, snapshot);
+
+    List<GroupOrContainer> items = new ArrayList<>(snapshot.items().size());
+    for (int i = 0; i < snapshot.items().size(); i++) {
+      GroupOrContainer item = snapshot.items().get(i) instanceof ContainerSnapshot cs
+          ? restoreContainer(cs, views)
+          : restoreGroup((GroupSnapshot) snapshot.items().get(i), views);
+      items.add(item);
+    }
+    container.setItems(items, snapshot.weights());
+    container.setPosition(snapshot.position());
+    container.setAbsolutePosition(snapshot.absolutePosition());
+    return container;
+  }
+
+  private static ViewGroup restoreGroup(GroupSnapshot snapshot, Function<String, View> views) {
+    ViewGroup group = new ViewGroup();
+    applySettings(group, snapshot);
+
+    List<View> groupViews = new ArrayList<>(snapshot.viewIds().size());
+    View selected = null;
+    for (int i = 0; i < snapshot.viewIds().size(); i++) {
+      View view = views.apply(snapshot.viewIds().get(i));
+      if (view == null) {
+        continue;
+      }
+      if (view.getViewGroup() != null) {
+        view.getViewGroup().removeView(view);
+      }
+      groupViews.add(view);
+      if (i == snapshot.selectedIndex()) {
+        selected = view;
+      }
+    }
+    group.getViews().setAll(groupViews);
+    if (selected != null) {
+      group.selectView(selected);
+    }
+    return group;
+  }
+
+  /**
+   * Applies the settings of {@code snapshot} to {@code container}; settings not recorded are
+   * skipped, so that they keep their value from the stylesheet.
+   */
+  static void applySettings(ViewGroupContainer container, ContainerSnapshot snapshot) {
+    applyValue(container.orientationProperty(), snapshot.orientation());
+    applyValue(container.dividerDragModeProperty(), snapshot.dividerDragMode());
+    applyValue(container.dividerUpdateModeProperty(), snapshot.dividerUpdateMode());
+    applyValue(container.resizePolicyProperty(), snapshot.resizePolicy());
+    applyValue(container.maximizeModeProperty(), snapshot.maximizeMode());
+    applySize(container.dividerSizeProperty(), snapshot.dividerSize());
+  }
+
+  /**
+   * Applies the settings of {@code snapshot} to {@code group}; settings not recorded are skipped,
+   * so that they keep their value from the stylesheet.
+   */
+  static void applySettings(ViewGroup group, GroupSnapshot snapshot) {
+    applyValue(group.sideProperty(), snapshot.side());
+    applySize(group.tabMinWidthProperty(), snapshot.tabMinWidth());
+    applySize(group.tabMaxWidthProperty(), snapshot.tabMaxWidth());
+    applyValue(group.viewSelectorControlsProperty(), snapshot.viewSelectorControls());
+    group.setAutoClose(snapshot.autoClose());
+    applyValue(group.dragTagsProperty(), snapshot.dragTags());
+    applyValue(group.dropTagsProperty(), snapshot.dropTags());
+    applyValue(group.dropSplitSidesProperty(), snapshot.dropSplitSides());
+    applyValue(group.dropTargetTypesProperty(), snapshot.dropTargetTypes());
+  }
+
+  private static <T> void applyValue(Property<T> property, T value) {
+    // An equal value is set as well, unless it is already a user value, to override the stylesheet
+    if (value != null && (!isUserValue(property) || !value.equals(property.getValue()))) {
+      property.setValue(value);
+    }
+  }
+
+  private static void applySize(DoubleProperty property, double value) {
+    if (!Double.isNaN(value) && (!isUserValue(property) || value != property.get())) {
+      property.set(value);
+    }
+  }
+
+  /**
+   * Encodes this snapshot in the binary format.
+   *
+   * @return The encoded bytes
+   */
+  public byte[] toBytes() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      write(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Decodes a snapshot from the binary format.
+   *
+   * @param bytes The encoded bytes
+   * @return The snapshot
+   * @throws IOException If the bytes are no valid snapshot
+   */
+  public static LayoutSnapshot fromBytes(byte[] bytes) throws IOException {
+    return read(new ByteArrayInputStream(bytes));
+  }
+
+  /**
+   * Writes this snapshot in the binary format.
+   * <p>
+   * The format starts with a magic number and the {@link #VERSION}, followed by the windows and
+   * their trees in depth first order. Counts are stored as variable length integers and enums by
+   * their ordinal, so the version needs to be increased whenever one of the enums changes.
+   *
+   * @param out The {@link OutputStream}, which is not closed
+   * @throws IOException In case of an I/O error
+   */
+  public void write(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    writeCount(data, VERSION);
+    writeCount(data, windows.size());
+    for (WindowSnapshot window : windows) {
+      data.writeDouble(window.x());
+      data.writeDouble(window.y());
+      data.writeDouble(window.width());
+      data.writeDouble(window.height());
+      data.writeBoolean(window.maximized());
+      writeContainer(data, window.root());
+    }
+    data.flush();
+  }
+
+  /**
+   * Reads a snapshot in the binary format.
+   *
+   * @param in The {@link InputStream}, which is not closed
+   * @return The snapshot
+   * @throws IOException In case of an I/O error or if the data is no valid snapshot
+   */
+  public static LayoutSnapshot read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC) {
+      throw new IOException("Not a layout snapshot");
+    }
+    int version = readCount(data);
+    if (version != VERSION) {
+      throw new IOException("Unsupported layout snapshot version " + version);
+    }
+    int count = readCount(data);
+    List<WindowSnapshot> windows = new ArrayList<>(capacity(count));
+    for (int i = 0; i < count; i++) {
+      windows.add(new WindowSnapshot(data.readDouble(), data.readDouble(), data.readDouble(),
+          data.readDouble(), data.readBoolean(), readContainer(data)));
+    }
+    return new LayoutSnapshot(List.copyOf(windows));
+  }
+
+  private static void writeItem(DataOutput out, ItemSnapshot item) throws IOException {
+    if (item instanceof ContainerSnapshot container) {
+      out.writeByte(TYPE_CONTAINER);
+      writeContainer(out, container);
+    } else {
+      out.writeByte(TYPE_GROUP);
+      writeGroup(out, (GroupSnapshot) item);
+    }
+  }
+
+  private static ItemSnapshot readItem(DataInput in) throws IOException {
+    int type = in.readByte();
+    return switch (type) {
+      case TYPE_CONTAINER -> readContainer(in);
+      case TYPE_GROUP -> readGroup(in);
+      default -> throw new IOException("Unknown item type " + type);
+    };
+  }
+
+  private static void writeContainer(DataOutput out, ContainerSnapshot container)
+      throws IOException {
+    writeEnum(out, container.orientation());
+    writeEnum(out, container.dividerDragMode());
+    writeEnum(out, container.dividerUpdateMode());
+    writeEnum(out, container.resizePolicy());
+    writeEnum(out, container.maximizeMode());
+    out.writeDouble(container.dividerSize());
+    out.writeDouble(container.position());
+    out.writeDouble(container.absolutePosition());
+    writeString(out, container.maximizedViewId());
+    writeCount(out, container.items().size());
+    for (int i = 0; i < container.items().size(); i++) {
+      out.writeDouble(container.weights().get(i));
+      writeItem(out, container.items().get(i));
+    }
+  }
+
+  private static ContainerSnapshot readContainer(DataInput in) throws IOException {
+    Orientation orientation = readEnum(in, Orientation.class);
+    DividerDragMode dividerDragMode = readEnum(in, DividerDragMode.class);
+    DividerUpdateMode dividerUpdateMode = readEnum(in, DividerUpdateMode.class);
+    ResizePolicy resizePolicy = readEnum(in, ResizePolicy.class);
+    MaximizeMode maximizeMode = readEnum(in, MaximizeMode.class);
+    double dividerSize = in.readDouble();
+    double position = in.readDouble();
+    double absolutePosition = in.readDouble();
+    String maximizedViewId = readString(in);
+    int count = readCount(in);
+    List<Double> weights = new ArrayList<>(capacity(count));
+    List<ItemSnapshot> items = new ArrayList<>(capacity(count));
+    for (int i = 0; i < count; i++) {
+      weights.add(in.readDouble());
+      items.add(readItem(in));
+    }
+    return new ContainerSnapshot(orientation, dividerDragMode, dividerUpdateMode, resizePolicy,
+        maximizeMode, dividerSize, position, absolutePosition, maximizedViewId,
+        List.copyOf(weights), List.copyOf(items));
+  }
+
+  static void writeGroup(DataOutput out, GroupSnapshot group) throws IOException {
+    writeEnum(out, group.side());
+    out.writeDouble(group.tabMinWidth());
+    out.writeDouble(group.tabMaxWidth());
+    writeEnum(out, group.viewSelectorControls());
+    out.writeBoolean(group.autoClose());
+    writeOptionalStrings(out, group.dragTags());
+    writeOptionalStrings(out, group.dropTags());
+    writeOptionalEnumSet(out, group.dropSplitSides());
+    writeOptionalEnumSet(out, group.dropTargetTypes());
+    writeStrings(out, group.viewIds());
+    writeCount(out, group.selectedIndex() + 1);
+  }
+
+  static GroupSnapshot readGroup(DataInput in) throws IOException {
+    return new GroupSnapshot(
+        readEnum(in, Side.class),
+        in.readDouble(),
+        in.readDouble(),
+        readEnum(in, ViewSelectorControls.class),
+        in.readBoolean(),
+        readOptionalStrings(in),
+        readOptionalStrings(in),
+        readOptionalEnumSet(in, Side.class),
+        readOptionalEnumSet(in, DropTargetType.class),
+        List.copyOf(readStrings(in)),
+        readCount(in) - 1);
+  }
+
+  static void writeCount(DataOutput out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  static int readCount(DataInput in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        if (value < 0) {
+          break;
+        }
+        return value;
+      }
+    }
+    throw new IOException("Malformed count");
+  }
+
+  static void writeString(DataOutput out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  static String readString(DataInput in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static void writeStrings(DataOutput out, Collection<String> values) throws IOException {
+    writeCount(out, values.size());
+    for (String value : values) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static List<String> readStrings(DataInput in) throws IOException {
+    int count = readCount(in);
+    List<String> values = new ArrayList<>(capacity(count));
+    for (int i = 0; i < count; i++) {
+      values.add(in.readUTF());
+    }
+    return values;
+  }
+
+  private static void writeOptionalStrings(DataOutput out, Set<String> values)
+      throws IOException {
+    out.writeBoolean(values != null);
+    if (values != null) {
+      writeStrings(out, values);
+    }
+  }
+
+  private static Set<String> readOptionalStrings(DataInput in) throws IOException {
+    return in.readBoolean() ? Set.copyOf(readStrings(in)) : null;
+  }
+
+  /**
+   * Limits the initial capacity for {@code count} elements, so that a corrupt count fails with an
+   * {@link java.io.EOFException} when reading the elements instead of allocating a huge array.
+   */
+  static int capacity(int count) {
+    return Math.min(count, MAX_INITIAL_CAPACITY);
+  }
+
+  static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+    writeCount(out, value == null ? 0 : value.ordinal() + 1);
+  }
+
+  static <E extends Enum<E>> E readEnum(DataInput in, Class<E> type) throws IOException {
+    int ordinal = readCount(in) - 1;
+    E[] constants = type.getEnumConstants();
+    if (ordinal >= constants.length) {
+      throw new IOException("Invalid value for " + type.getSimpleName());
+    }
+    return ordinal < 0 ? null : constants[ordinal];
+  }
+
+  private static <E extends Enum<E>> void writeEnumSet(DataOutput out, Set<E> values)
+      throws IOException {
+    int mask = 0;
+    for (E value : values) {
+      mask |= 1 << value.ordinal();
+    }
+    writeCount(out, mask);
+  }
+
+  private static <E extends Enum<E>> void writeOptionalEnumSet(DataOutput out, Set<E> values)
+      throws IOException {
+    out.writeBoolean(values != null);
+    if (values != null) {
+      writeEnumSet(out, values);
+    }
+  }
+
+  private static <E extends Enum<E>> Set<E> readOptionalEnumSet(DataInput in, Class<E> type)
+      throws IOException {
+    return in.readBoolean() ? readEnumSet(in, type) : null;
+  }
+
+  private static <E extends Enum<E>> Set<E> readEnumSet(DataInput in, Class<E> type)
+      throws IOException {
+    int mask = readCount(in);
+    Set<E> values = new LinkedHashSet<>();
+    for (E constant : type.getEnumConstants()) {
+      if ((mask & (1 << constant.ordinal())) != 0) {
+        values.add(constant);
+      }
+    }
+    return Set.copyOf(values);
+  }
+}
@@ -0,0 +1,572 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import javafx.geometry.Orientation;
+import javafx.geometry.Side;
+
+/**
+ * Declarative template for a {@link ViewGroupContainer} tree.
+ * <p>
+ * A template describes the structure of a tree: the containers with their orientation, the groups
+ * and the weights of the items. Instead of {@link View Views}, groups contain named slots; when
+ * {@linkplain #create(Function) creating} a tree, the slots are resolved to views. Templates can be
+ * defined via a builder DSL:
+ * <pre>{@code
+ * LayoutTemplate template = LayoutTemplate.of(
+ *     horizontal(
+ *         group("ticket"),
+ *         vertical(group("blotter"), group("chart", "news").withSelected("chart"))
+ *             .withWeight(2)));
+ * }</pre>
+ * or in text form, which is equivalent to the example above:
+ * <pre>{@code
+ * H[(ticket), V[(blotter), (chart!, news)]*2]
+ * }</pre>
+ * The text form consists of containers, written as {@code H[...]} or {@code V[...]} with a comma
+ * separated list of items, and groups, written as {@code (...)} with a comma separated list of
+ * slot names. A slot name followed by {@code !} marks the selected view of the group. An item
+ * might be followed by {@code @side} to specify the {@link Side} of a group (e.g.
+ * {@code @bottom}) and by {@code *weight} to specify its weight.
+ * <p>
+ * A template is validated and compiled once, when calling {@link #of(ContainerItem)} or
+ * {@link #parse(String)}; the latter caches the most recently parsed templates by their text, so
+ * callers parsing many different texts should keep the templates themselves. The compiled form builds
+ * the tree in a single pass from the leaves to the root, so that each container gets its items
+ * exactly once. The {@code ViewGroups} and {@code ViewGroupContainers} are created via
+ * {@link DragAndDropContext#newViewGroup(ViewGroup)} and
+ * {@link DragAndDropContext#newViewGroupContainer(GroupOrContainer, ViewGroupContainer)}.
+ */
+public final class LayoutTemplate {
+
+  // Visible for testing
+  static final int CACHE_CAPACITY = 64;
+
+  private static final Map<String, LayoutTemplate> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, LayoutTemplate> eldest) {
+      return size() > CACHE_CAPACITY;
+    }
+  };
+
+  /**
+   * Item of a template.
+   */
+  public sealed interface Item permits ContainerItem, GroupItem {
+
+    /**
+     * Returns the weight of the item.
+     *
+     * @return The weight
+     */
+    double weight();
+  }
+
+  /**
+   * Template of a {@link ViewGroupContainer}.
+   *
+   * @param orientation The orientation
+   * @param weight      The weight
+   * @param items       The items
+   */
+  public record ContainerItem(Orientation orientation, double weight, List<Item> items) implements
+      Item {
+
+    /**
+     * Constructor.
+     *
+     * @param orientation The orientation
+     * @param weight      The weight
+     * @param items       The items
+     */
+    public ContainerItem {
+      Objects.requireNonNull(orientation);
+      items = List.copyOf(items);
+    }
+
+    /**
+     * Returns a copy of this item having the given weight.
+     *
+     * @param weight The weight
+     * @return The copy
+     */
+    public ContainerItem withWeight(double weight) {
+      return new ContainerItem(orientation, weight, items);
+    }
+  }
+
+  /**
+   * Template of a {@link ViewGroup}.
+   *
+   * @param slots    The names of the slots
+   * @param selected The name of the selected slot, might be {@code null}
+   * @param side     The side
+   * @param weight   The weight
+   */
+  public record GroupItem(List<String> slots, String selected, Side side, double weight) implements
+      Item {
+
+    /**
+     * Constructor.
+     *
+     * @param slots    The names of the slots
+     * @param selected The name of the selected slot, might be {@code null}
+     * @param side     The side
+     * @param weight   The weight
+     */
+    public GroupItem {
+      Objects.requireNonNull(side);
+      slots = List.copyOf(slots);
+    }
+
+    /**
+     * Returns a copy of this item having the given weight.
+     *
+     * @param weight The weight
+     * @return The copy
+     */
+    public GroupItem withWeight(double weight) {
+      return new GroupItem(slots, selected, side, weight);
+    }
+
+    /**
+     * Returns a copy of this item having the given side.
+     *
+     * @param side The side
+     * @return The copy
+     */
+    public GroupItem withSide(Side side) {
+      return new GroupItem(slots, selected, side, weight);
+    }
+
+    /**
+     * Returns a copy of this item having the given selected slot.
+     *
+     * @param selected The name of the selected slot
+     * @return The copy
+     */
+    public GroupItem withSelected(String selected) {
+      return new GroupItem(slots, selected, side, weight);
+    }
+  }
+
+  private final ContainerItem root;
+  private final Set<String> slots;
+  private final Object[] program;
+
+  private LayoutTemplate(ContainerItem root) {
+    this.root = root;
+    Set<String> names = new LinkedHashSet<>();
+    validate(root, names);
+    this.slots = Collections.unmodifiableSet(names);
+    List<Object> ops = new ArrayList<>();
+    compile(root, ops);
+    this.program = ops.toArray();
+  }
+
+  /**
+   * Creates a horizontal container item.
+   *
+   * @param items The items
+   * @return The {@code ContainerItem}
+   */
+  public static ContainerItem horizontal(Item... items) {
+    return new ContainerItem(Orientation.HORIZONTAL, 1, List.of(items));
+  }
+
+  /**
+   * Creates a vertical container item.
+   *
+   * @param items The items
+   * @return The {@code ContainerItem}
+   */
+  public static ContainerItem vertical(Item... items) {
+    return new ContainerItem(Orientation.VERTICAL, 1, List.of(items));
+  }
+
+  /**
+   * Creates a group item.
+   * <p>
+   * The group has the {@link Side#TOP top} side, no explicitly selected slot and weight 1.
+   *
+   * @param slots The names of the slots
+   * @return The {@code GroupItem}
+   */
+  public static GroupItem group(String... slots) {
+    return new GroupItem(List.of(slots), null, Side.TOP, 1);
+  }
+
+  /**
+   * Creates a template for the given {@code root}.
+   * <p>
+   * The template is validated and compiled.
+   *
+   * @param root The root item
+   * @return The template
+   * @throws IllegalArgumentException If the template is invalid
+   */
+  public static LayoutTemplate of(ContainerItem root) {
+    return new LayoutTemplate(Objects.requireNonNull(root));
+  }
+
+  /**
+   * Parses the text form of a template.
+   * <p>
+   * The results of the most recently parsed texts are cached, so parsing one of them again returns
+   * the same instance.
+   *
+   * @param text The text form
+   * @return The template
+   * @throws IllegalArgumentException If the text is malformed or the template is invalid
+   */
+  public static LayoutTemplate parse(String text) {
+    synchronized (CACHE) {
+      LayoutTemplate template = CACHE.get(text);
+      if (template != null) {
+        return template;
+      }
+    }
+    LayoutTemplate template = of(new Parser(text).parseRoot());
+    synchronized (CACHE) {
+      return CACHE.computeIfAbsent(text, t -> template);
+    }
+  }
+
+  /**
+   * Returns the root item.
+   *
+   * @return The root
+   */
+  public ContainerItem getRoot() {
+    return root;
+  }
+
+  /**
+   * Returns the names of all slots in the order of their appearance.
+   *
+   * @return The names
+   */
+  public Set<String> getSlots() {
+    return slots;
+  }
+
+  /**
+   * Creates a new tree from this template.
+   * <p>
+   * The slots are resolved via {@code views}; slots for which it returns {@code null} are skipped.
+   * Views already being part of a {@link ViewGroup} are removed from it.
+   *
+   * @param views Function returning the {@link View} for a slot name
+   * @return The root of the tree
+   */
+  public ViewGroupContainer create(Function<String, View> views) {
+    DragAndDropContext context = DragAndDropContext.getInstance();
+    GroupOrContainer[] stack = new GroupOrContainer[program.length];
+    int top = 0;
+    for (Object op : program) {
+      if (op instanceof GroupItem gi) {
+        stack[top++] = createGroup(context, gi, views);
+      } else {
+        ContainerItem ci = (ContainerItem) op;
+        int size = ci.items().size();
+        top -= size;
+        List<GroupOrContainer> items = new ArrayList<>(
+            Arrays.asList(stack).subList(top, top + size));
+        stack[top] = createContainer(context, ci, items);
+        top++;
+      }
+    }
+    return (ViewGroupContainer) stack[0];
+  }
+
+  private static ViewGroup createGroup(DragAndDropContext context, GroupItem template,
+      Function<String, View> views) {
+    ViewGroup group = context.newViewGroup(null);
+    group.setSide(template.side());
+    List<View> groupViews = new ArrayList<>(template.slots().size());
+    View selected = null;
+    for (String slot : template.slots()) {
+      View view = views.apply(slot);
+      if (view == null) {
+        continue;
+      }
+      if (view.getViewGroup() != null) {
+        view.getViewGroup().removeView(view);
+      }
+      groupViews.add(view);
+      if (selected == null || slot.equals(template.selected())) {
+        selected = view;
+      }
+    }
+    group.getViews().setAll(groupViews);
+    if (selected != null) {
+      group.selectView(selected);
+    }
+    return group;
+  }
+
+  private static ViewGroupContainer createContainer(DragAndDropContext context,
+      ContainerItem template, List<GroupOrContainer> items) {
+    ViewGroupContainer container = context.newViewGroupContainer(null, null);
+    container.setOrientation(template.orientation());
+    container.setItems(items, template.items().stream().map(Item::weight).toList());
+    if (items.size() == 2) {
+      double sum = template.items().get(0).weight() + template.items().get(1).weight();
+      if (sum > 0) {
+        container.setPosition(template.items().get(0).weight() / sum);
+      }
+    }
+    return container;
+  }
+
+  private static void validate(Item item, Set<String> names) {
+    if (!(item.weight() >= 0) || Double.isInfinite(item.weight())) {
+      throw new IllegalArgumentException("Invalid weight: " + item.weight());
+    }
+    if (item instanceof ContainerItem ci) {
+      if (ci.items().isEmpty()) {
+        throw new IllegalArgumentException("Container without items");
+      }
+      ci.items().forEach(child -> validate(Objects.requireNonNull(child), names));
+    } else {
+      GroupItem gi = (GroupItem) item;
+      Set<String> groupSlots = new HashSet<>();
+      for (String slot : gi.slots()) {
+        if (!isSlotName(slot)) {
+          throw new IllegalArgumentException("Invalid slot name: '" + slot + "'");
+        }
+        if (!names.add(slot)) {
+          throw new IllegalArgumentException("Duplicate slot name: '" + slot + "'");
+        }
+        groupSlots.add(slot);
+      }
+      if (gi.selected() != null && !groupSlots.contains(gi.selected())) {
+        throw new IllegalArgumentException("Selected slot '" + gi.selected() + "' not in group");
+      }
+    }
+  }
+
+  private static boolean isSlotName(String name) {
+    return name != null && !name.isEmpty() && name.chars().allMatch(LayoutTemplate::isSlotChar);
+  }
+
+  private static boolean isSlotChar(int ch) {
+    return Character.isLetterOrDigit(ch) || ch == '_' || ch == '-' || ch == '.';
+  }
+
+  private static void compile(Item item, List<Object> ops) {
+    if (item instanceof ContainerItem ci) {
+      ci.items().forEach(child -> compile(child, ops));
+    }
+    ops.add(item);
+  }
+
+  /**
+   * Returns the text form of this template.
+   *
+   * @return The text form
+   */
+  @Override
+  public String toString() {
+    StringBuilder buffer = new StringBuilder();
+    format(root, buffer);
+    return buffer.toString();
+  }
+
+  private static void format(Item item, StringBuilder buffer) {
+    if (item instanceof ContainerItem ci) {
+      buffer.append(ci.orientation() == Orientation.HORIZONTAL ? "H[" : "V[");
+      for (int i = 0; i < ci.items().size(); i++) {
+        buffer.append(i == 0 ? "" : ", ");
+        format(ci.items().get(i), buffer);
+      }
+      buffer.append(']');
+    } else {
+      GroupItem gi = (GroupItem) item;
+      buffer.append('(');
+      for (int i = 0; i < gi.slots().size(); i++) {
+        String slot = gi.slots().get(i);
+        buffer.append(i == 0 ? "" : ", ").append(slot);
+        buffer.append(slot.equals(gi.selected()) ? "!" : "");
+      }
+      buffer.append(')');
+      if (gi.side() != Side.TOP) {
+        buffer.append('@').append(gi.side().name().toLowerCase(Locale.ROOT));
+      }
+    }
+    if (item.weight() != 1) {
+      buffer.append('*').append(item.weight());
+    }
+  }
+
+  private static class Parser {
+
+    private final String text;
+    private int pos;
+
+    Parser(String text) {
+      this.text = Objects.requireNonNull(text);
+    }
+
+    ContainerItem parseRoot() {
+      Item item = parseItem();
+      skipWhitespace();
+      if (pos < text.length()) {
+        throw error("Unexpected trailing input");
+      }
+      if (!(item instanceof ContainerItem ci)) {
+        throw error("Root must be a container");
+      }
+      return ci;
+    }
+
+    private Item parseItem() {
+      skipWhitespace();
+      Item item;
+      if (accept('(')) {
+        item = parseGroup();
+      } else if (accept('H')) {
+        item = parseContainer(Orientation.HORIZONTAL);
+      } else if (accept('V')) {
+        item = parseContainer(Orientation.VERTICAL);
+      } else {
+        throw error("Expected 'H[', 'V[' or '('");
+      }
+      skipWhitespace();
+      if (accept('@')) {
+        if (!(item instanceof GroupItem gi)) {
+          throw error("Side allowed for groups only");
+        }
+        String side = parseName();
+        try {
+          item = gi.withSide(Side.valueOf(side.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+          throw error("Unknown side '" + side + "'");
+        }
+        skipWhitespace();
+      }
+      if (accept('*')) {
+        double weight = parseNumber();
+        item = item instanceof GroupItem gi ? gi.withWeight(weight)
+            : ((ContainerItem) item).withWeight(weight);
+      }
+      return item;
+    }
+
+    private ContainerItem parseContainer(Orientation orientation) {
+      expect('[');
+      List<Item> items = new ArrayList<>();
+      do {
+        items.add(parseItem());
+        skipWhitespace();
+      } while (accept(','));
+      expect(']');
+      return new ContainerItem(orientation, 1, items);
+    }
+
+    private GroupItem parseGroup() {
+      List<String> slots = new ArrayList<>();
+      String selected = null;
+      skipWhitespace();
+      if (!accept(')')) {
+        do {
+          skipWhitespace();
+          String slot = parseName();
+          slots.add(slot);
+          skipWhitespace();
+          if (accept('!')) {
+            if (selected != null) {
+              throw error("More than one selected slot");
+            }
+            selected = slot;
+            skipWhitespace();
+          }
+        } while (accept(','));
+        expect(')');
+      }
+      return new GroupItem(slots, selected, Side.TOP, 1);
+    }
+
+    private String parseName() {
+      int start = pos;
+      while (pos < text.length() && isSlotChar(text.charAt(pos))) {
+        pos++;
+      }
+      if (start == pos) {
+        throw error("Expected name");
+      }
+      return text.substring(start, pos);
+    }
+
+    private double parseNumber() {
+      skipWhitespace();
+      int start = pos;
+      while (pos < text.length() && "0123456789.eE+-".indexOf(text.charAt(pos)) >= 0) {
+        pos++;
+      }
+      try {
+        return Double.parseDouble(text.substring(start, pos));
+      } catch (NumberFormatException e) {
+        pos = start;
+        throw error("Expected number");
+      }
+    }
+
+    private void skipWhitespace() {
+      while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+        pos++;
+      }
+    }
+
+    private boolean accept(char ch) {
+      if (pos < text.length() && text.charAt(pos) == ch) {
+        pos++;
+        return true;
+      }
+      return false;
+    }
+
+    private void expect(char ch) {
+      skipWhitespace();
+      if (!accept(ch)) {
+        throw error("Expected '" + ch + "'");
+      }
+    }
+
+    private IllegalArgumentException error(String message) {
+      return new IllegalArgumentException(message + " at position " + pos + ": " + text);
+    }
+  }
+}
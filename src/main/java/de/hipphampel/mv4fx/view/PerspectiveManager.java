@@ -0,0 +1,264 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ContainerSnapshot;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.Scene;
+
+/**
+ * Manages perspectives, i.e. alternative layouts of the same {@link Scene}.
+ * <p>
+ * A perspective is registered with its name and the {@link ContainerSnapshot} describing its
+ * layout. When switching to a perspective the first time, its {@link ViewGroupContainer} tree is
+ * built from the layout; afterwards, the tree is kept in memory while detached, so that switching
+ * back simply swaps the root of the {@code Scene}. The number of cached trees is limited by the
+ * {@code capacity}; if exceeded, the least recently used one is evicted and built again from its
+ * layout when needed.
+ * <p>
+ * {@link View Views} are obtained via the {@code views} function, so a view appearing in several
+ * perspectives is the same instance. Since a view can be part of only one {@link ViewGroup}, it is
+ * moved to the active perspective when switching: the manager remembers the position of each view
+ * when a perspective is left and restores it when the perspective becomes active again.
+ */
+public class PerspectiveManager {
+
+  /**
+   * Name of the {@code activePerspective} property.
+   */
+  public static final String PROPERTY_ACTIVE_PERSPECTIVE = "activePerspective";
+
+  private final Scene scene;
+  private final Function<String, View> views;
+  private final int capacity;
+  private final Map<String, ContainerSnapshot> layouts = new HashMap<>();
+  private final LinkedHashMap<String, Perspective> cache = new LinkedHashMap<>(16, 0.75f, true);
+  private final StringProperty activePerspective;
+
+  /**
+   * Constructor.
+   *
+   * @param scene    The {@link Scene} to manage
+   * @param views    Function returning the {@link View} for an id; ids for which it returns
+   *                 {@code null} are skipped
+   * @param capacity Maximum number of perspectives kept in memory, must be at least one
+   */
+  public PerspectiveManager(Scene scene, Function<String, View> views, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be at least 1");
+    }
+    this.scene = Objects.requireNonNull(scene);
+    this.views = Objects.requireNonNull(views);
+    this.capacity = capacity;
+    this.activePerspective = new SimpleStringProperty(this, PROPERTY_ACTIVE_PERSPECTIVE);
+  }
+
+  /**
+   * Registers a perspective.
+   * <p>
+   * If there is already a perspective with the same name, its layout is replaced; if it is cached
+   * but not active, it is evicted, so that the new layout is used when switching to it the next
+   * time.
+   *
+   * @param name   The name
+   * @param layout The layout
+   */
+  public void register(String name, ContainerSnapshot layout) {
+    layouts.put(Objects.requireNonNull(name), Objects.requireNonNull(layout));
+    if (!name.equals(getActivePerspective())) {
+      cache.remove(name);
+    }
+  }
+
+  /**
+   * Returns the names of the registered perspectives.
+   *
+   * @return The names
+   */
+  public Set<String> getPerspectives() {
+    return Set.copyOf(layouts.keySet());
+  }
+
+  /**
+   * Returns the names of the perspectives currently kept in memory.
+   * <p>
+   * The names are ordered from the least to the most recently used one.
+   *
+   * @return The names
+   */
+  public Set<String> getCachedPerspectives() {
+    return new LinkedHashSet<>(cache.keySet());
+  }
+
+  /**
+   * Returns the root of the given perspective, if it is kept in memory.
+   * <p>
+   * This does not count as a use of the perspective, so it does not affect which one is evicted.
+   *
+   * @param name The name
+   * @return The root, {@code null} if not cached
+   */
+  public ViewGroupContainer getRoot(String name) {
+    // Iterating does not change the access order, unlike get()
+    for (Map.Entry<String, Perspective> entry : cache.entrySet()) {
+      if (entry.getKey().equals(name)) {
+        return entry.getValue().root;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Convenience getter for the {@code activePerspective} property.
+   * <p>
+   * See documentation of {@link #activePerspectiveProperty() activePerspective} property for
+   * details.
+   *
+   * @return The property value
+   */
+  public String getActivePerspective() {
+    return activePerspective.get();
+  }
+
+  /**
+   * The {@code activePerspective} property.
+   * <p>
+   * Contains the name of the perspective currently shown, {@code null} if none.
+   *
+   * @return The property
+   */
+  public ReadOnlyStringProperty activePerspectiveProperty() {
+    return activePerspective;
+  }
+
+  /**
+   * Switches to the given perspective.
+   * <p>
+   * The current perspective is detached and kept in memory, the {@link View Views} of the new one
+   * are moved to their positions and its root becomes the root of the {@link Scene}.
+   *
+   * @param name The name of the perspective
+   */
+  public void switchTo(String name) {
+    ContainerSnapshot layout = layouts.get(name);
+    if (layout == null) {
+      throw new IllegalArgumentException("Unknown perspective: " + name);
+    }
+    if (name.equals(getActivePerspective())) {
+      return;
+    }
+
+    Perspective current = getActivePerspective() == null ? null
+        : cache.get(getActivePerspective());
+    if (current != null) {
+      current.rememberPlacements();
+    }
+
+    Perspective target = cache.get(name);
+    if (target == null) {
+      target = new Perspective(LayoutSnapshot.restoreContainer(layout, views));
+      cache.put(name, target);
+      View maximizedView = layout.maximizedViewId() == null ? null
+          : views.apply(layout.maximizedViewId());
+      if (maximizedView != null && maximizedView.getViewGroup() != null) {
+        maximizedView.setMaximized(true);
+        target.root.maximizeView(maximizedView);
+      }
+    } else {
+      target.restorePlacements();
+    }
+
+    scene.setRoot(target.root);
+    activePerspective.set(name);
+    evict();
+  }
+
+  private void evict() {
+    Iterator<String> iterator = cache.keySet().iterator();
+    while (cache.size() > capacity && iterator.hasNext()) {
+      if (!iterator.next().equals(getActivePerspective())) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private static class Perspective {
+
+    private final ViewGroupContainer root;
+    private final Map<ViewGroup, List<View>> placements = new IdentityHashMap<>();
+    private final Map<ViewGroup, View> selections = new IdentityHashMap<>();
+
+    Perspective(ViewGroupContainer root) {
+      this.root = root;
+    }
+
+    void rememberPlacements() {
+      placements.clear();
+      selections.clear();
+      collect(root);
+    }
+
+    private void collect(ViewGroupContainer container) {
+      for (GroupOrContainer item : container.getItems()) {
+        if (item instanceof ViewGroupContainer vgc) {
+          collect(vgc);
+        } else if (item instanceof ViewGroup group) {
+          placements.put(group, new ArrayList<>(group.getViews()));
+          selections.put(group, group.getSelection().getSelectedItem());
+        }
+      }
+    }
+
+    void restorePlacements() {
+      placements.forEach((group, groupViews) -> {
+        for (int i = 0; i < groupViews.size(); i++) {
+          View view = groupViews.get(i);
+          if (view.getViewGroup() == group) {
+            continue;
+          }
+          if (view.getViewGroup() != null) {
+            view.getViewGroup().removeView(view);
+          }
+          group.addView(Math.min(i, group.getViews().size()), view);
+        }
+        View selected = selections.get(group);
+        if (selected != null && selected.getViewGroup() == group) {
+          group.selectView(selected);
+        }
+      });
+    }
+  }
+}
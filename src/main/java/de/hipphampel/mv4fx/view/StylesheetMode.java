@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import java.util.Objects;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Scene;
+import javafx.scene.control.Control;
+
+/**
+ * Describes how the stylesheet of this library ({@link Constants#CSS_URL}) is registered.
+ * <p>
+ * The mode is evaluated when a {@link ViewGroup} or {@link ViewGroupContainer} is constructed, so
+ * it should be set via {@link #setDefault(StylesheetMode) setDefault()} before any of them is
+ * created. Apart from the performance of the CSS processing, the modes differ in the precedence the
+ * stylesheet has compared with the stylesheets of the application.
+ */
+public enum StylesheetMode {
+
+  /**
+   * Each {@code ViewGroup} and {@code ViewGroupContainer} has the stylesheet in its own list of
+   * stylesheets.
+   * <p>
+   * This is the default. Since the stylesheet belongs to the nodes, it takes precedence over the
+   * stylesheets of the scene, but the CSS engine has to consider it for each instance separately.
+   */
+  NODE,
+
+  /**
+   * The stylesheet is added once to the stylesheets of the {@link Scene} the {@code ViewGroup} or
+   * {@code ViewGroupContainer} belongs to.
+   * <p>
+   * The stylesheet is inserted as the first stylesheet of the scene, so the stylesheets of the
+   * application take precedence.
+   */
+  SCENE,
+
+  /**
+   * The stylesheet is returned as the {@link Control#getUserAgentStylesheet() user agent
+   * stylesheet} of the {@code ViewGroup} and {@code ViewGroupContainer}.
+   * <p>
+   * The stylesheet then has the precedence of a user agent stylesheet, so any other stylesheet of
+   * the application overrides its rules.
+   */
+  USER_AGENT;
+
+  private static StylesheetMode defaultMode = NODE;
+
+  private static final InvalidationListener SCENE_LISTENER = observable -> addToScene(
+      (Scene) ((ObservableValue<?>) observable).getValue());
+
+  /**
+   * Sets the mode used for {@link ViewGroup ViewGroups} and
+   * {@link ViewGroupContainer ViewGroupContainers} created from now on.
+   *
+   * @param mode The new mode
+   */
+  public static void setDefault(StylesheetMode mode) {
+    defaultMode = Objects.requireNonNull(mode);
+  }
+
+  /**
+   * Gets the mode used for newly created {@link ViewGroup ViewGroups} and
+   * {@link ViewGroupContainer ViewGroupContainers}.
+   *
+   * @return The mode.
+   */
+  public static StylesheetMode getDefault() {
+    return defaultMode;
+  }
+
+  /**
+   * Registers the stylesheet for the given {@code control} according to this mode.
+   *
+   * @param control The {@code Control}
+   */
+  void install(Control control) {
+    switch (this) {
+      case NODE -> control.getStylesheets().add(Constants.CSS_URL);
+      case SCENE -> {
+        control.sceneProperty().addListener(SCENE_LISTENER);
+        addToScene(control.getScene());
+      }
+      case USER_AGENT -> {
+        // Nothing to do, provided via getUserAgentStylesheet
+      }
+    }
+  }
+
+  /**
+   * Returns the user agent stylesheet for a control installed with this mode.
+   *
+   * @return The URL or {@code null}
+   */
+  String getUserAgentStylesheet() {
+    return this == USER_AGENT ? Constants.CSS_URL : null;
+  }
+
+  private static void addToScene(Scene scene) {
+    if (scene != null && !scene.getStylesheets().contains(Constants.CSS_URL)) {
+      scene.getStylesheets().add(0, Constants.CSS_URL);
+    }
+  }
+}
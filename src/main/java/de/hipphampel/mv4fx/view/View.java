@@ -23,20 +23,25 @@
 package de.hipphampel.mv4fx.view;
 
 import de.hipphampel.mv4fx.utils.Utils;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyProperty;
 import javafx.beans.property.SetProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleSetProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringPropertyBase;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableSet;
 import javafx.geometry.Side;
 import javafx.scene.Node;
 import javafx.scene.control.ContextMenu;
@@ -64,6 +69,23 @@ import javafx.util.Callback;
  */
 public class View implements ViewOrGroup {
 
+  /**
+   * Listener notified when a property affecting the tab of a {@link View} changes.
+   *
+   * @see #addTabChangeListener(TabChangeListener)
+   */
+  @FunctionalInterface
+  public interface TabChangeListener {
+
+    /**
+     * Called when the property with the given name has changed.
+     *
+     * @param view         The {@code View}
+     * @param propertyName The name of the property, one of the {@code PROPERTY_*} constants
+     */
+    void tabChanged(View view, String propertyName);
+  }
+
   /**
    * Enum describing when a tab action is visible.
    * <p>
@@ -95,6 +117,7 @@ public class View implements ViewOrGroup {
 
   public static final String PROPERTY_VIEW_GROUP = "viewGroup";
   public static final String PROPERTY_CONTENT = "content";
+  public static final String PROPERTY_CONTENT_FACTORY = "contentFactory";
   public static final String PROPERTY_TAB_LABEL = "tabLabel";
   public static final String PROPERTY_TAB_STYLE = "tabStyle";
   public static final String PROPERTY_TAB_TOOLTIP = "tabTooltip";
@@ -109,21 +132,46 @@ public class View implements ViewOrGroup {
   public static final String PROPERTY_MAXIMIZED = "maximized";
   public static final String PROPERTY_MAXIMIZABLE = "maximizable";
 
+  private static final ChangeListener<Object> TAB_PROPERTY_CHANGED = (observable, oldValue,
+      newValue) -> {
+    ReadOnlyProperty<?> property = (ReadOnlyProperty<?>) observable;
+    ((View) property.getBean()).fireTabChanged(property.getName());
+  };
+
   private final ObjectProperty<ViewGroup> viewGroup;
   private final ObjectProperty<Node> content;
-  private final StringPropertyBase tabLabel;
-  private final StringPropertyBase tabStyle;
-  private final ObjectProperty<Node> tabGraphic;
-  private final ObjectProperty<Tooltip> tabTooltip;
-  private final ObjectProperty<ContextMenu> tabContextMenu;
-  private final ObjectProperty<Callback<Side, Node>> tabNode;
-  private final ObjectProperty<TabActionVisibility> tabCloseActionVisibility;
-  private final ObjectProperty<TabActionVisibility> tabMaximizeActionVisibility;
-  private final SetProperty<String> dragTags;
-  private final SetProperty<DropTargetType> dropTargetTypes;
-  private final BooleanProperty dragging;
-  private final BooleanProperty maximizable;
-  private final BooleanProperty maximized;
+
+  // Properties below are created on first access, until then their values are kept in the fields
+  // with the "Value" suffix
+  private ObjectProperty<Callback<View, Node>> contentFactory;
+  private Callback<View, Node> contentFactoryValue;
+  private StringPropertyBase tabLabel;
+  private String tabLabelValue;
+  private StringPropertyBase tabStyle;
+  private String tabStyleValue;
+  private ObjectProperty<Node> tabGraphic;
+  private Node tabGraphicValue;
+  private ObjectProperty<Tooltip> tabTooltip;
+  private Tooltip tabTooltipValue;
+  private ObjectProperty<ContextMenu> tabContextMenu;
+  private ContextMenu tabContextMenuValue;
+  private ObjectProperty<Callback<Side, Node>> tabNode;
+  private Callback<Side, Node> tabNodeValue;
+  private ObjectProperty<TabActionVisibility> tabCloseActionVisibility;
+  private TabActionVisibility tabCloseActionVisibilityValue;
+  private ObjectProperty<TabActionVisibility> tabMaximizeActionVisibility;
+  private TabActionVisibility tabMaximizeActionVisibilityValue;
+  private SetProperty<String> dragTags;
+  private ObservableSet<String> dragTagsValue;
+  private SetProperty<DropTargetType> dropTargetTypes;
+  private ObservableSet<DropTargetType> dropTargetTypesValue;
+  private BooleanProperty dragging;
+  private boolean draggingValue;
+  private BooleanProperty maximizable;
+  private boolean maximizableValue;
+  private BooleanProperty maximized;
+  private boolean maximizedValue;
+  private List<TabChangeListener> tabChangeListeners;
 
   /**
    * Constructor.
@@ -131,24 +179,9 @@ public class View implements ViewOrGroup {
   public View() {
     this.viewGroup = new SimpleObjectProperty<>(this, PROPERTY_VIEW_GROUP);
     this.content = new SimpleObjectProperty<>(this, PROPERTY_CONTENT);
-    this.tabLabel = new SimpleStringProperty(this, PROPERTY_TAB_LABEL);
-    this.tabStyle = new SimpleStringProperty(this, PROPERTY_TAB_STYLE);
-    this.tabGraphic = new SimpleObjectProperty<>(this, PROPERTY_TAB_GRAPHIC);
-    this.tabNode = new SimpleObjectProperty<>(this, PROPERTY_TAB_NODE_CALLBACK);
-    this.tabTooltip = new SimpleObjectProperty<>(this, PROPERTY_TAB_TOOLTIP, null);
-    this.tabContextMenu = new SimpleObjectProperty<>(this, PROPERTY_TAB_CONTEXT_MENU, null);
-    this.tabCloseActionVisibility = new SimpleObjectProperty<>(this, PROPERTY_TAB_CLOSE_ACTION,
-        TabActionVisibility.MOUSE_OVER);
-    this.tabMaximizeActionVisibility = new SimpleObjectProperty<>(this,
-        PROPERTY_TAB_MAXIMIZE_ACTION, TabActionVisibility.NEVER);
-    this.dragTags = new SimpleSetProperty<>(this, PROPERTY_DRAG_TAGS,
-        FXCollections.observableSet());
-    this.dropTargetTypes = new SimpleSetProperty<>(this, PROPERTY_DROP_TARGET_TYPES,
-        FXCollections.observableSet(DropTargetType.REORDER, DropTargetType.CHANGE_GROUP,
-            DropTargetType.NEW_WINDOW));
-    this.dragging = new SimpleBooleanProperty(this, PROEPRTY_DRAGGING, false);
-    this.maximizable = new SimpleBooleanProperty(this, PROPERTY_MAXIMIZABLE, true);
-    this.maximized = new SimpleBooleanProperty(this, PROPERTY_MAXIMIZED, false);
+    this.tabCloseActionVisibilityValue = TabActionVisibility.MOUSE_OVER;
+    this.tabMaximizeActionVisibilityValue = TabActionVisibility.NEVER;
+    this.maximizableValue = true;
   }
 
   /**
@@ -212,6 +245,71 @@ public class View implements ViewOrGroup {
     this.content.set(content);
   }
 
+  /**
+   * Convenience getter for {@code contentFactory} property.
+   * <p>
+   * See documentation of {@link #contentFactoryProperty() contentFactory} property for details.
+   *
+   * @return The property value
+   */
+  public Callback<View, Node> getContentFactory() {
+    return contentFactory == null ? contentFactoryValue : contentFactory.get();
+  }
+
+  /**
+   * {@code contentFactory} property.
+   * <p>
+   * Allows to create the {@link #contentProperty() content} of the view lazily: as long as the
+   * {@code content} is {@code null}, the factory is called by {@link #ensureContent()} to create
+   * it. This happens when the view is shown the first time, or earlier, in case a
+   * {@link ViewPreWarmer} decides to build it in advance.
+   * <p>
+   * By default, this property is {@code null}
+   *
+   * @return The property
+   */
+  public ObjectProperty<Callback<View, Node>> contentFactoryProperty() {
+    if (contentFactory == null) {
+      contentFactory = new SimpleObjectProperty<>(this, PROPERTY_CONTENT_FACTORY,
+          contentFactoryValue);
+      contentFactoryValue = null;
+    }
+    return contentFactory;
+  }
+
+  /**
+   * Convenience setter for {@code contentFactory} property.
+   * <p>
+   * See documentation of {@link #contentFactoryProperty() contentFactory} property for details.
+   *
+   * @param contentFactory The property value
+   */
+  public void setContentFactory(Callback<View, Node> contentFactory) {
+    if (this.contentFactory == null) {
+      this.contentFactoryValue = contentFactory;
+    } else {
+      this.contentFactory.set(contentFactory);
+    }
+  }
+
+  /**
+   * Returns the {@link #contentProperty() content}, creating it if required.
+   * <p>
+   * If there is no {@code content} yet, but a {@link #contentFactoryProperty() contentFactory}, the
+   * factory is called and its result becomes the new {@code content}.
+   *
+   * @return The content, might be {@code null}
+   */
+  public Node ensureContent() {
+    Node node = getContent();
+    Callback<View, Node> factory = getContentFactory();
+    if (node == null && factory != null) {
+      node = factory.call(this);
+      setContent(node);
+    }
+    return node;
+  }
+
   /**
    * Convenience getter for {@code tabLabel} property.
    * <p>
@@ -220,7 +318,7 @@ public class View implements ViewOrGroup {
    * @return The property value
    */
   public String getTabLabel() {
-    return tabLabel.get();
+    return tabLabel == null ? tabLabelValue : tabLabel.get();
   }
 
   /**
@@ -233,6 +331,11 @@ public class View implements ViewOrGroup {
    * @return The property
    */
   public StringPropertyBase tabLabelProperty() {
+    if (tabLabel == null) {
+      tabLabel = new SimpleStringProperty(this, PROPERTY_TAB_LABEL, tabLabelValue);
+      tabLabel.addListener(TAB_PROPERTY_CHANGED);
+      tabLabelValue = null;
+    }
     return tabLabel;
   }
 
@@ -244,7 +347,14 @@ public class View implements ViewOrGroup {
    * @param tabLabel The property value
    */
   public void setTabLabel(String tabLabel) {
-    this.tabLabel.set(tabLabel);
+    if (this.tabLabel == null) {
+      if (!Objects.equals(this.tabLabelValue, tabLabel)) {
+        this.tabLabelValue = tabLabel;
+        fireTabChanged(PROPERTY_TAB_LABEL);
+      }
+    } else {
+      this.tabLabel.set(tabLabel);
+    }
   }
 
   /**
@@ -255,7 +365,7 @@ public class View implements ViewOrGroup {
    * @return The property value
    */
   public String getTabStyle() {
-    return tabStyle.get();
+    return tabStyle == null ? tabStyleValue : tabStyle.get();
   }
 
   /**
@@ -268,6 +378,11 @@ public class View implements ViewOrGroup {
    * @return The property
    */
   public StringPropertyBase tabStyleProperty() {
+    if (tabStyle == null) {
+      tabStyle = new SimpleStringProperty(this, PROPERTY_TAB_STYLE, tabStyleValue);
+      tabStyle.addListener(TAB_PROPERTY_CHANGED);
+      tabStyleValue = null;
+    }
     return tabStyle;
   }
 
@@ -279,7 +394,14 @@ public class View implements ViewOrGroup {
    * @param tabStyle The property value
    */
   public void setTabStyle(String tabStyle) {
-    this.tabStyle.set(tabStyle);
+    if (this.tabStyle == null) {
+      if (!Objects.equals(this.tabStyleValue, tabStyle)) {
+        this.tabStyleValue = tabStyle;
+        fireTabChanged(PROPERTY_TAB_STYLE);
+      }
+    } else {
+      this.tabStyle.set(tabStyle);
+    }
   }
 
   /**
@@ -290,7 +412,7 @@ public class View implements ViewOrGroup {
    * @return The property value
    */
   public Node getTabGraphic() {
-    return tabGraphic.get();
+    return tabGraphic == null ? tabGraphicValue : tabGraphic.get();
   }
 
   /**
@@ -306,6 +428,11 @@ public class View implements ViewOrGroup {
    * @return The property
    */
   public ObjectProperty<Node> tabGraphicProperty() {
+    if (tabGraphic == null) {
+      tabGraphic = new SimpleObjectProperty<>(this, PROPERTY_TAB_GRAPHIC, tabGraphicValue);
+      tabGraphic.addListener(TAB_PROPERTY_CHANGED);
+      tabGraphicValue = null;
+    }
     return tabGraphic;
   }
 
@@ -317,7 +444,14 @@ public class View implements ViewOrGroup {
    * @param tabGraphic The new value
    */
   public void setTabGraphic(Node tabGraphic) {
-    this.tabGraphic.set(tabGraphic);
+    if (this.tabGraphic == null) {
+      if (!Objects.equals(this.tabGraphicValue, tabGraphic)) {
+        this.tabGraphicValue = tabGraphic;
+        fireTabChanged(PROPERTY_TAB_GRAPHIC);
+      }
+    } else {
+      this.tabGraphic.set(tabGraphic);
+    }
   }
 
   /**
@@ -328,7 +462,7 @@ public class View implements ViewOrGroup {
    * @return The current value.
    */
   public Callback<Side, Node> getTabNode() {
-    return tabNode.get();
+    return tabNode == null ? tabNodeValue : tabNode.get();
   }
 
   /**
@@ -349,6 +483,11 @@ public class View implements ViewOrGroup {
    * @return The property.
    */
   public ObjectProperty<Callback<Side, Node>> tabNodeProperty() {
+    if (tabNode == null) {
+      tabNode = new SimpleObjectProperty<>(this, PROPERTY_TAB_NODE_CALLBACK, tabNodeValue);
+      tabNode.addListener(TAB_PROPERTY_CHANGED);
+      tabNodeValue = null;
+    }
     return tabNode;
   }
 
@@ -360,7 +499,14 @@ public class View implements ViewOrGroup {
    * @param tabNode New value
    */
   public void setTabNode(Callback<Side, Node> tabNode) {
-    this.tabNode.set(tabNode);
+    if (this.tabNode == null) {
+      if (!Objects.equals(this.tabNodeValue, tabNode)) {
+        this.tabNodeValue = tabNode;
+        fireTabChanged(PROPERTY_TAB_NODE_CALLBACK);
+      }
+    } else {
+      this.tabNode.set(tabNode);
+    }
   }
 
   /**
@@ -372,7 +518,9 @@ public class View implements ViewOrGroup {
    * @return The current value.
    */
   public TabActionVisibility getTabCloseActionVisibility() {
-    return tabCloseActionVisibility.get();
+    return tabCloseActionVisibility == null
+        ? tabCloseActionVisibilityValue
+        : tabCloseActionVisibility.get();
   }
 
   /**
@@ -386,6 +534,12 @@ public class View implements ViewOrGroup {
    * @return The property.
    */
   public ObjectProperty<TabActionVisibility> tabCloseActionVisibilityProperty() {
+    if (tabCloseActionVisibility == null) {
+      tabCloseActionVisibility = new SimpleObjectProperty<>(this, PROPERTY_TAB_CLOSE_ACTION,
+          tabCloseActionVisibilityValue);
+      tabCloseActionVisibility.addListener(TAB_PROPERTY_CHANGED);
+      tabCloseActionVisibilityValue = null;
+    }
     return tabCloseActionVisibility;
   }
 
@@ -398,7 +552,14 @@ public class View implements ViewOrGroup {
    * @param tabCloseActionVisibility New value
    */
   public void setTabCloseActionVisibility(TabActionVisibility tabCloseActionVisibility) {
-    this.tabCloseActionVisibility.set(tabCloseActionVisibility);
+    if (this.tabCloseActionVisibility == null) {
+      if (!Objects.equals(this.tabCloseActionVisibilityValue, tabCloseActionVisibility)) {
+        this.tabCloseActionVisibilityValue = tabCloseActionVisibility;
+        fireTabChanged(PROPERTY_TAB_CLOSE_ACTION);
+      }
+    } else {
+      this.tabCloseActionVisibility.set(tabCloseActionVisibility);
+    }
   }
 
   /**
@@ -410,7 +571,9 @@ public class View implements ViewOrGroup {
    * @return The current value.
    */
   public TabActionVisibility getTabMaximizeActionVisibility() {
-    return tabMaximizeActionVisibility.get();
+    return tabMaximizeActionVisibility == null
+        ? tabMaximizeActionVisibilityValue
+        : tabMaximizeActionVisibility.get();
   }
 
   /**
@@ -424,6 +587,12 @@ public class View implements ViewOrGroup {
    * @return The property.
    */
   public ObjectProperty<TabActionVisibility> tabMaximizeActionVisibilityProperty() {
+    if (tabMaximizeActionVisibility == null) {
+      tabMaximizeActionVisibility = new SimpleObjectProperty<>(this,
+          PROPERTY_TAB_MAXIMIZE_ACTION, tabMaximizeActionVisibilityValue);
+      tabMaximizeActionVisibility.addListener(TAB_PROPERTY_CHANGED);
+      tabMaximizeActionVisibilityValue = null;
+    }
     return tabMaximizeActionVisibility;
   }
 
@@ -436,7 +605,14 @@ public class View implements ViewOrGroup {
    * @param tabMaximizeActionVisibility New value
    */
   public void setTabMaximizeActionVisibility(TabActionVisibility tabMaximizeActionVisibility) {
-    this.tabMaximizeActionVisibility.set(tabMaximizeActionVisibility);
+    if (this.tabMaximizeActionVisibility == null) {
+      if (!Objects.equals(this.tabMaximizeActionVisibilityValue, tabMaximizeActionVisibility)) {
+        this.tabMaximizeActionVisibilityValue = tabMaximizeActionVisibility;
+        fireTabChanged(PROPERTY_TAB_MAXIMIZE_ACTION);
+      }
+    } else {
+      this.tabMaximizeActionVisibility.set(tabMaximizeActionVisibility);
+    }
   }
 
   /**
@@ -447,7 +623,7 @@ public class View implements ViewOrGroup {
    * @return The current value.
    */
   public Tooltip getTabTooltip() {
-    return tabTooltip.get();
+    return tabTooltip == null ? tabTooltipValue : tabTooltip.get();
   }
 
   /**
@@ -459,6 +635,11 @@ public class View implements ViewOrGroup {
    * @return The property
    */
   public ObjectProperty<Tooltip> tabTooltipProperty() {
+    if (tabTooltip == null) {
+      tabTooltip = new SimpleObjectProperty<>(this, PROPERTY_TAB_TOOLTIP, tabTooltipValue);
+      tabTooltip.addListener(TAB_PROPERTY_CHANGED);
+      tabTooltipValue = null;
+    }
     return tabTooltip;
   }
 
@@ -470,7 +651,14 @@ public class View implements ViewOrGroup {
    * @param tabTooltip New value
    */
   public void setTabTooltip(Tooltip tabTooltip) {
-    this.tabTooltip.set(tabTooltip);
+    if (this.tabTooltip == null) {
+      if (!Objects.equals(this.tabTooltipValue, tabTooltip)) {
+        this.tabTooltipValue = tabTooltip;
+        fireTabChanged(PROPERTY_TAB_TOOLTIP);
+      }
+    } else {
+      this.tabTooltip.set(tabTooltip);
+    }
   }
 
   /**
@@ -481,7 +669,7 @@ public class View implements ViewOrGroup {
    * @return The current value.
    */
   public ContextMenu getTabContextMenu() {
-    return tabContextMenu.get();
+    return tabContextMenu == null ? tabContextMenuValue : tabContextMenu.get();
   }
 
   /**
@@ -493,6 +681,12 @@ public class View implements ViewOrGroup {
    * @return The property
    */
   public ObjectProperty<ContextMenu> tabContextMenuProperty() {
+    if (tabContextMenu == null) {
+      tabContextMenu = new SimpleObjectProperty<>(this, PROPERTY_TAB_CONTEXT_MENU,
+          tabContextMenuValue);
+      tabContextMenu.addListener(TAB_PROPERTY_CHANGED);
+      tabContextMenuValue = null;
+    }
     return tabContextMenu;
   }
 
@@ -504,7 +698,14 @@ public class View implements ViewOrGroup {
    * @param tabContextMenu New value
    */
   public void setTabContextMenu(ContextMenu tabContextMenu) {
-    this.tabContextMenu.set(tabContextMenu);
+    if (this.tabContextMenu == null) {
+      if (!Objects.equals(this.tabContextMenuValue, tabContextMenu)) {
+        this.tabContextMenuValue = tabContextMenu;
+        fireTabChanged(PROPERTY_TAB_CONTEXT_MENU);
+      }
+    } else {
+      this.tabContextMenu.set(tabContextMenu);
+    }
   }
 
   /**
@@ -516,7 +717,14 @@ public class View implements ViewOrGroup {
    */
   @Override
   public Set<String> getDragTags() {
-    return dragTags.get();
+    return dragTags == null ? getDragTagsValue() : dragTags.get();
+  }
+
+  private ObservableSet<String> getDragTagsValue() {
+    if (dragTagsValue == null) {
+      dragTagsValue = FXCollections.observableSet();
+    }
+    return dragTagsValue;
   }
 
   /**
@@ -531,6 +739,10 @@ public class View implements ViewOrGroup {
    * @return The property
    */
   public SetProperty<String> dragTagsProperty() {
+    if (dragTags == null) {
+      dragTags = new SimpleSetProperty<>(this, PROPERTY_DRAG_TAGS, getDragTagsValue());
+      dragTagsValue = null;
+    }
     return dragTags;
   }
 
@@ -542,8 +754,13 @@ public class View implements ViewOrGroup {
    * @param dragTags New value
    */
   public void setDragTags(Set<String> dragTags) {
-    this.dragTags.setValue(
-        FXCollections.observableSet(Objects.requireNonNullElseGet(dragTags, HashSet::new)));
+    ObservableSet<String> value = FXCollections.observableSet(
+        Objects.requireNonNullElseGet(dragTags, HashSet::new));
+    if (this.dragTags == null) {
+      this.dragTagsValue = value;
+    } else {
+      this.dragTags.setValue(value);
+    }
   }
 
   /**
@@ -555,7 +772,15 @@ public class View implements ViewOrGroup {
    */
   @Override
   public Set<DropTargetType> getDropTargetTypes() {
-    return dropTargetTypes.get();
+    return dropTargetTypes == null ? getDropTargetTypesValue() : dropTargetTypes.get();
+  }
+
+  private ObservableSet<DropTargetType> getDropTargetTypesValue() {
+    if (dropTargetTypesValue == null) {
+      dropTargetTypesValue = FXCollections.observableSet(DropTargetType.REORDER,
+          DropTargetType.CHANGE_GROUP, DropTargetType.NEW_WINDOW);
+    }
+    return dropTargetTypesValue;
   }
 
   /**
@@ -566,6 +791,11 @@ public class View implements ViewOrGroup {
    * @return The property
    */
   public SetProperty<DropTargetType> dropTargetTypesProperty() {
+    if (dropTargetTypes == null) {
+      dropTargetTypes = new SimpleSetProperty<>(this, PROPERTY_DROP_TARGET_TYPES,
+          getDropTargetTypesValue());
+      dropTargetTypesValue = null;
+    }
     return dropTargetTypes;
   }
 
@@ -577,8 +807,13 @@ public class View implements ViewOrGroup {
    * @param dropTargetTypes New value
    */
   public void setDropTargetTypes(Set<DropTargetType> dropTargetTypes) {
-    this.dropTargetTypes.set(
-        FXCollections.observableSet(Objects.requireNonNullElseGet(dropTargetTypes, HashSet::new)));
+    ObservableSet<DropTargetType> value = FXCollections.observableSet(
+        Objects.requireNonNullElseGet(dropTargetTypes, HashSet::new));
+    if (this.dropTargetTypes == null) {
+      this.dropTargetTypesValue = value;
+    } else {
+      this.dropTargetTypes.set(value);
+    }
   }
 
   /**
@@ -612,22 +847,37 @@ public class View implements ViewOrGroup {
   }
 
   public boolean isMaximizable() {
-    return maximizable.get();
+    return maximizable == null ? maximizableValue : maximizable.get();
   }
 
   public BooleanProperty maximizableProperty() {
+    if (maximizable == null) {
+      maximizable = new SimpleBooleanProperty(this, PROPERTY_MAXIMIZABLE, maximizableValue);
+      maximizable.addListener(TAB_PROPERTY_CHANGED);
+    }
     return maximizable;
   }
 
   public void setMaximizable(boolean maximizable) {
-    this.maximizable.set(maximizable);
+    if (this.maximizable == null) {
+      if (this.maximizableValue != maximizable) {
+        this.maximizableValue = maximizable;
+        fireTabChanged(PROPERTY_MAXIMIZABLE);
+      }
+    } else {
+      this.maximizable.set(maximizable);
+    }
   }
 
   public boolean isMaximized() {
-    return maximized.get();
+    return maximized == null ? maximizedValue : maximized.get();
   }
 
   public BooleanProperty maximizedProperty() {
+    if (maximized == null) {
+      maximized = new SimpleBooleanProperty(this, PROPERTY_MAXIMIZED, maximizedValue);
+      maximized.addListener(TAB_PROPERTY_CHANGED);
+    }
     return maximized;
   }
 
@@ -640,19 +890,82 @@ public class View implements ViewOrGroup {
    * @param maximized New value
    */
   public void setMaximized(boolean maximized) {
-    this.maximized.set(maximized);
+    if (this.maximized == null) {
+      if (this.maximizedValue != maximized) {
+        this.maximizedValue = maximized;
+        fireTabChanged(PROPERTY_MAXIMIZED);
+      }
+    } else {
+      this.maximized.set(maximized);
+    }
+  }
+
+  @Override
+  public boolean isDragging() {
+    return dragging == null ? draggingValue : dragging.get();
   }
 
   @Override
   public void setDragging(boolean dragging) {
-    this.dragging.setValue(dragging);
+    if (this.dragging == null) {
+      if (this.draggingValue != dragging) {
+        this.draggingValue = dragging;
+        fireTabChanged(PROEPRTY_DRAGGING);
+      }
+    } else {
+      this.dragging.setValue(dragging);
+    }
   }
 
   @Override
   public ReadOnlyBooleanProperty draggingProperty() {
+    if (dragging == null) {
+      dragging = new SimpleBooleanProperty(this, PROEPRTY_DRAGGING, draggingValue);
+      dragging.addListener(TAB_PROPERTY_CHANGED);
+    }
     return this.dragging;
   }
 
+  /**
+   * Adds a {@link TabChangeListener}.
+   * <p>
+   * The listener is notified whenever one of the properties affecting the tab of this
+   * {@code View} changes, which are the {@code tabLabel}, {@code tabStyle}, {@code tabGraphic},
+   * {@code tabNode}, {@code tabTooltip}, {@code tabContextMenu}, {@code tabCloseActionVisibility},
+   * {@code tabMaximizeActionVisibility}, {@code dragging}, {@code maximizable} and
+   * {@code maximized} property. In contrast to listening to each of these properties, this does
+   * not force the creation of the properties.
+   *
+   * @param listener The listener
+   */
+  public void addTabChangeListener(TabChangeListener listener) {
+    if (tabChangeListeners == null) {
+      tabChangeListeners = new ArrayList<>(1);
+    }
+    tabChangeListeners.add(Objects.requireNonNull(listener));
+  }
+
+  /**
+   * Removes a {@link TabChangeListener}.
+   *
+   * @param listener The listener
+   */
+  public void removeTabChangeListener(TabChangeListener listener) {
+    if (tabChangeListeners != null && tabChangeListeners.remove(listener)
+        && tabChangeListeners.isEmpty()) {
+      tabChangeListeners = null;
+    }
+  }
+
+  private void fireTabChanged(String propertyName) {
+    if (tabChangeListeners == null) {
+      return;
+    }
+    for (TabChangeListener listener : List.copyOf(tabChangeListeners)) {
+      listener.tabChanged(this, propertyName);
+    }
+  }
+
   @Override
   public Control asControl() {
     return this.getViewGroup();
@@ -0,0 +1,360 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.Node;
+import javafx.stage.Window;
+import javafx.util.Callback;
+import javafx.util.Duration;
+
+/**
+ * Creates the content of {@link View Views} in the background.
+ * <p>
+ * Creating the content of a {@code View} often consists of two parts: loading the data (e.g.
+ * reading files, parsing models or decoding images), which does not need the FX application
+ * thread, and building the nodes of the scene graph, which does. A {@code ViewContentLoader}
+ * separates these parts via the {@link ContentLoader} interface: the {@code load} part is executed
+ * by an {@link Executor}, so that loading the content of many {@code Views} (e.g. when restoring a
+ * layout) runs in parallel. The results are then passed to the {@code createContent} part on the
+ * FX application thread: each pulse spends at most the configured budget for this, whereas the
+ * {@code Views} currently shown are handled first.
+ * <p>
+ * While the content of a {@code View} is loading, its
+ * {@link View#contentFactoryProperty() contentFactory} is replaced by one returning {@code null}, so
+ * that the {@code View} is shown without content until its content is available. Afterwards, or
+ * if loading fails, the original {@code contentFactory} is restored.
+ * <p>
+ * The {@link #progressProperty() progress} property allows to report the progress of the
+ * currently pending loads. Failures of either part are reported to the
+ * {@link #onLoadFailedProperty() onLoadFailed} callback.
+ */
+public class ViewContentLoader {
+
+  /**
+   * Name of the {@code progress} property.
+   */
+  public static final String PROPERTY_PROGRESS = "progress";
+
+  /**
+   * Name of the {@code onLoadFailed} property.
+   */
+  public static final String PROPERTY_ON_LOAD_FAILED = "onLoadFailed";
+
+  /**
+   * Loads and creates the content of a {@link View}.
+   *
+   * @param <T> Type of the loaded data
+   */
+  public interface ContentLoader<T> {
+
+    /**
+     * Loads the data for the content.
+     * <p>
+     * This method is called on a thread of the {@code Executor}, so it must not access the scene
+     * graph.
+     *
+     * @param view The {@link View}
+     * @return The data
+     * @throws Exception If loading fails
+     */
+    T load(View view) throws Exception;
+
+    /**
+     * Creates the content from the loaded data.
+     * <p>
+     * This method is called on the FX application thread.
+     *
+     * @param view The {@link View}
+     * @param data The data returned by {@link #load(View)}
+     * @return The content
+     */
+    Node createContent(View view, T data);
+  }
+
+  private final Executor executor;
+  private final long pulseBudgetNanos;
+  private final Map<View, Pending> pending;
+  private final Queue<Pending> completed;
+  private final Queue<Pending> ready;
+  private final DoubleProperty progress;
+  private final ObjectProperty<BiConsumer<View, Throwable>> onLoadFailed;
+  private final AnimationTimer timer;
+  private int total;
+  private int done;
+  private long sequence;
+  private boolean timerRunning;
+
+  /**
+   * Constructor.
+   * <p>
+   * Creates an instance that loads using the common {@link ForkJoinPool}, which has a parallelism
+   * according to the number of available cores, and spends up to 8 milliseconds per pulse for
+   * creating the content.
+   */
+  public ViewContentLoader() {
+    this(ForkJoinPool.commonPool(), Duration.millis(8));
+  }
+
+  /**
+   * Constructor.
+   * <p>
+   * At least one content is created per pulse, even if this exceeds the {@code pulseBudget}. On
+   * runtimes supporting virtual threads, an executor creating a virtual thread per task is a good
+   * choice for loads that are mainly waiting for I/O.
+   *
+   * @param executor    The {@link Executor} used for loading
+   * @param pulseBudget The time to spend per pulse for creating content
+   */
+  public ViewContentLoader(Executor executor, Duration pulseBudget) {
+    this.executor = Objects.requireNonNull(executor);
+    this.pulseBudgetNanos = (long) (Objects.requireNonNull(pulseBudget).toMillis() * 1_000_000);
+    this.pending = new IdentityHashMap<>();
+    this.completed = new ConcurrentLinkedQueue<>();
+    this.ready = new PriorityQueue<>(Comparator.comparing((Pending p) -> !p.urgent)
+        .thenComparingLong(p -> p.sequence));
+    this.progress = new SimpleDoubleProperty(this, PROPERTY_PROGRESS, 1);
+    this.onLoadFailed = new SimpleObjectProperty<>(this, PROPERTY_ON_LOAD_FAILED);
+    this.timer = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        onPulse();
+      }
+    };
+  }
+
+  /**
+   * Convenience getter for the {@code progress} property.
+   * <p>
+   * See documentation of {@link #progressProperty() progress} property for details.
+   *
+   * @return The property value
+   */
+  public double getProgress() {
+    return progress.get();
+  }
+
+  /**
+   * The {@code progress} property.
+   * <p>
+   * The ratio of the finished loads to all loads requested since the last time there was nothing
+   * pending. If nothing is pending, the value is {@code 1}.
+   *
+   * @return The property
+   */
+  public ReadOnlyDoubleProperty progressProperty() {
+    return progress;
+  }
+
+  /**
+   * Convenience getter for the {@code onLoadFailed} property.
+   * <p>
+   * See documentation of {@link #onLoadFailedProperty() onLoadFailed} property for details.
+   *
+   * @return The property value
+   */
+  public BiConsumer<View, Throwable> getOnLoadFailed() {
+    return onLoadFailed.get();
+  }
+
+  /**
+   * Convenience setter for the {@code onLoadFailed} property.
+   * <p>
+   * See documentation of {@link #onLoadFailedProperty() onLoadFailed} property for details.
+   *
+   * @param value The new value
+   */
+  public void setOnLoadFailed(BiConsumer<View, Throwable> value) {
+    onLoadFailed.set(value);
+  }
+
+  /**
+   * The {@code onLoadFailed} property.
+   * <p>
+   * Callback invoked on the FX application thread when either
+   * {@link ContentLoader#load(View) loading} the data or
+   * {@link ContentLoader#createContent(View, Object) creating} the content of a {@link View}
+   * fails; it receives the {@code View} and the failure. The {@code View} keeps its original
+   * {@link View#contentFactoryProperty() contentFactory} in this case.
+   *
+   * @return The property
+   */
+  public ObjectProperty<BiConsumer<View, Throwable>> onLoadFailedProperty() {
+    return onLoadFailed;
+  }
+
+  /**
+   * Returns the number of {@link View Views} whose content is still pending.
+   *
+   * @return The number
+   */
+  public int getPendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Loads the content of {@code view} in the background.
+   * <p>
+   * This method must be called on the FX application thread. It is ignored, if the {@code view}
+   * already has a content or its content is already loading.
+   *
+   * @param view   The {@link View}
+   * @param loader The {@link ContentLoader}
+   * @param <T>    Type of the loaded data
+   */
+  public <T> void load(View view, ContentLoader<T> loader) {
+    Objects.requireNonNull(loader);
+    if (view.getContent() != null || pending.containsKey(view)) {
+      return;
+    }
+    if (pending.isEmpty()) {
+      total = 0;
+      done = 0;
+    }
+    Pending entry = new Pending(view, loader, view.getContentFactory(), sequence++);
+    pending.put(view, entry);
+    view.setContentFactory(v -> {
+      entry.requested = true;
+      if (!entry.urgent && ready.remove(entry)) {
+        entry.urgent = true;
+        ready.add(entry);
+      }
+      return null;
+    });
+    total++;
+    updateProgress();
+    if (!timerRunning) {
+      timerRunning = true;
+      timer.start();
+    }
+    try {
+      executor.execute(() -> {
+        try {
+          entry.data = loader.load(view);
+        } catch (Exception | LinkageError e) {
+          entry.failure = e;
+        }
+        completed.add(entry);
+      });
+    } catch (RuntimeException e) {
+      // E.g. rejected by an executor being shut down
+      entry.failure = e;
+      attach(entry);
+      updateProgress();
+    }
+  }
+
+  // Visible for testing
+  void onPulse() {
+    Pending entry;
+    while ((entry = completed.poll()) != null) {
+      entry.urgent = entry.isUrgent();
+      ready.add(entry);
+    }
+    if (!ready.isEmpty()) {
+      long deadline = System.nanoTime() + pulseBudgetNanos;
+      do {
+        attach(ready.poll());
+      } while (!ready.isEmpty() && System.nanoTime() < deadline);
+      updateProgress();
+    }
+    if (pending.isEmpty() && timerRunning) {
+      timerRunning = false;
+      timer.stop();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void attach(Pending entry) {
+    View view = entry.view;
+    pending.remove(view);
+    done++;
+    Throwable failure = entry.failure;
+    try {
+      if (failure == null && view.getContent() == null) {
+        view.setContent(((ContentLoader<Object>) entry.loader).createContent(view, entry.data));
+      }
+    } catch (RuntimeException | LinkageError e) {
+      failure = e;
+    } finally {
+      // Restored afterwards, otherwise a shown view would call it immediately
+      view.setContentFactory(entry.contentFactory);
+    }
+    BiConsumer<View, Throwable> callback = getOnLoadFailed();
+    if (failure != null && callback != null) {
+      callback.accept(view, failure);
+    }
+  }
+
+  private void updateProgress() {
+    progress.set(total == 0 ? 1 : (double) done / total);
+  }
+
+  private static class Pending {
+
+    private final View view;
+    private final ContentLoader<?> loader;
+    private final Callback<View, Node> contentFactory;
+    private final long sequence;
+    private volatile Object data;
+    private volatile Throwable failure;
+    private boolean requested;
+    private boolean urgent;
+
+    Pending(View view, ContentLoader<?> loader, Callback<View, Node> contentFactory,
+        long sequence) {
+      this.view = view;
+      this.loader = loader;
+      this.contentFactory = contentFactory;
+      this.sequence = sequence;
+    }
+
+    boolean isUrgent() {
+      if (requested) {
+        return true;
+      }
+      ViewGroup group = view.getViewGroup();
+      if (group == null || group.getSelection().getSelectedItem() != view
+          || group.getScene() == null) {
+        return false;
+      }
+      Window window = group.getScene().getWindow();
+      return window != null && window.isShowing();
+    }
+  }
+}
@@ -22,6 +22,8 @@
  */
 package de.hipphampel.mv4fx.view;
 
+import de.hipphampel.mv4fx.metrics.MetricsSink;
+import de.hipphampel.mv4fx.metrics.MetricsSink.Counter;
 import de.hipphampel.mv4fx.utils.EnumSetCssMetaData;
 import de.hipphampel.mv4fx.utils.LayoutRequestingStyleableObjectProperty;
 import de.hipphampel.mv4fx.utils.StringSetCssMetaData;
@@ -204,6 +206,7 @@ public class ViewGroup extends Control implements GroupOrContainer, ViewOrGroup
   private final BooleanProperty autoClose;
   private final BooleanProperty dragging;
   private final ObjectProperty<DropTarget> dropTarget;
+  private final StylesheetMode stylesheetMode;
 
   /**
    * Constructor.
@@ -245,7 +248,8 @@ public class ViewGroup extends Control implements GroupOrContainer, ViewOrGroup
     this.autoClose = new SimpleBooleanProperty(this, PROPERTY_AUTO_CLOSE, true);
     this.views.addListener(this::onViewsChanged);
 
-    this.getStylesheets().add(Constants.CSS_URL);
+    this.stylesheetMode = StylesheetMode.getDefault();
+    this.stylesheetMode.install(this);
     this.getStyleClass().add(Constants.CLASS_VIEW_GROUP);
   }
 
@@ -254,6 +258,12 @@ public class ViewGroup extends Control implements GroupOrContainer, ViewOrGroup
     return CLASS_CSS_META_DATA;
   }
 
+  @Override
+  public String getUserAgentStylesheet() {
+    String stylesheet = stylesheetMode == null ? null : stylesheetMode.getUserAgentStylesheet();
+    return stylesheet == null ? super.getUserAgentStylesheet() : stylesheet;
+  }
+
   /**
    * {@code AutoClose} property.
    * <p>
@@ -842,6 +852,12 @@ public class ViewGroup extends Control implements GroupOrContainer, ViewOrGroup
     return new ViewGroupSkin(this);
   }
 
+  @Override
+  public void requestLayout() {
+    MetricsSink.getInstance().increment(Counter.REQUEST_LAYOUT);
+    super.requestLayout();
+  }
+
   protected void onViewsChanged(Change<? extends View> change) {
     while (change.next()) {
       if (change.wasAdded()) {
@@ -22,19 +22,30 @@
  */
 package de.hipphampel.mv4fx.view;
 
+import de.hipphampel.mv4fx.jfr.NormalizeEvent;
+import de.hipphampel.mv4fx.metrics.MetricsSink;
+import de.hipphampel.mv4fx.metrics.MetricsSink.Counter;
 import de.hipphampel.mv4fx.utils.LayoutRequestingStyleableObjectProperty;
 import de.hipphampel.mv4fx.utils.StyleableSizeProperty;
+import de.hipphampel.mv4fx.utils.Utils;
 import de.hipphampel.mv4fx.view.skin.ViewGroupContainerSkin;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Supplier;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
 import javafx.css.CssMetaData;
+import javafx.css.SimpleStyleableObjectProperty;
 import javafx.css.Styleable;
 import javafx.css.StyleableObjectProperty;
 import javafx.css.StyleablePropertyFactory;
@@ -44,11 +55,13 @@ import javafx.scene.control.Control;
 import javafx.scene.control.Skin;
 
 /**
- * Container that holds one or two {@link ViewGroup ViewGroups} or {@code ViewGroupContainers}.
+ * Container that holds one or more {@link ViewGroup ViewGroups} or {@code ViewGroupContainers}.
  * <p>
  * This control is similar to a {@code SplitPane}, with the following exceptions:
  * <ul>
- * <li>It contains at most two subcomponents</li>
+ * <li>It typically contains at most two subcomponents, the {@link #leftTopProperty() leftTop} and
+ * {@link #rightBottomProperty() rightBottom} one; further ones can be placed between them via the
+ * {@link #getMiddleItems() middleItems}</li>
  * <li>The subcomponents are either {@code ViewGroups} or {@code ViewGroupContainers}</li>
  * <li>If there is only one child, this single child occupies the entire area</li>
  * <li>There are styles/properties to control the resizing and drag &amp; drop behaviour</li>
@@ -70,6 +83,16 @@ import javafx.scene.control.Skin;
  *     the minimum size of a child</li>
  *   </ul>
  *   The default is {@code free}</li>
+ *   <li>{@code -mv4fx-divider-update-mode}: defines when a position change caused by dragging the
+ *   divider is applied to the children. The following modes are known:
+ *   <ul>
+ *     <li>{@code continuous} - with each mouse movement</li>
+ *     <li>{@code on-release} - a lightweight ghost line indicates the new position while dragging;
+ *     the position is applied once the mouse is released</li>
+ *     <li>{@code throttled} - like {@code on-release}, but the position is also applied at a
+ *     throttled rate while dragging</li>
+ *   </ul>
+ *   The default is {@code continuous}</li>
  *   <li>{@code -mv4fx-divider-size}: The size of the divider (height or width, depending on the
  *   orientation (default is 5)</li>
  *   <li>{@code -mv4fx-resize-policy}: Describes how resizes the components, if the container is
@@ -110,6 +133,49 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
     RESPECT_MIN_SIZE
   }
 
+  /**
+   * Enumeration describing when a position change caused by dragging the divider is applied.
+   * <p>
+   * Applying a position change resizes the children, which might be expensive for complex contents.
+   */
+  public enum DividerUpdateMode {
+
+    /**
+     * The position is applied with each mouse movement.
+     */
+    CONTINUOUS,
+
+    /**
+     * While dragging, a ghost line indicates the new position, which is applied once when the mouse
+     * is released.
+     */
+    ON_RELEASE,
+
+    /**
+     * Like {@link #ON_RELEASE}, but the position is also applied at a throttled rate while dragging.
+     */
+    THROTTLED
+  }
+
+  /**
+   * Enumeration describing how a maximized {@link View} is displayed.
+   */
+  public enum MaximizeMode {
+
+    /**
+     * The content of the maximized {@code View} becomes the only child of the root container; all
+     * other children are removed until the {@code View} is restored.
+     */
+    REPARENT,
+
+    /**
+     * All children stay attached. The containers on the path to the {@link ViewGroup} of the
+     * maximized {@code View} let it occupy their whole area and hide their other children, and the
+     * {@code ViewGroup} hides its header, so that the content overlays the whole root container.
+     */
+    OVERLAY
+  }
+
   /**
    * Enumeration describing whats happens when the container is resized.
    */
@@ -138,11 +204,13 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
   public static final String PROPERTY_RIGHT_BOTTOM = "rightBottom";
   public static final String PROPERTY_ORIENTATION = "orientation";
   public static final String PROPERTY_DIVIDER_DRAG_MODE = "dividerDragMode";
+  public static final String PROPERTY_DIVIDER_UPDATE_MODE = "dividerUpdateMode";
   public static final String PROPERTY_DIVIDER_SIZE = "dividerSize";
   public static final String PROPERTY_POSITION = "position";
   public static final String PROPERTY_ABSOLUTE_POSITION = "absolutePosition";
   public static final String PROPERTY_RESIZE_POLICY = "resizePolicy";
   public static final String PROPERTY_MAXIMIZED_VIEW = "maximizedView";
+  public static final String PROPERTY_MAXIMIZE_MODE = "maximizeMode";
 
   // Style definition stuff
   private static final StyleablePropertyFactory<ViewGroupContainer> FACTORY = new StyleablePropertyFactory<>(
@@ -153,18 +221,26 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
   private static final CssMetaData<ViewGroupContainer, DividerDragMode> DIVIDER_DRAG_MODE = FACTORY.createEnumCssMetaData(
       DividerDragMode.class, "-mv4fx-divider-drag-mode", s -> s.dividerDragMode,
       DividerDragMode.FREE, false);
+  private static final CssMetaData<ViewGroupContainer, DividerUpdateMode> DIVIDER_UPDATE_MODE = FACTORY.createEnumCssMetaData(
+      DividerUpdateMode.class, "-mv4fx-divider-update-mode", s -> s.dividerUpdateMode,
+      DividerUpdateMode.CONTINUOUS, false);
   private static final CssMetaData<ViewGroupContainer, Number> DIVIDER_SIZE = FACTORY.createSizeCssMetaData(
       "-mv4fx-divider-size", s -> s.dividerSize, 5);
   private static final CssMetaData<ViewGroupContainer, ResizePolicy> RESIZE_POLICY = FACTORY.createEnumCssMetaData(
       ResizePolicy.class, "-mv4fx-resize-policy", s -> s.resizePolicy,
       ResizePolicy.KEEP_RATIO, false);
+  private static final CssMetaData<ViewGroupContainer, MaximizeMode> MAXIMIZE_MODE = FACTORY.createEnumCssMetaData(
+      MaximizeMode.class, "-mv4fx-maximize-mode", s -> s.maximizeMode,
+      MaximizeMode.REPARENT, false);
   private final static List<CssMetaData<? extends Styleable, ?>> CLASS_CSS_META_DATA;
 
   static {
     List<CssMetaData<? extends Styleable, ?>> own = new ArrayList<>(Control.getClassCssMetaData());
     own.add(DIVIDER_DRAG_MODE);
+    own.add(DIVIDER_UPDATE_MODE);
     own.add(DIVIDER_SIZE);
     own.add(RESIZE_POLICY);
+    own.add(MAXIMIZE_MODE);
     CLASS_CSS_META_DATA = Collections.unmodifiableList(own);
   }
 
@@ -179,27 +255,45 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
 
   private final ObjectProperty<GroupOrContainer> leftTop;
   private final ObjectProperty<GroupOrContainer> rightBottom;
+  private final ObservableList<GroupOrContainer> middleItems;
+  private final Map<GroupOrContainer, Double> itemWeights;
+  private final ObservableList<Double> weights;
+  private final ObservableList<Double> unmodifiableWeights;
+  private boolean updatingItems;
   private final ObjectProperty<View> maximizedView;
+  private final StyleableObjectProperty<MaximizeMode> maximizeMode;
   private final LayoutRequestingStyleableObjectProperty<Orientation> orientation;
   private final LayoutRequestingStyleableObjectProperty<DividerDragMode> dividerDragMode;
+  private final StyleableObjectProperty<DividerUpdateMode> dividerUpdateMode;
   private final StyleableSizeProperty dividerSize;
   private final DoubleProperty position;
   private final DoubleProperty absolutePosition;
   private final LayoutRequestingStyleableObjectProperty<ResizePolicy> resizePolicy;
+  private final StylesheetMode stylesheetMode;
 
   /**
    * Constructor.
    */
   public ViewGroupContainer() {
-    this.getStylesheets().add(Constants.CSS_URL);
+    this.stylesheetMode = StylesheetMode.getDefault();
+    this.stylesheetMode.install(this);
     this.getStyleClass().add("view-group-container");
     this.leftTop = new SimpleObjectProperty<>(this, PROPERTY_LEFT_TOP);
     this.rightBottom = new SimpleObjectProperty<>(this, PROPERTY_RIGHT_BOTTOM);
+    this.middleItems = FXCollections.observableArrayList();
+    this.itemWeights = new IdentityHashMap<>();
+    this.weights = FXCollections.observableArrayList();
+    this.unmodifiableWeights = FXCollections.unmodifiableObservableList(weights);
+    this.leftTop.addListener(observable -> onItemsChanged());
+    this.rightBottom.addListener(observable -> onItemsChanged());
+    this.middleItems.addListener((ListChangeListener<GroupOrContainer>) change -> onItemsChanged());
     this.orientation = new LayoutRequestingStyleableObjectProperty<>(this, PROPERTY_ORIENTATION,
         ORIENTATION);
     this.dividerDragMode = new LayoutRequestingStyleableObjectProperty<>(this,
         PROPERTY_DIVIDER_DRAG_MODE,
         DIVIDER_DRAG_MODE);
+    this.dividerUpdateMode = new SimpleStyleableObjectProperty<>(DIVIDER_UPDATE_MODE, this,
+        PROPERTY_DIVIDER_UPDATE_MODE, DividerUpdateMode.CONTINUOUS);
     this.dividerSize = new StyleableSizeProperty(this, PROPERTY_DIVIDER_SIZE, DIVIDER_SIZE);
     this.position = new SimpleDoubleProperty(this, PROPERTY_POSITION, 0.5);
     this.absolutePosition = new SimpleDoubleProperty(this, PROPERTY_ABSOLUTE_POSITION,
@@ -207,6 +301,8 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
     this.resizePolicy = new LayoutRequestingStyleableObjectProperty<>(this, PROPERTY_RESIZE_POLICY,
         RESIZE_POLICY);
     this.maximizedView = new SimpleObjectProperty<>(this, PROPERTY_MAXIMIZED_VIEW);
+    this.maximizeMode = new SimpleStyleableObjectProperty<>(MAXIMIZE_MODE, this,
+        PROPERTY_MAXIMIZE_MODE, MaximizeMode.REPARENT);
   }
 
   @Override
@@ -214,6 +310,12 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
     return CLASS_CSS_META_DATA;
   }
 
+  @Override
+  public String getUserAgentStylesheet() {
+    String stylesheet = stylesheetMode == null ? null : stylesheetMode.getUserAgentStylesheet();
+    return stylesheet == null ? super.getUserAgentStylesheet() : stylesheet;
+  }
+
   /**
    * Convenience getter for the {@code leftTop} property.
    * <p>
@@ -282,6 +384,188 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
     this.rightBottom.set(value);
   }
 
+  /**
+   * The list of the components between the left/top and the right/bottom component.
+   * <p>
+   * This list is normally empty, so that the container has at most two children. If not, the
+   * container has N children that are placed side by side according to the
+   * {@linkplain #orientationProperty() orientation}, separated by N-1 dividers. In this case, the
+   * space is distributed according to the {@linkplain #getWeights() weights} of the children; the {@code position} and {@code absolutePosition} are only used, if there are exactly
+   * two children.
+   *
+   * @return The list
+   */
+  public ObservableList<GroupOrContainer> getMiddleItems() {
+    return middleItems;
+  }
+
+  /**
+   * Gets all children of this container in the order they are displayed.
+   * <p>
+   * The list consists of the left/top component, the {@linkplain #getMiddleItems() middleItems} and
+   * the right/bottom component, whereas {@code null} values are skipped.
+   *
+   * @return A new list with the children
+   */
+  public List<GroupOrContainer> getItems() {
+    List<GroupOrContainer> items = new ArrayList<>(middleItems.size() + 2);
+    if (getLeftTop() != null) {
+      items.add(getLeftTop());
+    }
+    middleItems.stream()
+        .filter(Objects::nonNull)
+        .forEach(items::add);
+    if (getRightBottom() != null) {
+      items.add(getRightBottom());
+    }
+    return items;
+  }
+
+  /**
+   * Sets all children of this container.
+   * <p>
+   * The first item becomes the left/top component, the last one the right/bottom component and
+   * the remaining ones the {@linkplain #getMiddleItems() middleItems}. A single item becomes the
+   * left/top component.
+   *
+   * The {@linkplain #getWeights() weights} of items that stay in the container are kept, even if
+   * their position changes.
+   *
+   * @param items The children, {@code null} values are ignored
+   */
+  public void setItems(List<GroupOrContainer> items) {
+    updateItems(() -> doSetItems(items));
+  }
+
+  /**
+   * Sets all children of this container together with their weights.
+   * <p>
+   * Works like {@link #setItems(List)}, but in addition sets the {@linkplain #getWeights() weight}
+   * of the {@code i}-th item to the {@code i}-th value of {@code weights}.
+   *
+   * @param items   The children, {@code null} values are ignored
+   * @param weights The weights, must have the same size as {@code items}; a value less than zero
+   *                resets the weight of the according item to the default
+   */
+  public void setItems(List<GroupOrContainer> items, List<Double> weights) {
+    if (items.size() != weights.size()) {
+      throw new IllegalArgumentException("Got " + weights.size() + " weights for " + items.size()
+          + " items");
+    }
+    updateItems(() -> {
+      doSetItems(items);
+      for (int i = 0; i < items.size(); i++) {
+        if (items.get(i) != null) {
+          putWeight(items.get(i), weights.get(i));
+        }
+      }
+    });
+  }
+
+  private void doSetItems(List<GroupOrContainer> items) {
+    List<GroupOrContainer> newItems = items.stream().filter(Objects::nonNull).toList();
+    int size = newItems.size();
+    GroupOrContainer newLeftTop = size == 0 ? null : newItems.get(0);
+    GroupOrContainer newRightBottom = size < 2 ? null : newItems.get(size - 1);
+    List<GroupOrContainer> newMiddleItems = size < 3 ? List.of() : newItems.subList(1, size - 1);
+    if (newLeftTop == getLeftTop() && newRightBottom == getRightBottom()
+        && newMiddleItems.equals(middleItems)) {
+      return;
+    }
+
+    middleItems.clear();
+    setLeftTop(null);
+    setRightBottom(null);
+    setLeftTop(newLeftTop);
+    middleItems.setAll(newMiddleItems);
+    setRightBottom(newRightBottom);
+  }
+
+  /**
+   * Gets the weights of the children.
+   * <p>
+   * The list is parallel to {@link #getItems()}: its {@code i}-th element is the weight of the
+   * {@code i}-th child. The weights are relevant only, if the container has more than two children:
+   * the space of the container is distributed among the children in the ratio of their weights.
+   * The default weight is {@code 1}. When a child leaves the container, its weight is dropped, so
+   * that it starts with the default weight when added to another container.
+   *
+   * @return The unmodifiable list of weights
+   */
+  public ObservableList<Double> getWeights() {
+    return unmodifiableWeights;
+  }
+
+  /**
+   * Gets the weight of {@code item}.
+   * <p>
+   * See {@link #getWeights() getWeights} for details.
+   *
+   * @param item The item
+   * @return The weight, the default weight, if {@code item} is no child of this container
+   */
+  public double getWeight(GroupOrContainer item) {
+    return itemWeights.getOrDefault(item, 1.0);
+  }
+
+  /**
+   * Sets the weight of {@code item}.
+   * <p>
+   * See {@link #getWeights() getWeights} for details.
+   *
+   * @param item   The item, must be a child of this container
+   * @param weight The weight, a value less than zero resets it to the default
+   */
+  public void setWeight(GroupOrContainer item, double weight) {
+    if (item == null || !getItems().contains(item)) {
+      throw new IllegalArgumentException("Not a child of this container");
+    }
+    putWeight(item, weight);
+    updateWeights();
+  }
+
+  private void putWeight(GroupOrContainer item, double weight) {
+    if (weight >= 0) {
+      itemWeights.put(item, weight);
+    } else {
+      itemWeights.remove(item);
+    }
+  }
+
+  /**
+   * Runs {@code effect}, which changes the items, and synchronizes the weights afterwards, so that
+   * the weights of items moved inside this container are not lost in an intermediate state.
+   */
+  private void updateItems(Runnable effect) {
+    if (updatingItems) {
+      effect.run();
+      return;
+    }
+    try {
+      updatingItems = true;
+      effect.run();
+    } finally {
+      updatingItems = false;
+    }
+    onItemsChanged();
+  }
+
+  private void onItemsChanged() {
+    if (updatingItems) {
+      return;
+    }
+    itemWeights.keySet().retainAll(getItems());
+    updateWeights();
+  }
+
+  private void updateWeights() {
+    List<Double> current = getItems().stream()
+        .map(this::getWeight)
+        .toList();
+    if (!current.equals(weights)) {
+      weights.setAll(current);
+    }
+  }
 
   /**
    * Convenience getter for the {@code orientation} property.
@@ -351,6 +635,76 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
     dividerDragMode.setValue(value);
   }
 
+  /**
+   * Convenience getter for the {@code dividerUpdateMode} property.
+   * <p>
+   * See documentation of {@link #dividerUpdateModeProperty() dividerUpdateMode} property for
+   * details.
+   *
+   * @return The current value
+   */
+  public DividerUpdateMode getDividerUpdateMode() {
+    return dividerUpdateMode.getValue();
+  }
+
+  /**
+   * The {@code dividerUpdateMode} property.
+   * <p>
+   * This property controls, when a position change caused by dragging the divider is applied. See
+   * {@link DividerUpdateMode} for the available values
+   *
+   * @return The property
+   */
+  public ObjectProperty<DividerUpdateMode> dividerUpdateModeProperty() {
+    return dividerUpdateMode;
+  }
+
+  /**
+   * Convenience setter for the {@code dividerUpdateMode} property.
+   * <p>
+   * See documentation of {@link #dividerUpdateModeProperty() dividerUpdateMode} property for
+   * details.
+   *
+   * @param value The new value
+   */
+  public void setDividerUpdateMode(DividerUpdateMode value) {
+    dividerUpdateMode.setValue(value);
+  }
+
+  /**
+   * Convenience getter for the {@code maximizeMode} property.
+   * <p>
+   * See documentation of {@link #maximizeModeProperty() maximizeMode} property for details.
+   *
+   * @return The current value
+   */
+  public MaximizeMode getMaximizeMode() {
+    return maximizeMode.getValue();
+  }
+
+  /**
+   * The {@code maximizeMode} property.
+   * <p>
+   * This property controls, how a maximized {@link View} is displayed. It is evaluated for the root
+   * container only. See {@link MaximizeMode} for the available values
+   *
+   * @return The property
+   */
+  public ObjectProperty<MaximizeMode> maximizeModeProperty() {
+    return maximizeMode;
+  }
+
+  /**
+   * Convenience setter for the {@code maximizeMode} property.
+   * <p>
+   * See documentation of {@link #maximizeModeProperty() maximizeMode} property for details.
+   *
+   * @param value The new value
+   */
+  public void setMaximizeMode(MaximizeMode value) {
+    maximizeMode.setValue(value);
+  }
+
   /**
    * Convenience getter for the {@code dividerSize} property.
    * <p>
@@ -503,6 +857,15 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
     return new ViewGroupContainerSkin(this);
   }
 
+  @Override
+  public void requestLayout() {
+    MetricsSink.getInstance().increment(Counter.REQUEST_LAYOUT);
+    if (getSkin() instanceof ViewGroupContainerSkin skin) {
+      skin.invalidateSizeConstraints();
+    }
+    super.requestLayout();
+  }
+
   /**
    * Removes {@code child} from this instance.
    *
@@ -510,14 +873,56 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
    * @return {@code true}, if it wqs as child
    */
   public boolean remove(GroupOrContainer child) {
-    if (child == getLeftTop()) {
-      setLeftTop(null);
-      return true;
-    } else if (child == getRightBottom()) {
-      setRightBottom(null);
-      return true;
+    boolean hadMoreThanTwoItems = getItems().size() > 2;
+    if (child == null || !getItems().contains(child)) {
+      return false;
     }
-    return false;
+    updateItems(() -> {
+      // If there are middle items, the neighbour takes over the place of a removed outer item
+      if (child == getLeftTop()) {
+        setLeftTop(middleItems.isEmpty() ? null : middleItems.remove(0));
+      } else if (child == getRightBottom()) {
+        setRightBottom(
+            middleItems.isEmpty() ? null : middleItems.remove(middleItems.size() - 1));
+      } else {
+        middleItems.remove(child);
+      }
+    });
+    if (hadMoreThanTwoItems) {
+      updatePositionFromWeights(getItems());
+    }
+    return true;
+  }
+
+  /**
+   * Inserts {@code item} next to {@code sibling}, without nesting a further container.
+   * <p>
+   * This is possible only, if {@code sibling} is a child of this container, the container has
+   * already two or more children, and the {@code side} matches the
+   * {@linkplain #orientationProperty() orientation}. The {@code item} is placed at the given
+   * {@code side} of the {@code sibling} and gets the half of its space.
+   *
+   * @param sibling The existing child
+   * @param item    The item to insert
+   * @param side    The side of {@code sibling} where to insert {@code item}
+   * @return {@code true}, if inserted
+   */
+  public boolean insertItem(GroupOrContainer sibling, GroupOrContainer item, Side side) {
+    List<GroupOrContainer> items = getItems();
+    int index = items.indexOf(sibling);
+    if (index < 0 || items.size() < 2 || item == null || items.contains(item) || side == null
+        || getOrientation() != (side.isVertical() ? Orientation.HORIZONTAL
+        : Orientation.VERTICAL)) {
+      return false;
+    }
+
+    List<Double> weights = toList(getItemWeights(this));
+    weights.set(index, weights.get(index) / 2);
+    int insertAt = side == Side.LEFT || side == Side.TOP ? index : index + 1;
+    items.add(insertAt, item);
+    weights.add(insertAt, weights.get(index));
+    setItems(items, weights);
+    return true;
   }
 
   /**
@@ -529,32 +934,45 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
    * method. This method works recursively.
    */
   public void normalize() {
-    GroupOrContainer leftTop = normalize(getLeftTop());
-    GroupOrContainer rightBottom = normalize(getRightBottom());
-    if ((leftTop == null) != (rightBottom == null)) {
-      // Only one child
-      leftTop = leftTop != null ? leftTop : rightBottom;
-      rightBottom = null;
-      if (leftTop instanceof ViewGroupContainer vgc) {
-        leftTop = vgc.getLeftTop();
-        rightBottom = vgc.getRightBottom();
-        vgc.setLeftTop(null);
-        vgc.setRightBottom(null);
-        double position = vgc.getPosition();
-        double absolutePosition = vgc.getAbsolutePosition();
-        setOrientation(vgc.getOrientation());
-        setDividerDragMode(vgc.getDividerDragMode());
-        setDividerSize(getDividerSize());
-        setResizePolicy(getResizePolicy());
-        setAbsolutePosition(absolutePosition);
-        setPosition(position);
-      }
+    NormalizeEvent event = new NormalizeEvent();
+    if (event.isEnabled()) {
+      event.setTreeDepthBefore(Utils.getTreeDepth(this));
     }
-    setLeftTop(null);
-    setRightBottom(null);
-    setLeftTop(leftTop);
-    setRightBottom(rightBottom);
+    event.begin();
+
+    boolean hadMoreThanTwoItems = getItems().size() > 2;
+    List<GroupOrContainer> items = new ArrayList<>();
+    List<Double> weights = new ArrayList<>();
+    boolean weightsChanged = normalizeItems(this, items, weights) || hadMoreThanTwoItems;
+    if (items.size() == 1 && items.get(0) instanceof ViewGroupContainer vgc) {
+      // Only one child, which is a container: take over its children
+      items = vgc.getItems();
+      weights = toList(getItemWeights(vgc));
+      weightsChanged = items.size() > 2;
+      vgc.setItems(List.of());
+      double position = vgc.getPosition();
+      double absolutePosition = vgc.getAbsolutePosition();
+      setOrientation(vgc.getOrientation());
+      setDividerDragMode(vgc.getDividerDragMode());
+      setDividerUpdateMode(vgc.getDividerUpdateMode());
+      setDividerSize(getDividerSize());
+      setResizePolicy(getResizePolicy());
+      setAbsolutePosition(absolutePosition);
+      setPosition(position);
+    }
+    List<GroupOrContainer> newItems = items;
+    List<Double> newWeights = weightsChanged ? weights : null;
+    updateItems(() -> {
+      setItems(List.of());
+      applyItems(newItems, newWeights);
+    });
     requestParentLayout();
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.setTreeDepthAfter(Utils.getTreeDepth(this));
+      event.commit();
+    }
   }
 
   private static GroupOrContainer normalize(GroupOrContainer goc) {
@@ -562,22 +980,117 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
       return vg.isAutoClose() && vg.getViews().isEmpty() ? null : vg;
     }
     if (goc instanceof ViewGroupContainer vgc) {
-      GroupOrContainer leftTop = normalize(vgc.getLeftTop());
-      GroupOrContainer rightBottom = normalize(vgc.getRightBottom());
-      if (leftTop != null && rightBottom != null) {
-        vgc.setLeftTop(leftTop);
-        vgc.setRightBottom(rightBottom);
-        return vgc;
-      } else if (leftTop != null) {
-        return leftTop;
-      } else {
-        return rightBottom;
+      boolean hadMoreThanTwoItems = vgc.getItems().size() > 2;
+      List<GroupOrContainer> items = new ArrayList<>();
+      List<Double> weights = new ArrayList<>();
+      boolean weightsChanged = normalizeItems(vgc, items, weights) || hadMoreThanTwoItems;
+      if (items.size() < 2) {
+        vgc.setItems(List.of());
+        return items.isEmpty() ? null : items.get(0);
       }
+      vgc.applyItems(items, weightsChanged ? weights : null);
+      return vgc;
     }
 
     return goc;
   }
 
+  /**
+   * Normalizes the children of {@code container} and collects them in {@code items}, their weights
+   * in {@code weights}.
+   * <p>
+   * Children that are {@code ViewGroupContainers} having the same orientation as {@code container}
+   * are flattened, so that their children become direct children of {@code container}; this is done
+   * only, if {@code container} has more than one child.
+   *
+   * @return {@code true}, if a child has been flattened
+   */
+  private static boolean normalizeItems(ViewGroupContainer container,
+      List<GroupOrContainer> items, List<Double> weights) {
+    List<GroupOrContainer> current = container.getItems();
+    double[] currentWeights = getItemWeights(container);
+    for (int i = 0; i < current.size(); i++) {
+      GroupOrContainer item = normalize(current.get(i));
+      if (item != null) {
+        items.add(item);
+        weights.add(currentWeights[i]);
+      }
+    }
+    if (items.size() < 2) {
+      return false;
+    }
+
+    boolean flattened = false;
+    for (int i = items.size() - 1; i >= 0; i--) {
+      if (items.get(i) instanceof ViewGroupContainer vgc
+          && vgc.getOrientation() == container.getOrientation()) {
+        List<GroupOrContainer> subItems = vgc.getItems();
+        double[] subWeights = getItemWeights(vgc);
+        double sum = sum(subWeights);
+        double weight = weights.get(i);
+        vgc.setItems(List.of());
+        items.remove(i);
+        weights.remove(i);
+        for (int j = subItems.size() - 1; j >= 0; j--) {
+          items.add(i, subItems.get(j));
+          weights.add(i, sum > 0 ? weight * subWeights[j] / sum : weight / subItems.size());
+        }
+        flattened = true;
+      }
+    }
+    return flattened;
+  }
+
+  private void applyItems(List<GroupOrContainer> items, List<Double> weights) {
+    if (weights == null) {
+      setItems(items);
+      return;
+    }
+    setItems(items, weights);
+    updatePositionFromWeights(items);
+  }
+
+  private void updatePositionFromWeights(List<GroupOrContainer> items) {
+    if (items.size() == 2) {
+      double leftTopWeight = getWeight(items.get(0));
+      double sum = leftTopWeight + getWeight(items.get(1));
+      if (sum > 0) {
+        setPosition(leftTopWeight / sum);
+      }
+    }
+  }
+
+  /**
+   * Gets the effective weights of the children of {@code container}.
+   * <p>
+   * If there are exactly two children, the weights are derived from the {@code position},
+   * otherwise they are the {@linkplain #getWeights() weights} of the children.
+   */
+  private static double[] getItemWeights(ViewGroupContainer container) {
+    List<GroupOrContainer> items = container.getItems();
+    if (items.size() == 2) {
+      double position = Utils.ensureValueIsBetween(container.getPosition(), 0, 1);
+      return new double[]{position, 1 - position};
+    }
+    return items.stream().mapToDouble(container::getWeight).toArray();
+  }
+
+  private static double sum(double[] values) {
+    double sum = 0;
+    for (double value : values) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  private static List<Double> toList(double[] values) {
+    List<Double> list = new ArrayList<>(values.length);
+    for (double value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+
   /**
    * Splits the left/top side of the container so that the current content appears on {@code side}.
    * <p>
@@ -603,7 +1116,10 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
     if (hasTwoChildren()) {
       GroupOrContainer lt = getLeftTop();
       ViewGroupContainer newContainer = newContainerSupplier.get();
-      setLeftTop(placeInContainer(newContainer, lt, side));
+      updateItems(() -> {
+        transferWeight(lt, newContainer);
+        setLeftTop(placeInContainer(newContainer, lt, side));
+      });
       return newContainer;
     } else {
       placeInContainer(this, getSingleChild(), side);
@@ -637,7 +1153,10 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
     if (hasTwoChildren()) {
       GroupOrContainer rb = getRightBottom();
       ViewGroupContainer newContainer = newContainerSupplier.get();
-      setRightBottom(placeInContainer(newContainer, rb, side));
+      updateItems(() -> {
+        transferWeight(rb, newContainer);
+        setRightBottom(placeInContainer(newContainer, rb, side));
+      });
       return newContainer;
     } else {
       placeInContainer(this, getSingleChild(), side);
@@ -645,6 +1164,40 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
     }
   }
 
+  /**
+   * Splits one of the {@linkplain #getMiddleItems() middleItems}, so that it appears on
+   * {@code side}.
+   * <p>
+   * The {@code item} is replaced by a new {@code ViewGroupContainer} that is oriented according to
+   * the {@code side} and the {@code item} becomes an according child of the new container.
+   *
+   * @param item                 The item to split
+   * @param side                 The side where to move the item to
+   * @param newContainerSupplier {@link Supplier} that creates a new {@link ViewGroupContainer}
+   * @return The {@code ViewGroupContainer} containing the item now, {@code null} if {@code item} is
+   * not one of the {@code middleItems}
+   */
+  public ViewGroupContainer splitMiddleItem(GroupOrContainer item, Side side,
+      Supplier<ViewGroupContainer> newContainerSupplier) {
+    int index = middleItems.indexOf(item);
+    if (index < 0) {
+      return null;
+    }
+    ViewGroupContainer newContainer = newContainerSupplier.get();
+    updateItems(() -> {
+      transferWeight(item, newContainer);
+      middleItems.set(index, newContainer);
+    });
+    return placeInContainer(newContainer, item, side);
+  }
+
+  private void transferWeight(GroupOrContainer from, GroupOrContainer to) {
+    Double weight = itemWeights.remove(from);
+    if (weight != null) {
+      itemWeights.put(to, weight);
+    }
+  }
+
   private boolean hasTwoChildren() {
     return getLeftTop() != null && getRightBottom() != null;
   }
@@ -694,6 +1247,9 @@ public class ViewGroupContainer extends Control implements GroupOrContainer {
       getMaximizedView().getViewGroup().requestLayout();
     }
 
+    if (view != null && view.getViewGroup() != null && getMaximizeMode() == MaximizeMode.OVERLAY) {
+      view.getViewGroup().selectView(view);
+    }
     maximizedView.set(view);
     requestLayout();
   }
@@ -0,0 +1,205 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import javafx.animation.AnimationTimer;
+import javafx.util.Duration;
+
+/**
+ * Creates the content of {@link View Views} speculatively, before they are shown.
+ * <p>
+ * {@code Views} having a {@link View#contentFactoryProperty() contentFactory} create their content
+ * when they are shown the first time, which might cause a noticeable delay when switching to them.
+ * A {@code ViewPreWarmer} tries to hide this delay: whenever a {@code View} is shown, the
+ * {@code Views} next to it in the same {@link ViewGroup} are scheduled for pre-warming. Their content
+ * is then created on the following pulses, whereas each pulse spends at most the configured budget
+ * for this. While a drag and drop operation is in progress, pre-warming is suspended.
+ * <p>
+ * Further candidates, e.g. {@code Views} an application is about to select, can be passed to
+ * {@link #schedule(View) schedule()}.
+ * <p>
+ * Pre-warming is disabled by default; it is enabled by passing an instance to
+ * {@link #setInstance(ViewPreWarmer) setInstance()}.
+ */
+public class ViewPreWarmer {
+
+  private static ViewPreWarmer instance;
+
+  private final long pulseBudgetNanos;
+  private final int neighbourDistance;
+  private final Set<View> pending;
+  private final AnimationTimer timer;
+  private boolean timerRunning;
+
+  /**
+   * Constructor.
+   * <p>
+   * Creates an instance that spends up to 4 milliseconds per pulse, pre-warms the direct neighbours
+   * of a shown {@code View}.
+   */
+  public ViewPreWarmer() {
+    this(Duration.millis(4), 1);
+  }
+
+  /**
+   * Constructor.
+   * <p>
+   * At least one {@code View} is pre-warmed per pulse, even if this exceeds the
+   * {@code pulseBudget}.
+   *
+   * @param pulseBudget       The time to spend per pulse for pre-warming
+   * @param neighbourDistance The number of {@code Views} on each side of the shown one to pre-warm
+   */
+  public ViewPreWarmer(Duration pulseBudget, int neighbourDistance) {
+    this.pulseBudgetNanos = (long) (Objects.requireNonNull(pulseBudget).toMillis() * 1_000_000);
+    this.neighbourDistance = Math.max(0, neighbourDistance);
+    this.pending = new LinkedHashSet<>();
+    this.timer = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        onPulse();
+      }
+    };
+  }
+
+  /**
+   * Sets the one and only instance.
+   * <p>
+   * Passing {@code null} disables pre-warming, which is also the default.
+   *
+   * @param preWarmer The {@code ViewPreWarmer}, might be {@code null}
+   */
+  public static void setInstance(ViewPreWarmer preWarmer) {
+    if (instance != null && instance != preWarmer) {
+      instance.cancel();
+    }
+    instance = preWarmer;
+  }
+
+  /**
+   * Gets the one and only instance.
+   *
+   * @return The {@code ViewPreWarmer}, if pre-warming is enabled.
+   */
+  public static Optional<ViewPreWarmer> getInstance() {
+    return Optional.ofNullable(instance);
+  }
+
+  /**
+   * Called when the given {@link View} is shown.
+   * <p>
+   * Schedules the neighbours of the {@code view} for pre-warming.
+   *
+   * @param view The {@code View} being shown.
+   */
+  public void viewShown(View view) {
+    ViewGroup group = view.getViewGroup();
+    if (group != null) {
+      List<View> views = group.getViews();
+      int index = views.indexOf(view);
+      for (int distance = 1; distance <= neighbourDistance && index != -1; distance++) {
+        schedule(views, index + distance);
+        schedule(views, index - distance);
+      }
+    }
+  }
+
+  /**
+   * Schedules the given {@link View} for pre-warming.
+   * <p>
+   * The {@code view} is ignored, if it is not part of a {@link ViewGroup}, already has a content,
+   * or has no {@link View#contentFactoryProperty() contentFactory}.
+   *
+   * @param view The {@code View}
+   */
+  public void schedule(View view) {
+    if (needsPreWarming(view) && pending.add(view) && !timerRunning) {
+      timerRunning = true;
+      timer.start();
+    }
+  }
+
+  /**
+   * Cancels all scheduled pre-warmings.
+   */
+  public void cancel() {
+    pending.clear();
+    stopTimer();
+  }
+
+  /**
+   * Checks, whether there are {@link View Views} scheduled for pre-warming.
+   *
+   * @return {@code true}, if so.
+   */
+  public boolean hasPending() {
+    return !pending.isEmpty();
+  }
+
+  // Visible for testing
+  void onPulse() {
+    if (pending.isEmpty()) {
+      stopTimer();
+      return;
+    }
+    if (DragAndDropContext.getInstance().getDragSource() != null) {
+      return;
+    }
+    long deadline = System.nanoTime() + pulseBudgetNanos;
+    do {
+      View view = pending.iterator().next();
+      pending.remove(view);
+      if (needsPreWarming(view)) {
+        view.ensureContent();
+      }
+    } while (!pending.isEmpty() && System.nanoTime() < deadline);
+
+    if (pending.isEmpty()) {
+      stopTimer();
+    }
+  }
+
+  private void schedule(List<View> views, int index) {
+    if (index >= 0 && index < views.size()) {
+      schedule(views.get(index));
+    }
+  }
+
+  private void stopTimer() {
+    if (timerRunning) {
+      timerRunning = false;
+      timer.stop();
+    }
+  }
+
+  private static boolean needsPreWarming(View view) {
+    return view.getViewGroup() != null
+        && view.getContent() == null
+        && view.getContentFactory() != null;
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import javafx.scene.Node;
+
+/**
+ * Registry of {@link ViewFactory ViewFactories}, allowing to restore a workspace lazily.
+ * <p>
+ * Each factory is registered for a view type id. Views are identified by a view id consisting of
+ * the type id and an instance id, separated by a colon (see {@link #toViewId(String, String)}).
+ * {@link #newView(String)} creates a placeholder {@link View} that has only its tab label and
+ * graphic set; everything else is done by {@link ViewFactory#materialize(View, String)}, which is
+ * installed as {@link View#contentFactoryProperty() contentFactory} of the placeholder. So the
+ * expensive part of a view is built only when the view is shown the first time or its content is
+ * requested via {@link View#ensureContent()}.
+ * <p>
+ * In combination with {@link LayoutSnapshot#restore(ViewRegistry, java.util.function.Supplier)},
+ * this allows to restore large workspaces quickly, since only the selected views are materialized
+ * before the first frame.
+ */
+public class ViewRegistry {
+
+  /**
+   * Factory for views of a specific type.
+   */
+  public interface ViewFactory {
+
+    /**
+     * Returns the tab label of the placeholder for the given instance.
+     * <p>
+     * This method is called for each restored view, so it should be cheap.
+     *
+     * @param instanceId The instance id
+     * @return The label
+     */
+    default String getTabLabel(String instanceId) {
+      return instanceId;
+    }
+
+    /**
+     * Returns the tab graphic of the placeholder for the given instance.
+     * <p>
+     * This method is called for each restored view, so it should be cheap.
+     *
+     * @param instanceId The instance id
+     * @return The graphic, might be {@code null}
+     */
+    default Node getTabGraphic(String instanceId) {
+      return null;
+    }
+
+    /**
+     * Materializes the view.
+     * <p>
+     * Called when the content of the view is required and the view has no content yet. Normally
+     * this happens once per view, but if this method returns {@code null}, it is called again the
+     * next time the content is required. Implementations might complete the view (e.g. set
+     * tooltips or context menus) and return its content.
+     *
+     * @param view       The {@link View} to materialize
+     * @param instanceId The instance id
+     * @return The content of the view
+     */
+    Node materialize(View view, String instanceId);
+  }
+
+  private final Map<String, ViewFactory> factories = new HashMap<>();
+  private final Map<View, String> viewIds = new WeakHashMap<>();
+
+  /**
+   * Constructor.
+   * <p>
+   * Creates a registry without any {@link ViewFactory ViewFactories}; they are added via
+   * {@link #register(String, ViewFactory)}.
+   */
+  public ViewRegistry() {
+  }
+
+  /**
+   * Registers the {@code factory} for the given type id.
+   * <p>
+   * An existing registration for the same type id is replaced.
+   *
+   * @param typeId  The type id, must not contain a colon
+   * @param factory The {@link ViewFactory}
+   */
+  public void register(String typeId, ViewFactory factory) {
+    Objects.requireNonNull(factory);
+    if (typeId.indexOf(':') >= 0) {
+      throw new IllegalArgumentException("Type id must not contain a colon: " + typeId);
+    }
+    factories.put(typeId, factory);
+  }
+
+  /**
+   * Returns the {@link ViewFactory} registered for the given type id.
+   *
+   * @param typeId The type id
+   * @return The {@code ViewFactory}, {@code null} if not registered
+   */
+  public ViewFactory getFactory(String typeId) {
+    return factories.get(typeId);
+  }
+
+  /**
+   * Creates a view id from a type and an instance id.
+   *
+   * @param typeId     The type id
+   * @param instanceId The instance id
+   * @return The view id
+   */
+  public static String toViewId(String typeId, String instanceId) {
+    return typeId + ":" + instanceId;
+  }
+
+  /**
+   * Creates a placeholder {@link View} for the given view id.
+   * <p>
+   * The placeholder has the tab label and graphic provided by the {@link ViewFactory} registered
+   * for the type id of {@code viewId}; the factory is called to materialize the view when its
+   * content is required the first time.
+   *
+   * @param viewId The view id
+   * @return The placeholder, {@code null} if the id is malformed or no factory is registered
+   */
+  public View newView(String viewId) {
+    int pos = viewId == null ? -1 : viewId.indexOf(':');
+    ViewFactory factory = pos < 0 ? null : factories.get(viewId.substring(0, pos));
+    if (factory == null) {
+      return null;
+    }
+    String instanceId = viewId.substring(pos + 1);
+    View view = new View();
+    view.setTabLabel(factory.getTabLabel(instanceId));
+    view.setTabGraphic(factory.getTabGraphic(instanceId));
+    view.setContentFactory(v -> factory.materialize(v, instanceId));
+    viewIds.put(view, viewId);
+    return view;
+  }
+
+  /**
+   * Associates {@code view} with the given view id.
+   * <p>
+   * This is required only for views not created via {@link #newView(String)}, so that they are
+   * recognized by {@link #getViewId(View)}.
+   *
+   * @param view   The {@link View}
+   * @param viewId The view id
+   */
+  public void setViewId(View view, String viewId) {
+    viewIds.put(view, viewId);
+  }
+
+  /**
+   * Returns the view id of the given view.
+   * <p>
+   * Can be used as id function for {@link LayoutSnapshot#capture(java.util.function.Function)}.
+   *
+   * @param view The {@link View}
+   * @return The view id, {@code null} if unknown
+   */
+  public String getViewId(View view) {
+    return viewIds.get(view);
+  }
+
+  /**
+   * Checks, whether {@code view} is materialized.
+   *
+   * @param view The {@link View}
+   * @return {@code true}, if so
+   */
+  public boolean isMaterialized(View view) {
+    return view.getContent() != null;
+  }
+}
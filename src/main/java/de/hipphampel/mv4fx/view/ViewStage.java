@@ -22,6 +22,8 @@
  */
 package de.hipphampel.mv4fx.view;
 
+import de.hipphampel.mv4fx.metrics.MetricsSink;
+import de.hipphampel.mv4fx.metrics.MetricsSink.Gauge;
 import de.hipphampel.mv4fx.utils.Utils;
 import java.util.List;
 import javafx.beans.property.BooleanProperty;
@@ -39,12 +41,20 @@ public class ViewStage extends Stage {
       true);
 
   public ViewStage() {
-    setOnCloseRequest(this::handleCloseRequest);
+    init();
   }
 
   public ViewStage(StageStyle style) {
     super(style);
+    init();
+  }
+
+  private void init() {
     setOnCloseRequest(this::handleCloseRequest);
+    addEventHandler(WindowEvent.WINDOW_SHOWN,
+        evt -> MetricsSink.getInstance().adjust(Gauge.WINDOWS, 1));
+    addEventHandler(WindowEvent.WINDOW_HIDDEN,
+        evt -> MetricsSink.getInstance().adjust(Gauge.WINDOWS, -1));
   }
 
   protected void handleCloseRequest(WindowEvent evt) {
@@ -22,13 +22,27 @@
  */
 package de.hipphampel.mv4fx.view.skin;
 
+import de.hipphampel.mv4fx.jfr.LayoutEvent;
+import de.hipphampel.mv4fx.metrics.MetricsSink;
+import de.hipphampel.mv4fx.metrics.MetricsSink.Counter;
+import de.hipphampel.mv4fx.utils.LayoutSolver;
 import de.hipphampel.mv4fx.utils.Range;
+import de.hipphampel.mv4fx.utils.SizeConstraints;
+import de.hipphampel.mv4fx.utils.SizeType;
 import de.hipphampel.mv4fx.utils.Utils;
 import de.hipphampel.mv4fx.view.Constants;
 import de.hipphampel.mv4fx.view.GroupOrContainer;
+import de.hipphampel.mv4fx.view.View;
+import de.hipphampel.mv4fx.view.ViewGroup;
 import de.hipphampel.mv4fx.view.ViewGroupContainer;
 import de.hipphampel.mv4fx.view.ViewGroupContainer.DividerDragMode;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.DividerUpdateMode;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.MaximizeMode;
 import de.hipphampel.mv4fx.view.ViewGroupContainer.ResizePolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
@@ -49,14 +63,35 @@ import javafx.scene.layout.Region;
  */
 public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
 
+  /**
+   * Minimum time between two position updates while dragging a divider in
+   * {@link DividerUpdateMode#THROTTLED} mode.
+   */
+  protected static final long THROTTLE_INTERVAL_NANOS = 100_000_000L;
+
   private final ChangeListener<Number> sizeChanged;
   private final ChangeListener<Insets> insetsChanged;
   private final InvalidationListener childrenChanged;
+  private final InvalidationListener maximizedViewChanged;
   private final InvalidationListener orientationChanged;
   private final InvalidationListener positionChanged;
   private final InvalidationListener absolutePositionChanged;
-  private Divider divider;
+  private final InvalidationListener weightsChanged;
+  private final List<Divider> dividers;
+  private Region dividerGhost;
   private boolean updatingPosition;
+  private Range lastPositionRange;
+  private double lastDividerSize;
+  private int itemCount;
+  private double[] itemPositions;
+  private double[] itemSizes;
+  private SizeConstraints sizeConstraints;
+  private boolean resizing;
+  private boolean showingMaximizedContent;
+  private Node overlayItem;
+  private double solvedAvailable;
+  private double[] solvedDesired;
+  private double[] solvedSizes;
 
   /**
    * Constructor
@@ -65,57 +100,129 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
    */
   public ViewGroupContainerSkin(ViewGroupContainer control) {
     super(control);
+    this.dividers = new ArrayList<>();
     this.childrenChanged = observable -> onChildrenChanged();
+    this.maximizedViewChanged = observable -> onMaximizedViewChanged();
     this.sizeChanged = this::onSizeChanged;
     this.insetsChanged = this::onInsetsChanged;
     this.positionChanged = observable -> onPositionChanged();
     this.absolutePositionChanged = observable -> onAbsolutePositionChanged();
     this.orientationChanged = observable -> onOrientationChanged();
+    this.weightsChanged = observable -> onWeightsChanged();
     control.insetsProperty().addListener(insetsChanged);
     control.widthProperty().addListener(sizeChanged);
     control.heightProperty().addListener(sizeChanged);
     control.dividerSizeProperty().addListener(sizeChanged);
     control.leftTopProperty().addListener(childrenChanged);
     control.rightBottomProperty().addListener(childrenChanged);
+    control.getMiddleItems().addListener(childrenChanged);
+    control.getWeights().addListener(weightsChanged);
     control.positionProperty().addListener(positionChanged);
     control.absolutePositionProperty().addListener(absolutePositionChanged);
     control.orientationProperty().addListener(orientationChanged);
-    control.maximizedViewProperty().addListener(childrenChanged);
+    control.maximizedViewProperty().addListener(maximizedViewChanged);
+    control.maximizeModeProperty().addListener(maximizedViewChanged);
+    this.lastPositionRange = getAbsolutePositionRange(null, null, null);
+    this.lastDividerSize = control.getDividerSize();
     onChildrenChanged();
   }
 
   /**
    * Gets the associated {@link Divider}
+   * <p>
+   * In case there are more than two children, this is the first one.
    *
    * @return The {@code Divider}, might be {@code null}
    */
   protected Divider getDivider() {
-    return divider;
+    return dividers.isEmpty() ? null : dividers.get(0);
+  }
+
+  /**
+   * Gets the size constraints of the subtree rooted at the container.
+   * <p>
+   * The constraints are calculated recursively from the min, preferred and max sizes of the
+   * {@link de.hipphampel.mv4fx.view.ViewGroup ViewGroups}, the dividers and the insets. They are
+   * cached until {@link #invalidateSizeConstraints()} is called, which happens whenever the
+   * container or one of its descendants requests a layout because its size hints might have
+   * changed. Since such a request is propagated to the parent, only the containers on the path to
+   * the root are affected.
+   *
+   * @return The {@link SizeConstraints}
+   */
+  public SizeConstraints getSizeConstraints() {
+    if (sizeConstraints == null) {
+      ViewGroupContainer container = getSkinnable();
+      List<SizeConstraints> items;
+      if (container.getMaximizedView() == null) {
+        items = getItemConstraints(container);
+      } else {
+        Node content = container.getMaximizedView().getContent();
+        items = content == null ? List.of() : List.of(SizeConstraints.of(content));
+      }
+      sizeConstraints = SizeConstraints.combine(
+          container.getOrientation(),
+          items,
+          container.getDividerSize(),
+          container.getInsets());
+    }
+    return sizeConstraints;
+  }
+
+  /**
+   * Invalidates the cached size constraints and the cached solution of the last layout pass.
+   * <p>
+   * Calls made while the container is just resized are ignored, since its size has no effect on
+   * the constraints.
+   */
+  public void invalidateSizeConstraints() {
+    if (resizing) {
+      return;
+    }
+    sizeConstraints = null;
+    solvedDesired = null;
+    solvedSizes = null;
+  }
+
+  /**
+   * Gets all associated {@link Divider Dividers}.
+   * <p>
+   * There is one {@code Divider} between each two adjacent children.
+   *
+   * @return The {@code Dividers}
+   */
+  protected List<Divider> getDividers() {
+    return Collections.unmodifiableList(dividers);
   }
 
   @Override
   public void dispose() {
     ViewGroupContainer control = getSkinnable();
-    control.maximizedViewProperty().removeListener(childrenChanged);
+    control.maximizedViewProperty().removeListener(maximizedViewChanged);
+    control.maximizeModeProperty().removeListener(maximizedViewChanged);
     control.orientationProperty().removeListener(orientationChanged);
     control.absolutePositionProperty().removeListener(absolutePositionChanged);
     control.positionProperty().removeListener(positionChanged);
+    control.getWeights().removeListener(weightsChanged);
+    control.getMiddleItems().removeListener(childrenChanged);
     control.rightBottomProperty().removeListener(childrenChanged);
     control.leftTopProperty().removeListener(childrenChanged);
     control.dividerSizeProperty().removeListener(sizeChanged);
     control.heightProperty().removeListener(sizeChanged);
     control.widthProperty().removeListener(sizeChanged);
     control.insetsProperty().removeListener(insetsChanged);
-    if (divider != null) {
-      divider.dispose();
-    }
+    dividers.forEach(Divider::dispose);
+    dividers.clear();
+    hideDividerGhost();
     super.dispose();
   }
 
   /**
    * Called when the size changes.
    * <p>
-   * Recalculates the position of the divider, depending on the resizing policy
+   * Just requests a layout: the position of the divider is recalculated during the next layout
+   * pass, depending on the resizing policy. This way, the positions of all nested containers are
+   * calculated in a single top-down pass, no matter how many size changes happened before.
    *
    * @param trigger  Observable triggering the event
    * @param oldValue The old value
@@ -123,25 +230,16 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
    */
   protected void onSizeChanged(Observable trigger, Number oldValue, Number newValue) {
     ViewGroupContainer container = getSkinnable();
-    doIfNotUpdatingPosition(() -> {
-      if (trigger == container.dividerSizeProperty()) {
-        updateDividerPosition(
-            getAbsolutePositionRange(null, null, oldValue.doubleValue()),
-            oldValue.doubleValue());
-      } else if (container.getOrientation() == Orientation.VERTICAL) {
-        if (trigger == container.heightProperty()) {
-          updateDividerPosition(
-              getAbsolutePositionRange(null, oldValue.doubleValue(), null),
-              container.getDividerSize());
-        }
-      } else {
-        if (trigger == container.widthProperty()) {
-          updateDividerPosition(
-              getAbsolutePositionRange(null, oldValue.doubleValue(), null),
-              container.getDividerSize());
-        }
-      }
-    });
+    if (trigger == container.dividerSizeProperty()) {
+      container.requestLayout();
+      return;
+    }
+    try {
+      resizing = true;
+      container.requestLayout();
+    } finally {
+      resizing = false;
+    }
   }
 
   /**
@@ -150,10 +248,7 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
    * Basically, re-layouts the component.
    */
   protected void onInsetsChanged(Observable trigger, Insets oldValue, Insets newValue) {
-    doIfNotUpdatingPosition(
-        () -> updateDividerPosition(
-            getAbsolutePositionRange(oldValue, null, null),
-            getSkinnable().getDividerSize()));
+    getSkinnable().requestLayout();
   }
 
   /**
@@ -162,9 +257,9 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
    * Basically, re-layouts the component.
    */
   protected void onOrientationChanged() {
-    doIfNotUpdatingPosition(() -> updateDividerPosition(
-        getAbsolutePositionRange(null, null, null),
-        getSkinnable().getDividerSize()));
+    // The old range refers to the other axis, so it is meaningless now
+    lastPositionRange = null;
+    getSkinnable().requestLayout();
   }
 
   /**
@@ -191,11 +286,20 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
     );
   }
 
+  /**
+   * Called when the weights of the children have been changed.
+   * <p>
+   * Re-layouts the container, unless the weights are adapted by the layout itself.
+   */
+  protected void onWeightsChanged() {
+    doIfNotUpdatingPosition(() -> getSkinnable().requestLayout());
+  }
+
   /**
    * Called when the children have been changed.
    * <p>
-   * This is called whenever then left/top or right/bottom component has been changed. Depending on
-   * the change, a divider is displayed or not. It re-layouts ths container
+   * This is called whenever then left/top, right/bottom or middle components have been changed.
+   * Depending on the change, dividers are displayed or not. It re-layouts ths container
    */
   protected void onChildrenChanged() {
     ViewGroupContainer control = getSkinnable();
@@ -203,41 +307,73 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
 
     children.clear();
 
-    if (control.getMaximizedView() == null) {
-      onChildrenChangedNormal(control, children);
-    } else {
+    int newItemCount = control.getItems().size();
+    if (itemCount > 2 && newItemCount == 2) {
+      // The position was not maintained while there were more than two children
+      doIfNotUpdatingPosition(() ->
+          control.setAbsolutePosition(computeAbsolutePosition(control.getPosition())));
+    }
+    itemCount = newItemCount;
+
+    showingMaximizedContent = isShowingMaximizedContent(control);
+    if (showingMaximizedContent) {
       onChildrenChangedMaximized(control, children);
+    } else {
+      onChildrenChangedNormal(control, children);
     }
+    updateOverlay();
 
     control.requestLayout();
   }
 
+  private static boolean isShowingMaximizedContent(ViewGroupContainer control) {
+    return control.getMaximizedView() != null
+        && control.getMaximizeMode() != MaximizeMode.OVERLAY;
+  }
+
+  /**
+   * Called when the maximized view or the maximize mode has been changed.
+   * <p>
+   * The children are only exchanged, if the content of the maximized view becomes the only child
+   * or stops being it. Since in {@link MaximizeMode#OVERLAY OVERLAY} mode the maximization is done
+   * by the nested containers and groups, all of them are re-layouted; their children stay attached
+   * though.
+   */
+  protected void onMaximizedViewChanged() {
+    ViewGroupContainer control = getSkinnable();
+    if (showingMaximizedContent || isShowingMaximizedContent(control)) {
+      onChildrenChanged();
+    }
+    requestLayoutOfSubtree(control);
+    updateOverlay();
+  }
+
+  private static void requestLayoutOfSubtree(GroupOrContainer item) {
+    item.asControl().requestLayout();
+    if (item instanceof ViewGroupContainer container) {
+      container.getItems().forEach(ViewGroupContainerSkin::requestLayoutOfSubtree);
+    }
+  }
+
   private void onChildrenChangedMaximized(ViewGroupContainer control,
       ObservableList<Node> children) {
-    children.add(control.getMaximizedView().getContent());
+    children.add(control.getMaximizedView().ensureContent());
   }
 
   private void onChildrenChangedNormal(ViewGroupContainer control, ObservableList<Node> children) {
-
-    Control leftTop = getControl(control.getLeftTop());
-    if (leftTop != null) {
-      children.add(leftTop);
+    List<GroupOrContainer> items = control.getItems();
+    for (GroupOrContainer item : items) {
+      children.add(getControl(item));
     }
 
-    Control rightBottom = getControl(control.getRightBottom());
-    if (rightBottom != null) {
-      children.add(rightBottom);
+    int dividerCount = Math.max(0, items.size() - 1);
+    while (dividers.size() > dividerCount) {
+      dividers.remove(dividers.size() - 1).dispose();
     }
-
-    if (leftTop != null && rightBottom != null) {
-      if (divider == null) {
-        divider = newDivider();
-      }
-      children.add(divider);
-    } else if (divider != null) {
-      divider.dispose();
-      divider = null;
+    while (dividers.size() < dividerCount) {
+      dividers.add(newDivider());
     }
+    children.addAll(dividers);
   }
 
   /**
@@ -272,25 +408,25 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
   @Override
   protected double computeMinWidth(double height, double topInset, double rightInset,
       double bottomInset, double leftInset) {
-    return 0;
+    return getSizeConstraints().minWidth();
   }
 
   @Override
   protected double computeMinHeight(double width, double topInset, double rightInset,
       double bottomInset, double leftInset) {
-    return 0;
+    return getSizeConstraints().minHeight();
   }
 
   @Override
   protected double computePrefWidth(double height, double topInset, double rightInset,
       double bottomInset, double leftInset) {
-    return 600;
+    return getSizeConstraints().prefWidth();
   }
 
   @Override
   protected double computePrefHeight(double width, double topInset, double rightInset,
       double bottomInset, double leftInset) {
-    return 600;
+    return getSizeConstraints().prefHeight();
   }
 
   @Override
@@ -299,49 +435,130 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
     if (container == null) {
       return;
     }
-    if (container.getMaximizedView() == null) {
-      layoutChildrenNormal(container, x, y, w, h);
-    } else {
+    LayoutEvent event = new LayoutEvent("ViewGroupContainer");
+    event.begin();
+    MetricsSink.getInstance().increment(Counter.LAYOUT_PASS);
+    if (isShowingMaximizedContent(container)) {
       layoutChildrenMaximized(container, x, y, w, h);
+    } else {
+      layoutChildrenNormal(container, x, y, w, h);
+      layoutOverlay(container, x, y, w, h);
+    }
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.setTreeDepth(Utils.getTreeDepth(container));
+      event.setWidth(w);
+      event.setHeight(h);
+      event.commit();
     }
   }
 
   private void layoutChildrenMaximized(ViewGroupContainer container, double x, double y, double w,
       double h) {
+    // The content is created by onChildrenChangedMaximized, so the factory never runs during layout
     Node control = container.getMaximizedView().getContent();
-    control.relocate(x, y);
-    control.resize(w, h);
+    if (control != null) {
+      control.relocate(x, y);
+      control.resize(w, h);
+    }
+  }
+
+  /**
+   * Lets the child on the path to a view maximized in {@link MaximizeMode#OVERLAY OVERLAY} mode
+   * occupy the whole area; the other children and the dividers are hidden by
+   * {@link #updateOverlay()} and keep their normal bounds, so that restoring the view needs no
+   * further calculations.
+   */
+  private void layoutOverlay(ViewGroupContainer container, double x, double y, double w,
+      double h) {
+    if (overlayItem != null && overlayItem.getParent() == container) {
+      overlayItem.relocate(x, y);
+      overlayItem.resize(w, h);
+    }
+  }
+
+  /**
+   * Updates the subtree of the container for the view maximized in
+   * {@link MaximizeMode#OVERLAY OVERLAY} mode by the root container: on the path to this view, all
+   * children but the one containing the view and the dividers are hidden, and the
+   * {@link ViewGroup ViewGroups} hide their headers, if they contain the
+   * view, and show the maximized content in place otherwise.
+   * <p>
+   * This is called when the children, the maximized view or the maximize mode have changed, so that
+   * the layout passes do not need to look up the root container.
+   */
+  private void updateOverlay() {
+    ViewGroupContainer container = getSkinnable();
+    ViewGroupContainer root = Utils.getRootViewGroupContainer(container).orElse(container);
+    boolean overlayMode = root.getMaximizeMode() == MaximizeMode.OVERLAY;
+    View view = overlayMode ? root.getMaximizedView() : null;
+    updateOverlay(overlayMode, view == null ? null : view.getViewGroup());
+  }
+
+  private void updateOverlay(boolean overlayMode, ViewGroup overlayGroup) {
+    ViewGroupContainer container = getSkinnable();
+    Node item = overlayGroup == null ? null
+        : getChildOnPathTo(container, overlayGroup.asControl());
+    for (GroupOrContainer child : container.getItems()) {
+      Control control = child.asControl();
+      control.setVisible(item == null || control == item);
+      if (control.getSkin() instanceof ViewGroupContainerSkin skin) {
+        skin.updateOverlay(overlayMode, overlayGroup);
+      } else if (control.getSkin() instanceof ViewGroupSkin skin) {
+        skin.updateOverlay(overlayMode, child == overlayGroup);
+      }
+    }
+    dividers.forEach(divider -> divider.setVisible(item == null));
+    if (item != overlayItem) {
+      overlayItem = item;
+      container.requestLayout();
+    }
+  }
+
+  private static Node getChildOnPathTo(ViewGroupContainer container, Node node) {
+    while (node != null && node.getParent() != container) {
+      node = node.getParent();
+    }
+    return node;
   }
 
   private void layoutChildrenNormal(ViewGroupContainer container, double x, double y, double w,
       double h) {
+    updateGeometry();
     double position = container.getAbsolutePosition();
     if (position == Region.USE_COMPUTED_SIZE) {
       position = computeAbsolutePosition(container.getPosition());
     }
 
-    Control leftTop = getControl(container.getLeftTop());
-    Control rightBottom = getControl(container.getRightBottom());
-
-    if (leftTop == null && rightBottom == null) {
+    List<Control> items = container.getItems().stream().map(this::getControl).toList();
+    itemPositions = null;
+    itemSizes = null;
+    if (items.isEmpty()) {
       return;
     }
-    if (leftTop == null) {
-      // Only rightBottom is visible
-      rightBottom.relocate(x, y);
-      rightBottom.resize(w, h);
+    if (items.size() == 1) {
+      // Only one child is visible
+      items.get(0).relocate(x, y);
+      items.get(0).resize(w, h);
       return;
     }
-
-    if (rightBottom == null) {
-      // Only leftTop is visible
-      leftTop.relocate(x, y);
-      leftTop.resize(w, h);
+    if (items.size() > 2) {
+      layoutChildrenWeighted(container, items, x, y, w, h);
       return;
     }
 
+    Control leftTop = items.get(0);
+    Control rightBottom = items.get(1);
+    Divider divider = dividers.get(0);
     Orientation orientation = container.getOrientation();
     double dividerSize = container.getDividerSize();
+    if (container.getDividerDragMode() == DividerDragMode.RESPECT_MIN_SIZE) {
+      Range range = getAbsolutePositionRange(null, null, null);
+      double[] sizes = solve(container, Math.max(0, range.size()), new double[]{
+          Math.max(0, position - range.lower()), Math.max(0, range.upper() - position)});
+      position = range.lower() + sizes[0];
+    }
     if (orientation == Orientation.VERTICAL) {
       leftTop.relocate(x, y);
       leftTop.resize(w, position - y);
@@ -359,8 +576,137 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
     }
   }
 
+  private void layoutChildrenWeighted(ViewGroupContainer container, List<Control> items, double x,
+      double y, double w, double h) {
+    boolean vertical = container.getOrientation() == Orientation.VERTICAL;
+    int count = items.size();
+    double dividerSize = container.getDividerSize();
+    double start = vertical ? y : x;
+    double end = start + (vertical ? h : w);
+    double available = Math.max(0, end - start - dividerSize * (count - 1));
+    double[] weights = container.getItems().stream()
+        .mapToDouble(container::getWeight)
+        .toArray();
+    double weightSum = 0;
+    for (double weight : weights) {
+      weightSum += weight;
+    }
+    double[] sizes = new double[count];
+    for (int i = 0; i < count; i++) {
+      sizes[i] = weightSum > 0 ? available * weights[i] / weightSum : available / count;
+    }
+    boolean constrained = container.getDividerDragMode() == DividerDragMode.RESPECT_MIN_SIZE;
+    if (constrained) {
+      sizes = solve(container, available, sizes);
+    }
+
+    itemPositions = new double[count];
+    itemSizes = new double[count];
+    double pos = start;
+    for (int i = 0; i < count; i++) {
+      double size;
+      if (i == count - 1 && !constrained) {
+        size = Math.max(0, end - pos);
+      } else {
+        size = sizes[i];
+      }
+      itemPositions[i] = pos;
+      itemSizes[i] = size;
+      Control item = items.get(i);
+      if (vertical) {
+        item.relocate(x, pos);
+        item.resize(w, size);
+      } else {
+        item.relocate(pos, y);
+        item.resize(size, h);
+      }
+      pos += size;
+
+      if (i < count - 1) {
+        Divider divider = dividers.get(i);
+        if (vertical) {
+          divider.relocate(x, pos);
+          divider.resize(w, dividerSize);
+        } else {
+          divider.relocate(pos, y);
+          divider.resize(dividerSize, h);
+        }
+        pos += dividerSize;
+      }
+    }
+  }
+
+  /**
+   * Distributes {@code available} space among the items of the container, respecting the size
+   * constraints of their subtrees.
+   * <p>
+   * The result is cached, so it is calculated only once as long as neither the {@code available}
+   * space, the {@code desired} sizes nor any constraint changes.
+   *
+   * @param container The container
+   * @param available The available space
+   * @param desired   The desired sizes of the items
+   * @return The sizes of the items
+   */
+  private double[] solve(ViewGroupContainer container, double available, double[] desired) {
+    if (solvedSizes != null && solvedAvailable == available
+        && Arrays.equals(solvedDesired, desired)) {
+      return solvedSizes;
+    }
+    Orientation orientation = container.getOrientation();
+    List<SizeConstraints> constraints = getItemConstraints(container);
+    double[] mins = new double[constraints.size()];
+    double[] maxs = new double[constraints.size()];
+    for (int i = 0; i < mins.length; i++) {
+      mins[i] = constraints.get(i).getSize(SizeType.MIN, orientation);
+      maxs[i] = constraints.get(i).getSize(SizeType.MAX, orientation);
+    }
+    solvedAvailable = available;
+    solvedDesired = desired;
+    solvedSizes = LayoutSolver.distribute(available, desired, mins, maxs);
+    return solvedSizes;
+  }
+
+  private static List<SizeConstraints> getItemConstraints(ViewGroupContainer container) {
+    return container.getItems().stream()
+        .map(ViewGroupContainerSkin::getSubtreeConstraints)
+        .toList();
+  }
+
+  private static SizeConstraints getSubtreeConstraints(GroupOrContainer item) {
+    if (item instanceof ViewGroupContainer container
+        && container.getSkin() instanceof ViewGroupContainerSkin skin) {
+      return skin.getSizeConstraints();
+    }
+    return SizeConstraints.of(item.asControl());
+  }
+
+  /**
+   * Recalculates the position of the divider according to the resize policy, if the size, insets,
+   * divider size or orientation has been changed since the last layout pass.
+   * <p>
+   * Both {@code position} and {@code absolutePosition} are updated without triggering their
+   * listeners or a further layout request.
+   */
+  private void updateGeometry() {
+    Range range = getAbsolutePositionRange(null, null, null);
+    double dividerSize = getSkinnable().getDividerSize();
+    if (range.equals(lastPositionRange) && dividerSize == lastDividerSize) {
+      return;
+    }
+    Range oldRange = lastPositionRange == null ? range : lastPositionRange;
+    double oldDividerSize = lastPositionRange == null ? dividerSize : lastDividerSize;
+    lastPositionRange = range;
+    lastDividerSize = dividerSize;
+    doIfNotUpdatingPosition(() -> updateDividerPosition(oldRange, oldDividerSize));
+  }
+
   private void updateDividerPosition(Range oldPositionRange, double oldDividerSize) {
     ViewGroupContainer container = getSkinnable();
+    if (container.getItems().size() > 2) {
+      updateWeights(oldPositionRange, oldDividerSize);
+      return;
+    }
     if (container.getAbsolutePosition() == Region.USE_COMPUTED_SIZE) {
       container.setAbsolutePosition(computeAbsolutePosition(container.getPosition()));
       return;
@@ -403,7 +749,40 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
       default:
         throw new IllegalArgumentException("Unsupported policy!");
     }
-    container.requestLayout();
+  }
+
+  /**
+   * Applies the resize policy in case there are more than two children: with
+   * {@code KEEP_LEFT_TOP_SIZE} or {@code KEEP_RIGHT_BOTTOM_SIZE} the weight of the first or last
+   * child is adapted so that it keeps its size, whereas the other children share the remaining
+   * space in the ratio of their weights. With {@code KEEP_RATIO} the weights stay as they are.
+   */
+  private void updateWeights(Range oldPositionRange, double oldDividerSize) {
+    ViewGroupContainer container = getSkinnable();
+    ResizePolicy policy = container.getResizePolicy() == null ? ResizePolicy.KEEP_RATIO
+        : container.getResizePolicy();
+    if (policy == ResizePolicy.KEEP_RATIO) {
+      return;
+    }
+    List<GroupOrContainer> items = container.getItems();
+    List<Double> weights = items.stream().map(container::getWeight).toList();
+    int count = items.size();
+    // The position range covers the space minus one divider, the items share it minus the others
+    double oldAvailable = Math.max(0, oldPositionRange.size() - (count - 2) * oldDividerSize);
+    double newAvailable = Math.max(0, getAbsolutePositionRange(null, null, null).size()
+        - (count - 2) * container.getDividerSize());
+    int fixed = policy == ResizePolicy.KEEP_LEFT_TOP_SIZE ? 0 : count - 1;
+    double weightSum = weights.stream().mapToDouble(Double::doubleValue).sum();
+    double otherWeights = weightSum - weights.get(fixed);
+    if (weightSum <= 0 || otherWeights <= 0 || oldAvailable <= 0) {
+      return;
+    }
+    double fixedSize = Math.min(newAvailable, oldAvailable * weights.get(fixed) / weightSum);
+    double otherSize = newAvailable - fixedSize;
+    if (otherSize <= 0) {
+      return;
+    }
+    container.setWeight(items.get(fixed), otherWeights * fixedSize / otherSize);
   }
 
   private void doIfNotUpdatingPosition(Runnable effect) {
@@ -448,6 +827,52 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
     return goc.asControl();
   }
 
+  /**
+   * Factory method to create the ghost line shown while dragging a {@link Divider}.
+   * <p>
+   * The ghost is used only, if the {@link ViewGroupContainer#dividerUpdateModeProperty()
+   * dividerUpdateMode} is not {@code CONTINUOUS}.
+   *
+   * @return The ghost
+   */
+  protected Region newDividerGhost() {
+    Region ghost = new Region();
+    ghost.getStyleClass().add(Constants.CLASS_VIEW_GROUP_CONTAINER_DIVIDER_GHOST);
+    ghost.setManaged(false);
+    ghost.setMouseTransparent(true);
+    return ghost;
+  }
+
+  /**
+   * Gets the ghost line currently shown while dragging a {@link Divider}.
+   *
+   * @return The ghost, {@code null} if not shown
+   */
+  protected Region getDividerGhost() {
+    return dividerGhost != null && getChildren().contains(dividerGhost) ? dividerGhost : null;
+  }
+
+  private void showDividerGhost(Divider divider, double position) {
+    if (dividerGhost == null) {
+      dividerGhost = newDividerGhost();
+    }
+    if (!getChildren().contains(dividerGhost)) {
+      getChildren().add(dividerGhost);
+    }
+    double dividerSize = getSkinnable().getDividerSize();
+    if (getSkinnable().getOrientation() == Orientation.VERTICAL) {
+      dividerGhost.resizeRelocate(divider.getLayoutX(), position, divider.getWidth(), dividerSize);
+    } else {
+      dividerGhost.resizeRelocate(position, divider.getLayoutY(), dividerSize, divider.getHeight());
+    }
+  }
+
+  private void hideDividerGhost() {
+    if (dividerGhost != null) {
+      getChildren().remove(dividerGhost);
+    }
+  }
+
   /**
    * Factory method to create a new {@link Divider}
    *
@@ -460,12 +885,17 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
   /**
    * The divider.
    * <p>
-   * The divider appears if the container hosts two children. The divider allows to change the size
-   * of the children by dragging it with the mouse
+   * The divider appears between two adjacent children of the container. The divider allows to
+   * change the size of the children by dragging it with the mouse. If there are exactly two
+   * children, this changes the {@code absolutePosition} of the container, otherwise the
+   * {@linkplain ViewGroupContainer#getWeights() weights} of the two children next to
+   * the divider, so that the other children keep their size.
    */
   protected class Divider extends Pane {
 
     private Double dragStart;
+    private Double pendingPosition;
+    private long lastUpdate;
 
     /**
      * Constructor.
@@ -479,6 +909,16 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
       setOnMouseReleased(this::onMouseReleased);
     }
 
+    /**
+     * Gets the index of the divider.
+     *
+     * @return The index, {@code 0} for the divider next to the left/top component, {@code -1} if
+     * the divider is not part of the container
+     */
+    public int getIndex() {
+      return dividers.indexOf(this);
+    }
+
     /**
      * Dispose the instance.
      * <p>
@@ -537,11 +977,61 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
           newPos)) {
         return;
       }
-      getSkinnable().setAbsolutePosition(
-          Utils.ensureValueIsBetween(newPos, dragRange.lower(), dragRange.upper()));
+      newPos = Utils.ensureValueIsBetween(newPos, dragRange.lower(), dragRange.upper());
+      DividerUpdateMode updateMode = container.getDividerUpdateMode() == null
+          ? DividerUpdateMode.CONTINUOUS : container.getDividerUpdateMode();
+      if (updateMode == DividerUpdateMode.CONTINUOUS) {
+        applyPosition(newPos);
+        return;
+      }
+
+      pendingPosition = newPos;
+      showDividerGhost(this, newPos);
+      long now = System.nanoTime();
+      if (updateMode == DividerUpdateMode.THROTTLED && now - lastUpdate >= THROTTLE_INTERVAL_NANOS) {
+        lastUpdate = now;
+        applyPosition(newPos);
+      }
+    }
+
+    private void applyPosition(double newPos) {
+      if (isWeighted()) {
+        moveTo(newPos);
+      } else {
+        getSkinnable().setAbsolutePosition(newPos);
+      }
       requestLayout();
     }
 
+    private boolean isWeighted() {
+      int index = getIndex();
+      return itemPositions != null && index >= 0 && index + 1 < itemPositions.length;
+    }
+
+    private void moveTo(double newPos) {
+      ViewGroupContainer container = getSkinnable();
+      List<GroupOrContainer> items = container.getItems();
+      int index = getIndex();
+      if (index < 0 || index + 1 >= items.size()) {
+        return;
+      }
+      GroupOrContainer first = items.get(index);
+      GroupOrContainer second = items.get(index + 1);
+      double pairWeight = container.getWeight(first) + container.getWeight(second);
+      double pairStart = itemPositions[index];
+      double pairEnd = itemPositions[index + 1] + itemSizes[index + 1];
+      double firstSize = Math.max(0, newPos - pairStart);
+      double secondSize = Math.max(0, pairEnd - newPos - container.getDividerSize());
+      if (pairWeight <= 0 || firstSize + secondSize <= 0) {
+        return;
+      }
+      container.setWeight(first, pairWeight * firstSize / (firstSize + secondSize));
+      container.setWeight(second, pairWeight * secondSize / (firstSize + secondSize));
+      itemSizes[index] = firstSize;
+      itemPositions[index + 1] = newPos + container.getDividerSize();
+      itemSizes[index + 1] = secondSize;
+    }
+
     /**
      * Called when the mouse button is pressed.
      * <p>
@@ -562,12 +1052,17 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
     /**
      * Called when the mouse button is released.
      * <p>
-     * Resets the cursor to the default, if the mouse pointer is no longer inside the divider and
-     * stops any kind of dragging.
+     * Applies a pending position change, resets the cursor to the default, if the mouse pointer is
+     * no longer inside the divider and stops any kind of dragging.
      *
      * @param event The event
      */
     protected void onMouseReleased(MouseEvent event) {
+      if (pendingPosition != null) {
+        applyPosition(pendingPosition);
+        pendingPosition = null;
+      }
+      hideDividerGhost();
       setDragCursor(getBoundsInLocal().contains(event.getX(), event.getY()));
       if (!event.isPrimaryButtonDown()) {
         return;
@@ -613,22 +1108,43 @@ public class ViewGroupContainerSkin extends SkinBase<ViewGroupContainer> {
         return null;
       }
 
+      if (isWeighted()) {
+        return getWeightedDragRange(container, mode);
+      }
+
       Range range = getAbsolutePositionRange(null, null, null);
       if (mode == DividerDragMode.FREE) {
         return range;
       }
 
-      if (container.getOrientation() == Orientation.VERTICAL) {
-        double w = container.getWidth();
-        return new Range(
-            range.lower() + Math.max(0, container.getLeftTop().asControl().minHeight(w)),
-            range.upper() - Math.max(0, container.getRightBottom().asControl().minHeight(w)));
-      } else {
-        double h = container.getHeight();
-        return new Range(
-            range.lower() + Math.max(0, container.getLeftTop().asControl().minWidth(h)),
-            range.upper() - Math.max(0, container.getRightBottom().asControl().minWidth(h)));
+      List<SizeConstraints> constraints = getItemConstraints(container);
+      return getConstrainedRange(container, range.lower(), range.upper(), constraints.get(0),
+          constraints.get(constraints.size() - 1));
+    }
+
+    private Range getWeightedDragRange(ViewGroupContainer container, DividerDragMode mode) {
+      int index = getIndex();
+      double lower = itemPositions[index];
+      double upper =
+          itemPositions[index + 1] + itemSizes[index + 1] - container.getDividerSize();
+      if (mode == DividerDragMode.RESPECT_MIN_SIZE) {
+        List<SizeConstraints> constraints = getItemConstraints(container);
+        return getConstrainedRange(container, lower, upper, constraints.get(index),
+            constraints.get(index + 1));
       }
+      return new Range(lower, upper);
+    }
+
+    private Range getConstrainedRange(ViewGroupContainer container, double lower, double upper,
+        SizeConstraints first, SizeConstraints second) {
+      Orientation orientation = container.getOrientation();
+      double firstMax = first.getSize(SizeType.MAX, orientation);
+      double secondMax = second.getSize(SizeType.MAX, orientation);
+      return new Range(
+          Math.max(lower + Math.max(0, first.getSize(SizeType.MIN, orientation)),
+              upper - Math.max(0, secondMax)),
+          Math.min(upper - Math.max(0, second.getSize(SizeType.MIN, orientation)),
+              lower + Math.max(0, firstMax)));
     }
   }
 }
@@ -37,6 +37,11 @@ import static de.hipphampel.mv4fx.view.Constants.CLASS_VIEW_GROUP_TAB_BUTTON_CLO
 import static de.hipphampel.mv4fx.view.Constants.CLASS_VIEW_GROUP_TAB_BUTTON_MAXIMIZE;
 import static de.hipphampel.mv4fx.view.Constants.CLASS_VIEW_GROUP_TAB_CONTAINER;
 
+import de.hipphampel.mv4fx.jfr.LayoutEvent;
+import de.hipphampel.mv4fx.metrics.MetricsSink;
+import de.hipphampel.mv4fx.metrics.MetricsSink.Counter;
+import de.hipphampel.mv4fx.metrics.MetricsSink.Gauge;
+import de.hipphampel.mv4fx.metrics.MetricsSink.Histogram;
 import de.hipphampel.mv4fx.utils.SizeType;
 import de.hipphampel.mv4fx.utils.Utils;
 import de.hipphampel.mv4fx.view.DragAndDropContext;
@@ -45,13 +50,21 @@ import de.hipphampel.mv4fx.view.DropTarget.MoveToGroup;
 import de.hipphampel.mv4fx.view.DropTarget.SplitViewGroup;
 import de.hipphampel.mv4fx.view.View;
 import de.hipphampel.mv4fx.view.View.TabActionVisibility;
+import de.hipphampel.mv4fx.view.View.TabChangeListener;
 import de.hipphampel.mv4fx.view.ViewGroup;
 import de.hipphampel.mv4fx.view.ViewGroup.ViewSelectorControls;
 import de.hipphampel.mv4fx.view.ViewGroupContainer;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.MaximizeMode;
 import de.hipphampel.mv4fx.view.ViewOrGroup.DropTargetType;
+import de.hipphampel.mv4fx.view.ViewPreWarmer;
+import java.lang.ref.WeakReference;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
@@ -97,9 +110,11 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
   private final InvalidationListener selectedViewListener;
   private final InvalidationListener draggingListener;
   private final InvalidationListener dropTargetListener;
+  private final TabControlDispatcher tabControlDispatcher;
   private final ContentContainer contentContainer;
   private final HeaderContainer headerContainer;
-  private final DropTargetBox dropTargetBox;
+  private DropTargetBox dropTargetBox;
+  private boolean overlay;
 
   /**
    * Constructor.
@@ -108,10 +123,10 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
    */
   public ViewGroupSkin(ViewGroup control) {
     super(control);
+    this.tabControlDispatcher = newTabControlDispatcher();
     this.contentContainer = newContentContainer();
     this.headerContainer = newHeaderContainer();
-    this.dropTargetBox = newDropTargetBox();
-    getChildren().addAll(headerContainer, contentContainer, dropTargetBox);
+    getChildren().addAll(headerContainer, contentContainer);
 
     this.viewListChangeListener = this::onViewsChanged;
     this.sideChangeListener = observable -> onSideChanged();
@@ -123,14 +138,21 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
     control.sideProperty().addListener(sideChangeListener);
     control.draggingProperty().addListener(draggingListener);
     control.dropTargetProperty().addListener(dropTargetListener);
+    MetricsSink.getInstance().adjust(Gauge.VIEW_GROUPS, 1);
     for (int i = 0; i < control.getViews().size(); i++) {
       onViewAdded(i, control.getViews().get(i));
     }
+    headerContainer.getTabContainer().onTabsChanged();
 
     if (!control.getViews().isEmpty() && control.getSelection().isEmpty()) {
       control.selectView(control.getViews().get(0));
     }
 
+    ViewGroupContainer root = Utils.getRootViewGroupContainer(control).orElse(null);
+    boolean overlayMode = root != null && root.getMaximizeMode() == MaximizeMode.OVERLAY;
+    View overlayView = overlayMode ? root.getMaximizedView() : null;
+    updateOverlay(overlayMode, overlayView != null && overlayView.getViewGroup() == control);
+
     onSideChanged();
     onViewSelected();
   }
@@ -144,6 +166,15 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
     return headerContainer;
   }
 
+  /**
+   * Gets the {@link TabControlDispatcher}
+   *
+   * @return The {@code TabControlDispatcher}
+   */
+  protected TabControlDispatcher getTabControlDispatcher() {
+    return tabControlDispatcher;
+  }
+
   /**
    * Gets the {@link ContentContainer}
    *
@@ -153,19 +184,57 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
     return contentContainer;
   }
 
+  /**
+   * Gets the {@link DropTargetBox} used to highlight a split drop target.
+   * <p>
+   * The {@code DropTargetBox} is created on the first call of this method, which normally happens,
+   * when this {@code ViewGroup} becomes a drop target the first time.
+   *
+   * @return The {@code DropTargetBox}
+   */
+  protected DropTargetBox getDropTargetBox() {
+    if (dropTargetBox == null) {
+      dropTargetBox = newDropTargetBox();
+      getChildren().add(dropTargetBox);
+    }
+    return dropTargetBox;
+  }
+
   @Override
   public void dispose() {
     contentContainer.setView(null);
     contentContainer.dispose();
     headerContainer.dispose();
-    getSkinnable().dropTargetProperty().addListener(dropTargetListener);
+    tabControlDispatcher.dispose();
+    getSkinnable().dropTargetProperty().removeListener(dropTargetListener);
     getSkinnable().draggingProperty().removeListener(draggingListener);
     getSkinnable().getSelection().selectedItemProperty().removeListener(selectedViewListener);
     getSkinnable().getViews().removeListener(viewListChangeListener);
     getSkinnable().sideProperty().removeListener(sideChangeListener);
+    MetricsSink.getInstance().adjust(Gauge.VIEWS, -getSkinnable().getViews().size());
+    MetricsSink.getInstance().adjust(Gauge.VIEW_GROUPS, -1);
     super.dispose();
   }
 
+  /**
+   * Updates the state depending on the view maximized in {@link MaximizeMode#OVERLAY OVERLAY} mode
+   * by the root container.
+   * <p>
+   * This is called by the skin of the parent container whenever this state might have changed.
+   *
+   * @param overlayMode {@code true}, if the root container is in {@code OVERLAY} mode
+   * @param overlay     {@code true}, if the maximized view belongs to this {@code ViewGroup}, so
+   *                    that the header is hidden
+   */
+  void updateOverlay(boolean overlayMode, boolean overlay) {
+    contentContainer.setOverlayMode(overlayMode);
+    if (this.overlay != overlay) {
+      this.overlay = overlay;
+      headerContainer.setVisible(!overlay);
+      getSkinnable().requestLayout();
+    }
+  }
+
   //
   // Layout management
   //
@@ -212,13 +281,16 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
 
   @Override
   protected void layoutChildren(double x, double y, double w, double h) {
+    LayoutEvent event = new LayoutEvent("ViewGroup");
+    event.begin();
+    MetricsSink.getInstance().increment(Counter.LAYOUT_PASS);
     Side side = getEffectiveSide();
 
     headerContainer.getTransforms().clear();
 
-    double hh = side.isHorizontal() ?
-        snapSizeY(headerContainer.computePrefHeight(-1))
-        : snapSizeX(headerContainer.computePrefHeight(-1));
+    double hh = overlay ? 0
+        : side.isHorizontal() ? snapSizeY(headerContainer.computePrefHeight(-1))
+            : snapSizeX(headerContainer.computePrefHeight(-1));
 
     switch (side) {
       case TOP -> {
@@ -241,6 +313,15 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
       }
     }
     layoutDropTargetBox(x, y, w, h);
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.setTabCount(getSkinnable().getViews().size());
+      event.setTreeDepth(1);
+      event.setWidth(w);
+      event.setHeight(h);
+      event.commit();
+    }
   }
 
   private void layoutHeader(double x, double y, double w, double h) {
@@ -256,8 +337,10 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
 
   private void layoutDropTargetBox(double x, double y, double w, double h) {
     if (!(getSkinnable().getDropTarget() instanceof SplitViewGroup dropTarget)) {
-      dropTargetBox.relocate(0, 0);
-      dropTargetBox.resize(0, 0);
+      if (dropTargetBox != null) {
+        dropTargetBox.relocate(0, 0);
+        dropTargetBox.resize(0, 0);
+      }
       return;
     }
 
@@ -277,6 +360,7 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
         w /= 2;
       }
     }
+    DropTargetBox dropTargetBox = getDropTargetBox();
     dropTargetBox.relocate(x, y);
     dropTargetBox.resize(w, h);
   }
@@ -305,17 +389,21 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
    * @param change The change
    */
   protected void onViewsChanged(Change<? extends View> change) {
+    MetricsSink.getInstance().increment(Counter.LIST_CHANGE);
     while (change.next()) {
+      // A replacement is both a removal and an addition
+      if (change.wasRemoved()) {
+        for (View view : change.getRemoved()) {
+          onViewRemoved(view);
+        }
+      }
       if (change.wasAdded()) {
         for (int pos = change.getFrom(); pos < change.getTo(); pos++) {
           onViewAdded(pos, change.getList().get(pos));
         }
-      } else if (change.wasRemoved()) {
-        for (View view : change.getRemoved()) {
-          onViewRemoved(view);
-        }
       }
     }
+    headerContainer.getTabContainer().onTabsChanged();
   }
 
   /**
@@ -328,6 +416,7 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
    */
   protected void onViewAdded(int pos, View view) {
     headerContainer.getTabContainer().addView(pos, view);
+    MetricsSink.getInstance().adjust(Gauge.VIEWS, 1);
   }
 
   /**
@@ -346,12 +435,15 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
       getSkinnable().selectView(null);
     }
     headerContainer.getTabContainer().removeView(view);
+    MetricsSink.getInstance().adjust(Gauge.VIEWS, -1);
   }
 
   protected void onViewSelected() {
+    long start = System.nanoTime();
     View view = getSkinnable().getSelection().getSelectedItem();
     headerContainer.getTabContainer().selectView(view);
     contentContainer.setView(view);
+    MetricsSink.getInstance().record(Histogram.TAB_SWITCH_LATENCY, System.nanoTime() - start);
   }
 
   //
@@ -453,6 +545,13 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
   }
 
   private void onDropTargetChanged() {
+    DropTarget dropTarget = getSkinnable().getDropTarget();
+    if (dropTarget instanceof SplitViewGroup) {
+      getDropTargetBox();
+    } else if (dropTarget instanceof MoveToGroup moveToGroup
+        && moveToGroup.viewGroup() == getSkinnable()) {
+      headerContainer.tabContainer.getDropTargetBox();
+    }
     getSkinnable().requestLayout();
     headerContainer.tabContainer.requestLayout();
   }
@@ -516,6 +615,17 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
     return new TabControl(view);
   }
 
+  /**
+   * Factory method to create a {@link TabControlDispatcher}.
+   * <p>
+   * Can be overwritten in case a alternative implementation is wanted to dispatch the events.
+   *
+   * @return The {@code TabControlDispatcher}
+   */
+  protected TabControlDispatcher newTabControlDispatcher() {
+    return new TabControlDispatcher();
+  }
+
   /**
    * Factory method to create a {@link DropTargetBox}.
    * <p>
@@ -565,6 +675,7 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
 
     private final InvalidationListener contentChangedListener;
     private View view;
+    private boolean overlayMode;
 
     /**
      * Constructor.
@@ -580,6 +691,7 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
     protected void dispose() {
       if (this.view != null) {
         this.view.contentProperty().removeListener(contentChangedListener);
+        this.view.contentFactoryProperty().removeListener(contentChangedListener);
         this.view.maximizedProperty().removeListener(contentChangedListener);
         this.view.maximizableProperty().removeListener(contentChangedListener);
       }
@@ -625,23 +737,29 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
     /**
      * Sets the current {@link View}.
      * <p>
-     * The content of this view becomes the content of this container.
+     * The content of this view becomes the content of this container; if the view has no content
+     * yet, it is created via its {@link View#contentFactoryProperty() contentFactory}.
      *
      * @param newView The new view or {@code null}
      */
     protected void setView(View newView) {
       if (this.view != null && this.contentChangedListener != null) {
         this.view.contentProperty().removeListener(contentChangedListener);
+        this.view.contentFactoryProperty().removeListener(contentChangedListener);
         this.view.maximizedProperty().removeListener(contentChangedListener);
         this.view.maximizableProperty().removeListener(contentChangedListener);
       }
       this.view = newView;
       if (this.view != null) {
         this.view.contentProperty().addListener(contentChangedListener);
+        this.view.contentFactoryProperty().addListener(contentChangedListener);
         this.view.maximizedProperty().addListener(contentChangedListener);
         this.view.maximizableProperty().addListener(contentChangedListener);
       }
       onUpdateContent();
+      if (this.view != null) {
+        ViewPreWarmer.getInstance().ifPresent(preWarmer -> preWarmer.viewShown(this.view));
+      }
     }
 
     /**
@@ -650,12 +768,40 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
      * Updates the content of the pane accordingly.
      */
     protected void onUpdateContent() {
-      Node content = view == null ? null : view.getContent();
-      if (content == null || (view.isMaximized() && view.isMaximizable())) {
+      boolean shown = view != null
+          && !(view.isMaximized() && view.isMaximizable() && !isOverlayMode());
+      if (shown && view.getContent() == null && view.ensureContent() != null) {
+        // Creating the content fired the content listener, which already did the update
+        return;
+      }
+      int oldSize = getChildren().size();
+      Node content = shown ? view.getContent() : null;
+      if (content == null) {
         getChildren().clear();
-      } else {
+      } else if (oldSize != 1 || getChildren().get(0) != content) {
         getChildren().setAll(content);
       }
+      if (oldSize != getChildren().size()) {
+        MetricsSink.getInstance().adjust(Gauge.CONTENT_NODES, getChildren().size() - oldSize);
+      }
+    }
+
+    /**
+     * Sets, whether the root container is in {@link MaximizeMode#OVERLAY OVERLAY} mode.
+     * <p>
+     * In this mode, the content of a maximized view stays in this container.
+     *
+     * @param overlayMode The new value
+     */
+    protected void setOverlayMode(boolean overlayMode) {
+      if (this.overlayMode != overlayMode) {
+        this.overlayMode = overlayMode;
+        onUpdateContent();
+      }
+    }
+
+    private boolean isOverlayMode() {
+      return overlayMode;
     }
 
     @Override
@@ -877,6 +1023,9 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
    * This is a child of the {@link HeaderContainer} and hosts all the tab controls for the different
    * views. If there are too many tabs so that they don't fit in the visible area, a
    * {@link ViewSelector} is shown.
+   * <p>
+   * The {@code ViewSelector} and the {@link DropTargetBox} are created on first need, so the
+   * children of this container are the tab controls, optionally followed by them.
    */
   protected class TabContainer extends StackPane {
 
@@ -889,27 +1038,66 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
      */
     protected TabContainer() {
       getStyleClass().add(CLASS_VIEW_GROUP_TAB_CONTAINER);
-      this.viewSelector = newViewSelector();
-      this.dropTargetBox = newDropTargetBox();
-      getChildren().addAll(viewSelector, dropTargetBox);
+      getTabControlDispatcher().install(this);
     }
 
     /**
      * Gets the associated {@link ViewSelector}.
+     * <p>
+     * The {@code ViewSelector} is created on the first call of this method, which normally happens,
+     * when the tabs do not fit into the container or when there are no tabs at all.
      *
      * @return The {@code ViewSelector}
      */
     protected ViewSelector getViewSelector() {
+      if (viewSelector == null) {
+        viewSelector = newViewSelector();
+        viewSelector.setVisible(false);
+        getChildren().add(getTabControls().length, viewSelector);
+        if (getScene() != null) {
+          viewSelector.applyCss();
+        }
+      }
       return viewSelector;
     }
 
+    /**
+     * Called after {@link TabControl TabControls} have been added or removed.
+     * <p>
+     * Without tabs, the {@link ViewSelector} defines the height of the container, so it is created
+     * here rather than while computing the size.
+     */
+    protected void onTabsChanged() {
+      if (getTabControls().length == 0) {
+        getViewSelector();
+      }
+    }
+
+    /**
+     * Gets the {@link DropTargetBox} used to highlight a move-to-group drop target.
+     * <p>
+     * The {@code DropTargetBox} is created on the first call of this method, which normally happens,
+     * when the tabs of this container become a drop target the first time.
+     *
+     * @return The {@code DropTargetBox}
+     */
+    protected DropTargetBox getDropTargetBox() {
+      if (dropTargetBox == null) {
+        dropTargetBox = newDropTargetBox();
+        getChildren().add(dropTargetBox);
+      }
+      return dropTargetBox;
+    }
+
     /**
      * Disposes the instance.
      * <p>
      * Basically, removes all listeners
      */
     protected void dispose() {
-      getViewSelector().dispose();
+      if (viewSelector != null) {
+        viewSelector.dispose();
+      }
       for (TabControl tab : getTabControls()) {
         tab.dispose();
       }
@@ -924,7 +1112,7 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
      * @param view {@code View} to add.
      */
     protected void addView(int pos, View view) {
-      if (pos >= getManagedChildren().size()) {
+      if (pos > getTabControls().length) {
         throw new ArrayIndexOutOfBoundsException(pos);
       }
       TabControl tabControl = newTabControl(view);
@@ -1088,16 +1276,17 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
 
     private double computeWidth(double height, SizeType type) {
       // max(controlButton, sum(tabControls))
-      ViewSelector viewSelector = getViewSelector();
       double[] widths = getTabWidths(getTabControls(), height, type);
-      double width = Math.max(Utils.sum(widths), type.getWidth(viewSelector, height));
+      double width = Math.max(Utils.sum(widths),
+          viewSelector == null ? 0 : type.getWidth(viewSelector, height));
       return width + snappedLeftInset() + snappedRightInset();
     }
 
     private double computeHeight(double width, SizeType type) {
-      // max(controlButton, max(tabControls))
-      double height = type.getHeight(getViewSelector(), width);
-      for (TabControl tab : getTabControls()) {
+      // max(controlButton, max(tabControls)); without tabs, the controlButton defines the height
+      TabControl[] tabs = getTabControls();
+      double height = viewSelector == null ? 0 : type.getHeight(viewSelector, width);
+      for (TabControl tab : tabs) {
         height = Math.max(height, type.getHeight(tab, width));
       }
       return height + snappedTopInset() + snappedBottomInset();
@@ -1133,8 +1322,8 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
       double x = li;
 
       // Layout view selector, if required
-      ViewSelector viewSelector = getViewSelector();
       if (requiresViewSelector) {
+        ViewSelector viewSelector = getViewSelector();
         double vsw = viewSelector.prefWidth(height);
         double vsx = reverse ? x : x + width - vsw;
         layoutInArea(viewSelector, vsx, ti, vsw, height, -1, HPos.CENTER,
@@ -1170,9 +1359,12 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
       DropTarget target = getSkinnable().getDropTarget();
       if (!(target instanceof MoveToGroup moveToGroup)
           || moveToGroup.viewGroup() != getSkinnable()) {
-        dropTargetBox.setVisible(false);
+        if (dropTargetBox != null) {
+          dropTargetBox.setVisible(false);
+        }
         return;
       }
+      DropTargetBox dropTargetBox = getDropTargetBox();
       int index = moveToGroup.index();
       double w;
       if (index == 0) {
@@ -1191,7 +1383,9 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
     }
 
     private void hideViewSelector() {
-      ViewSelector viewSelector = getViewSelector();
+      if (viewSelector == null) {
+        return;
+      }
       layoutInArea(viewSelector, 0, 0, 0, 0,
           -1, HPos.CENTER, VPos.CENTER);
       viewSelector.setVisible(false);
@@ -1268,7 +1462,11 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
 
     TabControl[] getTabControls() {
       List<Node> children = getManagedChildren();
-      TabControl[] tabControls = new TabControl[children.size() - 2];
+      int count = 0;
+      while (count < children.size() && children.get(count) instanceof TabControl) {
+        count++;
+      }
+      TabControl[] tabControls = new TabControl[count];
       for (int i = 0; i < tabControls.length; i++) {
         tabControls[i] = (TabControl) children.get(i);
       }
@@ -1483,6 +1681,172 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
     }
   }
 
+  /**
+   * Dispatches changes and mouse events to the {@link TabControl TabControls}.
+   * <p>
+   * There is one instance per skin. Instead of having a set of listeners for each
+   * {@code TabControl}, the {@code TabControls} are {@link #attach(TabControl) attached} to this
+   * instance, which registers one shared weak {@link TabChangeListener} on the {@link View} and
+   * delegates the changes to the {@code TabControl} of the view. This listener covers all
+   * properties relevant for the tab, so the properties the {@code View} creates lazily are not
+   * forced into existence. The mouse events are handled by
+   * event handlers on the {@link TabContainer}, which forward them to the {@code TabControl} the
+   * event target belongs to.
+   * <p>
+   * Since the listeners are weak, a {@code View} does not keep the skin alive, even if a
+   * {@code TabControl} has not been disposed.
+   */
+  protected class TabControlDispatcher {
+
+    private final Map<View, TabControl> tabControls;
+    private final TabChangeListener viewListener;
+    private final InvalidationListener groupListener;
+    private final WeakTabChangeListener weakViewListener;
+    private final WeakInvalidationListener weakGroupListener;
+
+    /**
+     * Constructor.
+     */
+    protected TabControlDispatcher() {
+      this.tabControls = new IdentityHashMap<>();
+      this.viewListener = this::onViewTabChanged;
+      this.groupListener = this::onGroupPropertyChanged;
+      this.weakViewListener = new WeakTabChangeListener(viewListener);
+      this.weakGroupListener = new WeakInvalidationListener(groupListener);
+      getSkinnable().sideProperty().addListener(weakGroupListener);
+      getSkinnable().tabMinWidthProperty().addListener(weakGroupListener);
+      getSkinnable().tabMaxWidthProperty().addListener(weakGroupListener);
+    }
+
+    /**
+     * Installs the event handlers on the given {@code container}.
+     *
+     * @param container The container of the {@link TabControl TabControls}
+     */
+    protected void install(Node container) {
+      container.addEventHandler(MouseEvent.MOUSE_CLICKED, this::onMouseClicked);
+      container.addEventHandler(MouseEvent.DRAG_DETECTED, this::onDragDetected);
+      container.addEventHandler(MouseEvent.MOUSE_RELEASED, this::onMouseReleased);
+      container.addEventHandler(MouseEvent.MOUSE_DRAGGED, this::onMouseDragged);
+    }
+
+    /**
+     * Disposes the instance.
+     * <p>
+     * Detaches all {@link TabControl TabControls} and removes the listeners from the
+     * {@link ViewGroup}.
+     */
+    protected void dispose() {
+      for (TabControl tabControl : List.copyOf(tabControls.values())) {
+        detach(tabControl);
+      }
+      getSkinnable().tabMaxWidthProperty().removeListener(weakGroupListener);
+      getSkinnable().tabMinWidthProperty().removeListener(weakGroupListener);
+      getSkinnable().sideProperty().removeListener(weakGroupListener);
+    }
+
+    /**
+     * Attaches the given {@code tabControl}.
+     * <p>
+     * From now on, the {@code tabControl} receives the changes of its {@link View}.
+     *
+     * @param tabControl The {@link TabControl}
+     */
+    protected void attach(TabControl tabControl) {
+      View view = tabControl.view;
+      detach(tabControls.get(view));
+      tabControls.put(view, tabControl);
+      view.addTabChangeListener(weakViewListener);
+    }
+
+    /**
+     * Detaches the given {@code tabControl}.
+     * <p>
+     * The {@code tabControl} no longer receives any changes or mouse events.
+     *
+     * @param tabControl The {@link TabControl}, might be {@code null}
+     */
+    protected void detach(TabControl tabControl) {
+      if (tabControl == null || !tabControls.remove(tabControl.view, tabControl)) {
+        return;
+      }
+      View view = tabControl.view;
+      view.removeTabChangeListener(weakViewListener);
+    }
+
+    private void onViewTabChanged(View view, String propertyName) {
+      TabControl tabControl = tabControls.get(view);
+      if (tabControl == null) {
+        return;
+      }
+
+      switch (propertyName) {
+        case View.PROPERTY_TAB_CLOSE_ACTION, View.PROPERTY_TAB_MAXIMIZE_ACTION ->
+            tabControl.onTabActionVisibilityChanged();
+        case View.PROEPRTY_DRAGGING -> tabControl.onDraggingChanged();
+        case View.PROPERTY_MAXIMIZED, View.PROPERTY_MAXIMIZABLE -> tabControl.onMaximizeChanged();
+        default -> tabControl.onTabControlChanged();
+      }
+    }
+
+    private void onGroupPropertyChanged(Observable observable) {
+      boolean sideChanged = observable == getSkinnable().sideProperty();
+      for (TabControl tabControl : List.copyOf(tabControls.values())) {
+        if (sideChanged) {
+          tabControl.onTabControlChanged();
+        } else {
+          tabControl.requestLayout();
+        }
+      }
+    }
+
+    private void onMouseClicked(MouseEvent event) {
+      TabControl tabControl = getTabControl(event);
+      if (tabControl != null) {
+        tabControl.onMouseClicked(event);
+      }
+    }
+
+    private void onDragDetected(MouseEvent event) {
+      TabControl tabControl = getTabControl(event);
+      if (tabControl != null) {
+        DragAndDropContext.getInstance().start(tabControl.view, event.getScreenX(),
+            event.getScreenY());
+      }
+    }
+
+    private void onMouseReleased(MouseEvent event) {
+      TabControl tabControl = getTabControl(event);
+      if (tabControl == null) {
+        return;
+      }
+      DragAndDropContext context = DragAndDropContext.getInstance();
+      if (context.getDragSource() == tabControl.view) {
+        context.confirm(event.getScreenX(), event.getScreenY());
+      }
+    }
+
+    private void onMouseDragged(MouseEvent event) {
+      TabControl tabControl = getTabControl(event);
+      if (tabControl == null) {
+        return;
+      }
+      DragAndDropContext context = DragAndDropContext.getInstance();
+      if (context.getDragSource() == tabControl.view) {
+        context.update(event.getScreenX(), event.getScreenY());
+      }
+    }
+
+    private TabControl getTabControl(MouseEvent event) {
+      Node node = event.getTarget() instanceof Node target ? target : null;
+      while (node != null && !(node instanceof TabControl)) {
+        node = node.getParent();
+      }
+      return node instanceof TabControl tabControl
+          && tabControls.get(tabControl.view) == tabControl ? tabControl : null;
+    }
+  }
+
   /**
    * Component representing a tab for a {@link View}.
    * <p>
@@ -1496,10 +1860,6 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
 
     private final View view;
     private final InvalidationListener tabActionChangeListener;
-    private final InvalidationListener tabControlChangeListener;
-    private final InvalidationListener sizeChangeListener;
-    private final InvalidationListener draggingChangeListener;
-    private final InvalidationListener maximizeChangeListener;
     private Node closeButton;
     private Node maximizeButton;
     private Node control;
@@ -1514,47 +1874,10 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
       getStyleClass().add(CLASS_VIEW_GROUP_TAB);
       this.view = view;
       this.tabActionChangeListener = observable -> onTabActionVisibilityChanged();
-      this.view.tabCloseActionVisibilityProperty().addListener(tabActionChangeListener);
-      this.view.tabMaximizeActionVisibilityProperty().addListener(tabActionChangeListener);
       this.getPseudoClassStates().addListener(tabActionChangeListener);
+      getTabControlDispatcher().attach(this);
+      MetricsSink.getInstance().increment(Counter.TAB_CONTROL_CREATED);
 
-      this.tabControlChangeListener = observable -> onTabControlChanged();
-      this.view.tabLabelProperty().addListener(tabControlChangeListener);
-      this.view.tabStyleProperty().addListener(tabControlChangeListener);
-      this.view.tabGraphicProperty().addListener(tabControlChangeListener);
-      this.view.tabNodeProperty().addListener(tabControlChangeListener);
-      this.view.tabTooltipProperty().addListener(tabControlChangeListener);
-      this.view.tabContextMenuProperty().addListener(tabControlChangeListener);
-      getSkinnable().sideProperty().addListener(tabControlChangeListener);
-
-      this.sizeChangeListener = observable -> requestLayout();
-      getSkinnable().tabMinWidthProperty().addListener(sizeChangeListener);
-      getSkinnable().tabMaxWidthProperty().addListener(sizeChangeListener);
-
-      this.draggingChangeListener = observable -> onDraggingChanged();
-      this.view.draggingProperty().addListener(draggingChangeListener);
-
-      this.maximizeChangeListener = observable -> onMaximizeChanged();
-      this.view.maximizableProperty().addListener(maximizeChangeListener);
-      this.view.maximizedProperty().addListener(maximizeChangeListener);
-
-      setOnMouseClicked(this::onMouseClicked);
-      setOnDragDetected(evt -> {
-        DragAndDropContext context = DragAndDropContext.getInstance();
-        context.start(view, evt.getScreenX(), evt.getScreenY());
-      });
-      setOnMouseReleased(evt -> {
-        DragAndDropContext context = DragAndDropContext.getInstance();
-        if (context.getDragSource() == view) {
-          context.confirm(evt.getScreenX(), evt.getScreenY());
-        }
-      });
-      setOnMouseDragged(evt -> {
-        DragAndDropContext context = DragAndDropContext.getInstance();
-        if (context.getDragSource() == view) {
-          context.update(evt.getScreenX(), evt.getScreenY());
-        }
-      });
       onTabControlChanged();
       onTabActionVisibilityChanged();
     }
@@ -1562,36 +1885,20 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
     /**
      * Disposes this instance.
      * <p>
-     * This effectively means that all listeners are removed from the view.
+     * This effectively means that the instance is detached from the {@link TabControlDispatcher},
+     * so it no longer receives changes of the view.
      */
     protected void dispose() {
-      setOnMouseClicked(null);
-
-      getSkinnable().tabMinWidthProperty().removeListener(sizeChangeListener);
-      getSkinnable().tabMaxWidthProperty().removeListener(sizeChangeListener);
-
-      getSkinnable().sideProperty().removeListener(tabControlChangeListener);
-      this.view.tabNodeProperty().removeListener(tabControlChangeListener);
-      this.view.tabGraphicProperty().removeListener(tabControlChangeListener);
-      this.view.tabStyleProperty().removeListener(tabControlChangeListener);
-      this.view.tabLabelProperty().removeListener(tabControlChangeListener);
-      this.view.tabTooltipProperty().removeListener(tabControlChangeListener);
-      this.view.tabContextMenuProperty().removeListener(tabControlChangeListener);
-
+      getTabControlDispatcher().detach(this);
       this.getPseudoClassStates().removeListener(tabActionChangeListener);
-      this.view.tabMaximizeActionVisibilityProperty().removeListener(tabActionChangeListener);
-      this.view.tabCloseActionVisibilityProperty().removeListener(tabActionChangeListener);
-
-      this.view.draggingProperty().removeListener(this.draggingChangeListener);
-
-      this.view.maximizedProperty().removeListener(this.maximizeChangeListener);
-      this.view.maximizableProperty().removeListener(this.maximizeChangeListener);
+      MetricsSink.getInstance().increment(Counter.TAB_CONTROL_DISPOSED);
     }
 
     /**
      * Called when the mouse is clicked.
      * <p>
-     * Make the view to the active view
+     * Make the view to the active view. The event is dispatched by the
+     * {@link TabControlDispatcher}.
      *
      * @param mouseEvent The causing event
      */
@@ -1879,4 +2186,29 @@ public class ViewGroupSkin extends SkinBase<ViewGroup> {
       getStyleClass().add(CLASS_DROP_TARGET);
     }
   }
+
+  /**
+   * {@link TabChangeListener} that refers to its delegate only weakly.
+   * <p>
+   * Once the delegate has been garbage collected, the listener removes itself from the next
+   * {@link View} notifying it.
+   */
+  private static class WeakTabChangeListener implements TabChangeListener {
+
+    private final WeakReference<TabChangeListener> delegate;
+
+    WeakTabChangeListener(TabChangeListener delegate) {
+      this.delegate = new WeakReference<>(delegate);
+    }
+
+    @Override
+    public void tabChanged(View view, String propertyName) {
+      TabChangeListener listener = delegate.get();
+      if (listener == null) {
+        view.removeTabChangeListener(this);
+      } else {
+        listener.tabChanged(view, propertyName);
+      }
+    }
+  }
 }
@@ -22,7 +22,11 @@
  */
 module de.hipphampel.mv4fx {
   requires javafx.controls;
+  requires java.management;
+  requires jdk.jfr;
 
   exports de.hipphampel.mv4fx.view;
   exports de.hipphampel.mv4fx.utils;
+  exports de.hipphampel.mv4fx.metrics;
+  exports de.hipphampel.mv4fx.jfr to jdk.jfr;
 }
\ No newline at end of file
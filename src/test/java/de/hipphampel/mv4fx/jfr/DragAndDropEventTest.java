@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.mv4fx.view.DefaultDragAndDropContext;
+import de.hipphampel.mv4fx.view.View;
+import de.hipphampel.mv4fx.view.ViewGroup;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+@ExtendWith(ApplicationExtension.class)
+public class DragAndDropEventTest {
+
+  @Test
+  public void isDisabledByDefault() {
+    assertThat(EventType.getEventType(DragAndDropEvent.class).isEnabled()).isFalse();
+  }
+
+  @Test
+  public void isRecordedForTheOperationsOfTheDragAndDropContext(@TempDir Path tempDir,
+      FxRobot robot) throws IOException {
+    View view = new View();
+    ViewGroup group = new ViewGroup();
+    group.addView(view);
+    DefaultDragAndDropContext context = new DefaultDragAndDropContext();
+    Path file = tempDir.resolve("recording.jfr");
+
+    try (Recording recording = new Recording()) {
+      recording.enable(DragAndDropEvent.NAME).withoutThreshold();
+      recording.start();
+      robot.interact(() -> {
+        context.start(view, -10000, -10000);
+        context.cancel();
+      });
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+    assertThat(events)
+        .extracting(event -> event.getString("operation"))
+        .containsExactlyInAnyOrder(DragAndDropEvent.UPDATE, DragAndDropEvent.START,
+            DragAndDropEvent.CANCEL);
+    assertThat(events)
+        .extracting(event -> event.getString("dragSource"))
+        .containsOnly("View");
+  }
+}
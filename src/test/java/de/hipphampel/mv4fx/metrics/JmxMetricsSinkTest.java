@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.mv4fx.metrics.MetricsSink.Counter;
+import de.hipphampel.mv4fx.metrics.MetricsSink.Gauge;
+import de.hipphampel.mv4fx.metrics.MetricsSink.Histogram;
+import de.hipphampel.mv4fx.view.View;
+import de.hipphampel.mv4fx.view.ViewGroup;
+import java.lang.management.ManagementFactory;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javax.management.JMX;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+@ExtendWith(ApplicationExtension.class)
+public class JmxMetricsSinkTest {
+
+  private JmxMetricsSink sink;
+
+  @BeforeEach
+  public void beforeEach() {
+    sink = new JmxMetricsSink();
+  }
+
+  @AfterEach
+  public void afterEach() {
+    MetricsSink.setInstance(MetricsSink.noOp());
+  }
+
+  @Test
+  public void increment_incrementsTheCounter() {
+    sink.increment(Counter.LAYOUT_PASS);
+    sink.increment(Counter.LAYOUT_PASS);
+
+    assertThat(sink.getCounters()).containsEntry("LAYOUT_PASS", 2L);
+    assertThat(sink.getCounters()).containsEntry("REQUEST_LAYOUT", 0L);
+  }
+
+  @Test
+  public void adjust_adjustsTheGauge() {
+    sink.adjust(Gauge.VIEWS, 3);
+    sink.adjust(Gauge.VIEWS, -1);
+
+    assertThat(sink.getGauges()).containsEntry("VIEWS", 2L);
+  }
+
+  @Test
+  public void record_recordsTheValueInTheHistogram() {
+    for (int i = 1; i <= 100; i++) {
+      sink.record(Histogram.DRAG_UPDATE_LATENCY, i * 1000L);
+    }
+
+    HistogramSnapshot snapshot = sink.getHistograms().get("DRAG_UPDATE_LATENCY");
+    assertThat(snapshot.getCount()).isEqualTo(100);
+    assertThat(snapshot.getMean()).isEqualTo(50500);
+    assertThat(snapshot.getMax()).isEqualTo(100000);
+    assertThat(snapshot.getP50()).isBetween(50000L, 65535L);
+    assertThat(snapshot.getP99()).isEqualTo(100000);
+    assertThat(sink.getHistograms().get("TAB_SWITCH_LATENCY").getCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void reset_resetsCountersAndHistogramsButNotGauges() {
+    sink.increment(Counter.LAYOUT_PASS);
+    sink.adjust(Gauge.VIEWS, 1);
+    sink.record(Histogram.DRAG_UPDATE_LATENCY, 1000);
+
+    sink.reset();
+
+    assertThat(sink.getCounters()).containsEntry("LAYOUT_PASS", 0L);
+    assertThat(sink.getGauges()).containsEntry("VIEWS", 1L);
+    assertThat(sink.getHistograms().get("DRAG_UPDATE_LATENCY").getCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void register_makesTheMetricsAvailableViaJmx() throws Exception {
+    sink.register();
+    try {
+      sink.increment(Counter.LIST_CHANGE);
+      JmxMetricsSinkMXBean proxy = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+          new ObjectName(JmxMetricsSink.OBJECT_NAME), JmxMetricsSinkMXBean.class);
+
+      assertThat(proxy.getCounters()).containsEntry("LIST_CHANGE", 1L);
+    } finally {
+      sink.unregister();
+    }
+  }
+
+  @Test
+  public void viewGroupSkin_feedsTheMetrics(FxRobot robot) {
+    MetricsSink.setInstance(sink);
+    ViewGroup group = new ViewGroup();
+    group.addView(new View());
+    robot.interact(() -> {
+      Stage stage = new Stage();
+      stage.setScene(new Scene(group, 400, 400));
+      stage.show();
+    });
+
+    robot.interact(() -> group.addView(new View()));
+
+    assertThat(sink.getGauges()).containsEntry("VIEW_GROUPS", 1L);
+    assertThat(sink.getGauges()).containsEntry("VIEWS", 2L);
+    assertThat(sink.getCounters()).containsEntry("TAB_CONTROL_CREATED", 2L);
+    assertThat(sink.getCounters().get("LIST_CHANGE")).isGreaterThan(0);
+    assertThat(sink.getCounters().get("LAYOUT_PASS")).isGreaterThan(0);
+
+    robot.interact(() -> group.getScene().getWindow().hide());
+  }
+}
@@ -48,6 +48,15 @@ public class EnumSetCessMetaData_EnumSetConverterTest {
     assertThat(converter.convert(value, null)).isEqualTo(Set.of(Side.LEFT, Side.TOP));
   }
 
+  @Test
+  public void convert_returnsSameInstanceForSameValue() {
+    Set<Side> first = converter.convert(new TestValue("left,TOP", converter), null);
+    Set<Side> second = converter.convert(new TestValue("left,TOP", converter), null);
+
+    assertThat(second).isSameAs(first);
+    assertThat(converter.convert(new TestValue("left", converter), null)).isNotSameAs(first);
+  }
+
   @Test
   public void convert_throwsExceptionsIfNotValid() {
     TestValue value = new TestValue("not,valid", converter);
@@ -0,0 +1,88 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+public class LayoutSolverTest {
+
+  private static final double MAX = Double.MAX_VALUE;
+
+  @Test
+  public void distribute_keepsDesiredSizesIfTheyFit() {
+    assertThat(LayoutSolver.distribute(100, new double[]{30, 70}, new double[]{0, 0},
+        new double[]{MAX, MAX})).containsExactly(new double[]{30, 70}, within(0.001));
+  }
+
+  @Test
+  public void distribute_scalesDesiredSizesIfSpaceDiffers() {
+    assertThat(LayoutSolver.distribute(200, new double[]{30, 70}, new double[]{0, 0},
+        new double[]{MAX, MAX})).containsExactly(new double[]{60, 140}, within(0.001));
+  }
+
+  @Test
+  public void distribute_respectsMinSizes() {
+    assertThat(LayoutSolver.distribute(100, new double[]{10, 90}, new double[]{40, 0},
+        new double[]{MAX, MAX})).containsExactly(new double[]{40, 60}, within(0.001));
+  }
+
+  @Test
+  public void distribute_respectsMaxSizes() {
+    assertThat(LayoutSolver.distribute(100, new double[]{50, 50}, new double[]{0, 0},
+        new double[]{20, MAX})).containsExactly(new double[]{20, 80}, within(0.001));
+  }
+
+  @Test
+  public void distribute_leavesSpaceUnusedIfAllItemsAreAtMaxSize() {
+    assertThat(LayoutSolver.distribute(100, new double[]{50, 50}, new double[]{0, 0},
+        new double[]{20, 30})).containsExactly(new double[]{20, 30}, within(0.001));
+  }
+
+  @Test
+  public void distribute_shrinksInRatioOfMinSizesIfSpaceIsInsufficient() {
+    assertThat(LayoutSolver.distribute(50, new double[]{50, 50}, new double[]{60, 40},
+        new double[]{MAX, MAX})).containsExactly(new double[]{30, 20}, within(0.001));
+  }
+
+  @Test
+  public void distribute_passesSpaceOnIfItemsReachTheirLimits() {
+    assertThat(LayoutSolver.distribute(300, new double[]{10, 10, 80}, new double[]{0, 0, 0},
+        new double[]{MAX, MAX, 100})).containsExactly(new double[]{100, 100, 100}, within(0.001));
+  }
+
+  @Test
+  public void distribute_passesMissingSpaceOnIfItemsReachTheirLimits() {
+    assertThat(LayoutSolver.distribute(100, new double[]{100, 50, 50}, new double[]{0, 45, 0},
+        new double[]{MAX, MAX, MAX})).containsExactly(new double[]{36.667, 45, 18.333},
+        within(0.001));
+  }
+
+  @Test
+  public void distribute_sharesEvenlyAmongItemsWithoutDesiredSize() {
+    assertThat(LayoutSolver.distribute(100, new double[]{10, 0, 0}, new double[]{0, 0, 0},
+        new double[]{20, MAX, MAX})).containsExactly(new double[]{20, 40, 40}, within(0.001));
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.utils;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.scene.Scene;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+
+@ExtendWith(ApplicationExtension.class)
+public class SizeConstraintsTest {
+
+  private static final SizeConstraints FIRST = new SizeConstraints(10, 20, 30, 40, 100, 200);
+  private static final SizeConstraints SECOND = new SizeConstraints(5, 25, 15, 35,
+      Double.MAX_VALUE, 150);
+
+  private HBox node;
+
+  @Start
+  public void beforeEach(Stage stage) {
+    node = new HBox();
+    node.setMinWidth(10);
+    node.setMinHeight(20);
+    node.setPrefWidth(30);
+    node.setPrefHeight(40);
+    node.setMaxWidth(50);
+    node.setMaxHeight(60);
+    stage.setScene(new Scene(node));
+  }
+
+  @Test
+  public void of_returnsTheSizesOfTheNode() {
+    assertThat(SizeConstraints.of(node)).isEqualTo(new SizeConstraints(10, 20, 30, 40, 50, 60));
+  }
+
+  @Test
+  public void getSize_returnsTheSizeAlongTheOrientation() {
+    assertThat(FIRST.getSize(SizeType.MIN, Orientation.HORIZONTAL)).isEqualTo(10);
+    assertThat(FIRST.getSize(SizeType.PREF, Orientation.HORIZONTAL)).isEqualTo(30);
+    assertThat(FIRST.getSize(SizeType.MAX, Orientation.HORIZONTAL)).isEqualTo(100);
+    assertThat(FIRST.getSize(SizeType.MIN, Orientation.VERTICAL)).isEqualTo(20);
+    assertThat(FIRST.getSize(SizeType.PREF, Orientation.VERTICAL)).isEqualTo(40);
+    assertThat(FIRST.getSize(SizeType.MAX, Orientation.VERTICAL)).isEqualTo(200);
+  }
+
+  @Test
+  public void getCrossSize_returnsTheSizeAcrossTheOrientation() {
+    assertThat(FIRST.getCrossSize(SizeType.MIN, Orientation.HORIZONTAL)).isEqualTo(20);
+    assertThat(FIRST.getCrossSize(SizeType.MIN, Orientation.VERTICAL)).isEqualTo(10);
+  }
+
+  @Test
+  public void combine_horizontal() {
+    assertThat(SizeConstraints.combine(Orientation.HORIZONTAL, List.of(FIRST, SECOND), 4,
+        new Insets(1, 2, 3, 4))).isEqualTo(
+        new SizeConstraints(25, 29, 55, 44, Double.MAX_VALUE, 154));
+  }
+
+  @Test
+  public void combine_vertical() {
+    assertThat(SizeConstraints.combine(Orientation.VERTICAL, List.of(FIRST, SECOND), 4,
+        new Insets(1, 2, 3, 4))).isEqualTo(
+        new SizeConstraints(16, 53, 36, 83, 106, 358));
+  }
+
+  @Test
+  public void combine_noItems() {
+    assertThat(SizeConstraints.combine(Orientation.VERTICAL, List.of(), 4, Insets.EMPTY))
+        .isEqualTo(SizeConstraints.EMPTY);
+  }
+}
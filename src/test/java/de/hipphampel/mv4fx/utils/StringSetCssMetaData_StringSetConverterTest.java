@@ -46,6 +46,15 @@ public class StringSetCssMetaData_StringSetConverterTest {
     assertThat(converter.convert(value, null)).isEqualTo(Set.of("ah", "Be"));
   }
 
+  @Test
+  public void convert_returnsSameInstanceForSameValue() {
+    Set<String> first = converter.convert(new TestValue("ah,Be", converter), null);
+    Set<String> second = new StringSetConverter().convert(new TestValue("ah,Be", converter), null);
+
+    assertThat(second).isSameAs(first);
+    assertThat(converter.convert(new TestValue("ah", converter), null)).isNotSameAs(first);
+  }
+
   public static class TestValue extends ParsedValue<String, Set<String>> {
 
     public TestValue(String value, StyleConverter<String, Set<String>> converter) {
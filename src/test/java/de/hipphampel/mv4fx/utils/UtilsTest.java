@@ -59,6 +59,22 @@ public class UtilsTest {
     assertThat(Utils.ensureValueIsBetween(10.0, 12.0, 5.0)).isEqualTo(5.0);
   }
 
+  @Test
+  public void getTreeDepth() {
+    ViewGroupContainer inner = new ViewGroupContainer();
+    ViewGroupContainer outer = new ViewGroupContainer();
+    outer.setLeftTop(new ViewGroup());
+
+    assertThat(Utils.getTreeDepth(null)).isEqualTo(0);
+    assertThat(Utils.getTreeDepth(new ViewGroup())).isEqualTo(1);
+    assertThat(Utils.getTreeDepth(inner)).isEqualTo(1);
+    assertThat(Utils.getTreeDepth(outer)).isEqualTo(2);
+
+    inner.setRightBottom(new ViewGroup());
+    outer.setRightBottom(inner);
+    assertThat(Utils.getTreeDepth(outer)).isEqualTo(3);
+  }
+
   @Test
   public void sum() {
     assertThat(Utils.sum()).isEqualTo(0.0);
@@ -0,0 +1,164 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ContainerSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.GroupSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ItemSnapshot;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import javafx.geometry.Orientation;
+import javafx.scene.layout.Region;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+/**
+ * Factory methods for the layouts and snapshots used by the tests, the scenarios and the
+ * benchmarks.
+ */
+public final class LayoutFixtures {
+
+  private LayoutFixtures() {
+  }
+
+  /**
+   * Creates a balanced tree of {@link ViewGroupContainer ViewGroupContainers} having
+   * {@code groups} {@link ViewGroup ViewGroups} as leaves.
+   * <p>
+   * The root is horizontal, the orientation alternates with each level.
+   *
+   * @param groups       Number of {@code ViewGroups}, at least one
+   * @param groupFactory Factory for the {@code ViewGroups}
+   * @return The root {@code ViewGroupContainer}
+   */
+  public static ViewGroupContainer newLayout(int groups, Supplier<ViewGroup> groupFactory) {
+    return newContainer(groups, Orientation.HORIZONTAL, groupFactory);
+  }
+
+  /**
+   * Creates a {@link ViewGroup} with {@code views} {@link View Views}.
+   * <p>
+   * The first {@code View} is selected.
+   *
+   * @param views        Number of {@code Views}
+   * @param contentNodes Number of content nodes per {@code View}
+   * @return The {@code ViewGroup}
+   */
+  public static ViewGroup newGroup(int views, int contentNodes) {
+    ViewGroup group = new ViewGroup();
+    for (int i = 0; i < views; i++) {
+      View view = new View();
+      view.setTabLabel("View " + i);
+      view.setContent(newContent(contentNodes));
+      group.getViews().add(view);
+    }
+    if (views > 0) {
+      group.selectView(group.getViews().get(0));
+    }
+    return group;
+  }
+
+  /**
+   * Creates a content node consisting of about {@code nodes} nodes.
+   *
+   * @param nodes The number of nodes
+   * @return The content
+   */
+  public static Node newContent(int nodes) {
+    VBox box = new VBox();
+    HBox line = null;
+    for (int i = 0; i < nodes; i++) {
+      if (i % 10 == 0) {
+        line = new HBox();
+        box.getChildren().add(line);
+      }
+      line.getChildren().add(new Label(Integer.toString(i)));
+    }
+    return box;
+  }
+
+  /**
+   * Creates a {@link ContainerSnapshot} with the divider at the middle.
+   *
+   * @param orientation The orientation
+   * @param items       The items, all having the same weight
+   * @return The snapshot
+   */
+  public static ContainerSnapshot containerSnapshot(Orientation orientation,
+      ItemSnapshot... items) {
+    return containerSnapshot(orientation, 0.5, items);
+  }
+
+  /**
+   * Creates a {@link ContainerSnapshot}.
+   * <p>
+   * Apart from the {@code orientation}, no settings are recorded, as if they were not set by the
+   * application. The absolute position is left to be computed from the {@code position}.
+   *
+   * @param orientation The orientation
+   * @param position    The position of the divider
+   * @param items       The items, all having the same weight
+   * @return The snapshot
+   */
+  public static ContainerSnapshot containerSnapshot(Orientation orientation, double position,
+      ItemSnapshot... items) {
+    return new ContainerSnapshot(orientation, null, null, null, null, Double.NaN, position,
+        Region.USE_COMPUTED_SIZE, null, Collections.nCopies(items.length, 1.0), List.of(items));
+  }
+
+  /**
+   * Creates a {@link GroupSnapshot}.
+   * <p>
+   * No settings are recorded, as if they were not set by the application.
+   *
+   * @param selectedIndex Index of the selected view, -1 if none
+   * @param viewIds       The ids of the views
+   * @return The snapshot
+   */
+  public static GroupSnapshot groupSnapshot(int selectedIndex, String... viewIds) {
+    return new GroupSnapshot(null, Double.NaN, Double.NaN, null, true, null, null, null, null,
+        List.of(viewIds), selectedIndex);
+  }
+
+  private static ViewGroupContainer newContainer(int groups, Orientation orientation,
+      Supplier<ViewGroup> groupFactory) {
+    ViewGroupContainer container = new ViewGroupContainer();
+    container.setOrientation(orientation);
+    Orientation childOrientation = orientation == Orientation.HORIZONTAL ? Orientation.VERTICAL
+        : Orientation.HORIZONTAL;
+    if (groups == 1) {
+      container.setLeftTop(groupFactory.get());
+    } else {
+      int leftTop = groups / 2;
+      int rightBottom = groups - leftTop;
+      container.setLeftTop(leftTop == 1 ? groupFactory.get()
+          : newContainer(leftTop, childOrientation, groupFactory));
+      container.setRightBottom(rightBottom == 1 ? groupFactory.get()
+          : newContainer(rightBottom, childOrientation, groupFactory));
+    }
+    return container;
+  }
+}
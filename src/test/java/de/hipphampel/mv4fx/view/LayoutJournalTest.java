@@ -0,0 +1,181 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ContainerSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.GroupSnapshot;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.util.WaitForAsyncUtils;
+
+@ExtendWith(ApplicationExtension.class)
+public class LayoutJournalTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path file;
+  private LayoutJournal journal;
+  private Stage stage;
+  private ViewGroupContainer root;
+  private ViewGroup group;
+
+  @BeforeEach
+  public void beforeEach(FxRobot robot) {
+    file = tempDir.resolve("layout.journal");
+    journal = new LayoutJournal(file, view -> String.valueOf(view.getTabLabel()),
+        Duration.millis(10), 512);
+    robot.interact(() -> {
+      group = new ViewGroup();
+      View view = new View();
+      view.setTabLabel("a");
+      group.addAndSelectView(view);
+      root = new ViewGroupContainer();
+      root.setLeftTop(group);
+      root.setRightBottom(new ViewGroup());
+      stage = new Stage();
+      stage.setScene(new Scene(root, 400, 300));
+      stage.show();
+    });
+  }
+
+  @AfterEach
+  public void afterEach(FxRobot robot) {
+    robot.interact(() -> {
+      journal.close();
+      stage.close();
+    });
+  }
+
+  @Test
+  public void replay_restoresTheLastRecordedState(FxRobot robot) throws IOException {
+    robot.interact(() -> start(journal));
+    WaitForAsyncUtils.waitForFxEvents();
+    robot.interact(() -> {
+      View view = new View();
+      view.setTabLabel("b");
+      group.addView(view);
+      root.setPosition(0.25);
+    });
+    WaitForAsyncUtils.waitForFxEvents();
+    robot.interact(() -> journal.close());
+
+    ContainerSnapshot snapshot = findWindow(LayoutJournal.replay(file));
+    assertThat(snapshot.position()).isEqualTo(0.25);
+    assertThat(((GroupSnapshot) snapshot.items().get(0)).viewIds()).containsExactly("a", "b");
+  }
+
+  @Test
+  public void replay_ignoresAnIncompleteLastRecord(FxRobot robot) throws IOException {
+    robot.interact(() -> start(journal));
+    WaitForAsyncUtils.waitForFxEvents();
+    robot.interact(() -> journal.close());
+
+    Files.write(file, new byte[]{1, 0, 100, 1, 2}, StandardOpenOption.APPEND);
+
+    assertThat(findWindow(LayoutJournal.replay(file)).items()).hasSize(2);
+  }
+
+  @Test
+  public void compaction_keepsTheLastState(FxRobot robot) throws IOException {
+    robot.interact(() -> start(journal));
+    for (int i = 1; i <= 40; i++) {
+      double position = i / 80.0;
+      robot.interact(() -> root.setPosition(position));
+      WaitForAsyncUtils.waitForFxEvents();
+    }
+    robot.interact(() -> journal.close());
+
+    assertThat(Files.size(file)).isLessThan(4096);
+    assertThat(findWindow(LayoutJournal.replay(file)).position()).isEqualTo(0.5);
+  }
+
+  @Test
+  public void resize_appendsOnlySmallRecords(FxRobot robot) throws Exception {
+    LayoutJournal largeJournal = new LayoutJournal(file, view -> String.valueOf(view.getTabLabel()),
+        Duration.millis(10), 1024 * 1024);
+    robot.interact(() -> start(largeJournal));
+    WaitForAsyncUtils.waitForFxEvents();
+    WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> Files.size(file) > 8);
+    long initialSize = Files.size(file);
+    for (int i = 1; i <= 20; i++) {
+      double width = 400 + i * 10;
+      robot.interact(() -> stage.setWidth(width));
+      WaitForAsyncUtils.waitForFxEvents();
+    }
+    robot.interact(largeJournal::close);
+
+    assertThat(Files.size(file) - initialSize).isLessThan(20 * 64);
+    assertThat(findWindow(LayoutJournal.replay(file)).position()).isEqualTo(0.5);
+  }
+
+  @Test
+  public void compactionFailure_isReportedAndJournalingContinues(FxRobot robot)
+      throws Exception {
+    Path blocker = Files.createDirectory(tempDir.resolve("layout.journal.tmp"));
+    Files.createFile(blocker.resolve("file"));
+    robot.interact(() -> start(journal));
+    for (int i = 1; i <= 40; i++) {
+      double position = i / 80.0;
+      robot.interact(() -> root.setPosition(position));
+      WaitForAsyncUtils.waitForFxEvents();
+    }
+    WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> journal.getFailure() != null);
+    robot.interact(() -> journal.close());
+
+    assertThat(findWindow(LayoutJournal.replay(file)).position()).isEqualTo(0.5);
+  }
+
+  private ContainerSnapshot findWindow(LayoutSnapshot snapshot) {
+    return snapshot.windows().stream()
+        .map(LayoutSnapshot.WindowSnapshot::root)
+        .filter(container -> container.items().size() == 2
+            && container.items().get(0) instanceof GroupSnapshot gs
+            && gs.viewIds().contains("a"))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static void start(LayoutJournal journal) {
+    try {
+      journal.start();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static de.hipphampel.mv4fx.view.LayoutFixtures.containerSnapshot;
+import static de.hipphampel.mv4fx.view.LayoutFixtures.groupSnapshot;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ContainerSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.GroupSnapshot;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+import javafx.geometry.Orientation;
+import javafx.scene.Scene;
+import javafx.scene.input.MouseButton;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.util.WaitForAsyncUtils;
+
+@ExtendWith(ApplicationExtension.class)
+public class LayoutModelTest {
+
+  private final Map<String, View> views = new ConcurrentHashMap<>();
+
+  @Test
+  public void openView_addsToGroupOfAnchorAndSelects() {
+    LayoutModel model = new LayoutModel(initialLayout());
+
+    model.openView("d", "c");
+    model.openView("e", null);
+    model.openView("a", "c");
+
+    assertThat(group(model, 0).viewIds()).containsExactly("a", "b", "e");
+    assertThat(group(model, 0).selectedIndex()).isEqualTo(0);
+    assertThat(group(model, 1).viewIds()).containsExactly("c", "d");
+    assertThat(group(model, 1).selectedIndex()).isEqualTo(1);
+  }
+
+  @Test
+  public void openView_failsIfThereIsNoGroup() {
+    LayoutModel model = new LayoutModel(containerSnapshot(Orientation.HORIZONTAL));
+
+    assertThatThrownBy(() -> model.openView("a", null))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void closeView_removesEmptyGroups() {
+    LayoutModel model = new LayoutModel(initialLayout());
+
+    model.closeView("b");
+    assertThat(group(model, 0).viewIds()).containsExactly("a");
+    assertThat(group(model, 0).selectedIndex()).isEqualTo(0);
+
+    model.closeView("c");
+    assertThat(model.getLayout().items()).hasSize(1);
+    assertThat(model.getLayout().weights()).hasSize(1);
+  }
+
+  @Test
+  public void moveView_movesAndSelectsTheView() {
+    LayoutModel model = new LayoutModel(initialLayout());
+
+    model.moveView("a", "c");
+
+    assertThat(group(model, 0).viewIds()).containsExactly("b");
+    assertThat(group(model, 1).viewIds()).containsExactly("c", "a");
+    assertThat(group(model, 1).selectedIndex()).isEqualTo(1);
+  }
+
+  @Test
+  public void update_losesNoConcurrentModifications() {
+    LayoutModel model = new LayoutModel(initialLayout());
+
+    IntStream.range(0, 1000).parallel()
+        .forEach(i -> model.openView("v" + i, i % 2 == 0 ? "a" : "c"));
+
+    assertThat(group(model, 0).viewIds()).hasSize(502);
+    assertThat(group(model, 1).viewIds()).hasSize(501);
+  }
+
+  @Test
+  public void bind_synchronizesModificationsInOneBatch(FxRobot robot)
+      throws TimeoutException {
+    LayoutModel model = new LayoutModel(initialLayout());
+    LayoutReconciler reconciler = spy(new LayoutReconciler(View::getTabLabel,
+        id -> views.computeIfAbsent(id, this::newView)));
+    ViewGroupContainer root = new ViewGroupContainer();
+    Stage[] stage = new Stage[1];
+    robot.interact(() -> {
+      stage[0] = new Stage();
+      stage[0].setScene(new Scene(root, 400, 300));
+      stage[0].show();
+      model.bind(root, reconciler);
+    });
+    assertThat(root.getItems()).hasSize(2);
+
+    robot.interact(() -> IntStream.range(0, 50).forEach(i -> model.openView("v" + i, "c")));
+    ViewGroup group = (ViewGroup) root.getItems().get(1);
+    WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> group.getViews().size() == 51);
+
+    verify(reconciler, times(2)).reconcile(any(), any());
+    assertThat(group.getSelection().getSelectedItem()).isSameAs(views.get("v49"));
+    robot.interact(() -> stage[0].close());
+  }
+
+  @Test
+  public void bind_foldsChangesOfTheTreeBackIntoTheModel(FxRobot robot)
+      throws TimeoutException {
+    LayoutModel model = new LayoutModel(initialLayout());
+    LayoutReconciler reconciler = new LayoutReconciler(View::getTabLabel,
+        id -> views.computeIfAbsent(id, this::newView));
+    ViewGroupContainer root = new ViewGroupContainer();
+    Stage[] stage = new Stage[1];
+    robot.interact(() -> {
+      stage[0] = new Stage();
+      stage[0].setScene(new Scene(root, 400, 300));
+      stage[0].show();
+      model.bind(root, reconciler);
+    });
+    ViewGroup left = (ViewGroup) root.getItems().get(0);
+    ViewGroup right = (ViewGroup) root.getItems().get(1);
+
+    robot.interact(() -> {
+      left.getSelection().select(views.get("b"));
+      right.getViews().add(views.get("a"));
+    });
+    WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> group(model, 1).viewIds().size() == 2);
+
+    assertThat(group(model, 0).viewIds()).containsExactly("b");
+    assertThat(group(model, 0).selectedIndex()).isEqualTo(0);
+    assertThat(group(model, 1).viewIds()).containsExactly("c", "a");
+
+    // A later modification of the model must not revert the changes of the tree
+    robot.interact(() -> model.openView("d", "c"));
+    WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> right.getViews().size() == 3);
+
+    assertThat(left.getViews()).containsExactly(views.get("b"));
+    assertThat(right.getViews()).containsExactly(views.get("c"), views.get("a"), views.get("d"));
+    robot.interact(() -> stage[0].close());
+  }
+
+  @Test
+  public void bind_foldsDividerDragsBackIntoTheModel(FxRobot robot) throws TimeoutException {
+    LayoutModel model = new LayoutModel(initialLayout());
+    LayoutReconciler reconciler = new LayoutReconciler(View::getTabLabel,
+        id -> views.computeIfAbsent(id, this::newView));
+    ViewGroupContainer root = new ViewGroupContainer();
+    Stage[] stage = new Stage[1];
+    robot.interact(() -> {
+      stage[0] = new Stage();
+      stage[0].setScene(new Scene(root, 400, 300));
+      stage[0].show();
+      model.bind(root, reconciler);
+    });
+    WaitForAsyncUtils.waitForFxEvents();
+    ContainerSnapshot bound = model.getLayout();
+
+    // Resizing changes the absolute position only, which is not folded back
+    robot.interact(() -> stage[0].setWidth(600));
+    WaitForAsyncUtils.waitForFxEvents();
+    assertThat(model.getLayout()).isSameAs(bound);
+
+    robot.drag(root.lookup("." + Constants.CLASS_VIEW_GROUP_CONTAINER_DIVIDER), MouseButton.PRIMARY)
+        .dropBy(-100, 0);
+    WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS,
+        () -> model.getLayout().position() < 0.5);
+
+    assertThat(model.getLayout().position()).isEqualTo(root.getPosition());
+    robot.interact(() -> stage[0].close());
+  }
+
+  private View newView(String id) {
+    View view = new View();
+    view.setTabLabel(id);
+    return view;
+  }
+
+  private static GroupSnapshot group(LayoutModel model, int index) {
+    return (GroupSnapshot) model.getLayout().items().get(index);
+  }
+
+  private static ContainerSnapshot initialLayout() {
+    return containerSnapshot(Orientation.HORIZONTAL,
+        groupSnapshot(0, "a", "b"), groupSnapshot(0, "c"));
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static de.hipphampel.mv4fx.view.LayoutFixtures.containerSnapshot;
+import static de.hipphampel.mv4fx.view.LayoutFixtures.groupSnapshot;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ContainerSnapshot;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.geometry.Orientation;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+@ExtendWith(ApplicationExtension.class)
+public class LayoutReconcilerTest {
+
+  private final Map<String, View> views = new LinkedHashMap<>();
+  private final LayoutReconciler reconciler = new LayoutReconciler(
+      view -> view.getTabLabel(), id -> {
+    View view = new View();
+    view.setTabLabel(id);
+    views.put(id, view);
+    return view;
+  });
+  private ViewGroupContainer root;
+  private ViewGroupContainer nested;
+  private ViewGroup group1;
+  private ViewGroup group2;
+  private ViewGroup group3;
+  private Stage stage;
+
+  @BeforeEach
+  public void beforeEach(FxRobot robot) {
+    for (String id : List.of("a", "b", "c", "d")) {
+      View view = new View();
+      view.setTabLabel(id);
+      view.setContent(new Label(id));
+      views.put(id, view);
+    }
+    robot.interact(() -> {
+      group1 = new ViewGroup();
+      group1.addView(views.get("a"));
+      group1.addAndSelectView(views.get("b"));
+      group2 = new ViewGroup();
+      group2.addAndSelectView(views.get("c"));
+      group3 = new ViewGroup();
+      group3.addAndSelectView(views.get("d"));
+      nested = new ViewGroupContainer();
+      nested.setOrientation(Orientation.VERTICAL);
+      nested.setItems(List.of(group2, group3));
+      root = new ViewGroupContainer();
+      root.setOrientation(Orientation.HORIZONTAL);
+      root.setItems(List.of(group1, nested));
+
+      stage = new Stage();
+      stage.setScene(new Scene(root, 400, 300));
+      stage.show();
+    });
+  }
+
+  @AfterEach
+  public void afterEach(FxRobot robot) {
+    robot.interact(() -> stage.close());
+  }
+
+  @Test
+  public void reconcile_doesNothingIfLayoutIsUnchanged(FxRobot robot) {
+    ContainerSnapshot target = LayoutSnapshot.capture(List.of(stage), View::getTabLabel)
+        .windows().get(0).root();
+    int[] changes = new int[1];
+
+    robot.interact(() -> changes[0] = reconciler.reconcile(root, target));
+
+    assertThat(changes[0]).isEqualTo(0);
+    assertThat(root.getItems()).containsExactly(group1, nested);
+    assertThat(nested.getItems()).containsExactly(group2, group3);
+  }
+
+  @Test
+  public void reconcile_movesViewsAndReusesGroups(FxRobot robot) {
+    ContainerSnapshot target = containerSnapshot(Orientation.HORIZONTAL,
+        groupSnapshot(0, "b"),
+        containerSnapshot(Orientation.VERTICAL, groupSnapshot(1, "c", "a"), groupSnapshot(0, "d")));
+    int[] changes = new int[1];
+
+    robot.interact(() -> changes[0] = reconciler.reconcile(root, target));
+
+    assertThat(changes[0]).isEqualTo(2);
+    assertThat(root.getItems()).containsExactly(group1, nested);
+    assertThat(nested.getItems()).containsExactly(group2, group3);
+    assertThat(group1.getViews()).containsExactly(views.get("b"));
+    assertThat(group2.getViews()).containsExactly(views.get("c"), views.get("a"));
+    assertThat(group2.getSelection().getSelectedItem()).isSameAs(views.get("a"));
+    assertThat(views.get("a").getContent()).isInstanceOf(Label.class);
+    assertThat(group1.lookupAll("." + Constants.CLASS_VIEW_GROUP_TAB)).hasSize(1);
+    assertThat(group2.lookupAll("." + Constants.CLASS_VIEW_GROUP_TAB)).hasSize(2);
+  }
+
+  @Test
+  public void reconcile_appliesThePositions(FxRobot robot) {
+    ContainerSnapshot target = containerSnapshot(Orientation.HORIZONTAL, 0.3,
+        groupSnapshot(1, "a", "b"),
+        containerSnapshot(Orientation.VERTICAL, 0.7, groupSnapshot(0, "c"), groupSnapshot(0, "d")));
+
+    robot.interact(() -> {
+      reconciler.reconcile(root, target);
+      root.layout();
+    });
+
+    assertThat(root.getPosition()).isEqualTo(0.3);
+    assertThat(root.getAbsolutePosition()).isGreaterThan(0);
+    assertThat(nested.getPosition()).isEqualTo(0.7);
+    assertThat(nested.getAbsolutePosition()).isGreaterThan(0);
+  }
+
+  @Test
+  public void reconcile_reusesUnmatchedGroupsAndContainers(FxRobot robot) {
+    ContainerSnapshot target = containerSnapshot(Orientation.VERTICAL,
+        containerSnapshot(Orientation.HORIZONTAL,
+            groupSnapshot(0, "a", "b"), groupSnapshot(0, "e")),
+        groupSnapshot(0, "c", "d"));
+
+    robot.interact(() -> reconciler.reconcile(root, target));
+
+    assertThat(root.getOrientation()).isEqualTo(Orientation.VERTICAL);
+    assertThat(root.getItems()).hasSize(2);
+    ViewGroupContainer top = (ViewGroupContainer) root.getItems().get(0);
+    assertThat(top).isSameAs(nested);
+    assertThat(top.getOrientation()).isEqualTo(Orientation.HORIZONTAL);
+    assertThat(top.getItems().get(0)).isSameAs(group1);
+    assertThat(top.getItems().get(1)).isSameAs(group3);
+    assertThat(group3.getViews()).containsExactly(views.get("e"));
+    assertThat(root.getItems().get(1)).isSameAs(group2);
+    assertThat(group2.getViews()).containsExactly(views.get("c"), views.get("d"));
+  }
+
+  @Test
+  public void reconcile_normalizesTheResult(FxRobot robot) {
+    ContainerSnapshot target = containerSnapshot(Orientation.HORIZONTAL,
+        groupSnapshot(0, "a", "b", "c", "d"), groupSnapshot(0));
+
+    robot.interact(() -> reconciler.reconcile(root, target));
+
+    assertThat(root.getItems()).containsExactly(group1);
+    assertThat(group1.getViews()).hasSize(4);
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ContainerSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.GroupSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.WindowSnapshot;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.DividerDragMode;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javafx.css.StyleableProperty;
+import javafx.geometry.Orientation;
+import javafx.geometry.Side;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+@ExtendWith(ApplicationExtension.class)
+public class LayoutSnapshotTest {
+
+  private final Map<String, View> views = new LinkedHashMap<>();
+  private final List<Stage> stages = new ArrayList<>();
+
+  @BeforeEach
+  public void beforeEach(FxRobot robot) {
+    for (String id : List.of("a", "b", "c", "d")) {
+      View view = new View();
+      view.setTabLabel(id);
+      views.put(id, view);
+    }
+    robot.interact(() -> {
+      ViewGroup group1 = new ViewGroup();
+      group1.addView(views.get("a"));
+      group1.addAndSelectView(views.get("b"));
+      group1.setSide(Side.LEFT);
+      group1.setDragTags(Set.of("tag"));
+      ViewGroup group2 = new ViewGroup();
+      group2.addAndSelectView(views.get("c"));
+      ViewGroup group3 = new ViewGroup();
+      group3.addAndSelectView(views.get("d"));
+
+      ViewGroupContainer nested = new ViewGroupContainer();
+      nested.setOrientation(Orientation.VERTICAL);
+      nested.setItems(List.of(group2, group3));
+      ViewGroupContainer root = new ViewGroupContainer();
+      root.setOrientation(Orientation.HORIZONTAL);
+      root.setDividerDragMode(DividerDragMode.RESPECT_MIN_SIZE);
+      root.setItems(List.of(group1, nested));
+      root.setPosition(0.3);
+
+      Stage stage = new Stage();
+      stage.setScene(new Scene(root));
+      stage.setX(10);
+      stage.setY(20);
+      stage.setWidth(400);
+      stage.setHeight(300);
+      stage.show();
+      stages.add(stage);
+    });
+  }
+
+  @AfterEach
+  public void afterEach(FxRobot robot) {
+    robot.interact(() -> stages.forEach(Stage::close));
+  }
+
+  @Test
+  public void capture_recordsTheTree() {
+    LayoutSnapshot snapshot = capture();
+
+    assertThat(snapshot.windows()).hasSize(1);
+    WindowSnapshot window = snapshot.windows().get(0);
+    assertThat(window.width()).isEqualTo(400);
+    assertThat(window.height()).isEqualTo(300);
+    ContainerSnapshot root = window.root();
+    assertThat(root.orientation()).isEqualTo(Orientation.HORIZONTAL);
+    assertThat(root.dividerDragMode()).isEqualTo(DividerDragMode.RESPECT_MIN_SIZE);
+    assertThat(root.position()).isEqualTo(0.3);
+    assertThat(root.items()).hasSize(2);
+    GroupSnapshot group1 = (GroupSnapshot) root.items().get(0);
+    assertThat(group1.viewIds()).containsExactly("a", "b");
+    assertThat(group1.selectedIndex()).isEqualTo(1);
+    assertThat(group1.side()).isEqualTo(Side.LEFT);
+    assertThat(group1.dragTags()).containsExactly("tag");
+    ContainerSnapshot nested = (ContainerSnapshot) root.items().get(1);
+    assertThat(nested.orientation()).isEqualTo(Orientation.VERTICAL);
+    assertThat(nested.items()).hasSize(2);
+  }
+
+  @Test
+  public void toBytes_fromBytes_roundTrip() throws IOException {
+    LayoutSnapshot snapshot = capture();
+
+    assertThat(LayoutSnapshot.fromBytes(snapshot.toBytes())).isEqualTo(snapshot);
+  }
+
+  @Test
+  public void fromBytes_failsForInvalidData() {
+    assertThatThrownBy(() -> LayoutSnapshot.fromBytes(new byte[]{1, 2, 3, 4, 5}))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void fromBytes_failsForCorruptCounts() {
+    byte[] bytes = {0x4D, 0x56, 0x34, 0x4C, 2, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+
+    assertThatThrownBy(() -> LayoutSnapshot.fromBytes(bytes))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void capture_skipsValuesNotSetByTheApplication(FxRobot robot) {
+    ViewGroupContainer root = (ViewGroupContainer) stages.get(0).getScene().getRoot();
+    ViewGroup group2 = ((ViewGroupContainer) root.getItems().get(1)).getItems().get(0)
+        .asViewGroup();
+    robot.interact(() -> {
+      group2.setStyle("-mv4fx-side: bottom;");
+      group2.applyCss();
+    });
+
+    ContainerSnapshot nested = (ContainerSnapshot) capture().windows().get(0).root().items()
+        .get(1);
+    GroupSnapshot snapshot = (GroupSnapshot) nested.items().get(0);
+    assertThat(group2.getSide()).isEqualTo(Side.BOTTOM);
+    assertThat(snapshot.side()).isNull();
+    assertThat(snapshot.tabMinWidth()).isNaN();
+    assertThat(snapshot.dragTags()).isNull();
+    assertThat(nested.dividerSize()).isNaN();
+
+    ViewGroup restored = new ViewGroup();
+    LayoutSnapshot.applySettings(restored, snapshot);
+    assertThat(((StyleableProperty<?>) restored.sideProperty()).getStyleOrigin()).isNull();
+    assertThat(((StyleableProperty<?>) restored.tabMinWidthProperty()).getStyleOrigin())
+        .isNull();
+  }
+
+  @Test
+  public void restore_buildsTheTree(FxRobot robot) {
+    LayoutSnapshot snapshot = capture();
+    robot.interact(() -> {
+      stages.forEach(Stage::close);
+      stages.addAll(snapshot.restore(views::get, Stage::new));
+    });
+
+    assertThat(stages).hasSize(2);
+    Stage stage = stages.get(1);
+    assertThat(stage.getScene().getRoot()).isInstanceOf(ViewGroupContainer.class);
+    ViewGroupContainer root = (ViewGroupContainer) stage.getScene().getRoot();
+    assertThat(root.getPosition()).isEqualTo(0.3);
+    ViewGroup group1 = root.getItems().get(0).asViewGroup();
+    assertThat(group1.getViews()).containsExactly(views.get("a"), views.get("b"));
+    assertThat(group1.getSelection().getSelectedItem()).isSameAs(views.get("b"));
+    ViewGroupContainer nested = (ViewGroupContainer) root.getItems().get(1);
+    assertThat(nested.getOrientation()).isEqualTo(Orientation.VERTICAL);
+    assertThat(nested.getItems().get(1).asViewGroup().getViews()).containsExactly(views.get("d"));
+    assertThat(LayoutSnapshot.capture(List.of(stage), this::idOf).windows().get(0).root())
+        .isEqualTo(snapshot.windows().get(0).root());
+  }
+
+  private LayoutSnapshot capture() {
+    return LayoutSnapshot.capture(stages, this::idOf);
+  }
+
+  private String idOf(View view) {
+    return view.getTabLabel();
+  }
+}
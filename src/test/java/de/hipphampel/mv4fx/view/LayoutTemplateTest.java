@@ -0,0 +1,159 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static de.hipphampel.mv4fx.view.LayoutTemplate.group;
+import static de.hipphampel.mv4fx.view.LayoutTemplate.horizontal;
+import static de.hipphampel.mv4fx.view.LayoutTemplate.vertical;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.geometry.Orientation;
+import javafx.geometry.Side;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+@ExtendWith(ApplicationExtension.class)
+public class LayoutTemplateTest {
+
+  private static final String TEXT = "H[(ticket), V[(blotter)@bottom, (chart!, news)]*2.0]";
+
+  private final Map<String, View> views = new LinkedHashMap<>();
+  private DragAndDropContext dragAndDropContext;
+
+  @BeforeEach
+  public void beforeEach() {
+    dragAndDropContext = DragAndDropContext.getInstance();
+    for (String id : List.of("ticket", "blotter", "chart", "news")) {
+      View view = new View();
+      view.setTabLabel(id);
+      views.put(id, view);
+    }
+  }
+
+  @AfterEach
+  public void afterEach() {
+    DragAndDropContext.setInstance(dragAndDropContext);
+  }
+
+  @Test
+  public void parse_isEquivalentToBuilder() {
+    LayoutTemplate template = LayoutTemplate.of(horizontal(
+        group("ticket"),
+        vertical(group("blotter").withSide(Side.BOTTOM),
+            group("chart", "news").withSelected("chart")).withWeight(2)));
+
+    assertThat(LayoutTemplate.parse(TEXT).getRoot()).isEqualTo(template.getRoot());
+    assertThat(template.toString()).isEqualTo(TEXT);
+    assertThat(template.getSlots()).containsExactly("ticket", "blotter", "chart", "news");
+  }
+
+  @Test
+  public void parse_cachesTemplates() {
+    assertThat(LayoutTemplate.parse(TEXT)).isSameAs(LayoutTemplate.parse(TEXT));
+  }
+
+  @Test
+  public void parse_evictsTheLeastRecentlyUsedTemplates() {
+    LayoutTemplate template = LayoutTemplate.parse(TEXT);
+    for (int i = 0; i < LayoutTemplate.CACHE_CAPACITY; i++) {
+      LayoutTemplate.parse("H[(a" + i + ")]");
+    }
+
+    assertThat(LayoutTemplate.parse(TEXT)).isNotSameAs(template);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "", "H[", "(a)", "H[]", "H[(a), (a)]", "H[(a!, b!)]", "H[(a)@middle]", "H[(a)*x]",
+      "V[(a)] x", "H[V[(a)]@left]"
+  })
+  public void parse_failsForInvalidTemplates(String text) {
+    assertThatThrownBy(() -> LayoutTemplate.parse(text))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void of_failsForInvalidSelection() {
+    assertThatThrownBy(() -> LayoutTemplate.of(horizontal(group("a").withSelected("b"))))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void create_buildsTheTree(FxRobot robot) {
+    ViewGroup oldGroup = new ViewGroup();
+    ViewGroupContainer[] root = new ViewGroupContainer[1];
+    robot.interact(() -> {
+      oldGroup.addView(views.get("news"));
+      root[0] = LayoutTemplate.parse(TEXT).create(views::get);
+    });
+
+    assertThat(root[0].getOrientation()).isEqualTo(Orientation.HORIZONTAL);
+    assertThat(root[0].getPosition()).isCloseTo(1.0 / 3.0, offset(1e-9));
+    assertThat(root[0].getItems()).hasSize(2);
+    ViewGroup ticket = (ViewGroup) root[0].getItems().get(0);
+    assertThat(ticket.getViews()).containsExactly(views.get("ticket"));
+    ViewGroupContainer nested = (ViewGroupContainer) root[0].getItems().get(1);
+    assertThat(nested.getOrientation()).isEqualTo(Orientation.VERTICAL);
+    assertThat(((ViewGroup) nested.getItems().get(0)).getSide()).isEqualTo(Side.BOTTOM);
+    ViewGroup chart = (ViewGroup) nested.getItems().get(1);
+    assertThat(chart.getViews()).containsExactly(views.get("chart"), views.get("news"));
+    assertThat(chart.getSelection().getSelectedItem()).isSameAs(views.get("chart"));
+    assertThat(oldGroup.getViews()).isEmpty();
+  }
+
+  @Test
+  public void create_usesTheDragAndDropContext(FxRobot robot) {
+    DragAndDropContext context = mock(DragAndDropContext.class);
+    when(context.newViewGroup(null)).thenAnswer(invocation -> {
+      ViewGroup group = new ViewGroup();
+      group.getStyleClass().add("custom");
+      return group;
+    });
+    when(context.newViewGroupContainer(null, null)).thenAnswer(invocation -> {
+      ViewGroupContainer container = new ViewGroupContainer();
+      container.getStyleClass().add("custom");
+      return container;
+    });
+    DragAndDropContext.setInstance(context);
+    ViewGroupContainer[] root = new ViewGroupContainer[1];
+
+    robot.interact(() -> root[0] = LayoutTemplate.parse("V[(a), (b)]").create(views::get));
+
+    assertThat(root[0].getStyleClass()).contains("custom");
+    assertThat(root[0].getItems()).allMatch(item -> item.asControl().getStyleClass()
+        .contains("custom"));
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Detects objects that are still reachable although they should be garbage.
+ * <p>
+ * Objects are registered via {@link #track(Object, String) track} and only weakly referenced by
+ * the detector. {@link #findLeaks(Map) findLeaks} forces a garbage collection and reports all
+ * tracked objects that survived it, including the path by which they are retained. The path is
+ * searched reflectively starting at the given roots, so it can be found only if the fields along
+ * the path are accessible, which is the case if the tests are running on the class path.
+ */
+final class LeakDetector {
+
+  private static final int MAX_GC_ROUNDS = 20;
+  private static final int MAX_VISITED_OBJECTS = 5_000_000;
+
+  private final List<Tracked> tracked = new ArrayList<>();
+
+  private record Tracked(WeakReference<Object> reference, String description) {
+
+  }
+
+  private record PathNode(Object object, PathNode parent, String edge) {
+
+    String toPath() {
+      List<String> edges = new ArrayList<>();
+      for (PathNode node = this; node != null; node = node.parent) {
+        edges.add(node.edge);
+      }
+      Collections.reverse(edges);
+      return String.join("", edges);
+    }
+  }
+
+  /**
+   * Starts tracking {@code object}.
+   *
+   * @param object      The object, might be {@code null}, in which case the call is ignored
+   * @param description Description of the object used in the report
+   */
+  void track(Object object, String description) {
+    if (object != null) {
+      tracked.add(new Tracked(new WeakReference<>(object), description));
+    }
+  }
+
+  int getTrackedCount() {
+    return tracked.size();
+  }
+
+  /**
+   * Forces a garbage collection and returns a report for each tracked object still alive.
+   * <p>
+   * Each report consists of the description of the object and - if found - the path from one of
+   * the {@code roots} to it.
+   *
+   * @param roots The roots to search the retention paths from, keyed by a name
+   * @return The reports, empty if there are no leaks
+   */
+  List<String> findLeaks(Map<String, Object> roots) {
+    forceGc();
+    List<String> reports = new ArrayList<>();
+    for (Tracked entry : tracked) {
+      Object object = entry.reference.get();
+      if (object != null) {
+        reports.add(entry.description + " (" + object.getClass().getName() + ") retained via "
+            + findRetentionPath(roots, object).orElse("<unknown path>"));
+      }
+    }
+    return reports;
+  }
+
+  /**
+   * Returns the static fields of the given classes, suitable as roots for
+   * {@link #findLeaks(Map) findLeaks}.
+   *
+   * @param classes The classes
+   * @return Map of the field values, keyed by the qualified field name
+   */
+  static Map<String, Object> staticFieldsOf(Class<?>... classes) {
+    Map<String, Object> roots = new LinkedHashMap<>();
+    for (Class<?> type : classes) {
+      for (Field field : type.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()
+            && field.trySetAccessible()) {
+          try {
+            roots.put(type.getSimpleName() + "." + field.getName(), field.get(null));
+          } catch (IllegalAccessException e) {
+            // Ignore, the field is just not taken into account
+          }
+        }
+      }
+    }
+    return roots;
+  }
+
+  /**
+   * Tries to force a garbage collection, so that weakly reachable objects are cleared.
+   */
+  static void forceGc() {
+    WeakReference<Object> sentinel = new WeakReference<>(new Object());
+    for (int i = 0; i < MAX_GC_ROUNDS && sentinel.get() != null; i++) {
+      System.gc();
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    // A second collection, since clearing a reference might make further objects unreachable
+    System.gc();
+  }
+
+  /**
+   * Searches the shortest path from one of the {@code roots} to {@code target}.
+   * <p>
+   * The search follows all accessible instance fields and, for arrays, {@link Collection
+   * Collections} and {@link Map Maps}, the elements. It never follows the referent of a
+   * {@link Reference}.
+   *
+   * @param roots  The roots, keyed by a name
+   * @param target The object to search
+   * @return The path, if found
+   */
+  static Optional<String> findRetentionPath(Map<String, Object> roots, Object target) {
+    Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<PathNode> queue = new ArrayDeque<>();
+    roots.forEach((name, root) -> {
+      if (root != null && visited.add(root)) {
+        queue.add(new PathNode(root, null, name));
+      }
+    });
+
+    while (!queue.isEmpty() && visited.size() < MAX_VISITED_OBJECTS) {
+      PathNode node = queue.removeFirst();
+      if (node.object == target) {
+        return Optional.of(node.toPath());
+      }
+      forEachReference(node.object, (edge, child) -> {
+        if (child != null && visited.add(child)) {
+          queue.addLast(new PathNode(child, node, edge));
+        }
+      });
+    }
+    return Optional.empty();
+  }
+
+  private interface ReferenceConsumer {
+
+    void accept(String edge, Object child);
+  }
+
+  private static void forEachReference(Object object, ReferenceConsumer consumer) {
+    Class<?> type = object.getClass();
+    if (object instanceof Reference<?> || type == Class.class || type.isArray() && type
+        .getComponentType().isPrimitive()) {
+      return;
+    }
+    if (type.isArray()) {
+      for (int i = 0; i < Array.getLength(object); i++) {
+        consumer.accept("[" + i + "]", Array.get(object, i));
+      }
+      return;
+    }
+
+    try {
+      if (object instanceof Map<?, ?> map) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          String key = describe(entry.getKey());
+          consumer.accept(".key(" + key + ")", entry.getKey());
+          consumer.accept(".get(" + key + ")", entry.getValue());
+        }
+      } else if (object instanceof Collection<?> collection) {
+        int i = 0;
+        for (Object element : collection) {
+          consumer.accept(".element(" + i++ + ")", element);
+        }
+      }
+    } catch (RuntimeException e) {
+      // Concurrent modification or similar: the fields are inspected anyway
+    }
+
+    for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()
+            || !field.trySetAccessible()) {
+          continue;
+        }
+        try {
+          consumer.accept("." + field.getName(), field.get(object));
+        } catch (IllegalAccessException e) {
+          // Ignore, the field is just not taken into account
+        }
+      }
+    }
+  }
+
+  private static String describe(Object object) {
+    if (object == null || object instanceof String || object instanceof Number
+        || object instanceof Enum<?>) {
+      return String.valueOf(object);
+    }
+    return object.getClass().getSimpleName() + "@" + Integer.toHexString(
+        System.identityHashCode(object));
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static de.hipphampel.mv4fx.view.LayoutFixtures.containerSnapshot;
+import static de.hipphampel.mv4fx.view.LayoutFixtures.groupSnapshot;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.geometry.Orientation;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+@ExtendWith(ApplicationExtension.class)
+public class PerspectiveManagerTest {
+
+  private final Map<String, View> views = new LinkedHashMap<>();
+  private PerspectiveManager manager;
+  private Stage stage;
+
+  @BeforeEach
+  public void beforeEach(FxRobot robot) {
+    for (String id : List.of("a", "b", "c", "d")) {
+      View view = new View();
+      view.setTabLabel(id);
+      views.put(id, view);
+    }
+    robot.interact(() -> {
+      stage = new Stage();
+      stage.setScene(new Scene(new Pane(), 400, 300));
+      stage.show();
+      manager = new PerspectiveManager(stage.getScene(), views::get, 2);
+      manager.register("p1", containerSnapshot(Orientation.HORIZONTAL,
+          groupSnapshot(1, "a", "b"), groupSnapshot(0, "c")));
+      manager.register("p2", containerSnapshot(Orientation.VERTICAL,
+          groupSnapshot(0, "a"), groupSnapshot(0, "d")));
+      manager.register("p3", containerSnapshot(Orientation.HORIZONTAL,
+          groupSnapshot(0, "b"), groupSnapshot(0, "d")));
+    });
+  }
+
+  @AfterEach
+  public void afterEach(FxRobot robot) {
+    robot.interact(() -> stage.close());
+  }
+
+  @Test
+  public void switchTo_buildsThePerspectiveAndSetsTheRoot(FxRobot robot) {
+    robot.interact(() -> manager.switchTo("p1"));
+
+    ViewGroupContainer root = manager.getRoot("p1");
+    assertThat(stage.getScene().getRoot()).isSameAs(root);
+    assertThat(manager.getActivePerspective()).isEqualTo("p1");
+    assertThat(root.getOrientation()).isEqualTo(Orientation.HORIZONTAL);
+    assertThat(views.get("a").getViewGroup().getViews())
+        .containsExactly(views.get("a"), views.get("b"));
+  }
+
+  @Test
+  public void switchTo_reusesCachedRootsAndMovesSharedViews(FxRobot robot) {
+    ViewGroup[] groups = new ViewGroup[3];
+    robot.interact(() -> {
+      manager.switchTo("p1");
+      groups[0] = views.get("a").getViewGroup();
+      manager.switchTo("p2");
+      groups[1] = views.get("a").getViewGroup();
+      manager.switchTo("p1");
+      groups[2] = views.get("a").getViewGroup();
+    });
+
+    assertThat(groups[1]).isNotSameAs(groups[0]);
+    assertThat(groups[2]).isSameAs(groups[0]);
+    assertThat(groups[1].getViews()).isEmpty();
+    assertThat(groups[0].getViews()).containsExactly(views.get("a"), views.get("b"));
+    assertThat(groups[0].getSelection().getSelectedItem()).isSameAs(views.get("b"));
+    assertThat(stage.getScene().getRoot()).isSameAs(manager.getRoot("p1"));
+  }
+
+  @Test
+  public void switchTo_evictsLeastRecentlyUsedPerspective(FxRobot robot) {
+    ViewGroupContainer[] roots = new ViewGroupContainer[2];
+    robot.interact(() -> {
+      manager.switchTo("p1");
+      roots[0] = manager.getRoot("p1");
+      manager.switchTo("p2");
+      manager.switchTo("p3");
+    });
+
+    assertThat(manager.getCachedPerspectives()).containsExactly("p2", "p3");
+    assertThat(manager.getRoot("p1")).isNull();
+
+    robot.interact(() -> {
+      manager.switchTo("p1");
+      roots[1] = manager.getRoot("p1");
+    });
+    assertThat(roots[1]).isNotNull().isNotSameAs(roots[0]);
+    assertThat(manager.getCachedPerspectives()).containsExactly("p3", "p1");
+    assertThat(views.get("b").getViewGroup().getViews())
+        .containsExactly(views.get("a"), views.get("b"));
+  }
+
+  @Test
+  public void getRoot_doesNotAffectTheEviction(FxRobot robot) {
+    robot.interact(() -> {
+      manager.switchTo("p1");
+      manager.switchTo("p2");
+      manager.getRoot("p1");
+      manager.switchTo("p3");
+    });
+
+    assertThat(manager.getCachedPerspectives()).containsExactly("p2", "p3");
+  }
+
+  @Test
+  public void switchTo_failsForUnknownPerspective() {
+    assertThatThrownBy(() -> manager.switchTo("unknown"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
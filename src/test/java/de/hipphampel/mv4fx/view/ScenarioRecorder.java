@@ -0,0 +1,215 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import javax.management.JMException;
+import javax.management.JMRuntimeException;
+import javax.management.ObjectName;
+
+/**
+ * Records the latencies and the allocation of a scenario and checks them against a budget.
+ * <p>
+ * The steps of a scenario are measured via {@link #measure(Runnable) measure}, which must be called
+ * in the JavaFX application thread, since the allocation is tracked for that thread only. The
+ * default budget passed to {@link #assertWithinBudget(Budget) assertWithinBudget} can be overridden
+ * via the system properties {@code mv4fx.scenario.<name>.p50}, {@code mv4fx.scenario.<name>.p99}
+ * (both in milliseconds) and {@code mv4fx.scenario.<name>.allocation} (in megabytes); in addition,
+ * all budgets are multiplied with {@code mv4fx.scenario.budgetFactor}, which defaults to 1.
+ * <p>
+ * If the system property {@code mv4fx.scenario.reportDir} is set, a summary of each scenario is
+ * written as a JSON file to that directory.
+ */
+final class ScenarioRecorder {
+
+  static final String PROPERTY_PREFIX = "mv4fx.scenario.";
+
+  private static final ObjectName THREADING = newThreadingName();
+
+  private final String name;
+  private long[] samples;
+  private int count;
+  private long allocationStart;
+  private long allocation;
+
+  /**
+   * Budget of a scenario.
+   *
+   * @param p50Millis       Maximum median step latency in milliseconds
+   * @param p99Millis       Maximum 99th percentile of the step latency in milliseconds
+   * @param allocationBytes Maximum number of bytes allocated in the JavaFX application thread
+   */
+  record Budget(double p50Millis, double p99Millis, long allocationBytes) {
+
+    static Budget of(double p50Millis, double p99Millis, long allocationMegabytes) {
+      return new Budget(p50Millis, p99Millis, allocationMegabytes * 1024 * 1024);
+    }
+
+    Budget resolve(String name) {
+      double factor = getDoubleProperty("budgetFactor", 1.0);
+      return new Budget(
+          getDoubleProperty(name + ".p50", p50Millis) * factor,
+          getDoubleProperty(name + ".p99", p99Millis) * factor,
+          (long) (getDoubleProperty(name + ".allocation", allocationBytes / (1024.0 * 1024.0))
+              * factor * 1024 * 1024));
+    }
+  }
+
+  ScenarioRecorder(String name) {
+    this.name = name;
+    this.samples = new long[1024];
+    this.allocationStart = -1;
+    this.allocation = -1;
+  }
+
+  /**
+   * Measures the execution of {@code step}.
+   * <p>
+   * The first call also starts the allocation tracking. Must be called in the JavaFX application
+   * thread.
+   *
+   * @param step The step to measure
+   */
+  void measure(Runnable step) {
+    if (allocationStart < 0) {
+      allocationStart = getCurrentThreadAllocatedBytes();
+    }
+    long start = System.nanoTime();
+    step.run();
+    long duration = System.nanoTime() - start;
+    if (count == samples.length) {
+      samples = Arrays.copyOf(samples, count * 2);
+    }
+    samples[count++] = duration;
+  }
+
+  /**
+   * Stops the allocation tracking.
+   * <p>
+   * Must be called in the JavaFX application thread, after the last step has been measured.
+   */
+  void finish() {
+    long allocationEnd = getCurrentThreadAllocatedBytes();
+    allocation = allocationStart < 0 || allocationEnd < 0 ? -1 : allocationEnd - allocationStart;
+  }
+
+  int getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the given percentile of the step latencies in nanoseconds.
+   *
+   * @param percentile The percentile, between 0 and 100
+   * @return The latency
+   */
+  long getPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    long[] sorted = Arrays.copyOf(samples, count);
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+    return sorted[Math.max(0, Math.min(count - 1, index))];
+  }
+
+  /**
+   * Returns the bytes allocated in the JavaFX application thread while running the scenario.
+   *
+   * @return The allocated bytes or -1, if the JVM does not support allocation tracking
+   */
+  long getAllocation() {
+    return allocation;
+  }
+
+  /**
+   * Reports the results and asserts that they are within the budget.
+   *
+   * @param defaultBudget The default {@link Budget}, see class description how to override it.
+   */
+  void assertWithinBudget(Budget defaultBudget) {
+    Budget budget = defaultBudget.resolve(name);
+    report(budget);
+
+    assertThat(getPercentile(50) / 1e6).as("%s: p50 latency [ms]", name)
+        .isLessThanOrEqualTo(budget.p50Millis());
+    assertThat(getPercentile(99) / 1e6).as("%s: p99 latency [ms]", name)
+        .isLessThanOrEqualTo(budget.p99Millis());
+    if (allocation >= 0) {
+      assertThat(allocation).as("%s: allocation [bytes]", name)
+          .isLessThanOrEqualTo(budget.allocationBytes());
+    }
+  }
+
+  private void report(Budget budget) {
+    String reportDir = System.getProperty(PROPERTY_PREFIX + "reportDir");
+    if (reportDir == null || reportDir.isBlank()) {
+      return;
+    }
+    String summary = String.format(Locale.ROOT,
+        "{\"scenario\":\"%s\",\"steps\":%d,\"p50Millis\":%.3f,\"p90Millis\":%.3f,"
+            + "\"p99Millis\":%.3f,\"maxMillis\":%.3f,\"allocationBytes\":%d,"
+            + "\"budget\":{\"p50Millis\":%.3f,\"p99Millis\":%.3f,\"allocationBytes\":%d}}",
+        name, count, getPercentile(50) / 1e6, getPercentile(90) / 1e6, getPercentile(99) / 1e6,
+        getPercentile(100) / 1e6, allocation, budget.p50Millis(), budget.p99Millis(),
+        budget.allocationBytes());
+    try {
+      Path dir = Files.createDirectories(Path.of(reportDir));
+      Files.writeString(dir.resolve(name + ".json"), summary);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static double getDoubleProperty(String key, double defaultValue) {
+    String value = System.getProperty(PROPERTY_PREFIX + key);
+    return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value);
+  }
+
+  private static long getCurrentThreadAllocatedBytes() {
+    // Accessed via the MBeanServer, since com.sun.management is not necessarily readable
+    try {
+      Object value = ManagementFactory.getPlatformMBeanServer()
+          .getAttribute(THREADING, "CurrentThreadAllocatedBytes");
+      return value instanceof Long bytes ? bytes : -1;
+    } catch (JMException | JMRuntimeException e) {
+      return -1;
+    }
+  }
+
+  private static ObjectName newThreadingName() {
+    try {
+      return new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME);
+    } catch (JMException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+@ExtendWith(ApplicationExtension.class)
+public class StylesheetModeTest {
+
+  private Stage stage;
+
+  @AfterEach
+  public void afterEach(FxRobot robot) {
+    StylesheetMode.setDefault(StylesheetMode.NODE);
+    if (stage != null) {
+      robot.interact(stage::close);
+    }
+  }
+
+  @Test
+  public void install_node(FxRobot robot) {
+    StylesheetMode.setDefault(StylesheetMode.NODE);
+    ViewGroupContainer container = showContainer(robot);
+
+    assertThat(container.getStylesheets()).containsExactly(Constants.CSS_URL);
+    assertThat(container.getUserAgentStylesheet()).isNull();
+    assertThat(container.getScene().getStylesheets()).isEmpty();
+  }
+
+  @Test
+  public void install_scene(FxRobot robot) {
+    StylesheetMode.setDefault(StylesheetMode.SCENE);
+    ViewGroupContainer container = showContainer(robot);
+
+    assertThat(container.getStylesheets()).isEmpty();
+    assertThat(container.getUserAgentStylesheet()).isNull();
+    assertThat(container.getScene().getStylesheets()).containsExactly(Constants.CSS_URL);
+  }
+
+  @Test
+  public void install_sceneInsertsTheStylesheetBeforeTheApplicationStylesheets(FxRobot robot) {
+    StylesheetMode.setDefault(StylesheetMode.SCENE);
+    ViewGroupContainer container = new ViewGroupContainer();
+    Scene scene = new Scene(new Region());
+    scene.getStylesheets().add("app.css");
+
+    robot.interact(() -> scene.setRoot(container));
+
+    assertThat(scene.getStylesheets()).containsExactly(Constants.CSS_URL, "app.css");
+  }
+
+  @Test
+  public void install_userAgent(FxRobot robot) {
+    StylesheetMode.setDefault(StylesheetMode.USER_AGENT);
+    ViewGroupContainer container = showContainer(robot);
+
+    assertThat(container.getStylesheets()).isEmpty();
+    assertThat(container.getUserAgentStylesheet()).isEqualTo(Constants.CSS_URL);
+    assertThat(container.getScene().getStylesheets()).isEmpty();
+  }
+
+  @ParameterizedTest
+  @EnumSource(StylesheetMode.class)
+  public void install_appliesTheStyles(StylesheetMode mode, FxRobot robot) {
+    StylesheetMode.setDefault(mode);
+    ViewGroupContainer container = showContainer(robot);
+
+    Region tabContainer = robot.from(container).lookup(".tab-container").query();
+    assertThat(tabContainer.getPadding().getLeft()).isEqualTo(4);
+  }
+
+  private ViewGroupContainer showContainer(FxRobot robot) {
+    ViewGroupContainer container = new ViewGroupContainer();
+    ViewGroup group = new ViewGroup();
+    group.addView(new View());
+    container.setLeftTop(group);
+    robot.interact(() -> {
+      stage = new Stage();
+      stage.setScene(new Scene(container, 400, 400));
+      stage.show();
+    });
+    return container;
+  }
+}
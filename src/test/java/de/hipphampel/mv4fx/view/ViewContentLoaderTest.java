@@ -0,0 +1,229 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.mv4fx.view.ViewContentLoader.ContentLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.util.WaitForAsyncUtils;
+
+@ExtendWith(ApplicationExtension.class)
+public class ViewContentLoaderTest {
+
+  private final List<String> log = new ArrayList<>();
+  private ExecutorService executor;
+  private ViewGroup group;
+  private View first;
+  private View second;
+  private Stage stage;
+
+  @BeforeEach
+  public void beforeEach(FxRobot robot) {
+    executor = Executors.newFixedThreadPool(2);
+    first = newView("first");
+    second = newView("second");
+    robot.interact(() -> {
+      group = new ViewGroup();
+      group.addView(first);
+      group.addAndSelectView(second);
+      ViewGroupContainer root = new ViewGroupContainer();
+      root.setItems(List.of(group));
+      stage = new Stage();
+      stage.setScene(new Scene(root, 400, 300));
+      stage.show();
+    });
+  }
+
+  @AfterEach
+  public void afterEach(FxRobot robot) {
+    executor.shutdownNow();
+    robot.interact(() -> stage.close());
+  }
+
+  @Test
+  public void load_loadsInBackgroundAndCreatesContentOnFxThread(FxRobot robot)
+      throws TimeoutException {
+    ViewContentLoader loader = new ViewContentLoader(executor, Duration.millis(8));
+    boolean[] threads = new boolean[2];
+
+    robot.interact(() -> loader.load(first, new ContentLoader<String>() {
+      @Override
+      public String load(View view) {
+        threads[0] = Platform.isFxApplicationThread();
+        return "loaded";
+      }
+
+      @Override
+      public Node createContent(View view, String data) {
+        threads[1] = Platform.isFxApplicationThread();
+        return new Label(data);
+      }
+    }));
+    WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> first.getContent() != null);
+    WaitForAsyncUtils.waitForFxEvents();
+
+    assertThat(threads).containsExactly(false, true);
+    assertThat(((Label) first.getContent()).getText()).isEqualTo("loaded");
+    assertThat(loader.getProgress()).isEqualTo(1.0);
+    assertThat(loader.getPendingCount()).isZero();
+  }
+
+  @Test
+  public void onPulse_attachesVisibleViewsFirst(FxRobot robot) {
+    ViewContentLoader loader = new ViewContentLoader(Runnable::run, Duration.ZERO);
+
+    List<String> afterFirstPulse = new ArrayList<>();
+    double[] progress = new double[1];
+    robot.interact(() -> {
+      loader.load(first, logging());
+      loader.load(second, logging());
+      loader.onPulse();
+      afterFirstPulse.addAll(log);
+      progress[0] = loader.getProgress();
+    });
+    assertThat(afterFirstPulse).containsExactly("second");
+    assertThat(progress[0]).isEqualTo(0.5);
+
+    robot.interact(loader::onPulse);
+    assertThat(log).containsExactly("second", "first");
+    assertThat(loader.getProgress()).isEqualTo(1.0);
+  }
+
+  @Test
+  public void load_restoresContentFactoryIfLoadingFails(FxRobot robot) throws TimeoutException {
+    ViewContentLoader loader = new ViewContentLoader(executor, Duration.millis(8));
+    List<Throwable> failures = new ArrayList<>();
+    loader.setOnLoadFailed((view, failure) -> failures.add(failure));
+    first.setContentFactory(v -> new Label("factory"));
+
+    robot.interact(() -> loader.load(first, new ContentLoader<String>() {
+      @Override
+      public String load(View view) throws Exception {
+        throw new Exception("failed");
+      }
+
+      @Override
+      public Node createContent(View view, String data) {
+        return new Label(data);
+      }
+    }));
+    WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> loader.getPendingCount() == 0);
+    WaitForAsyncUtils.waitForFxEvents();
+
+    assertThat(first.getContent()).isNull();
+    assertThat(failures).hasSize(1);
+    assertThat(failures.get(0)).hasMessage("failed");
+    Label[] content = new Label[1];
+    robot.interact(() -> content[0] = (Label) first.ensureContent());
+    assertThat(content[0].getText()).isEqualTo("factory");
+  }
+
+  @Test
+  public void onPulse_continuesIfCreatingContentFails(FxRobot robot) {
+    ViewContentLoader loader = new ViewContentLoader(Runnable::run, Duration.millis(100));
+    List<View> failed = new ArrayList<>();
+    loader.setOnLoadFailed((view, failure) -> failed.add(view));
+
+    robot.interact(() -> {
+      loader.load(second, new ContentLoader<String>() {
+        @Override
+        public String load(View view) {
+          return "loaded";
+        }
+
+        @Override
+        public Node createContent(View view, String data) {
+          throw new IllegalStateException("failed");
+        }
+      });
+      loader.load(first, logging());
+      loader.onPulse();
+    });
+
+    assertThat(failed).containsExactly(second);
+    assertThat(second.getContent()).isNull();
+    assertThat(log).containsExactly("first");
+    assertThat(loader.getProgress()).isEqualTo(1.0);
+    assertThat(loader.getPendingCount()).isZero();
+  }
+
+  @Test
+  public void load_restoresContentFactoryIfTheExecutorRejects(FxRobot robot) {
+    ViewContentLoader loader = new ViewContentLoader(task -> {
+      throw new RejectedExecutionException("rejected");
+    }, Duration.millis(8));
+    List<Throwable> failures = new ArrayList<>();
+    loader.setOnLoadFailed((view, failure) -> failures.add(failure));
+    first.setContentFactory(v -> new Label("factory"));
+
+    robot.interact(() -> loader.load(first, logging()));
+
+    assertThat(failures).hasSize(1);
+    assertThat(failures.get(0)).isInstanceOf(RejectedExecutionException.class);
+    assertThat(loader.getPendingCount()).isZero();
+    assertThat(loader.getProgress()).isEqualTo(1.0);
+    Label[] content = new Label[1];
+    robot.interact(() -> content[0] = (Label) first.ensureContent());
+    assertThat(content[0].getText()).isEqualTo("factory");
+  }
+
+  private ContentLoader<String> logging() {
+    return new ContentLoader<>() {
+      @Override
+      public String load(View view) {
+        return view.getTabLabel();
+      }
+
+      @Override
+      public Node createContent(View view, String data) {
+        log.add(data);
+        return new Label(data);
+      }
+    };
+  }
+
+  private static View newView(String label) {
+    View view = new View();
+    view.setTabLabel(label);
+    return view;
+  }
+}
@@ -23,8 +23,11 @@
 package de.hipphampel.mv4fx.view;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
+import de.hipphampel.mv4fx.utils.Utils;
 import de.hipphampel.mv4fx.view.skin.ViewGroupContainerSkin;
+import java.util.List;
 import javafx.geometry.Orientation;
 import javafx.geometry.Side;
 import javafx.scene.Scene;
@@ -348,6 +351,175 @@ public class ViewGroupContainerTest {
     assertThat(container.getRightBottom()).isSameAs(right);
   }
 
+  @Test
+  public void normalize_flattensContainersWithSameOrientation(FxRobot robot) {
+    // Arrange
+    ViewGroup group1 = newPermanentGroup();
+    ViewGroup group2 = newPermanentGroup();
+    ViewGroup group3 = newPermanentGroup();
+    ViewGroupContainer nested = new ViewGroupContainer();
+    robot.interact(() -> {
+      container.setOrientation(Orientation.HORIZONTAL);
+      container.setPosition(0.5);
+      nested.setOrientation(Orientation.HORIZONTAL);
+      nested.setPosition(0.5);
+    });
+    populateContainer(robot, nested, group2, group3);
+    populateContainer(robot, group1, nested);
+
+    // Act
+    robot.interact(() -> container.normalize());
+
+    // Assert
+    assertThat(container.getItems()).containsExactly(group1, group2, group3);
+    assertThat(container.getMiddleItems()).containsExactly(group2);
+    assertThat(Utils.getTreeDepth(container)).isEqualTo(2);
+    assertThat(container.getWeight(group1)).isCloseTo(0.5, within(0.001));
+    assertThat(container.getWeight(group2)).isCloseTo(0.25, within(0.001));
+    assertThat(container.getWeight(group3)).isCloseTo(0.25, within(0.001));
+  }
+
+  @Test
+  public void normalize_keepsContainersWithOtherOrientation(FxRobot robot) {
+    // Arrange
+    ViewGroup group1 = newPermanentGroup();
+    ViewGroup group2 = newPermanentGroup();
+    ViewGroup group3 = newPermanentGroup();
+    ViewGroupContainer nested = new ViewGroupContainer();
+    robot.interact(() -> {
+      container.setOrientation(Orientation.HORIZONTAL);
+      nested.setOrientation(Orientation.VERTICAL);
+    });
+    populateContainer(robot, nested, group2, group3);
+    populateContainer(robot, group1, nested);
+
+    // Act
+    robot.interact(() -> container.normalize());
+
+    // Assert
+    assertThat(container.getItems()).containsExactly(group1, nested);
+    assertThat(nested.getItems()).containsExactly(group2, group3);
+  }
+
+  @Test
+  public void insertItem_withMatchingOrientation_addsItemWithoutNesting(FxRobot robot) {
+    // Arrange
+    ViewGroup group1 = new ViewGroup();
+    ViewGroup group2 = new ViewGroup();
+    ViewGroup group3 = new ViewGroup();
+    robot.interact(() -> {
+      container.setOrientation(Orientation.HORIZONTAL);
+      container.setPosition(0.5);
+    });
+    populateContainer(robot, group1, group2);
+
+    // Act
+    boolean[] result = new boolean[1];
+    robot.interact(() -> result[0] = container.insertItem(group1, group3, Side.RIGHT));
+    assertThat(result[0]).isTrue();
+
+    // Assert
+    assertThat(container.getLeftTop()).isSameAs(group1);
+    assertThat(container.getMiddleItems()).containsExactly(group3);
+    assertThat(container.getRightBottom()).isSameAs(group2);
+    assertThat(container.getWeight(group1)).isCloseTo(0.25, within(0.001));
+    assertThat(container.getWeight(group3)).isCloseTo(0.25, within(0.001));
+    assertThat(container.getWeight(group2)).isCloseTo(0.5, within(0.001));
+  }
+
+  @Test
+  public void insertItem_withOtherOrientation_doesNothing(FxRobot robot) {
+    // Arrange
+    ViewGroup group1 = new ViewGroup();
+    ViewGroup group2 = new ViewGroup();
+    ViewGroup group3 = new ViewGroup();
+    robot.interact(() -> container.setOrientation(Orientation.HORIZONTAL));
+    populateContainer(robot, group1, group2);
+
+    // Act
+    boolean[] result = new boolean[1];
+    robot.interact(() -> result[0] = container.insertItem(group1, group3, Side.TOP));
+    assertThat(result[0]).isFalse();
+
+    // Assert
+    assertThat(container.getItems()).containsExactly(group1, group2);
+  }
+
+  @Test
+  public void remove_middleItem_derivesPositionFromWeights(FxRobot robot) {
+    // Arrange
+    ViewGroup group1 = new ViewGroup();
+    ViewGroup group2 = new ViewGroup();
+    ViewGroup group3 = new ViewGroup();
+    robot.interact(() -> {
+      container.setOrientation(Orientation.HORIZONTAL);
+      container.setItems(List.of(group1, group2, group3));
+      container.setWeight(group1, 1);
+      container.setWeight(group2, 1);
+      container.setWeight(group3, 3);
+    });
+
+    // Act
+    boolean[] result = new boolean[1];
+    robot.interact(() -> result[0] = container.remove(group2));
+    assertThat(result[0]).isTrue();
+
+    // Assert
+    assertThat(container.getItems()).containsExactly(group1, group3);
+    assertThat(container.getPosition()).isCloseTo(0.25, within(0.001));
+  }
+
+  @Test
+  public void remove_leftTopOfThreeItems_promotesNextItem(FxRobot robot) {
+    // Arrange
+    ViewGroup group1 = new ViewGroup();
+    ViewGroup group2 = new ViewGroup();
+    ViewGroup group3 = new ViewGroup();
+    ViewGroup group4 = new ViewGroup();
+    robot.interact(() -> container.setItems(List.of(group1, group2, group3, group4),
+        List.of(1.0, 2.0, 3.0, 4.0)));
+
+    // Act
+    robot.interact(() -> container.remove(group1));
+
+    // Assert
+    assertThat(container.getLeftTop()).isSameAs(group2);
+    assertThat(container.getMiddleItems()).containsExactly(group3);
+    assertThat(container.getRightBottom()).isSameAs(group4);
+    assertThat(container.getWeights()).containsExactly(2.0, 3.0, 4.0);
+  }
+
+  @Test
+  public void weights_areParallelToItemsAndDroppedWhenAnItemLeaves(FxRobot robot) {
+    // Arrange
+    ViewGroup group1 = new ViewGroup();
+    ViewGroup group2 = new ViewGroup();
+    ViewGroup group3 = new ViewGroup();
+    ViewGroupContainer other = new ViewGroupContainer();
+    robot.interact(() -> container.setItems(List.of(group1, group2, group3),
+        List.of(1.0, 2.0, 3.0)));
+
+    // Act
+    robot.interact(() -> {
+      container.setItems(List.of(group3, group2, group1));
+      container.remove(group2);
+      other.setLeftTop(group2);
+    });
+
+    // Assert
+    assertThat(container.getWeights()).containsExactly(3.0, 1.0);
+    assertThat(other.getWeights()).containsExactly(1.0);
+  }
+
+  private static ViewGroup newPermanentGroup() {
+    return new ViewGroup() {
+      @Override
+      public boolean isAutoClose() {
+        return false;
+      }
+    };
+  }
+
   private void populateContainer(FxRobot robot, GroupOrContainer leftTop,
       GroupOrContainer rightBottom) {
     populateContainer(robot, container, leftTop, rightBottom);
@@ -0,0 +1,207 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.mv4fx.view.skin.ViewGroupContainerSkin;
+import de.hipphampel.mv4fx.view.skin.ViewGroupSkin;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.VBox;
+import javafx.stage.Window;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.util.WaitForAsyncUtils;
+
+/**
+ * Runs open/drag/split/new window/maximize/close cycles and asserts that all closed
+ * {@link View Views}, their contents, {@link ViewGroup ViewGroups},
+ * {@link ViewGroupContainer ViewGroupContainers}, skins and {@link ViewStage ViewStages} become
+ * unreachable.
+ * <p>
+ * If not, the test fails and reports the retention path of each leaked object, see
+ * {@link LeakDetector}. The number of cycles can be set via the system property
+ * {@code mv4fx.scenario.leak.cycles}. Not part of the regular test run; start it via
+ * {@code mvn -Pscenario test}.
+ */
+@ExtendWith(ApplicationExtension.class)
+public class ViewLeakScenario {
+
+  private static final int CYCLES = Integer.getInteger(ScenarioRecorder.PROPERTY_PREFIX
+      + "leak.cycles", 100);
+  private static final int VIEWS_PER_CYCLE = 6;
+
+  private LeakDetector detector;
+
+  @AfterEach
+  void tearDown(FxRobot robot) {
+    robot.interact(ViewLeakScenario::hideAllViewStages);
+  }
+
+  @Test
+  void closedComponentsAreCollected(FxRobot robot) {
+    detector = new LeakDetector();
+
+    for (int cycle = 0; cycle < CYCLES; cycle++) {
+      runCycle(robot, cycle);
+    }
+    WaitForAsyncUtils.waitForFxEvents(5);
+
+    assertThat(detector.getTrackedCount()).isGreaterThan(CYCLES * VIEWS_PER_CYCLE);
+    List<String> leaks = detector.findLeaks(getRoots());
+    assertThat(leaks).as("Leaked objects").isEmpty();
+  }
+
+  private void runCycle(FxRobot robot, int cycle) {
+    List<View> views = new ArrayList<>();
+    ViewStage[] stage = new ViewStage[1];
+
+    // Open a window with a single group
+    robot.interact(() -> {
+      ViewGroup group = new ViewGroup();
+      for (int i = 0; i < VIEWS_PER_CYCLE; i++) {
+        View view = new View();
+        view.setTabLabel("View " + cycle + "/" + i);
+        view.setContent(newContent(i));
+        group.addAndSelectView(view);
+        views.add(view);
+      }
+      ViewGroupContainer root = new ViewGroupContainer();
+      root.setLeftTop(group);
+      stage[0] = new ViewStage();
+      stage[0].setX(0);
+      stage[0].setY(0);
+      stage[0].setScene(new Scene(root, 800, 600));
+      stage[0].show();
+      layout(root);
+    });
+
+    // Split the group, move a view to a new window and into the group of the new window
+    robot.interact(() -> drag(views.get(1), getPoint(views.get(0).getViewGroup(), 0.95, 0.5)));
+    robot.interact(() -> drag(views.get(2), new Point2D(1200, 300)));
+    robot.interact(() -> drag(views.get(3), getPoint(views.get(2).getViewGroup(), 0.5, 0.02)));
+
+    // Maximize and restore
+    robot.interact(() -> {
+      views.get(0).getViewGroup().selectView(views.get(0));
+      views.get(0).setMaximized(true);
+      layoutAllWindows();
+      views.get(0).setMaximized(false);
+      layoutAllWindows();
+    });
+
+    // Track everything and close it
+    robot.interact(() -> {
+      for (View view : views) {
+        detector.track(view, "View " + view.getTabLabel());
+        detector.track(view.getContent(), "Content of " + view.getTabLabel());
+      }
+      ViewManager.getAllViewGroups().forEach(group -> {
+        detector.track(group, "ViewGroup in cycle " + cycle);
+        detector.track(group.getSkin(), "ViewGroupSkin in cycle " + cycle);
+      });
+      Window.getWindows().stream()
+          .filter(window -> window instanceof ViewStage)
+          .forEach(window -> {
+            detector.track(window, "ViewStage in cycle " + cycle);
+            detector.track(window.getScene().getRoot(), "Root container in cycle " + cycle);
+            if (window.getScene().getRoot() instanceof ViewGroupContainer container) {
+              detector.track(container.getSkin(), "ViewGroupContainerSkin in cycle " + cycle);
+            }
+          });
+      new ArrayList<>(ViewManager.getAllViews().toList()).forEach(View::close);
+      hideAllViewStages();
+    });
+    WaitForAsyncUtils.waitForFxEvents();
+
+    assertThat(stage[0].isShowing()).isFalse();
+  }
+
+  private static void drag(View view, Point2D to) {
+    Point2D from = getPoint(view.getViewGroup(), 0.5, 0.02);
+    DefaultDragAndDropContext context = new DefaultDragAndDropContext();
+    context.start(view, from.getX(), from.getY());
+    context.update(to.getX(), to.getY());
+    context.confirm(to.getX(), to.getY());
+    layoutAllWindows();
+  }
+
+  private static Point2D getPoint(Node node, double fx, double fy) {
+    Bounds bounds = node.localToScreen(node.getLayoutBounds());
+    return new Point2D(bounds.getMinX() + fx * bounds.getWidth(),
+        bounds.getMinY() + fy * bounds.getHeight());
+  }
+
+  private static Map<String, Object> getRoots() {
+    Map<String, Object> roots = new LinkedHashMap<>();
+    roots.put("Window.getWindows()", Window.getWindows());
+    roots.putAll(LeakDetector.staticFieldsOf(dragAndDropContextHolder(), ViewPreWarmer.class,
+        StylesheetMode.class, View.class, ViewGroup.class, ViewGroupContainer.class,
+        ViewGroupSkin.class, ViewGroupContainerSkin.class));
+    return roots;
+  }
+
+  private static Class<?> dragAndDropContextHolder() {
+    // Looked up by name, since it is an auxiliary class of DragAndDropContext.java
+    try {
+      return Class.forName(DragAndDropContext.class.getPackageName() + ".DragAndDropContextHolder");
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void hideAllViewStages() {
+    new ArrayList<>(Window.getWindows()).stream()
+        .filter(window -> window instanceof ViewStage)
+        .forEach(Window::hide);
+  }
+
+  private static void layoutAllWindows() {
+    Window.getWindows().stream()
+        .filter(window -> window instanceof ViewStage && window.getScene() != null)
+        .forEach(window -> layout(window.getScene().getRoot()));
+  }
+
+  private static void layout(Parent parent) {
+    parent.applyCss();
+    parent.layout();
+  }
+
+  private static Node newContent(int index) {
+    // Some contents that register listeners on their own
+    return index % 2 == 0 ? new VBox(new Label("Content " + index)) : new TableView<String>();
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javafx.scene.control.Label;
+import javafx.util.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+@ExtendWith(ApplicationExtension.class)
+public class ViewPreWarmerTest {
+
+  private DragAndDropContext dragAndDropContext;
+  private AtomicInteger factoryCalls;
+  private ViewGroup group;
+  private List<View> views;
+
+  @BeforeEach
+  public void beforeEach(FxRobot robot) {
+    dragAndDropContext = DragAndDropContext.getInstance();
+    factoryCalls = new AtomicInteger();
+    group = new ViewGroup();
+    views = IntStream.range(0, 5)
+        .mapToObj(i -> newView())
+        .toList();
+    robot.interact(() -> views.forEach(group::addView));
+  }
+
+  @AfterEach
+  public void afterEach() {
+    DragAndDropContext.setInstance(dragAndDropContext);
+    ViewPreWarmer.setInstance(null);
+  }
+
+  @Test
+  public void viewShown_schedulesTheNeighbours(FxRobot robot) {
+    ViewPreWarmer preWarmer = new ViewPreWarmer(Duration.seconds(10), 1);
+
+    robot.interact(() -> {
+      preWarmer.viewShown(views.get(2));
+      preWarmer.onPulse();
+    });
+
+    assertThat(views.get(0).getContent()).isNull();
+    assertThat(views.get(1).getContent()).isNotNull();
+    assertThat(views.get(2).getContent()).isNull();
+    assertThat(views.get(3).getContent()).isNotNull();
+    assertThat(views.get(4).getContent()).isNull();
+    assertThat(preWarmer.hasPending()).isFalse();
+  }
+
+  @Test
+  public void schedule_ignoresViewsNotNeedingPreWarming(FxRobot robot) {
+    ViewPreWarmer preWarmer = new ViewPreWarmer();
+    View withContent = views.get(0);
+    View withoutFactory = views.get(1);
+    View withoutGroup = newView();
+
+    robot.interact(() -> {
+      withContent.setContent(new Label("Content"));
+      withoutFactory.setContentFactory(null);
+      preWarmer.schedule(withContent);
+      preWarmer.schedule(withoutFactory);
+      preWarmer.schedule(withoutGroup);
+    });
+
+    assertThat(preWarmer.hasPending()).isFalse();
+    assertThat(factoryCalls.get()).isZero();
+  }
+
+  @Test
+  public void onPulse_respectsTheBudget(FxRobot robot) {
+    ViewPreWarmer preWarmer = new ViewPreWarmer(Duration.ZERO, 2);
+    List<Integer> callsPerPulse = new ArrayList<>();
+
+    robot.interact(() -> {
+      preWarmer.viewShown(views.get(2));
+      while (preWarmer.hasPending()) {
+        preWarmer.onPulse();
+        callsPerPulse.add(factoryCalls.get());
+      }
+    });
+
+    assertThat(callsPerPulse).containsExactly(1, 2, 3, 4);
+  }
+
+  @Test
+  public void onPulse_isSuspendedWhileDragging(FxRobot robot) {
+    ViewPreWarmer preWarmer = new ViewPreWarmer(Duration.seconds(10), 1);
+    DragAndDropContext dragging = mock(DragAndDropContext.class);
+    when(dragging.getDragSource()).thenReturn(views.get(0));
+    DragAndDropContext.setInstance(dragging);
+
+    robot.interact(() -> {
+      preWarmer.viewShown(views.get(2));
+      preWarmer.onPulse();
+    });
+    assertThat(factoryCalls.get()).isZero();
+
+    DragAndDropContext.setInstance(dragAndDropContext);
+    robot.interact(preWarmer::onPulse);
+    assertThat(factoryCalls.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void preWarming_happensOnPulses(FxRobot robot) throws Exception {
+    ViewPreWarmer preWarmer = new ViewPreWarmer();
+    ViewPreWarmer.setInstance(preWarmer);
+
+    robot.interact(() -> preWarmer.viewShown(views.get(2)));
+
+    for (int i = 0; i < 100 && preWarmer.hasPending(); i++) {
+      Thread.sleep(20);
+    }
+    assertThat(preWarmer.hasPending()).isFalse();
+    assertThat(views.get(1).getContent()).isNotNull();
+    assertThat(views.get(3).getContent()).isNotNull();
+  }
+
+  private View newView() {
+    View view = new View();
+    view.setContentFactory(v -> {
+      factoryCalls.incrementAndGet();
+      return new Label("Content");
+    });
+    return view;
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static de.hipphampel.mv4fx.view.LayoutFixtures.containerSnapshot;
+import static de.hipphampel.mv4fx.view.LayoutFixtures.groupSnapshot;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.mv4fx.view.LayoutSnapshot.ContainerSnapshot;
+import de.hipphampel.mv4fx.view.LayoutSnapshot.GroupSnapshot;
+import de.hipphampel.mv4fx.view.ViewRegistry.ViewFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+@ExtendWith(ApplicationExtension.class)
+public class ViewRegistryTest {
+
+  private final List<String> materialized = new ArrayList<>();
+  private final List<Stage> stages = new ArrayList<>();
+  private ViewRegistry registry;
+
+  @BeforeEach
+  public void beforeEach() {
+    registry = new ViewRegistry();
+    registry.register("editor", new ViewFactory() {
+      @Override
+      public String getTabLabel(String instanceId) {
+        return "Editor " + instanceId;
+      }
+
+      @Override
+      public Node materialize(View view, String instanceId) {
+        materialized.add(instanceId);
+        return new Label(instanceId);
+      }
+    });
+  }
+
+  @AfterEach
+  public void afterEach(FxRobot robot) {
+    robot.interact(() -> stages.forEach(Stage::close));
+  }
+
+  @Test
+  public void register_failsForTypeIdWithColon() {
+    assertThatThrownBy(() -> registry.register("a:b", (view, id) -> null))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void newView_returnsNullForUnknownIds() {
+    assertThat(registry.newView("unknown:1")).isNull();
+    assertThat(registry.newView("editor")).isNull();
+    assertThat(registry.newView(null)).isNull();
+  }
+
+  @Test
+  public void newView_createsPlaceholderThatIsMaterializedOnDemand() {
+    View view = registry.newView(ViewRegistry.toViewId("editor", "1"));
+
+    assertThat(view.getTabLabel()).isEqualTo("Editor 1");
+    assertThat(registry.getViewId(view)).isEqualTo("editor:1");
+    assertThat(registry.isMaterialized(view)).isFalse();
+    assertThat(materialized).isEmpty();
+
+    Node content = view.ensureContent();
+    assertThat(content).isInstanceOf(Label.class);
+    assertThat(view.ensureContent()).isSameAs(content);
+    assertThat(registry.isMaterialized(view)).isTrue();
+    assertThat(materialized).containsExactly("1");
+  }
+
+  @Test
+  public void restore_materializesOnlySelectedViews(FxRobot robot) {
+    GroupSnapshot group1 = groupSnapshot(1, "editor:1", "editor:2", "editor:3");
+    GroupSnapshot group2 = groupSnapshot(0, "editor:4", "unknown:5");
+    ContainerSnapshot root = containerSnapshot(Orientation.HORIZONTAL, group1, group2);
+    LayoutSnapshot snapshot = new LayoutSnapshot(
+        List.of(new LayoutSnapshot.WindowSnapshot(0, 0, 400, 300, false, root)));
+
+    ViewGroup[] groups = new ViewGroup[2];
+    robot.interact(() -> {
+      stages.addAll(snapshot.restore(registry, Stage::new));
+      ViewGroupContainer container = (ViewGroupContainer) stages.get(0).getScene().getRoot();
+      groups[0] = (ViewGroup) container.getLeftTop();
+      groups[1] = (ViewGroup) container.getRightBottom();
+    });
+
+    assertThat(groups[0].getViews()).hasSize(3);
+    assertThat(groups[1].getViews()).hasSize(1);
+    assertThat(materialized).containsExactlyInAnyOrder("2", "4");
+
+    robot.interact(() -> groups[0].selectView(groups[0].getViews().get(2)));
+    assertThat(materialized).containsExactlyInAnyOrder("2", "4", "3");
+    ContainerSnapshot captured = LayoutSnapshot.capture(registry::getViewId).windows().get(0)
+        .root();
+    assertThat(((GroupSnapshot) captured.items().get(0)).viewIds())
+        .containsExactly("editor:1", "editor:2", "editor:3");
+    assertThat(((GroupSnapshot) captured.items().get(1)).viewIds())
+        .containsExactly("editor:4");
+  }
+}
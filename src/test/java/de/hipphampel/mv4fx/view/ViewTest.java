@@ -0,0 +1,168 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.mv4fx.view.View.TabActionVisibility;
+import de.hipphampel.mv4fx.view.View.TabChangeListener;
+import de.hipphampel.mv4fx.view.ViewOrGroup.DropTargetType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javafx.beans.property.Property;
+import org.junit.jupiter.api.Test;
+
+public class ViewTest {
+
+  @Test
+  public void ctor_setsDefaults() {
+    View view = new View();
+
+    assertThat(view.getTabLabel()).isNull();
+    assertThat(view.getTabCloseActionVisibility()).isEqualTo(TabActionVisibility.MOUSE_OVER);
+    assertThat(view.getTabMaximizeActionVisibility()).isEqualTo(TabActionVisibility.NEVER);
+    assertThat(view.getDragTags()).isEmpty();
+    assertThat(view.getDropTargetTypes()).containsExactlyInAnyOrder(DropTargetType.REORDER,
+        DropTargetType.CHANGE_GROUP, DropTargetType.NEW_WINDOW);
+    assertThat(view.isDragging()).isFalse();
+    assertThat(view.isMaximizable()).isTrue();
+    assertThat(view.isMaximized()).isFalse();
+
+    assertThat(view.tabCloseActionVisibilityProperty().get())
+        .isEqualTo(TabActionVisibility.MOUSE_OVER);
+    assertThat(view.tabMaximizeActionVisibilityProperty().get())
+        .isEqualTo(TabActionVisibility.NEVER);
+    assertThat(view.dropTargetTypesProperty().get()).containsExactlyInAnyOrder(
+        DropTargetType.REORDER, DropTargetType.CHANGE_GROUP, DropTargetType.NEW_WINDOW);
+    assertThat(view.maximizableProperty().get()).isTrue();
+  }
+
+  @Test
+  public void property_takesOverValueSetBeforeItsCreation() {
+    View view = new View();
+
+    view.setTabLabel("Label");
+    view.setTabCloseActionVisibility(TabActionVisibility.ALWAYS);
+    view.setDragTags(Set.of("tag"));
+    view.setDragging(true);
+    view.setMaximized(true);
+
+    assertThat(view.tabLabelProperty().get()).isEqualTo("Label");
+    assertThat(view.tabCloseActionVisibilityProperty().get())
+        .isEqualTo(TabActionVisibility.ALWAYS);
+    assertThat(view.dragTagsProperty().get()).containsExactly("tag");
+    assertThat(view.draggingProperty().get()).isTrue();
+    assertThat(view.maximizedProperty().get()).isTrue();
+  }
+
+  @Test
+  public void getter_returnsMutableSetsSharedWithTheProperty() {
+    View view = new View();
+
+    view.getDragTags().add("tag");
+    view.getDropTargetTypes().remove(DropTargetType.NEW_WINDOW);
+
+    assertThat(view.dragTagsProperty().get()).containsExactly("tag");
+    assertThat(view.dropTargetTypesProperty().get()).doesNotContain(DropTargetType.NEW_WINDOW);
+  }
+
+  @Test
+  public void setter_updatesTheCreatedProperty() {
+    View view = new View();
+    view.tabLabelProperty();
+    view.maximizableProperty();
+
+    view.setTabLabel("Label");
+    view.setMaximizable(false);
+
+    assertThat(view.getTabLabel()).isEqualTo("Label");
+    assertThat(view.tabLabelProperty().get()).isEqualTo("Label");
+    assertThat(view.isMaximizable()).isFalse();
+    assertThat(view.maximizableProperty().get()).isFalse();
+  }
+
+  @Test
+  public void tabChangeListener_isNotifiedWithAndWithoutCreatedProperties() {
+    View view = new View();
+    List<String> changes = new ArrayList<>();
+    view.addTabChangeListener((source, propertyName) -> changes.add(propertyName));
+
+    view.setTabLabel("Label");
+    view.setTabLabel("Label");
+    view.setMaximized(true);
+    view.tabStyleProperty().set("-fx-text-fill: red;");
+    view.setDragging(true);
+
+    assertThat(changes).containsExactly(View.PROPERTY_TAB_LABEL, View.PROPERTY_MAXIMIZED,
+        View.PROPERTY_TAB_STYLE, View.PROEPRTY_DRAGGING);
+  }
+
+  @Test
+  public void removeTabChangeListener_stopsNotifications() {
+    View view = new View();
+    List<String> changes = new ArrayList<>();
+    TabChangeListener listener = (source, propertyName) -> changes.add(propertyName);
+    view.addTabChangeListener(listener);
+
+    view.removeTabChangeListener(listener);
+    view.setTabLabel("Label");
+
+    assertThat(changes).isEmpty();
+  }
+
+  @Test
+  public void lazyProperties_areOnlyCreatedWhenAccessed() throws IllegalAccessException {
+    View view = new View();
+    view.setTabLabel("Label");
+    view.setTabStyle("-fx-font-weight: bold");
+    view.setTabCloseActionVisibility(TabActionVisibility.NEVER);
+    view.setDragTags(Set.of("tag"));
+    view.setDropTargetTypes(Set.of(DropTargetType.NEW_WINDOW));
+    view.setMaximizable(false);
+
+    assertThat(view.getTabLabel()).isEqualTo("Label");
+    assertThat(view.getDragTags()).containsExactly("tag");
+    assertThat(createdProperties(view)).isEmpty();
+
+    assertThat(view.tabLabelProperty().get()).isEqualTo("Label");
+    assertThat(createdProperties(view)).containsExactly("tabLabel");
+  }
+
+  private static List<String> createdProperties(View view) throws IllegalAccessException {
+    List<String> result = new ArrayList<>();
+    for (Field field : View.class.getDeclaredFields()) {
+      if (Property.class.isAssignableFrom(field.getType())
+          && !Modifier.isFinal(field.getModifiers())
+          && !Modifier.isStatic(field.getModifiers())) {
+        field.setAccessible(true);
+        if (field.get(view) != null) {
+          result.add(field.getName());
+        }
+      }
+    }
+    return result;
+  }
+}
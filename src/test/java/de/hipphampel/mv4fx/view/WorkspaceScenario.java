@@ -0,0 +1,252 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.mv4fx.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.mv4fx.view.ScenarioRecorder.Budget;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+/**
+ * Drives realistic workloads against a workspace of 1000 {@link View Views} in 50
+ * {@link ViewGroup ViewGroups} and checks latency and allocation against a budget.
+ * <p>
+ * Each step of a scenario runs in its own JavaFX event, so that pulses may happen between the
+ * steps, and includes the CSS and layout pass of all affected windows. See
+ * {@link ScenarioRecorder} how to configure the budgets. Not part of the regular test run; start it
+ * via {@code mvn -Pscenario test}, which runs it on headless Monocle.
+ */
+@ExtendWith(ApplicationExtension.class)
+public class WorkspaceScenario {
+
+  private static final int VIEWS = 1000;
+  private static final int GROUPS = 50;
+  private static final int DRAGS = 500;
+  private static final int RESIZES = 1000;
+  private static final int MAXIMIZE_ROUNDS = 250;
+  private static final double WIDTH = 1600;
+  private static final double HEIGHT = 1200;
+
+  private Random random;
+  private ViewStage stage;
+  private ViewGroupContainer root;
+
+  @BeforeEach
+  void setup() {
+    random = new Random(4711);
+  }
+
+  @AfterEach
+  void tearDown(FxRobot robot) {
+    robot.interact(() -> new ArrayList<>(Window.getWindows()).stream()
+        .filter(window -> window instanceof ViewStage)
+        .forEach(Window::hide));
+  }
+
+  @Test
+  void openViews(FxRobot robot) {
+    ScenarioRecorder recorder = new ScenarioRecorder("openViews");
+
+    openWorkspace(robot, recorder);
+
+    robot.interact(recorder::finish);
+    assertThat(ViewManager.getAllViews().count()).isEqualTo(VIEWS);
+    recorder.assertWithinBudget(Budget.of(20, 100, 4096));
+  }
+
+  @Test
+  void dragViews(FxRobot robot) {
+    ScenarioRecorder recorder = new ScenarioRecorder("dragViews");
+    openWorkspace(robot, null);
+
+    for (int i = 0; i < DRAGS; i++) {
+      robot.interact(() -> {
+        List<View> views = ViewManager.getAllViews().toList();
+        List<ViewGroup> groups = ViewManager.getAllViewGroups().toList();
+        View view = views.get(random.nextInt(views.size()));
+        Point2D from = getCenter(view.getViewGroup(), 0.5, 0.02);
+        Point2D to = getDropPoint(groups.get(random.nextInt(groups.size())));
+        recorder.measure(() -> {
+          DefaultDragAndDropContext context = new DefaultDragAndDropContext();
+          context.start(view, from.getX(), from.getY());
+          context.update((from.getX() + to.getX()) / 2, (from.getY() + to.getY()) / 2);
+          context.confirm(to.getX(), to.getY());
+          layoutAllWindows();
+        });
+      });
+    }
+
+    robot.interact(recorder::finish);
+    assertThat(ViewManager.getAllViews().count()).isEqualTo(VIEWS);
+    recorder.assertWithinBudget(Budget.of(50, 250, 4096));
+  }
+
+  @Test
+  void resizeWindow(FxRobot robot) {
+    ScenarioRecorder recorder = new ScenarioRecorder("resizeWindow");
+    openWorkspace(robot, null);
+
+    for (int i = 0; i < RESIZES; i++) {
+      double width = WIDTH / 2 + random.nextInt((int) WIDTH / 2);
+      double height = HEIGHT / 2 + random.nextInt((int) HEIGHT / 2);
+      robot.interact(() -> recorder.measure(() -> {
+        stage.setWidth(width);
+        stage.setHeight(height);
+        layout(root);
+      }));
+    }
+
+    robot.interact(recorder::finish);
+    recorder.assertWithinBudget(Budget.of(20, 100, 4096));
+  }
+
+  @Test
+  void maximizeAndRestore(FxRobot robot) {
+    ScenarioRecorder recorder = new ScenarioRecorder("maximizeAndRestore");
+    openWorkspace(robot, null);
+
+    for (int i = 0; i < MAXIMIZE_ROUNDS; i++) {
+      robot.interact(() -> {
+        List<View> views = ViewManager.getAllViews().toList();
+        View view = views.get(random.nextInt(views.size()));
+        view.getViewGroup().selectView(view);
+        layout(root);
+        recorder.measure(() -> {
+          view.setMaximized(true);
+          layout(root);
+        });
+      });
+      assertThat(root.getMaximizedView()).isNotNull();
+      robot.interact(() -> recorder.measure(() -> {
+        root.getMaximizedView().setMaximized(false);
+        layout(root);
+      }));
+      assertThat(root.getMaximizedView()).isNull();
+    }
+
+    robot.interact(recorder::finish);
+    recorder.assertWithinBudget(Budget.of(20, 100, 4096));
+  }
+
+  @Test
+  void closeViews(FxRobot robot) {
+    ScenarioRecorder recorder = new ScenarioRecorder("closeViews");
+    openWorkspace(robot, null);
+
+    robot.interact(() -> {
+      List<View> views = new ArrayList<>(ViewManager.getAllViews().toList());
+      for (View view : views) {
+        recorder.measure(() -> {
+          view.close();
+          if (stage.isShowing()) {
+            layout(root);
+          }
+        });
+      }
+      recorder.finish();
+    });
+
+    assertThat(ViewManager.getAllViews().count()).isZero();
+    recorder.assertWithinBudget(Budget.of(20, 100, 4096));
+  }
+
+  private void openWorkspace(FxRobot robot, ScenarioRecorder recorder) {
+    List<ViewGroup> groups = new ArrayList<>();
+    robot.interact(() -> {
+      root = LayoutFixtures.newLayout(GROUPS, ViewGroup::new);
+      stage = new ViewStage();
+      stage.setX(0);
+      stage.setY(0);
+      stage.setScene(new Scene(root, WIDTH, HEIGHT));
+      stage.show();
+      layout(root);
+      groups.addAll(ViewManager.getAllViewGroups().toList());
+    });
+
+    for (int i = 0; i < VIEWS; i++) {
+      ViewGroup group = groups.get(i % groups.size());
+      String label = "View " + i;
+      robot.interact(() -> {
+        Runnable step = () -> {
+          View view = new View();
+          view.setTabLabel(label);
+          view.setContent(LayoutFixtures.newContent(20));
+          group.addAndSelectView(view);
+          layout(root);
+        };
+        if (recorder == null) {
+          step.run();
+        } else {
+          recorder.measure(step);
+        }
+      });
+    }
+  }
+
+  private Point2D getDropPoint(ViewGroup group) {
+    double kind = random.nextDouble();
+    if (kind < 0.5) {
+      // Somewhere in the tab header
+      return getCenter(group, random.nextDouble(), 0.02);
+    } else if (kind < 0.85) {
+      // Near one of the borders of the content area
+      return random.nextBoolean()
+          ? getCenter(group, random.nextBoolean() ? 0.05 : 0.95, 0.5)
+          : getCenter(group, 0.5, random.nextBoolean() ? 0.2 : 0.95);
+    } else {
+      // Outside of the main window
+      return new Point2D(WIDTH + 50 + random.nextInt(300), 50 + random.nextInt(1400));
+    }
+  }
+
+  private static Point2D getCenter(Node node, double fx, double fy) {
+    Bounds bounds = node.localToScreen(node.getLayoutBounds());
+    return new Point2D(bounds.getMinX() + fx * bounds.getWidth(),
+        bounds.getMinY() + fy * bounds.getHeight());
+  }
+
+  private static void layoutAllWindows() {
+    Window.getWindows().stream()
+        .filter(window -> window instanceof ViewStage && window.getScene() != null)
+        .forEach(window -> layout(window.getScene().getRoot()));
+  }
+
+  private static void layout(Parent parent) {
+    parent.applyCss();
+    parent.layout();
+  }
+}
@@ -23,13 +23,21 @@
 package de.hipphampel.mv4fx.view.skin;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
+import de.hipphampel.mv4fx.utils.Utils;
+import de.hipphampel.mv4fx.view.View;
 import de.hipphampel.mv4fx.view.ViewGroup;
 import de.hipphampel.mv4fx.view.ViewGroupContainer;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.DividerDragMode;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.MaximizeMode;
 import de.hipphampel.mv4fx.view.ViewGroupContainer.ResizePolicy;
+import java.util.List;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
+import javafx.scene.Node;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
 import javafx.stage.Stage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -118,6 +126,247 @@ public class ViewGroupContainerSkinTest {
     assertThat(viewGroup2.getHeight()).isEqualTo(360);
   }
 
+  @Test
+  public void ifMoreThanTwoItems_layoutUsesWeights(FxRobot robot) {
+    ViewGroup viewGroup3 = new ViewGroup();
+    robot.interact(() -> {
+      container.setOrientation(Orientation.HORIZONTAL);
+      container.setDividerSize(10);
+      container.setItems(List.of(viewGroup1, viewGroup2, viewGroup3));
+      container.setWeight(viewGroup1, 1);
+      container.setWeight(viewGroup2, 2);
+      container.setWeight(viewGroup3, 1);
+    });
+
+    ViewGroupContainerSkin skin = (ViewGroupContainerSkin) container.getSkin();
+    assertThat(skin.getDividers()).hasSize(2);
+    assertThat(skin.getChildren()).containsExactly(viewGroup1, viewGroup2, viewGroup3,
+        skin.getDividers().get(0), skin.getDividers().get(1));
+    double available = container.getWidth() - 20;
+    assertThat(viewGroup1.getWidth()).isCloseTo(available / 4, within(0.5));
+    assertThat(viewGroup2.getWidth()).isCloseTo(available / 2, within(0.5));
+    assertThat(viewGroup3.getWidth()).isCloseTo(available / 4, within(0.5));
+    assertThat(viewGroup3.getLayoutX() + viewGroup3.getWidth()).isCloseTo(container.getWidth(),
+        within(0.5));
+  }
+
+  @Test
+  public void ifMoreThanTwoItems_resizeRespectsResizePolicy(FxRobot robot) {
+    ViewGroup viewGroup3 = new ViewGroup();
+    double[] widths = new double[4];
+    robot.interact(() -> {
+      container.setOrientation(Orientation.HORIZONTAL);
+      container.setDividerSize(10);
+      container.setResizePolicy(ResizePolicy.KEEP_LEFT_TOP_SIZE);
+      container.setItems(List.of(viewGroup1, viewGroup2, viewGroup3));
+      container.resize(620, container.getHeight());
+      container.layout();
+      widths[0] = viewGroup1.getWidth();
+      widths[1] = viewGroup2.getWidth();
+      container.resize(920, container.getHeight());
+      container.layout();
+      widths[2] = viewGroup1.getWidth();
+      widths[3] = viewGroup2.getWidth();
+    });
+
+    assertThat(widths[2]).isCloseTo(widths[0], within(0.5));
+    assertThat(widths[3]).isCloseTo(widths[1] + 150, within(0.5));
+  }
+
+  @Test
+  public void resize_updatesNestedContainersInOneLayoutPass(FxRobot robot) {
+    ViewGroup viewGroup3 = new ViewGroup();
+    ViewGroupContainer nested = new ViewGroupContainer();
+    robot.interact(() -> {
+      container.setOrientation(Orientation.HORIZONTAL);
+      container.setResizePolicy(ResizePolicy.KEEP_RATIO);
+      container.setPosition(0.5);
+      nested.setOrientation(Orientation.HORIZONTAL);
+      nested.setResizePolicy(ResizePolicy.KEEP_RATIO);
+      nested.setPosition(0.5);
+      container.setRightBottom(null);
+      nested.setLeftTop(viewGroup2);
+      nested.setRightBottom(viewGroup3);
+      container.setRightBottom(nested);
+    });
+
+    double[] widths = new double[4];
+    robot.interact(() -> {
+      container.resize(820, container.getHeight());
+      container.layout();
+      widths[0] = viewGroup1.getWidth();
+      widths[1] = nested.getWidth();
+      widths[2] = viewGroup2.getWidth();
+      widths[3] = viewGroup3.getWidth();
+    });
+
+    double dividerSize = container.getDividerSize();
+    assertThat(widths[0]).isCloseTo((820 - dividerSize) / 2, within(0.5));
+    assertThat(widths[1]).isCloseTo((820 - dividerSize) / 2, within(0.5));
+    assertThat(widths[2]).isCloseTo((widths[1] - dividerSize) / 2, within(0.5));
+    assertThat(widths[3]).isCloseTo((widths[1] - dividerSize) / 2, within(0.5));
+  }
+
+  @Test
+  public void layout_respectsMinSizesOfNestedViewGroupsIfDividerDragModeIsRespectMinSize(
+      FxRobot robot) {
+    ViewGroup viewGroup3 = new ViewGroup();
+    ViewGroupContainer nested = new ViewGroupContainer();
+    robot.interact(() -> {
+      container.setOrientation(Orientation.HORIZONTAL);
+      container.setDividerDragMode(DividerDragMode.RESPECT_MIN_SIZE);
+      container.setPosition(0.5);
+      nested.setOrientation(Orientation.HORIZONTAL);
+      nested.setPosition(0.5);
+      viewGroup2.setMinWidth(150);
+      viewGroup3.setMinWidth(150);
+      container.setRightBottom(null);
+      nested.setLeftTop(viewGroup2);
+      nested.setRightBottom(viewGroup3);
+      container.setRightBottom(nested);
+    });
+
+    double[] widths = new double[3];
+    robot.interact(() -> {
+      container.resize(420 + container.getDividerSize(), container.getHeight());
+      container.layout();
+      widths[0] = nested.getWidth();
+      widths[1] = viewGroup2.getWidth();
+      widths[2] = viewGroup3.getWidth();
+    });
+
+    ViewGroupContainerSkin skin = (ViewGroupContainerSkin) nested.getSkin();
+    assertThat(widths[0]).isCloseTo(skin.getSizeConstraints().minWidth(), within(0.5));
+    assertThat(widths[1]).isGreaterThanOrEqualTo(149.5);
+    assertThat(widths[2]).isGreaterThanOrEqualTo(149.5);
+  }
+
+  @Test
+  public void computeMinAndPrefSize_aggregatesChildrenAndDividers(FxRobot robot) {
+    robot.interact(() -> {
+      container.setOrientation(Orientation.HORIZONTAL);
+      container.setPadding(Insets.EMPTY);
+      viewGroup1.setMinSize(10, 20);
+      viewGroup1.setPrefSize(100, 200);
+      viewGroup2.setMinSize(30, 40);
+      viewGroup2.setPrefSize(300, 150);
+    });
+
+    double dividerSize = container.getDividerSize();
+    assertThat(container.minWidth(-1)).isEqualTo(40 + dividerSize);
+    assertThat(container.minHeight(-1)).isEqualTo(40);
+    assertThat(container.prefWidth(-1)).isEqualTo(400 + dividerSize);
+    assertThat(container.prefHeight(-1)).isEqualTo(200);
+
+    robot.interact(() -> container.setOrientation(Orientation.VERTICAL));
+    assertThat(container.minWidth(-1)).isEqualTo(30);
+    assertThat(container.minHeight(-1)).isEqualTo(60 + dividerSize);
+    assertThat(container.prefWidth(-1)).isEqualTo(300);
+    assertThat(container.prefHeight(-1)).isEqualTo(350 + dividerSize);
+  }
+
+  @Test
+  public void getSizeConstraints_isMemoizedUntilSizeHintsOfADescendantChange(FxRobot robot) {
+    ViewGroup viewGroup3 = new ViewGroup();
+    ViewGroupContainer nested = new ViewGroupContainer();
+    robot.interact(() -> {
+      container.setOrientation(Orientation.HORIZONTAL);
+      nested.setOrientation(Orientation.VERTICAL);
+      container.setRightBottom(null);
+      nested.setLeftTop(viewGroup2);
+      nested.setRightBottom(viewGroup3);
+      container.setRightBottom(nested);
+    });
+    ViewGroupContainerSkin skin = (ViewGroupContainerSkin) container.getSkin();
+    ViewGroupContainerSkin nestedSkin = (ViewGroupContainerSkin) nested.getSkin();
+
+    Object[] constraints = new Object[4];
+    robot.interact(() -> {
+      constraints[0] = skin.getSizeConstraints();
+      constraints[1] = nestedSkin.getSizeConstraints();
+      container.resize(container.getWidth() + 100, container.getHeight() + 50);
+      constraints[2] = skin.getSizeConstraints();
+      constraints[3] = nestedSkin.getSizeConstraints();
+    });
+    assertThat(constraints[2]).isSameAs(constraints[0]);
+    assertThat(constraints[3]).isSameAs(constraints[1]);
+
+    robot.interact(() -> {
+      viewGroup3.setMinWidth(1000);
+      constraints[2] = skin.getSizeConstraints();
+      constraints[3] = nestedSkin.getSizeConstraints();
+    });
+    assertThat(constraints[2]).isNotSameAs(constraints[0]);
+    assertThat(constraints[3]).isNotSameAs(constraints[1]);
+    assertThat(((ViewGroupContainerSkin) nested.getSkin()).getSizeConstraints().minWidth())
+        .isEqualTo(1000 + nested.getInsets().getLeft() + nested.getInsets().getRight());
+  }
+
+  @Test
+  public void maximizeView_inOverlayModeKeepsChildrenAttached(FxRobot robot) {
+    View view = new View();
+    Label content = new Label("content");
+    robot.interact(() -> {
+      view.setContent(content);
+      viewGroup1.addAndSelectView(view);
+      container.setMaximizeMode(MaximizeMode.OVERLAY);
+    });
+    ViewGroupContainerSkin skin = (ViewGroupContainerSkin) container.getSkin();
+
+    robot.interact(() -> {
+      view.setMaximized(true);
+      container.maximizeView(view);
+      container.layout();
+    });
+    assertThat(skin.getChildren()).contains(viewGroup1.asControl(), viewGroup2.asControl());
+    assertThat(Utils.getParentViewGroupContainer(content)).contains(container);
+    assertThat(content.getParent()).isNotSameAs(container);
+    assertThat(viewGroup1.isVisible()).isTrue();
+    assertThat(viewGroup2.isVisible()).isFalse();
+    assertThat(skin.getDividers()).noneMatch(Node::isVisible);
+    assertThat(viewGroup1.getWidth()).isEqualTo(container.getWidth());
+    assertThat(viewGroup1.getHeight()).isEqualTo(container.getHeight());
+
+    robot.interact(() -> {
+      view.setMaximized(false);
+      container.restoreView(view);
+      container.layout();
+    });
+    assertThat(Utils.getParentViewGroupContainer(content)).contains(container);
+    assertThat(viewGroup2.isVisible()).isTrue();
+    assertThat(skin.getDividers()).allMatch(Node::isVisible);
+    assertThat(viewGroup1.getWidth()).isLessThan(container.getWidth());
+  }
+
+  @Test
+  public void setMaximizeMode_whileMaximizedMovesTheContent(FxRobot robot) {
+    View view = new View();
+    Label content = new Label("content");
+    robot.interact(() -> {
+      view.setContent(content);
+      viewGroup1.addAndSelectView(view);
+      view.setMaximized(true);
+      container.maximizeView(view);
+      container.layout();
+    });
+    assertThat(content.getParent()).isSameAs(container);
+
+    robot.interact(() -> {
+      container.setMaximizeMode(MaximizeMode.OVERLAY);
+      container.layout();
+    });
+    assertThat(content.getParent()).isNotSameAs(container);
+    assertThat(Utils.getParentViewGroupContainer(content)).contains(container);
+    assertThat(viewGroup2.isVisible()).isFalse();
+
+    robot.interact(() -> {
+      container.setMaximizeMode(MaximizeMode.REPARENT);
+      container.layout();
+    });
+    assertThat(content.getParent()).isSameAs(container);
+    assertThat(viewGroup2.isVisible()).isTrue();
+  }
+
   @Test
   public void setDividerSize_updatesTheLayoutIfVertical(FxRobot robot) {
     robot.interact(() -> container.setOrientation(Orientation.VERTICAL));
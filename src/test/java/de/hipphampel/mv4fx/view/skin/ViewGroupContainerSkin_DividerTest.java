@@ -28,6 +28,7 @@ import de.hipphampel.mv4fx.utils.Range;
 import de.hipphampel.mv4fx.view.ViewGroup;
 import de.hipphampel.mv4fx.view.ViewGroupContainer;
 import de.hipphampel.mv4fx.view.ViewGroupContainer.DividerDragMode;
+import de.hipphampel.mv4fx.view.ViewGroupContainer.DividerUpdateMode;
 import de.hipphampel.mv4fx.view.skin.ViewGroupContainerSkin.Divider;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
@@ -304,4 +305,25 @@ public class ViewGroupContainerSkin_DividerTest {
     robot.drag(MouseButton.PRIMARY).dropBy(0, height - pos);
     assertThat(container.getAbsolutePosition()).isEqualTo(pos);
   }
+
+  @Test
+  public void moveDivider_dividerUpdateModeOnRelease_appliesPositionOnRelease(FxRobot robot) {
+    robot.interact(() -> container.setOrientation(Orientation.HORIZONTAL));
+    robot.interact(() -> container.setDividerDragMode(DividerDragMode.FREE));
+    robot.interact(() -> container.setDividerUpdateMode(DividerUpdateMode.ON_RELEASE));
+    ViewGroupContainerSkin skin = (ViewGroupContainerSkin) container.getSkin();
+
+    double pos = container.getAbsolutePosition();
+    robot.moveTo(divider, new Point2D(1, 1));
+    robot.drag(MouseButton.PRIMARY).moveBy(-50, 0);
+
+    assertThat(container.getAbsolutePosition()).isEqualTo(pos);
+    assertThat(skin.getDividerGhost()).isNotNull();
+    assertThat(skin.getDividerGhost().getLayoutX()).isCloseTo(pos - 50, Offset.offset(1.0));
+
+    robot.drop();
+
+    assertThat(container.getAbsolutePosition()).isCloseTo(pos - 50, Offset.offset(1.0));
+    assertThat(skin.getDividerGhost()).isNull();
+  }
 }
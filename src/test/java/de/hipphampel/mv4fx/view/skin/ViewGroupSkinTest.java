@@ -28,6 +28,7 @@ import static org.mockito.Mockito.when;
 
 import de.hipphampel.mv4fx.view.DragAndDropContext;
 import de.hipphampel.mv4fx.view.DropTarget;
+import de.hipphampel.mv4fx.view.View;
 import de.hipphampel.mv4fx.view.ViewGroup;
 import de.hipphampel.mv4fx.view.skin.ViewGroupSkin.ContentContainer;
 import de.hipphampel.mv4fx.view.skin.ViewGroupSkin.HeaderContainer;
@@ -70,6 +71,29 @@ public class ViewGroupSkinTest {
     assertThat(skin.getContentContainer()).isNotNull();
   }
 
+  @Test
+  public void dropTargetBox_isCreatedWhenBecomingASplitDropTarget(FxRobot robot) {
+    assertThat(skin.getChildren()).containsExactly(headerContainer, contentContainer);
+
+    robot.interact(() -> viewGroup.setDropTarget(DropTarget.splitViewGroup(viewGroup, Side.TOP)));
+    assertThat(skin.getChildren()).hasSize(3);
+    assertThat(skin.getChildren().get(2)).isSameAs(skin.getDropTargetBox());
+    assertThat(skin.getDropTargetBox().getHeight()).isGreaterThan(0);
+
+    robot.interact(() -> viewGroup.setDropTarget(null));
+    assertThat(skin.getDropTargetBox().getHeight()).isZero();
+  }
+
+  @Test
+  public void onViewsChanged_handlesReplacements(FxRobot robot) {
+    View view1 = new View();
+    View view2 = new View();
+    robot.interact(() -> viewGroup.addView(view1));
+
+    robot.interact(() -> viewGroup.getViews().setAll(view1, view2));
+    assertThat(headerContainer.getTabContainer().getTabControls()).hasSize(2);
+  }
+
   @Test
   public void headersTopIfSideIsTop(FxRobot robot) {
     robot.interact(() -> viewGroup.setSide(Side.TOP));
@@ -27,6 +27,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import de.hipphampel.mv4fx.view.View;
 import de.hipphampel.mv4fx.view.ViewGroup;
 import de.hipphampel.mv4fx.view.skin.ViewGroupSkin.ContentContainer;
+import java.util.concurrent.atomic.AtomicInteger;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.stage.Stage;
@@ -70,6 +71,44 @@ public class ViewGroupSkin_ContentContainerTest {
     assertThat(contentContainer.getChildren()).containsExactly(content);
   }
 
+  @Test
+  public void setView_createsTheContentViaTheContentFactory(FxRobot robot) {
+    Label content = new Label("Content");
+    View view = new View();
+    view.setContentFactory(v -> content);
+
+    robot.interact(() -> contentContainer.setView(view));
+    assertThat(contentContainer.getChildren()).containsExactly(content);
+    assertThat(view.getContent()).isSameAs(content);
+  }
+
+  @Test
+  public void setView_callsTheContentFactoryOnlyOnce(FxRobot robot) {
+    Label content = new Label("Content");
+    AtomicInteger calls = new AtomicInteger();
+    View view = new View();
+    view.setContentFactory(v -> {
+      calls.incrementAndGet();
+      return content;
+    });
+
+    robot.interact(() -> contentContainer.setView(view));
+    assertThat(contentContainer.getChildren()).containsExactly(content);
+    assertThat(calls.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void contentListener_reactsOnContentFactoryChange(FxRobot robot) {
+    Label content = new Label("Content");
+    View view = new View();
+
+    robot.interact(() -> contentContainer.setView(view));
+    assertThat(contentContainer.getChildren()).isEmpty();
+
+    robot.interact(() -> view.setContentFactory(v -> content));
+    assertThat(contentContainer.getChildren()).containsExactly(content);
+  }
+
   @Test
   public void setView_replacesListenerToOldView(FxRobot robot) {
     Label oldContent1 = new Label("OldContent1");
@@ -32,6 +32,7 @@ import de.hipphampel.mv4fx.view.View;
 import de.hipphampel.mv4fx.view.ViewGroup;
 import de.hipphampel.mv4fx.view.ViewGroup.ViewSelectorControls;
 import de.hipphampel.mv4fx.view.ViewOrGroup.DropTargetType;
+import de.hipphampel.mv4fx.view.skin.ViewGroupSkin.DropTargetBox;
 import de.hipphampel.mv4fx.view.skin.ViewGroupSkin.TabContainer;
 import de.hipphampel.mv4fx.view.skin.ViewGroupSkin.TabControl;
 import de.hipphampel.mv4fx.view.skin.ViewGroupSkin.ViewSelector;
@@ -80,12 +81,12 @@ public class ViewGroupSkin_TabContainerTest {
 
   @Test
   public void addView_addsATabControlForTheGivenView(FxRobot robot) {
-    assertThat(tabContainer.getChildren()).hasSize(2); // ViewSelector + Drop box
+    assertThat(tabContainer.getTabControls()).isEmpty();
 
     View view1 = new View();
     view1.setTabLabel("View1");
     robot.interact(() -> tabContainer.addView(0, view1));
-    assertThat(tabContainer.getChildren()).hasSize(3);
+    assertThat(tabContainer.getTabControls()).hasSize(1);
     TabControl tabControl = (TabControl) tabContainer.getChildren().get(0);
     assertThat(tabControl.getChildren()).isNotEmpty();
     assertThat(((Label) tabControl.getChildren().get(0)).getText()).isEqualTo("View1");
@@ -93,7 +94,7 @@ public class ViewGroupSkin_TabContainerTest {
     View view2 = new View();
     view2.setTabLabel("View2");
     robot.interact(() -> tabContainer.addView(0, view2));
-    assertThat(tabContainer.getChildren()).hasSize(4);
+    assertThat(tabContainer.getTabControls()).hasSize(2);
     tabControl = (TabControl) tabContainer.getChildren().get(0);
     assertThat(tabControl.getChildren()).isNotEmpty();
     assertThat(((Label) tabControl.getChildren().get(0)).getText()).isEqualTo("View2");
@@ -101,7 +102,7 @@ public class ViewGroupSkin_TabContainerTest {
     View view3 = new View();
     view3.setTabLabel("View3");
     robot.interact(() -> tabContainer.addView(1, view3));
-    assertThat(tabContainer.getChildren()).hasSize(5);
+    assertThat(tabContainer.getTabControls()).hasSize(3);
     tabControl = (TabControl) tabContainer.getChildren().get(1);
     assertThat(tabControl.getChildren()).isNotEmpty();
     assertThat(((Label) tabControl.getChildren().get(0)).getText()).isEqualTo("View3");
@@ -119,7 +120,7 @@ public class ViewGroupSkin_TabContainerTest {
     robot.interact(() -> tabContainer.addView(1, view2));
     robot.interact(() -> tabContainer.addView(2, view3));
 
-    assertThat(tabContainer.getChildren()).hasSize(5);
+    assertThat(tabContainer.getTabControls()).hasSize(3);
     assertThat(((Label) ((TabControl) tabContainer.getChildren().get(0)).getChildren()
         .get(0)).getText()).isEqualTo("View1");
     assertThat(((Label) ((TabControl) tabContainer.getChildren().get(1)).getChildren()
@@ -128,7 +129,7 @@ public class ViewGroupSkin_TabContainerTest {
         .get(0)).getText()).isEqualTo("View3");
 
     robot.interact(() -> tabContainer.removeView(view2));
-    assertThat(tabContainer.getChildren()).hasSize(4);
+    assertThat(tabContainer.getTabControls()).hasSize(2);
     assertThat(((Label) ((TabControl) tabContainer.getChildren().get(0)).getChildren()
         .get(0)).getText()).isEqualTo("View1");
     assertThat(((Label) ((TabControl) tabContainer.getChildren().get(1)).getChildren()
@@ -141,7 +142,7 @@ public class ViewGroupSkin_TabContainerTest {
     view.setTabLabel("Original Name");
     robot.interact(() -> tabContainer.addView(0, view));
 
-    assertThat(tabContainer.getChildren()).hasSize(3);
+    assertThat(tabContainer.getTabControls()).hasSize(1);
     TabControl tabControl = (TabControl) tabContainer.getChildren().get(0);
     assertThat(((Label) tabControl.getChildren().get(0)).getText()).isEqualTo("Original Name");
 
@@ -285,7 +286,7 @@ public class ViewGroupSkin_TabContainerTest {
     robot.interact(() -> tabContainer.addView(1, view2));
     robot.interact(() -> tabContainer.addView(2, view3));
 
-    assertThat(tabContainer.getChildren()).hasSize(5); // +2 for view selector and drop box
+    assertThat(tabContainer.getTabControls()).hasSize(3);
     TabControl tabControl1 = (TabControl) tabContainer.getChildren().get(0);
     TabControl tabControl2 = (TabControl) tabContainer.getChildren().get(1);
     TabControl tabControl3 = (TabControl) tabContainer.getChildren().get(2);
@@ -318,7 +319,7 @@ public class ViewGroupSkin_TabContainerTest {
     robot.interact(() -> tabContainer.addView(1, view2));
     robot.interact(() -> tabContainer.addView(2, view3));
 
-    assertThat(tabContainer.getChildren()).hasSize(5); // +2 for view selector and drop box
+    assertThat(tabContainer.getTabControls()).hasSize(3);
     TabControl tabControl1 = (TabControl) tabContainer.getChildren().get(0);
     TabControl tabControl2 = (TabControl) tabContainer.getChildren().get(1);
     TabControl tabControl3 = (TabControl) tabContainer.getChildren().get(2);
@@ -339,6 +340,62 @@ public class ViewGroupSkin_TabContainerTest {
         tabControl2.getLayoutX() - tabControl3.getWidth());
   }
 
+  @Test
+  public void viewSelectorIsCreatedOnlyIfNotAllTabsFit(FxRobot robot) {
+    ViewGroup group = new ViewGroup();
+    group.setTabMinWidth(190); // Space for 2 views
+    IntStream.range(0, 2).forEach(i -> group.addView(new View()));
+    robot.interact(() -> {
+      Stage stage = new Stage();
+      stage.setScene(new Scene(group, 400, 400));
+      stage.show();
+    });
+    TabContainer container = ((ViewGroupSkin) group.getSkin()).getHeaderContainer()
+        .getTabContainer();
+    assertThat(container.getChildren()).allMatch(child -> child instanceof TabControl);
+
+    robot.interact(() -> group.addView(new View()));
+    assertThat(container.getChildren()).hasSize(4);
+    assertThat(container.getChildren().get(3)).isInstanceOf(ViewSelector.class);
+    assertThat(container.getChildren().get(3).isVisible()).isTrue();
+
+    robot.interact(() -> group.getScene().getWindow().hide());
+  }
+
+  @Test
+  public void viewSelectorIsCreatedWhenTheLastTabIsRemoved(FxRobot robot) {
+    ViewGroup group = new ViewGroup();
+    View view = new View();
+    group.addView(view);
+    robot.interact(() -> {
+      Stage stage = new Stage();
+      stage.setScene(new Scene(group, 400, 400));
+      stage.show();
+    });
+    TabContainer container = ((ViewGroupSkin) group.getSkin()).getHeaderContainer()
+        .getTabContainer();
+    assertThat(container.getChildren()).noneMatch(child -> child instanceof ViewSelector);
+
+    robot.interact(() -> group.removeView(view));
+    assertThat(container.getChildren()).anyMatch(child -> child instanceof ViewSelector);
+    assertThat(container.prefHeight(-1)).isGreaterThan(0);
+
+    robot.interact(() -> group.getScene().getWindow().hide());
+  }
+
+  @Test
+  public void dropTargetBoxIsCreatedWhenBecomingAMoveToGroupDropTarget(FxRobot robot) {
+    robot.interact(() -> viewGroup.addView(new View()));
+    assertThat(tabContainer.getChildren()).noneMatch(child -> child instanceof DropTargetBox);
+
+    robot.interact(() -> viewGroup.setDropTarget(DropTarget.moveToGroup(viewGroup, 0)));
+    assertThat(tabContainer.getDropTargetBox().isVisible()).isTrue();
+    assertThat(tabContainer.getChildren()).last().isSameAs(tabContainer.getDropTargetBox());
+
+    robot.interact(() -> viewGroup.setDropTarget(null));
+    assertThat(tabContainer.getDropTargetBox().isVisible()).isFalse();
+  }
+
   @ParameterizedTest
   @ValueSource(strings = {"TOP", "RIGHT", "BOTTOM", "LEFT"})
   public void viewSelectorIsVisibleOnlyIfNotAllTabsFit(String side, FxRobot robot) {
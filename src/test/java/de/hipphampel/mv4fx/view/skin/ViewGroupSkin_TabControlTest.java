@@ -124,6 +124,14 @@ public class ViewGroupSkin_TabControlTest {
     assertThat(tabControl.getChildren().get(0).getStyle()).isEqualTo("-fx-background: yellow;");
   }
 
+  @Test
+  public void dispose_ignoresMouseEvents(FxRobot robot) {
+    robot.interact(() -> viewGroup.getSelection().select(viewGroup.getViews().get(1)));
+    tabControl.dispose();
+
+    robot.clickOn(tabControl);
+    assertThat(viewGroup.getSelection().getSelectedItem()).isSameAs(viewGroup.getViews().get(1));
+  }
 
   @Test
   public void onTabControlChanged_usesResultOfTabNodeCallbackIfPresent(FxRobot robot) {